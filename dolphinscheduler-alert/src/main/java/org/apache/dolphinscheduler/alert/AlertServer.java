@@ -22,7 +22,7 @@ import static org.apache.dolphinscheduler.common.Constants.ALERT_RPC_PORT;
 
 import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
 import org.apache.dolphinscheduler.alert.processor.AlertRequestProcessor;
-import org.apache.dolphinscheduler.alert.runner.AlertSender;
+import org.apache.dolphinscheduler.alert.runner.AlertDispatcher;
 import org.apache.dolphinscheduler.alert.utils.Constants;
 import org.apache.dolphinscheduler.spi.plugin.DolphinPluginLoader;
 import org.apache.dolphinscheduler.spi.plugin.DolphinPluginManagerConfig;
@@ -61,7 +61,7 @@ public class AlertServer {
      */
     private AlertDao alertDao = DaoFactory.getDaoInstance(AlertDao.class);
 
-    private AlertSender alertSender;
+    private AlertDispatcher alertDispatcher;
 
     private AlertPluginManager alertPluginManager;
 
@@ -132,6 +132,7 @@ public class AlertServer {
      * Cyclic alert info sending alert
      */
     private void runSender() {
+        alertDispatcher = new AlertDispatcher(alertDao, alertPluginManager);
         while (Stopper.isRunning()) {
             try {
                 Thread.sleep(Constants.ALERT_SCAN_INTERVAL);
@@ -143,8 +144,7 @@ public class AlertServer {
                 logger.warn("No Alert Plugin . Cannot send alert info. ");
             } else {
                 List<Alert> alerts = alertDao.listWaitExecutionAlert();
-                alertSender = new AlertSender(alerts, alertDao, alertPluginManager);
-                alertSender.run();
+                alertDispatcher.dispatch(alerts);
             }
         }
     }
@@ -165,6 +165,9 @@ public class AlertServer {
      * stop
      */
     public void stop() {
+        if (this.alertDispatcher != null) {
+            this.alertDispatcher.close();
+        }
         this.server.close();
         logger.info("alert server shut down");
     }
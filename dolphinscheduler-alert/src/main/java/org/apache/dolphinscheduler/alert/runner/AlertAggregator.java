@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.alert.runner;
+
+import org.apache.dolphinscheduler.common.enums.AlertWarnLevel;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.common.utils.StringUtils;
+import org.apache.dolphinscheduler.dao.entity.Alert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * alert aggregator, collapses alert storms into digests.
+ * <p>
+ * waiting alerts are grouped by alert group, severity and project. a group is held until its oldest
+ * alert has waited for the aggregation window, then all its alerts are sent as one digest whose content
+ * is the concatenation of the member contents, so every alert channel renders the digest in its own format.
+ */
+public class AlertAggregator {
+
+    private static final String WARN_LEVEL = "warnLevel";
+
+    private static final String PROJECT_NAME = "projectName";
+
+    private final long window;
+
+    private final int maxDigestSize;
+
+    public AlertAggregator(long window, int maxDigestSize) {
+        this.window = window;
+        this.maxDigestSize = Math.max(maxDigestSize, 1);
+    }
+
+    public boolean isEnabled() {
+        return window > 0;
+    }
+
+    /**
+     * aggregate waiting alerts, alerts of groups whose window has not elapsed are left out
+     *
+     * @param alerts waiting alerts
+     * @param now current time millis
+     * @return digests ready to send
+     */
+    public List<Digest> aggregate(List<Alert> alerts, long now) {
+        List<Digest> digests = new ArrayList<>();
+        if (!isEnabled()) {
+            for (Alert alert : alerts) {
+                digests.add(new Digest(alert, Collections.singletonList(alert)));
+            }
+            return digests;
+        }
+
+        Map<String, List<Alert>> groups = new LinkedHashMap<>();
+        for (Alert alert : alerts) {
+            groups.computeIfAbsent(groupKey(alert), key -> new ArrayList<>()).add(alert);
+        }
+        for (List<Alert> group : groups.values()) {
+            long oldest = group.stream()
+                    .map(alert -> alert.getCreateTime() == null ? 0L : alert.getCreateTime().getTime())
+                    .min(Long::compare)
+                    .orElse(0L);
+            if (now - oldest < window) {
+                continue;
+            }
+            for (int i = 0; i < group.size(); i += maxDigestSize) {
+                digests.add(toDigest(group.subList(i, Math.min(i + maxDigestSize, group.size()))));
+            }
+        }
+        return digests;
+    }
+
+    private Digest toDigest(List<Alert> members) {
+        Alert first = members.get(0);
+        if (members.size() == 1) {
+            return new Digest(first, Collections.singletonList(first));
+        }
+        ArrayNode content = JSONUtils.createArrayNode();
+        for (Alert member : members) {
+            ArrayNode items = contentItems(member.getContent());
+            if (items != null) {
+                content.addAll(items);
+            } else {
+                ObjectNode item = JSONUtils.createObjectNode();
+                item.put("title", member.getTitle());
+                item.put("content", member.getContent());
+                content.add(item);
+            }
+        }
+        Alert digest = new Alert();
+        digest.setId(first.getId());
+        digest.setAlertGroupId(first.getAlertGroupId());
+        digest.setTitle(String.format("[%d alerts] %s", members.size(), first.getTitle()));
+        digest.setContent(JSONUtils.toJsonString(content));
+        digest.setCreateTime(first.getCreateTime());
+        return new Digest(digest, new ArrayList<>(members));
+    }
+
+    private String groupKey(Alert alert) {
+        String severity = AlertWarnLevel.MIDDLE.name();
+        String project = "";
+        ArrayNode items = contentItems(alert.getContent());
+        if (items != null) {
+            for (JsonNode item : items) {
+                JsonNode warnLevel = item.get(WARN_LEVEL);
+                if (warnLevel != null && AlertWarnLevel.SERIOUS.name().equals(warnLevel.asText())) {
+                    severity = AlertWarnLevel.SERIOUS.name();
+                }
+                JsonNode projectName = item.get(PROJECT_NAME);
+                if (projectName != null && StringUtils.isEmpty(project)) {
+                    project = projectName.asText();
+                }
+            }
+        }
+        return alert.getAlertGroupId() + "_" + severity + "_" + project;
+    }
+
+    /**
+     * @return content items if the content is a json array, otherwise null
+     */
+    private static ArrayNode contentItems(String content) {
+        if (StringUtils.isEmpty(content) || !content.trim().startsWith("[")) {
+            return null;
+        }
+        try {
+            return JSONUtils.parseArray(content);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * an alert to send and the waiting alerts it stands for
+     */
+    public static class Digest {
+
+        private final Alert alert;
+
+        private final List<Alert> members;
+
+        public Digest(Alert alert, List<Alert> members) {
+            this.alert = alert;
+            this.members = members;
+        }
+
+        public Alert getAlert() {
+            return alert;
+        }
+
+        public List<Alert> getMembers() {
+            return members;
+        }
+    }
+}
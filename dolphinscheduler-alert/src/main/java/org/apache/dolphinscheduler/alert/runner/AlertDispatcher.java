@@ -0,0 +1,346 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.alert.runner;
+
+import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
+import org.apache.dolphinscheduler.alert.utils.Constants;
+import org.apache.dolphinscheduler.common.enums.AlertStatus;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.CollectionUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+import org.apache.dolphinscheduler.dao.AlertDao;
+import org.apache.dolphinscheduler.dao.entity.Alert;
+import org.apache.dolphinscheduler.dao.entity.AlertPluginInstance;
+import org.apache.dolphinscheduler.spi.alert.AlertData;
+import org.apache.dolphinscheduler.spi.alert.AlertResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * alert dispatcher, delivers waiting alerts concurrently.
+ * <p>
+ * each alert plugin delivers on its own bounded executor so a slow channel only delays its own alerts,
+ * every delivery is bounded by a timeout and retried, identical alerts within the dedup window (disabled
+ * by default) are only sent once after a successful delivery, alert storms are collapsed into digests by the {@link AlertAggregator}, and the final
+ * status of alerts is written back to t_ds_alert in batches.
+ */
+public class AlertDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertDispatcher.class);
+
+    private final AlertDao alertDao;
+
+    private final AlertPluginManager alertPluginManager;
+
+    private final AlertSender alertSender;
+
+    private final AlertAggregator alertAggregator;
+
+    private final int pluginThreads;
+
+    private final int pluginQueueCapacity;
+
+    private final long sendTimeout;
+
+    private final int retryTimes;
+
+    private final long retryInterval;
+
+    private final long dedupWindow;
+
+    /**
+     * plugin name -> executor the plugin delivers on
+     */
+    private final Map<String, ThreadPoolExecutor> pluginExecutors = new ConcurrentHashMap<>();
+
+    /**
+     * timeouts, delayed retries and status flush
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * alerts which are being delivered or waiting for the status flush, skipped by the next scan
+     */
+    private final Set<Integer> inFlightAlerts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * dedup key -> last time an identical alert was sent successfully
+     */
+    private final Map<String, Long> recentAlerts = new ConcurrentHashMap<>();
+
+    /**
+     * dedup keys of the alerts being delivered, identical alerts wait for the result
+     */
+    private final Set<String> sendingDedupKeys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * alerts whose status is waiting to be written back
+     */
+    private final BlockingQueue<Alert> finishedAlerts = new LinkedBlockingQueue<>();
+
+    public AlertDispatcher(AlertDao alertDao, AlertPluginManager alertPluginManager) {
+        this.alertDao = alertDao;
+        this.alertPluginManager = alertPluginManager;
+        this.alertSender = new AlertSender(alertDao, alertPluginManager);
+        this.pluginThreads = PropertyUtils.getInt(Constants.ALERT_SENDER_PLUGIN_THREADS, Constants.ALERT_SENDER_PLUGIN_THREADS_DEFAULT);
+        this.pluginQueueCapacity = PropertyUtils.getInt(Constants.ALERT_SENDER_PLUGIN_QUEUE_CAPACITY, Constants.ALERT_SENDER_PLUGIN_QUEUE_CAPACITY_DEFAULT);
+        this.sendTimeout = PropertyUtils.getLong(Constants.ALERT_SENDER_TIMEOUT, Constants.ALERT_SENDER_TIMEOUT_DEFAULT);
+        this.retryTimes = PropertyUtils.getInt(Constants.ALERT_SENDER_RETRY_TIMES, Constants.ALERT_SENDER_RETRY_TIMES_DEFAULT);
+        this.retryInterval = PropertyUtils.getLong(Constants.ALERT_SENDER_RETRY_INTERVAL, Constants.ALERT_SENDER_RETRY_INTERVAL_DEFAULT);
+        this.dedupWindow = PropertyUtils.getLong(Constants.ALERT_SENDER_DEDUP_WINDOW, Constants.ALERT_SENDER_DEDUP_WINDOW_DEFAULT);
+        this.alertAggregator = new AlertAggregator(
+                PropertyUtils.getLong(Constants.ALERT_AGGREGATION_WINDOW, Constants.ALERT_AGGREGATION_WINDOW_DEFAULT),
+                PropertyUtils.getInt(Constants.ALERT_AGGREGATION_MAX_SIZE, Constants.ALERT_AGGREGATION_MAX_SIZE_DEFAULT));
+        this.scheduler = ThreadUtils.newDaemonThreadScheduledExecutor("Alert-Dispatcher-Scheduler", 2);
+        this.scheduler.scheduleWithFixedDelay(this::flushStatus, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * dispatch alerts, returns without waiting for the deliveries
+     *
+     * @param alerts waiting alerts
+     */
+    public void dispatch(List<Alert> alerts) {
+        long now = System.currentTimeMillis();
+        recentAlerts.entrySet().removeIf(entry -> now - entry.getValue() >= dedupWindow);
+
+        List<Alert> waitingAlerts = alerts.stream()
+                .filter(alert -> !inFlightAlerts.contains(alert.getId()))
+                .collect(Collectors.toList());
+        Map<Integer, List<AlertPluginInstance>> groupInstances = new HashMap<>();
+        for (AlertAggregator.Digest digest : alertAggregator.aggregate(waitingAlerts, now)) {
+            Alert alert = digest.getAlert();
+            int alertGroupId = alert.getAlertGroupId();
+            if (!groupInstances.containsKey(alertGroupId)) {
+                groupInstances.put(alertGroupId, alertDao.listInstanceByAlertGroupId(alertGroupId));
+            }
+            List<AlertPluginInstance> alertInstanceList = groupInstances.get(alertGroupId);
+            if (CollectionUtils.isEmpty(alertInstanceList)) {
+                logger.error("send alert msg fail,no bind plugin instance.");
+                finish(digest, AlertStatus.EXECUTION_FAILURE, "no bind plugin instance");
+                continue;
+            }
+
+            String dedupKey = dedupWindow > 0 ? dedupKey(alert) : null;
+            if (dedupKey != null) {
+                Long lastSendTime = recentAlerts.get(dedupKey);
+                if (lastSendTime != null) {
+                    logger.info("alert {} is identical to an alert sent {} ms ago, suppressed", alert.getId(), now - lastSendTime);
+                    finish(digest, AlertStatus.EXECUTION_SUCCESS, "identical alert already sent, suppressed");
+                    continue;
+                }
+                if (sendingDedupKeys.contains(dedupKey)) {
+                    logger.info("an identical alert is being sent, alert {} will be checked in next round", alert.getId());
+                    continue;
+                }
+            }
+            if (!hasCapacity(alertInstanceList)) {
+                logger.warn("alert plugin executor is saturated, alert {} will be sent in next round", alert.getId());
+                continue;
+            }
+            if (dedupKey != null) {
+                sendingDedupKeys.add(dedupKey);
+            }
+            if (digest.getMembers().size() > 1) {
+                logger.info("alert {} is sent as digest of {} alerts", alert.getId(), digest.getMembers().size());
+            }
+            deliver(digest, alertInstanceList, dedupKey);
+        }
+        flushStatus();
+    }
+
+    /**
+     * deliver one alert to all plugin instances of its alert group concurrently,
+     * the dedup key is only recorded when the delivery succeeds
+     */
+    private void deliver(AlertAggregator.Digest digest, List<AlertPluginInstance> alertInstanceList, String dedupKey) {
+        digest.getMembers().forEach(member -> inFlightAlerts.add(member.getId()));
+        Alert alert = digest.getAlert();
+        AlertData alertData = new AlertData();
+        alertData.setId(alert.getId())
+                .setContent(alert.getContent())
+                .setLog(alert.getLog())
+                .setTitle(alert.getTitle());
+
+        List<CompletableFuture<AlertResult>> results = alertInstanceList.stream()
+                .map(instance -> send(instance, alertData, 0))
+                .collect(Collectors.toList());
+
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).whenComplete((v, e) -> {
+            boolean success = true;
+            List<String> messages = new ArrayList<>();
+            for (CompletableFuture<AlertResult> result : results) {
+                if (result.isCompletedExceptionally()) {
+                    success = false;
+                    continue;
+                }
+                AlertResult alertResult = result.getNow(null);
+                success = success && isSuccess(alertResult);
+                messages.add(alertResult.getMessage());
+            }
+            if (dedupKey != null) {
+                if (success) {
+                    recentAlerts.put(dedupKey, System.currentTimeMillis());
+                }
+                sendingDedupKeys.remove(dedupKey);
+            }
+            finish(digest, success ? AlertStatus.EXECUTION_SUCCESS : AlertStatus.EXECUTION_FAILURE, String.join("; ", messages));
+        });
+    }
+
+    /**
+     * send to one plugin instance on the plugin executor, bounded by the send timeout and retried on failure
+     */
+    private CompletableFuture<AlertResult> send(AlertPluginInstance instance, AlertData alertData, int attempt) {
+        CompletableFuture<AlertResult> result = new CompletableFuture<>();
+        String pluginName = alertPluginManager.getPluginNameById(instance.getPluginDefineId());
+        try {
+            Future<?> future = getPluginExecutor(pluginName).submit(() -> {
+                result.complete(alertSender.alertResultHandler(instance, alertData));
+            });
+            ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+                if (result.complete(new AlertResult(String.valueOf(false),
+                        String.format("Alert Plugin %s send timeout after %d ms", instance.getInstanceName(), sendTimeout)))) {
+                    future.cancel(true);
+                    logger.warn("Alert Plugin {} send timeout, alert data id :{}", instance.getInstanceName(), alertData.getId());
+                }
+            }, sendTimeout, TimeUnit.MILLISECONDS);
+            result.whenComplete((r, e) -> timeout.cancel(false));
+        } catch (RejectedExecutionException e) {
+            result.complete(new AlertResult(String.valueOf(false),
+                    String.format("Alert Plugin %s executor is saturated", instance.getInstanceName())));
+        }
+
+        return result.thenCompose(alertResult -> {
+            if (isSuccess(alertResult) || attempt >= retryTimes) {
+                return CompletableFuture.completedFuture(alertResult);
+            }
+            CompletableFuture<AlertResult> retry = new CompletableFuture<>();
+            scheduler.schedule(() -> send(instance, alertData, attempt + 1).whenComplete((r, e) -> retry.complete(r == null ? alertResult : r)),
+                    retryInterval, TimeUnit.MILLISECONDS);
+            return retry;
+        });
+    }
+
+    /**
+     * write back the status of finished alerts in batches
+     */
+    public synchronized void flushStatus() {
+        List<Alert> alerts = new ArrayList<>();
+        finishedAlerts.drainTo(alerts);
+        for (int i = 0; i < alerts.size(); i += Constants.ALERT_STATUS_UPDATE_BATCH_SIZE) {
+            List<Alert> batch = alerts.subList(i, Math.min(i + Constants.ALERT_STATUS_UPDATE_BATCH_SIZE, alerts.size()));
+            try {
+                alertDao.updateAlerts(batch);
+                batch.forEach(alert -> inFlightAlerts.remove(alert.getId()));
+            } catch (Exception e) {
+                logger.error("update alert status error, will retry in next flush", e);
+                finishedAlerts.addAll(batch);
+            }
+        }
+    }
+
+    /**
+     * close dispatcher, alerts still being delivered stay in wait execution and are sent again after restart
+     */
+    public void close() {
+        scheduler.shutdownNow();
+        pluginExecutors.values().forEach(ThreadPoolExecutor::shutdownNow);
+        flushStatus();
+    }
+
+    /**
+     * the number of alerts being delivered or waiting for the status flush
+     */
+    public int getInFlightCount() {
+        return inFlightAlerts.size();
+    }
+
+    private void finish(AlertAggregator.Digest digest, AlertStatus alertStatus, String log) {
+        for (Alert member : digest.getMembers()) {
+            member.setAlertStatus(alertStatus);
+            member.setLog(log);
+            inFlightAlerts.add(member.getId());
+            finishedAlerts.add(member);
+        }
+    }
+
+    private boolean hasCapacity(List<AlertPluginInstance> alertInstanceList) {
+        for (AlertPluginInstance instance : alertInstanceList) {
+            String pluginName = alertPluginManager.getPluginNameById(instance.getPluginDefineId());
+            if (getPluginExecutor(pluginName).getQueue().remainingCapacity() == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ThreadPoolExecutor getPluginExecutor(String pluginName) {
+        return pluginExecutors.computeIfAbsent(String.valueOf(pluginName), name -> {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(pluginThreads, pluginThreads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(pluginQueueCapacity),
+                    new ThreadFactoryBuilder().setDaemon(true).setNameFormat("Alert-Sender-" + name + "-%d").build());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        });
+    }
+
+    private static boolean isSuccess(AlertResult alertResult) {
+        return alertResult != null && Boolean.parseBoolean(String.valueOf(alertResult.getStatus()));
+    }
+
+    private static String dedupKey(Alert alert) {
+        Hasher hasher = Hashing.sha256().newHasher().putInt(alert.getAlertGroupId());
+        putString(hasher, alert.getTitle());
+        putString(hasher, alert.getContent());
+        return hasher.hash().toString();
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        if (value == null) {
+            hasher.putInt(-1);
+            return;
+        }
+        hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+    }
+
+}
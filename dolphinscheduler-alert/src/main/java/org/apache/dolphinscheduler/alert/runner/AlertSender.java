@@ -140,7 +140,7 @@ public class AlertSender {
      * @param alertData alertData
      * @return AlertResult
      */
-    private AlertResult alertResultHandler(AlertPluginInstance instance, AlertData alertData) {
+    AlertResult alertResultHandler(AlertPluginInstance instance, AlertData alertData) {
         String pluginName = alertPluginManager.getPluginNameById(instance.getPluginDefineId());
         AlertChannel alertChannel = alertPluginManager.getAlertChannelMap().get(pluginName);
         AlertResult alertResultExtend = new AlertResult();
@@ -35,4 +35,47 @@ public class Constants {
 
     public static final int ALERT_SCAN_INTERVAL = 5000;
 
+    /** threads of the executor each alert plugin delivers on **/
+    public static final String ALERT_SENDER_PLUGIN_THREADS = "alert.sender.plugin.threads";
+
+    public static final int ALERT_SENDER_PLUGIN_THREADS_DEFAULT = 4;
+
+    /** pending deliveries each alert plugin executor can hold **/
+    public static final String ALERT_SENDER_PLUGIN_QUEUE_CAPACITY = "alert.sender.plugin.queue.capacity";
+
+    public static final int ALERT_SENDER_PLUGIN_QUEUE_CAPACITY_DEFAULT = 1000;
+
+    /** timeout of one delivery to one plugin instance, in milliseconds **/
+    public static final String ALERT_SENDER_TIMEOUT = "alert.sender.timeout";
+
+    public static final long ALERT_SENDER_TIMEOUT_DEFAULT = 30000L;
+
+    /** retry times of a failed delivery **/
+    public static final String ALERT_SENDER_RETRY_TIMES = "alert.sender.retry.times";
+
+    public static final int ALERT_SENDER_RETRY_TIMES_DEFAULT = 2;
+
+    /** interval between retries, in milliseconds **/
+    public static final String ALERT_SENDER_RETRY_INTERVAL = "alert.sender.retry.interval";
+
+    public static final long ALERT_SENDER_RETRY_INTERVAL_DEFAULT = 5000L;
+
+    /** identical alerts within this window are only sent once, in milliseconds, 0 to disable **/
+    public static final String ALERT_SENDER_DEDUP_WINDOW = "alert.sender.dedup.window";
+
+    public static final long ALERT_SENDER_DEDUP_WINDOW_DEFAULT = 0L;
+
+    /** waiting alerts of the same alert group, severity and project within this window are sent as one digest, in milliseconds, 0 to disable **/
+    public static final String ALERT_AGGREGATION_WINDOW = "alert.aggregation.window";
+
+    public static final long ALERT_AGGREGATION_WINDOW_DEFAULT = 0L;
+
+    /** max alerts collapsed into one digest **/
+    public static final String ALERT_AGGREGATION_MAX_SIZE = "alert.aggregation.max.size";
+
+    public static final int ALERT_AGGREGATION_MAX_SIZE_DEFAULT = 500;
+
+    /** max alerts written back to t_ds_alert in one statement **/
+    public static final int ALERT_STATUS_UPDATE_BATCH_SIZE = 500;
+
 }
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.alert.runner;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.dao.entity.Alert;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * alert aggregator test
+ */
+public class AlertAggregatorTest {
+
+    private static final long WINDOW = 60000L;
+
+    @Test
+    public void testAggregateDisabled() {
+        AlertAggregator alertAggregator = new AlertAggregator(0, 100);
+        List<Alert> alerts = new ArrayList<>();
+        alerts.add(createAlert(1, 1, "project_a", "MIDDLE", 0));
+        alerts.add(createAlert(2, 1, "project_a", "MIDDLE", 0));
+
+        List<AlertAggregator.Digest> digests = alertAggregator.aggregate(alerts, System.currentTimeMillis());
+        Assert.assertEquals(2, digests.size());
+    }
+
+    @Test
+    public void testAggregate() {
+        AlertAggregator alertAggregator = new AlertAggregator(WINDOW, 100);
+        long now = System.currentTimeMillis();
+        List<Alert> alerts = new ArrayList<>();
+        alerts.add(createAlert(1, 1, "project_a", "MIDDLE", now - WINDOW));
+        alerts.add(createAlert(2, 1, "project_a", "MIDDLE", now - 1000));
+        alerts.add(createAlert(3, 1, "project_a", "SERIOUS", now - WINDOW));
+        alerts.add(createAlert(4, 1, "project_b", "MIDDLE", now - 1000));
+        alerts.add(createAlert(5, 2, "project_a", "MIDDLE", now - WINDOW));
+
+        List<AlertAggregator.Digest> digests = alertAggregator.aggregate(alerts, now);
+
+        // project_b is held until its window elapses
+        Assert.assertEquals(3, digests.size());
+        AlertAggregator.Digest digest = digests.get(0);
+        Assert.assertEquals(2, digest.getMembers().size());
+        Assert.assertEquals(1, digest.getAlert().getId());
+        Assert.assertEquals(2, JSONUtils.parseArray(digest.getAlert().getContent()).size());
+        Assert.assertTrue(digest.getAlert().getTitle().startsWith("[2 alerts]"));
+        Assert.assertEquals(1, digests.get(1).getMembers().size());
+        Assert.assertEquals(3, digests.get(1).getAlert().getId());
+        Assert.assertEquals(5, digests.get(2).getAlert().getId());
+    }
+
+    @Test
+    public void testAggregateMaxDigestSize() {
+        AlertAggregator alertAggregator = new AlertAggregator(WINDOW, 2);
+        long now = System.currentTimeMillis();
+        List<Alert> alerts = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            alerts.add(createAlert(i, 1, "project_a", "MIDDLE", now - WINDOW));
+        }
+
+        List<AlertAggregator.Digest> digests = alertAggregator.aggregate(alerts, now);
+        Assert.assertEquals(3, digests.size());
+        Assert.assertEquals(1, digests.get(2).getMembers().size());
+    }
+
+    private Alert createAlert(int id, int alertGroupId, String projectName, String warnLevel, long createTime) {
+        Alert alert = new Alert();
+        alert.setId(id);
+        alert.setAlertGroupId(alertGroupId);
+        alert.setTitle("process failed");
+        alert.setContent(String.format("[{\"projectName\":\"%s\",\"processId\":%d,\"warnLevel\":\"%s\"}]", projectName, id, warnLevel));
+        alert.setCreateTime(new Date(createTime));
+        return alert;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.alert.runner;
+
+import org.apache.dolphinscheduler.alert.plugin.AlertPluginManager;
+import org.apache.dolphinscheduler.alert.utils.Constants;
+import org.apache.dolphinscheduler.common.enums.AlertStatus;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+import org.apache.dolphinscheduler.dao.AlertDao;
+import org.apache.dolphinscheduler.dao.entity.Alert;
+import org.apache.dolphinscheduler.dao.entity.AlertPluginInstance;
+import org.apache.dolphinscheduler.spi.alert.AlertChannel;
+import org.apache.dolphinscheduler.spi.alert.AlertResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * alert dispatcher test
+ */
+public class AlertDispatcherTest {
+
+    private static final String PLUGIN_NAME = "alert-plugin-mail";
+
+    private AlertDao alertDao;
+    private AlertChannel alertChannel;
+    private AlertDispatcher alertDispatcher;
+    private final List<Alert> updatedAlerts = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * property key -> value to restore after the test
+     */
+    private final Map<String, String> originalProperties = new HashMap<>();
+
+    @Before
+    public void before() {
+        setProperty(Constants.ALERT_SENDER_TIMEOUT, "500", Constants.ALERT_SENDER_TIMEOUT_DEFAULT);
+        setProperty(Constants.ALERT_SENDER_RETRY_TIMES, "1", Constants.ALERT_SENDER_RETRY_TIMES_DEFAULT);
+        setProperty(Constants.ALERT_SENDER_RETRY_INTERVAL, "10", Constants.ALERT_SENDER_RETRY_INTERVAL_DEFAULT);
+        setProperty(Constants.ALERT_SENDER_DEDUP_WINDOW, "60000", Constants.ALERT_SENDER_DEDUP_WINDOW_DEFAULT);
+
+        alertDao = Mockito.mock(AlertDao.class);
+        List<AlertPluginInstance> alertInstanceList = new ArrayList<>();
+        alertInstanceList.add(new AlertPluginInstance(1, "alert-instance-mail-params", "alert-instance-mail"));
+        Mockito.when(alertDao.listInstanceByAlertGroupId(1)).thenReturn(alertInstanceList);
+        Mockito.when(alertDao.updateAlerts(Mockito.anyList())).thenAnswer(invocation -> {
+            List<Alert> alerts = invocation.getArgument(0);
+            updatedAlerts.addAll(alerts);
+            return alerts.size();
+        });
+
+        alertChannel = Mockito.mock(AlertChannel.class);
+        Map<String, AlertChannel> alertChannelMap = new ConcurrentHashMap<>();
+        alertChannelMap.put(PLUGIN_NAME, alertChannel);
+        AlertPluginManager alertPluginManager = Mockito.mock(AlertPluginManager.class);
+        Mockito.when(alertPluginManager.getAlertChannelMap()).thenReturn(alertChannelMap);
+        Mockito.when(alertPluginManager.getPluginNameById(Mockito.anyInt())).thenReturn(PLUGIN_NAME);
+
+        alertDispatcher = new AlertDispatcher(alertDao, alertPluginManager);
+    }
+
+    @After
+    public void after() {
+        alertDispatcher.close();
+        originalProperties.forEach(PropertyUtils::setValue);
+    }
+
+    @Test
+    public void testDispatchDedupIdenticalAlerts() throws InterruptedException {
+        CountDownLatch sendLatch = new CountDownLatch(1);
+        Mockito.when(alertChannel.process(Mockito.any())).thenAnswer(invocation -> {
+            sendLatch.await();
+            return new AlertResult(String.valueOf(true), "success");
+        });
+
+        List<Alert> alerts = new ArrayList<>();
+        alerts.add(createAlert(1, "content"));
+        alerts.add(createAlert(2, "content"));
+        alerts.add(createAlert(3, "other content"));
+        alertDispatcher.dispatch(alerts);
+        // the duplicate waits for the result of the first alert
+        sendLatch.countDown();
+        waitUpdated(2);
+
+        alertDispatcher.dispatch(Collections.singletonList(alerts.get(1)));
+        waitUpdated(3);
+
+        Mockito.verify(alertChannel, Mockito.times(2)).process(Mockito.any());
+        for (Alert alert : updatedAlerts) {
+            Assert.assertEquals(AlertStatus.EXECUTION_SUCCESS, alert.getAlertStatus());
+        }
+        Assert.assertEquals(2, updatedAlerts.get(2).getId());
+    }
+
+    @Test
+    public void testDispatchDuplicateOfFailedAlert() throws InterruptedException {
+        Mockito.when(alertChannel.process(Mockito.any())).thenReturn(new AlertResult(String.valueOf(false), "fail"));
+
+        alertDispatcher.dispatch(Collections.singletonList(createAlert(1, "content")));
+        waitUpdated(1);
+        Assert.assertEquals(AlertStatus.EXECUTION_FAILURE, updatedAlerts.get(0).getAlertStatus());
+
+        // the first alert failed, so the identical alert is still sent
+        Mockito.when(alertChannel.process(Mockito.any())).thenReturn(new AlertResult(String.valueOf(true), "success"));
+        alertDispatcher.dispatch(Collections.singletonList(createAlert(2, "content")));
+        waitUpdated(2);
+        Assert.assertEquals(AlertStatus.EXECUTION_SUCCESS, updatedAlerts.get(1).getAlertStatus());
+        Assert.assertTrue(updatedAlerts.get(1).getLog().contains("success"));
+    }
+
+    @Test
+    public void testDispatchTimeoutAndRetry() throws InterruptedException {
+        Mockito.when(alertChannel.process(Mockito.any())).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return new AlertResult(String.valueOf(true), "success");
+        });
+
+        alertDispatcher.dispatch(Collections.singletonList(createAlert(1, "content")));
+        waitUpdated(1);
+
+        Mockito.verify(alertChannel, Mockito.times(2)).process(Mockito.any());
+        Assert.assertEquals(AlertStatus.EXECUTION_FAILURE, updatedAlerts.get(0).getAlertStatus());
+        Assert.assertTrue(updatedAlerts.get(0).getLog().contains("timeout"));
+    }
+
+    private void waitUpdated(int count) throws InterruptedException {
+        for (int i = 0; i < 100 && (updatedAlerts.size() < count || alertDispatcher.getInFlightCount() > 0); i++) {
+            Thread.sleep(100);
+        }
+        Assert.assertEquals(count, updatedAlerts.size());
+    }
+
+    private void setProperty(String key, String value, Object defaultValue) {
+        String original = PropertyUtils.getString(key);
+        originalProperties.put(key, original == null ? String.valueOf(defaultValue) : original);
+        PropertyUtils.setValue(key, value);
+    }
+
+    private Alert createAlert(int id, String content) {
+        Alert alert = new Alert();
+        alert.setId(id);
+        alert.setAlertGroupId(1);
+        alert.setTitle("alert mail test title");
+        alert.setContent(content);
+        return alert;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.cache;
+
+import org.apache.dolphinscheduler.api.dto.resources.ResourceComponent;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * resource tree cache, keeps the built resource trees of a user and resource type,
+ * so that listing resources does not reload and rebuild the whole tree on every call.
+ * Any change of resources or resource authorizations invalidates all trees;
+ * other api servers see the change after at most expire seconds.
+ */
+@Component
+public class ResourceTreeCache {
+
+    @Value("${resource.tree.cache.enable:true}")
+    private boolean enable;
+
+    @Value("${resource.tree.cache.expire.seconds:30}")
+    private long expireSeconds;
+
+    @Value("${resource.tree.cache.max.size:1000}")
+    private long maxSize;
+
+    /**
+     * user id + resource type + filter -> resource tree
+     */
+    private Cache<String, List<ResourceComponent>> treeCache;
+
+    /**
+     * bumped on every invalidation, a tree loaded before an invalidation is not cached
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        treeCache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * get the resource tree, build and cache it on miss
+     *
+     * @param userId user id, 0 for the whole tree of admin
+     * @param type resource type ordinal
+     * @param filter extra filter of the tree, e.g. file suffix, may be null
+     * @param loader tree loader
+     * @return resource tree
+     */
+    public List<ResourceComponent> getTree(int userId, int type, String filter, Supplier<List<ResourceComponent>> loader) {
+        if (!enable) {
+            return loader.get();
+        }
+        String key = String.format("%s_%s_%s", userId, type, filter);
+        List<ResourceComponent> tree = treeCache.getIfPresent(key);
+        if (tree == null) {
+            long current = generation.get();
+            tree = loader.get();
+            treeCache.put(key, tree);
+            if (current != generation.get()) {
+                treeCache.invalidate(key);
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * invalidate all resource trees, called whenever a resource or a resource authorization changes.
+     * Inside a transaction the trees are invalidated again after completion,
+     * so that a tree loaded before the commit does not survive it
+     */
+    public void invalidateAll() {
+        doInvalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    doInvalidateAll();
+                }
+            });
+        }
+    }
+
+    private void doInvalidateAll() {
+        generation.incrementAndGet();
+        treeCache.invalidateAll();
+    }
+
+    /**
+     * @return cached tree count
+     */
+    public long size() {
+        return treeCache.size();
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.api.controller;
 
 import static org.apache.dolphinscheduler.api.enums.Status.LIST_MASTERS_ERROR;
 import static org.apache.dolphinscheduler.api.enums.Status.LIST_WORKERS_ERROR;
+import static org.apache.dolphinscheduler.api.enums.Status.QUERY_AUTHENTICATION_CACHE_STATE_ERROR;
 import static org.apache.dolphinscheduler.api.enums.Status.QUERY_DATABASE_STATE_ERROR;
 import static org.apache.dolphinscheduler.api.enums.Status.QUERY_ZOOKEEPER_STATE_ERROR;
 
@@ -118,4 +119,20 @@ public class MonitorController extends BaseController {
         return returnDataList(result);
     }
 
+    /**
+     * query authentication cache state of this api server
+     *
+     * @param loginUser login user
+     * @return session and token cache statistics
+     */
+    @ApiOperation(value = "queryAuthenticationCacheState", notes = "QUERY_AUTHENTICATION_CACHE_STATE_NOTES")
+    @GetMapping(value = "/authentication-cache")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiException(QUERY_AUTHENTICATION_CACHE_STATE_ERROR)
+    @AccessLogAnnotation(ignoreRequestArgs = "loginUser")
+    public Result queryAuthenticationCacheState(@ApiIgnore @RequestAttribute(value = Constants.SESSION_USER) User loginUser) {
+        Map<String, Object> result = monitorService.queryAuthenticationCacheState(loginUser);
+        return returnDataList(result);
+    }
+
 }
@@ -27,6 +27,7 @@ import static org.apache.dolphinscheduler.api.enums.Status.DELETE_RESOURCE_ERROR
 import static org.apache.dolphinscheduler.api.enums.Status.DELETE_UDF_FUNCTION_ERROR;
 import static org.apache.dolphinscheduler.api.enums.Status.DOWNLOAD_RESOURCE_FILE_ERROR;
 import static org.apache.dolphinscheduler.api.enums.Status.EDIT_RESOURCE_FILE_ON_LINE_ERROR;
+import static org.apache.dolphinscheduler.api.enums.Status.MULTIPART_UPLOAD_RESOURCE_ERROR;
 import static org.apache.dolphinscheduler.api.enums.Status.QUERY_DATASOURCE_BY_TYPE_ERROR;
 import static org.apache.dolphinscheduler.api.enums.Status.QUERY_RESOURCES_LIST_ERROR;
 import static org.apache.dolphinscheduler.api.enums.Status.QUERY_RESOURCES_LIST_PAGING;
@@ -55,8 +56,11 @@ import org.apache.dolphinscheduler.common.utils.ParameterUtils;
 import org.apache.dolphinscheduler.common.utils.StringUtils;
 import org.apache.dolphinscheduler.dao.entity.User;
 
+import java.io.IOException;
 import java.util.Map;
 
+import javax.servlet.http.HttpServletRequest;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -158,6 +162,121 @@ public class ResourcesController extends BaseController {
         return resourceService.createResource(loginUser, alias, description, type, file, pid, currentDir);
     }
 
+    /**
+     * start a multipart upload, used for large resource files
+     *
+     * @param loginUser login user
+     * @param type resource type
+     * @param alias alias
+     * @param description description
+     * @param fileName original file name
+     * @param pid parent id
+     * @param currentDir current directory
+     * @return upload id
+     */
+    @ApiOperation(value = "initMultipartUpload", notes = "INIT_MULTIPART_UPLOAD_NOTES")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "type", value = "RESOURCE_TYPE", required = true, dataType = "ResourceType"),
+            @ApiImplicitParam(name = "name", value = "RESOURCE_NAME", required = true, dataType = "String"),
+            @ApiImplicitParam(name = "description", value = "RESOURCE_DESC", dataType = "String"),
+            @ApiImplicitParam(name = "fileName", value = "RESOURCE_FILE_NAME", required = true, dataType = "String"),
+            @ApiImplicitParam(name = "pid", value = "RESOURCE_PID", required = true, dataType = "Int", example = "10"),
+            @ApiImplicitParam(name = "currentDir", value = "RESOURCE_CURRENTDIR", required = true, dataType = "String")
+    })
+    @PostMapping(value = "/multipart/init")
+    @ApiException(MULTIPART_UPLOAD_RESOURCE_ERROR)
+    @AccessLogAnnotation(ignoreRequestArgs = "loginUser")
+    public Result initMultipartUpload(@ApiIgnore @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                      @RequestParam(value = "type") ResourceType type,
+                                      @RequestParam(value = "name") String alias,
+                                      @RequestParam(value = "description", required = false) String description,
+                                      @RequestParam(value = "fileName") String fileName,
+                                      @RequestParam(value = "pid") int pid,
+                                      @RequestParam(value = "currentDir") String currentDir) {
+        return resourceService.initMultipartUpload(loginUser, alias, description, type, fileName, pid, currentDir);
+    }
+
+    /**
+     * upload one part, the request body is the raw part content and is streamed to the storage
+     *
+     * @param loginUser login user
+     * @param uploadId upload id
+     * @param partNumber part number, starts from 1
+     * @param request request, its body is the part content
+     * @return part checksum
+     */
+    @ApiOperation(value = "uploadPart", notes = "UPLOAD_PART_NOTES")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "uploadId", value = "UPLOAD_ID", required = true, dataType = "String"),
+            @ApiImplicitParam(name = "partNumber", value = "PART_NUMBER", required = true, dataType = "Int", example = "1")
+    })
+    @PostMapping(value = "/multipart/part")
+    @ApiException(MULTIPART_UPLOAD_RESOURCE_ERROR)
+    @AccessLogAnnotation(ignoreRequestArgs = {"loginUser", "request"})
+    public Result uploadPart(@ApiIgnore @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                             @RequestParam(value = "uploadId") String uploadId,
+                             @RequestParam(value = "partNumber") int partNumber,
+                             @ApiIgnore HttpServletRequest request) throws IOException {
+        return resourceService.uploadPart(loginUser, uploadId, partNumber, request.getInputStream());
+    }
+
+    /**
+     * list uploaded parts, used to resume an interrupted upload
+     *
+     * @param loginUser login user
+     * @param uploadId upload id
+     * @return part number to part size
+     */
+    @ApiOperation(value = "listUploadedParts", notes = "LIST_UPLOADED_PARTS_NOTES")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "uploadId", value = "UPLOAD_ID", required = true, dataType = "String")
+    })
+    @GetMapping(value = "/multipart/parts")
+    @ApiException(MULTIPART_UPLOAD_RESOURCE_ERROR)
+    @AccessLogAnnotation(ignoreRequestArgs = "loginUser")
+    public Result listUploadedParts(@ApiIgnore @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                    @RequestParam(value = "uploadId") String uploadId) {
+        return resourceService.listUploadedParts(loginUser, uploadId);
+    }
+
+    /**
+     * complete a multipart upload and create the resource
+     *
+     * @param loginUser login user
+     * @param uploadId upload id
+     * @return create result code
+     */
+    @ApiOperation(value = "completeMultipartUpload", notes = "COMPLETE_MULTIPART_UPLOAD_NOTES")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "uploadId", value = "UPLOAD_ID", required = true, dataType = "String")
+    })
+    @PostMapping(value = "/multipart/complete")
+    @ApiException(MULTIPART_UPLOAD_RESOURCE_ERROR)
+    @AccessLogAnnotation(ignoreRequestArgs = "loginUser")
+    public Result completeMultipartUpload(@ApiIgnore @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                          @RequestParam(value = "uploadId") String uploadId) {
+        return resourceService.completeMultipartUpload(loginUser, uploadId);
+    }
+
+    /**
+     * abort a multipart upload
+     *
+     * @param loginUser login user
+     * @param uploadId upload id
+     * @return abort result code
+     */
+    @ApiOperation(value = "abortMultipartUpload", notes = "ABORT_MULTIPART_UPLOAD_NOTES")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "uploadId", value = "UPLOAD_ID", required = true, dataType = "String")
+    })
+    @PostMapping(value = "/multipart/abort")
+    @ApiException(MULTIPART_UPLOAD_RESOURCE_ERROR)
+    @AccessLogAnnotation(ignoreRequestArgs = "loginUser")
+    public Result abortMultipartUpload(@ApiIgnore @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                       @RequestParam(value = "uploadId") String uploadId) {
+        return resourceService.abortMultipartUpload(loginUser, uploadId);
+    }
+
     /**
      * update resource
      *
@@ -23,7 +23,11 @@ import org.apache.dolphinscheduler.api.dto.resources.ResourceComponent;
 import org.apache.dolphinscheduler.dao.entity.Resource;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * resource tree visitor
@@ -53,12 +57,14 @@ public class ResourceTreeVisitor implements Visitor{
     @Override
     public ResourceComponent visit() {
         ResourceComponent rootDirectory = new Directory();
+        Map<Integer, List<Resource>> childrenMap = groupByPid(resourceList);
+        Set<Integer> idSet = idSet(resourceList);
         for (Resource resource : resourceList) {
             // judge whether is root node
-            if (rootNode(resource)){
+            if (resource.getPid() == -1 || !idSet.contains(resource.getPid())) {
                 ResourceComponent tempResourceComponent = getResourceComponent(resource);
                 rootDirectory.add(tempResourceComponent);
-                tempResourceComponent.setChildren(setChildren(tempResourceComponent.getId(),resourceList));
+                tempResourceComponent.setChildren(setChildren(tempResourceComponent.getId(), childrenMap));
             }
         }
         return rootDirectory;
@@ -71,22 +77,50 @@ public class ResourceTreeVisitor implements Visitor{
      * @return resource component list
      */
     public static List<ResourceComponent> setChildren(int id, List<Resource> list ){
-        List<ResourceComponent> childList = new ArrayList<>();
-        for (Resource resource : list) {
-            if (id == resource.getPid()){
-                ResourceComponent tempResourceComponent = getResourceComponent(resource);
-                childList.add(tempResourceComponent);
-            }
-        }
-        for (ResourceComponent resourceComponent : childList) {
-            resourceComponent.setChildren(setChildren(resourceComponent.getId(),list));
-        }
-        if (childList.size()==0){
+        return setChildren(id, groupByPid(list));
+    }
+
+    /**
+     * set children, each resource is visited once
+     * @param id    id
+     * @param childrenMap  resource list grouped by parent id
+     * @return resource component list
+     */
+    private static List<ResourceComponent> setChildren(int id, Map<Integer, List<Resource>> childrenMap) {
+        List<Resource> children = childrenMap.get(id);
+        if (children == null) {
             return new ArrayList<>();
         }
+        List<ResourceComponent> childList = new ArrayList<>(children.size());
+        for (Resource resource : children) {
+            ResourceComponent tempResourceComponent = getResourceComponent(resource);
+            childList.add(tempResourceComponent);
+            tempResourceComponent.setChildren(setChildren(tempResourceComponent.getId(), childrenMap));
+        }
         return childList;
     }
 
+    /**
+     * group resources by parent id, keeping the list order
+     * @param list resource list
+     * @return parent id -> children
+     */
+    private static Map<Integer, List<Resource>> groupByPid(List<Resource> list) {
+        Map<Integer, List<Resource>> childrenMap = new HashMap<>();
+        for (Resource resource : list) {
+            childrenMap.computeIfAbsent(resource.getPid(), k -> new ArrayList<>()).add(resource);
+        }
+        return childrenMap;
+    }
+
+    private static Set<Integer> idSet(List<Resource> list) {
+        Set<Integer> idSet = new HashSet<>(list.size());
+        for (Resource resource : list) {
+            idSet.add(resource.getId());
+        }
+        return idSet;
+    }
+
     /**
      * Determine whether it is the root node
      * @param resource resource
@@ -18,7 +18,9 @@
 package org.apache.dolphinscheduler.api.interceptor;
 
 import org.apache.dolphinscheduler.api.enums.Status;
+import org.apache.dolphinscheduler.api.security.AuthenticationCache;
 import org.apache.dolphinscheduler.api.security.Authenticator;
+import org.apache.dolphinscheduler.api.service.impl.SessionServiceImpl;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.utils.StringUtils;
@@ -47,6 +49,9 @@ public class LoginHandlerInterceptor implements HandlerInterceptor {
   @Autowired
   private Authenticator authenticator;
 
+  @Autowired
+  private AuthenticationCache authenticationCache;
+
   /**
    * Intercept the execution of a handler. Called after HandlerMapping determined
    * @param request   current HTTP request
@@ -59,9 +64,10 @@ public class LoginHandlerInterceptor implements HandlerInterceptor {
 
     // get token
     String token = request.getHeader("token");
-    User user = null;
+    User user;
     if (StringUtils.isEmpty(token)){
-      user = authenticator.getAuthUser(request);
+      user = authenticationCache.getSessionUser(SessionServiceImpl.getSessionId(request),
+          () -> authenticator.getAuthUser(request));
       // if user is null
       if (user == null) {
         response.setStatus(HttpStatus.SC_UNAUTHORIZED);
@@ -69,7 +75,7 @@ public class LoginHandlerInterceptor implements HandlerInterceptor {
         return false;
       }
     }else {
-       user = userMapper.queryUserByToken(token);
+      user = authenticationCache.getTokenUser(token, () -> userMapper.queryUserByToken(token));
       if (user == null) {
         response.setStatus(HttpStatus.SC_UNAUTHORIZED);
         logger.info("user token has expired");
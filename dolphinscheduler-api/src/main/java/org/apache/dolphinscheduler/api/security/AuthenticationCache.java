@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.api.security;
+
+import static org.apache.dolphinscheduler.common.Constants.REGISTRY_DOLPHINSCHEDULER_AUTH_INVALIDATION;
+import static org.apache.dolphinscheduler.common.Constants.SINGLE_SLASH;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.utils.StringUtils;
+import org.apache.dolphinscheduler.dao.entity.User;
+import org.apache.dolphinscheduler.service.registry.RegistryClient;
+import org.apache.dolphinscheduler.spi.register.DataChangeEvent;
+
+import org.apache.commons.lang.math.NumberUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * authentication cache, keeps the user principal resolved from a session id or an access token,
+ * so that authenticated requests do not hit the database on every call.
+ * Entries live at most expire seconds (bounded by the session timeout), and are invalidated
+ * explicitly on sign out, user update, token revocation and session expiry.
+ * When broadcast is enabled, user invalidations are published through the registry
+ * so that every api server drops its entries of that user.
+ */
+@Component
+public class AuthenticationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticationCache.class);
+
+    @Value("${security.authentication.cache.enable:true}")
+    private boolean enable;
+
+    @Value("${security.authentication.cache.expire.seconds:60}")
+    private long expireSeconds;
+
+    @Value("${security.authentication.cache.max.size:10000}")
+    private long maxSize;
+
+    @Value("${security.authentication.cache.broadcast.enable:false}")
+    private boolean broadcast;
+
+    /**
+     * session id -> user
+     */
+    private Cache<String, User> sessionCache;
+
+    /**
+     * access token -> user
+     */
+    private Cache<String, User> tokenCache;
+
+    @PostConstruct
+    public void init() {
+        long expire = Math.min(expireSeconds, Constants.SESSION_TIME_OUT);
+        sessionCache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expire, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        tokenCache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expire, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        if (enable && broadcast) {
+            RegistryClient.getInstance().subscribe(REGISTRY_DOLPHINSCHEDULER_AUTH_INVALIDATION, this::onInvalidation);
+        }
+    }
+
+    /**
+     * get the user of a session, load and cache it on miss
+     *
+     * @param sessionId session id
+     * @param loader user loader, may return null
+     * @return user or null
+     */
+    public User getSessionUser(String sessionId, Supplier<User> loader) {
+        return get(sessionCache, sessionId, loader);
+    }
+
+    /**
+     * get the user of an access token, load and cache it on miss
+     *
+     * @param token access token
+     * @param loader user loader, may return null
+     * @return user or null
+     */
+    public User getTokenUser(String token, Supplier<User> loader) {
+        return get(tokenCache, token, loader);
+    }
+
+    private User get(Cache<String, User> cache, String key, Supplier<User> loader) {
+        if (!enable || StringUtils.isEmpty(key)) {
+            return loader.get();
+        }
+        User user = cache.getIfPresent(key);
+        if (user == null) {
+            user = loader.get();
+            // never cache a failed lookup, the session or token may be created right after
+            if (user != null) {
+                cache.put(key, user);
+            }
+        }
+        return user;
+    }
+
+    /**
+     * invalidate a session, e.g. sign out or session expired
+     *
+     * @param sessionId session id
+     * @param userId owner of the session
+     */
+    public void invalidateSession(String sessionId, int userId) {
+        if (StringUtils.isNotEmpty(sessionId)) {
+            sessionCache.invalidate(sessionId);
+        }
+        publish(userId);
+    }
+
+    /**
+     * invalidate an access token, e.g. token deleted or updated
+     *
+     * @param token access token
+     * @param userId owner of the token
+     */
+    public void invalidateToken(String token, int userId) {
+        if (StringUtils.isNotEmpty(token)) {
+            tokenCache.invalidate(token);
+        }
+        publish(userId);
+    }
+
+    /**
+     * invalidate every session and token of a user, e.g. user updated or deleted
+     *
+     * @param userId user id
+     */
+    public void invalidateUser(int userId) {
+        invalidateLocal(userId);
+        publish(userId);
+    }
+
+    private void invalidateLocal(int userId) {
+        sessionCache.asMap().values().removeIf(user -> user.getId() == userId);
+        tokenCache.asMap().values().removeIf(user -> user.getId() == userId);
+    }
+
+    /**
+     * publish the invalidation to other api servers, only the user id is published,
+     * session ids and tokens are credentials and never written to the registry
+     */
+    private void publish(int userId) {
+        if (!enable || !broadcast) {
+            return;
+        }
+        try {
+            RegistryClient.getInstance().persistEphemeral(REGISTRY_DOLPHINSCHEDULER_AUTH_INVALIDATION + SINGLE_SLASH + userId,
+                    String.valueOf(System.currentTimeMillis()));
+        } catch (Exception e) {
+            // other api servers still drop the entries when they expire
+            logger.warn("publish authentication invalidation of user {} failed", userId, e);
+        }
+    }
+
+    void onInvalidation(String path, DataChangeEvent dataChangeEvent) {
+        if (dataChangeEvent == DataChangeEvent.REMOVE) {
+            return;
+        }
+        String userId = path.substring(path.lastIndexOf(SINGLE_SLASH) + 1);
+        if (NumberUtils.isDigits(userId)) {
+            invalidateLocal(Integer.parseInt(userId));
+        }
+    }
+
+    /**
+     * @return session cache statistics, hit rate included
+     */
+    public CacheStats getSessionCacheStats() {
+        return sessionCache.stats();
+    }
+
+    /**
+     * @return token cache statistics, hit rate included
+     */
+    public CacheStats getTokenCacheStats() {
+        return tokenCache.stats();
+    }
+}
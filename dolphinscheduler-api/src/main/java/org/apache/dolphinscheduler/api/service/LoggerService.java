@@ -19,6 +19,8 @@ package org.apache.dolphinscheduler.api.service;
 
 import org.apache.dolphinscheduler.api.utils.Result;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 /**
  * logger service
  */
@@ -43,4 +45,12 @@ public interface LoggerService {
      */
     byte[] getLogBytes(int taskInstId);
 
+    /**
+     * stream log, the task instance is checked eagerly while the log is transferred chunk by chunk when written
+     *
+     * @param taskInstId task instance id
+     * @return streaming log body
+     */
+    StreamingResponseBody streamLog(int taskInstId);
+
 }
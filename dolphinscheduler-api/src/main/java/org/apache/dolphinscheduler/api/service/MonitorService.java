@@ -59,6 +59,14 @@ public interface MonitorService {
      * @return worker information list
      */
     Map<String,Object> queryWorker(User loginUser);
+
+    /**
+     * query authentication cache state of this api server
+     *
+     * @param loginUser login user
+     * @return session and token cache statistics
+     */
+    Map<String,Object> queryAuthenticationCacheState(User loginUser);
     
     List<Server> getServerListFromRegistry(boolean isMaster);
 }
@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.common.enums.ResourceType;
 import org.apache.dolphinscheduler.dao.entity.User;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 
 import org.springframework.web.multipart.MultipartFile;
@@ -117,6 +118,59 @@ public interface ResourcesService {
      */
     Map<String, Object> queryResourceByProgramType(User loginUser, ResourceType type, ProgramType programType);
 
+    /**
+     * start a multipart upload of a resource file
+     *
+     * @param loginUser login user
+     * @param name alias
+     * @param desc description
+     * @param type type
+     * @param fileName original file name
+     * @param pid parent id
+     * @param currentDir current directory
+     * @return upload id
+     */
+    Result<Object> initMultipartUpload(User loginUser, String name, String desc, ResourceType type,
+                                       String fileName, int pid, String currentDir);
+
+    /**
+     * upload one part of a multipart upload, uploading the same part again overwrites it
+     *
+     * @param loginUser login user
+     * @param uploadId upload id
+     * @param partNumber part number, starts from 1
+     * @param in part content
+     * @return part size and checksum
+     */
+    Result<Object> uploadPart(User loginUser, String uploadId, int partNumber, InputStream in);
+
+    /**
+     * list the uploaded parts of a multipart upload, used to resume an interrupted upload
+     *
+     * @param loginUser login user
+     * @param uploadId upload id
+     * @return uploaded part numbers and sizes
+     */
+    Result<Object> listUploadedParts(User loginUser, String uploadId);
+
+    /**
+     * complete a multipart upload, concatenate the parts into the resource file
+     *
+     * @param loginUser login user
+     * @param uploadId upload id
+     * @return create result code
+     */
+    Result<Object> completeMultipartUpload(User loginUser, String uploadId);
+
+    /**
+     * abort a multipart upload and delete the uploaded parts
+     *
+     * @param loginUser login user
+     * @param uploadId upload id
+     * @return abort result code
+     */
+    Result<Object> abortMultipartUpload(User loginUser, String uploadId);
+
     /**
      * delete resource
      *
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.api.service.impl;
 
 import org.apache.dolphinscheduler.api.enums.Status;
+import org.apache.dolphinscheduler.api.security.AuthenticationCache;
 import org.apache.dolphinscheduler.api.service.AccessTokenService;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.common.Constants;
@@ -51,6 +52,9 @@ public class AccessTokenServiceImpl extends BaseServiceImpl implements AccessTok
     @Autowired
     private AccessTokenMapper accessTokenMapper;
 
+    @Autowired
+    private AuthenticationCache authenticationCache;
+
     /**
      * query access token list
      *
@@ -164,6 +168,7 @@ public class AccessTokenServiceImpl extends BaseServiceImpl implements AccessTok
         }
 
         accessTokenMapper.deleteById(id);
+        authenticationCache.invalidateToken(accessToken.getToken(), accessToken.getUserId());
         putMsg(result, Status.SUCCESS);
         return result;
     }
@@ -190,12 +195,16 @@ public class AccessTokenServiceImpl extends BaseServiceImpl implements AccessTok
             putMsg(result, Status.ACCESS_TOKEN_NOT_EXIST);
             return result;
         }
+        String oldToken = accessToken.getToken();
+        int oldUserId = accessToken.getUserId();
         accessToken.setUserId(userId);
         accessToken.setExpireTime(DateUtils.stringToDate(expireTime));
         accessToken.setToken(token);
         accessToken.setUpdateTime(new Date());
 
         accessTokenMapper.updateById(accessToken);
+        // the old token may still be cached for the old user
+        authenticationCache.invalidateToken(oldToken, oldUserId);
 
         putMsg(result, Status.SUCCESS);
         return result;
@@ -55,6 +55,7 @@ import org.apache.dolphinscheduler.dao.mapper.ProcessInstanceMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.quartz.cron.CronUtils;
+import org.apache.dolphinscheduler.service.state.StateEventClientService;
 
 import org.apache.commons.collections.MapUtils;
 
@@ -64,6 +65,10 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -98,6 +103,25 @@ public class ExecutorServiceImpl extends BaseServiceImpl implements ExecutorServ
     @Autowired
     private ProcessService processService;
 
+    /**
+     * state event client, notifies the master running the process instance
+     */
+    private StateEventClientService stateEventClient;
+
+    @PostConstruct
+    public void init() {
+        if (Objects.isNull(this.stateEventClient)) {
+            this.stateEventClient = new StateEventClientService();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (Objects.nonNull(this.stateEventClient) && this.stateEventClient.isRunning()) {
+            stateEventClient.close();
+        }
+    }
+
     /**
      * execute process instance
      *
@@ -382,6 +406,10 @@ public class ExecutorServiceImpl extends BaseServiceImpl implements ExecutorServ
 
         // determine whether the process is normal
         if (update > 0) {
+            // the master keeps the running instance in memory, push the change instead of waiting for its database sync
+            if (Objects.nonNull(stateEventClient)) {
+                stateEventClient.sendStateEventAsync(processInstance.getHost(), processInstance.getId(), executionStatus, commandType);
+            }
             putMsg(result, Status.SUCCESS);
         } else {
             putMsg(result, Status.EXECUTE_PROCESS_INSTANCE_ERROR);
@@ -40,6 +40,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * logger service impl
@@ -133,6 +134,30 @@ public class LoggerServiceImpl implements LoggerService {
                 logClient.getLogBytes(host, Constants.RPC_PORT, taskInstance.getLogPath()));
     }
 
+    /**
+     * stream log
+     *
+     * @param taskInstId task instance id
+     * @return streaming log body
+     */
+    @Override
+    public StreamingResponseBody streamLog(int taskInstId) {
+        TaskInstance taskInstance = processService.findTaskInstanceById(taskInstId);
+        if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
+            throw new ServiceException("task instance is null or host is null");
+        }
+        String host = getHost(taskInstance.getHost());
+        String logPath = taskInstance.getLogPath();
+        byte[] head = String.format(LOG_HEAD_FORMAT,
+                logPath,
+                host,
+                Constants.SYSTEM_LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8);
+        return out -> {
+            out.write(head);
+            logClient.streamLog(host, Constants.RPC_PORT, logPath, out);
+        };
+    }
+
     /**
      * get host
      *
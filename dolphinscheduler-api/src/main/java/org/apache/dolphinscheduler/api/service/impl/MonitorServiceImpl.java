@@ -18,12 +18,14 @@
 package org.apache.dolphinscheduler.api.service.impl;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apache.dolphinscheduler.api.enums.Status;
+import org.apache.dolphinscheduler.api.security.AuthenticationCache;
 import org.apache.dolphinscheduler.api.service.MonitorService;
 import org.apache.dolphinscheduler.api.utils.RegistryCenterUtils;
 import org.apache.dolphinscheduler.common.Constants;
@@ -36,6 +38,7 @@ import org.apache.dolphinscheduler.dao.entity.ZookeeperRecord;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Sets;
 
 /**
@@ -47,6 +50,9 @@ public class MonitorServiceImpl extends BaseServiceImpl implements MonitorServic
     @Autowired
     private MonitorDBDao monitorDBDao;
 
+    @Autowired
+    private AuthenticationCache authenticationCache;
+
     /**
      * query database state
      *
@@ -147,6 +153,35 @@ public class MonitorServiceImpl extends BaseServiceImpl implements MonitorServic
         return result;
     }
 
+    /**
+     * query authentication cache state of this api server
+     *
+     * @param loginUser login user
+     * @return session and token cache statistics
+     */
+    @Override
+    public Map<String,Object> queryAuthenticationCacheState(User loginUser) {
+        Map<String, Object> result = new HashMap<>();
+
+        Map<String, Map<String, Object>> cacheStates = new LinkedHashMap<>();
+        cacheStates.put("session", toCacheState(authenticationCache.getSessionCacheStats()));
+        cacheStates.put("token", toCacheState(authenticationCache.getTokenCacheStats()));
+
+        result.put(Constants.DATA_LIST, cacheStates);
+        putMsg(result, Status.SUCCESS);
+
+        return result;
+    }
+
+    private Map<String, Object> toCacheState(CacheStats stats) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("hitCount", stats.hitCount());
+        state.put("missCount", stats.missCount());
+        state.put("hitRate", stats.hitRate());
+        state.put("evictionCount", stats.evictionCount());
+        return state;
+    }
+
     @Override
     public List<Server> getServerListFromRegistry(boolean isMaster) {
         return isMaster ? RegistryCenterUtils.getMasterServers() : RegistryCenterUtils.getWorkerServers();
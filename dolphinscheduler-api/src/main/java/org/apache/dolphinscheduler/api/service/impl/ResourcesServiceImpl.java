@@ -21,6 +21,8 @@ import static org.apache.dolphinscheduler.common.Constants.ALIAS;
 import static org.apache.dolphinscheduler.common.Constants.CONTENT;
 import static org.apache.dolphinscheduler.common.Constants.JAR;
 
+import org.apache.dolphinscheduler.api.cache.ResourceTreeCache;
+import org.apache.dolphinscheduler.api.dto.resources.MultipartUpload;
 import org.apache.dolphinscheduler.api.dto.resources.ResourceComponent;
 import org.apache.dolphinscheduler.api.dto.resources.filter.ResourceFilter;
 import org.apache.dolphinscheduler.api.dto.resources.visitor.ResourceTreeVisitor;
@@ -34,6 +36,7 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.ProgramType;
 import org.apache.dolphinscheduler.common.enums.ResourceType;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.BooleanUtils;
 import org.apache.dolphinscheduler.common.utils.CollectionUtils;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
@@ -55,8 +58,12 @@ import org.apache.dolphinscheduler.dao.mapper.UserMapper;
 import org.apache.dolphinscheduler.dao.utils.ResourceProcessDefinitionUtils;
 
 import org.apache.commons.beanutils.BeanMap;
+import org.apache.hadoop.fs.FileStatus;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -66,10 +73,17 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -81,6 +95,7 @@ import org.springframework.web.multipart.MultipartFile;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.io.ByteStreams;
 
 /**
  * resources service impl
@@ -90,6 +105,23 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
 
     private static final Logger logger = LoggerFactory.getLogger(ResourcesServiceImpl.class);
 
+    /**
+     * multipart upload meta file name
+     */
+    private static final String MULTIPART_UPLOAD_META = "upload.json";
+
+    /**
+     * multipart upload part file name prefix
+     */
+    private static final String MULTIPART_UPLOAD_PART_PREFIX = "part-";
+
+    /**
+     * max parts of a multipart upload
+     */
+    private static final int MULTIPART_UPLOAD_MAX_PARTS = 10000;
+
+    private static final Pattern MULTIPART_UPLOAD_ID_PATTERN = Pattern.compile("[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12}");
+
     @Autowired
     private ResourceMapper resourcesMapper;
 
@@ -108,6 +140,24 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
     @Autowired
     private ProcessDefinitionMapper processDefinitionMapper;
 
+    @Autowired
+    private ResourceTreeCache resourceTreeCache;
+
+    private ScheduledExecutorService multipartUploadCleaner;
+
+    @PostConstruct
+    public void init() {
+        multipartUploadCleaner = ThreadUtils.newDaemonThreadScheduledExecutor("MultipartUploadCleaner", 1);
+        multipartUploadCleaner.scheduleWithFixedDelay(this::cleanExpiredMultipartUploads, 1, 1, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (multipartUploadCleaner != null) {
+            multipartUploadCleaner.shutdownNow();
+        }
+    }
+
     /**
      * create directory
      *
@@ -149,6 +199,7 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
 
         try {
             resourcesMapper.insert(resource);
+            resourceTreeCache.invalidateAll();
             putMsg(result, Status.SUCCESS);
             Map<Object, Object> dataMap = new BeanMap(resource);
             Map<String, Object> resultMap = new HashMap<>();
@@ -215,31 +266,29 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
             return result;
         }
 
+        // upload first so the resource row is inserted with its checksum
+        String checksum = upload(loginUser, fullName, file, type);
+        if (checksum == null) {
+            logger.error("upload resource: {} file: {} failed.", RegexUtils.escapeNRT(name), RegexUtils.escapeNRT(file.getOriginalFilename()));
+            putMsg(result, Status.HDFS_OPERATION_ERROR);
+            throw new ServiceException(String.format("upload resource: %s file: %s failed.", name, file.getOriginalFilename()));
+        }
+
         Date now = new Date();
         Resource resource = new Resource(pid,name,fullName,false,desc,file.getOriginalFilename(),loginUser.getId(),type,file.getSize(),now,now);
+        resource.setChecksum(checksum);
 
         try {
             resourcesMapper.insert(resource);
-            putMsg(result, Status.SUCCESS);
-            Map<Object, Object> dataMap = new BeanMap(resource);
-            Map<String, Object> resultMap = new HashMap<>();
-            for (Map.Entry<Object, Object> entry: dataMap.entrySet()) {
-                if (!"class".equalsIgnoreCase(entry.getKey().toString())) {
-                    resultMap.put(entry.getKey().toString(), entry.getValue());
-                }
-            }
-            result.setData(resultMap);
+            resourceTreeCache.invalidateAll();
         } catch (Exception e) {
             logger.error("resource already exists, can't recreate ", e);
+            deleteUploadedFile(HadoopUtils.getHdfsFileName(type, tenantMapper.queryById(loginUser.getTenantId()).getTenantCode(), fullName));
             throw new ServiceException("resource already exists, can't recreate");
         }
 
-        // fail upload
-        if (!upload(loginUser, fullName, file, type)) {
-            logger.error("upload resource: {} file: {} failed.", RegexUtils.escapeNRT(name), RegexUtils.escapeNRT(file.getOriginalFilename()));
-            putMsg(result, Status.HDFS_OPERATION_ERROR);
-            throw new ServiceException(String.format("upload resource: %s file: %s failed.", name, file.getOriginalFilename()));
-        }
+        putMsg(result, Status.SUCCESS);
+        result.setData(resourceToMap(resource));
         return result;
     }
 
@@ -367,18 +416,27 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
         resource.setDescription(desc);
         resource.setUpdateTime(now);
         if (file != null) {
+            // upload first so the resource row is updated with its checksum at once
+            String checksum = upload(loginUser, fullName, file, type);
+            if (checksum == null) {
+                logger.error("upload resource: {} file: {} failed.", name, RegexUtils.escapeNRT(file.getOriginalFilename()));
+                putMsg(result, Status.HDFS_OPERATION_ERROR);
+                throw new ServiceException(String.format("upload resource: %s file: %s failed.", name, file.getOriginalFilename()));
+            }
             resource.setSize(file.getSize());
+            resource.setChecksum(checksum);
         }
 
         try {
             resourcesMapper.updateById(resource);
+            resourceTreeCache.invalidateAll();
             if (resource.isDirectory()) {
-                List<Integer> childrenResource = listAllChildren(resource,false);
-                if (CollectionUtils.isNotEmpty(childrenResource)) {
+                // children still carry the origin full name
+                List<Resource> resourceList = listAllChildren(resource.getType(), originFullName);
+                if (CollectionUtils.isNotEmpty(resourceList)) {
                     String matcherFullName = Matcher.quoteReplacement(fullName);
                     List<Resource> childResourceList;
-                    Integer[] childResIdArray = childrenResource.toArray(new Integer[childrenResource.size()]);
-                    List<Resource> resourceList = resourcesMapper.listResourceByIds(childResIdArray);
+                    Integer[] childResIdArray = resourceList.stream().map(Resource::getId).toArray(Integer[]::new);
                     childResourceList = resourceList.stream().map(t -> {
                         t.setFullName(t.getFullName().replaceFirst(originFullName, matcherFullName));
                         t.setUpdateTime(now);
@@ -412,14 +470,7 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
             }
 
             putMsg(result, Status.SUCCESS);
-            Map<Object, Object> dataMap = new BeanMap(resource);
-            Map<String, Object> resultMap = new HashMap<>();
-            for (Map.Entry<Object, Object> entry: dataMap.entrySet()) {
-                if (!Constants.CLASS.equalsIgnoreCase(entry.getKey().toString())) {
-                    resultMap.put(entry.getKey().toString(), entry.getValue());
-                }
-            }
-            result.setData(resultMap);
+            result.setData(resourceToMap(resource));
         } catch (Exception e) {
             logger.error(Status.UPDATE_RESOURCE_ERROR.getMsg(), e);
             throw new ServiceException(Status.UPDATE_RESOURCE_ERROR);
@@ -431,12 +482,6 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
         }
 
         if (file != null) {
-            // fail upload
-            if (!upload(loginUser, fullName, file, type)) {
-                logger.error("upload resource: {} file: {} failed.", name, RegexUtils.escapeNRT(file.getOriginalFilename()));
-                putMsg(result, Status.HDFS_OPERATION_ERROR);
-                throw new ServiceException(String.format("upload resource: %s file: %s failed.", name, file.getOriginalFilename()));
-            }
             if (!fullName.equals(originFullName)) {
                 try {
                     HadoopUtils.getInstance().delete(originHdfsFileName,false);
@@ -463,6 +508,437 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
         return result;
     }
 
+    /**
+     * start a multipart upload of a resource file, the parts are kept in the tenant multipart dir until completed
+     *
+     * @param loginUser login user
+     * @param name alias
+     * @param desc description
+     * @param type type
+     * @param fileName original file name
+     * @param pid parent id
+     * @param currentDir current directory
+     * @return upload id
+     */
+    @Override
+    public Result<Object> initMultipartUpload(User loginUser, String name, String desc, ResourceType type,
+                                              String fileName, int pid, String currentDir) {
+        Result<Object> result = checkResourceUploadStartupState();
+        if (result.isFailed()) {
+            return result;
+        }
+
+        result = verifyPid(loginUser, pid);
+        if (result.isFailed()) {
+            return result;
+        }
+
+        result = verifyFileSuffix(name, type, fileName);
+        if (result.isFailed()) {
+            return result;
+        }
+
+        // check resource name exists
+        String fullName = currentDir.equals("/") ? String.format("%s%s",currentDir,name) : String.format("%s/%s",currentDir,name);
+        if (checkResourceExists(fullName, 0, type.ordinal())) {
+            logger.error("resource {} has exist, can't recreate", RegexUtils.escapeNRT(name));
+            putMsg(result, Status.RESOURCE_EXIST);
+            return result;
+        }
+
+        String tenantCode = getTenantCode(loginUser.getId(), result);
+        if (StringUtils.isEmpty(tenantCode)) {
+            return result;
+        }
+
+        MultipartUpload multipartUpload = new MultipartUpload();
+        multipartUpload.setUploadId(UUID.randomUUID().toString());
+        multipartUpload.setUserId(loginUser.getId());
+        multipartUpload.setTenantCode(tenantCode);
+        multipartUpload.setType(type);
+        multipartUpload.setName(name);
+        multipartUpload.setFullName(fullName);
+        multipartUpload.setDescription(desc);
+        multipartUpload.setFileName(fileName);
+        multipartUpload.setPid(pid);
+        multipartUpload.setCreateTime(new Date());
+
+        String uploadDir = HadoopUtils.getHdfsMultipartUploadDir(tenantCode, multipartUpload.getUploadId());
+        byte[] meta = JSONUtils.toJsonString(multipartUpload).getBytes(StandardCharsets.UTF_8);
+        try (InputStream in = new ByteArrayInputStream(meta)) {
+            HadoopUtils.getInstance().copyInputStreamToHdfs(in, String.format("%s/%s", uploadDir, MULTIPART_UPLOAD_META), true);
+        } catch (IOException e) {
+            logger.error("init multipart upload of resource {} failed", RegexUtils.escapeNRT(name), e);
+            putMsg(result, Status.HDFS_OPERATION_ERROR);
+            return result;
+        }
+
+        putMsg(result, Status.SUCCESS);
+        result.setData(multipartUpload);
+        return result;
+    }
+
+    /**
+     * upload one part of a multipart upload, uploading the same part again overwrites it
+     *
+     * @param loginUser login user
+     * @param uploadId upload id
+     * @param partNumber part number, starts from 1
+     * @param in part content
+     * @return part number and checksum
+     */
+    @Override
+    public Result<Object> uploadPart(User loginUser, String uploadId, int partNumber, InputStream in) {
+        Result<Object> result = checkResourceUploadStartupState();
+        if (result.isFailed()) {
+            return result;
+        }
+        if (partNumber < 1 || partNumber > MULTIPART_UPLOAD_MAX_PARTS) {
+            putMsg(result, Status.REQUEST_PARAMS_NOT_VALID_ERROR, "partNumber");
+            return result;
+        }
+
+        MultipartUpload multipartUpload = getMultipartUpload(loginUser, uploadId, result);
+        if (multipartUpload == null) {
+            return result;
+        }
+
+        String uploadDir = HadoopUtils.getHdfsMultipartUploadDir(multipartUpload.getTenantCode(), uploadId);
+        String partFileName = getPartFileName(uploadDir, partNumber);
+        String checksum;
+        try {
+            // the part being uploaded again does not count, it is overwritten
+            long remaining = getMultipartUploadMaxSize();
+            for (Map.Entry<Integer, Long> uploaded : listParts(uploadDir).entrySet()) {
+                if (uploaded.getKey() != partNumber) {
+                    remaining -= uploaded.getValue();
+                }
+            }
+            if (remaining <= 0) {
+                logger.error("multipart upload {} size exceeds limit", uploadId);
+                putMsg(result, Status.RESOURCE_SIZE_EXCEED_LIMIT);
+                return result;
+            }
+            // read at most one byte over the limit, enough to tell the part is too large
+            checksum = HadoopUtils.getInstance().copyInputStreamToHdfs(ByteStreams.limit(in, remaining + 1), partFileName, true);
+            Long partSize = listParts(uploadDir).get(partNumber);
+            if (partSize != null && partSize > remaining) {
+                logger.error("multipart upload {} size exceeds limit", uploadId);
+                deleteUploadedFile(partFileName);
+                putMsg(result, Status.RESOURCE_SIZE_EXCEED_LIMIT);
+                return result;
+            }
+        } catch (Exception e) {
+            logger.error("upload part {} of multipart upload {} failed", partNumber, uploadId, e);
+            putMsg(result, Status.HDFS_OPERATION_ERROR);
+            return result;
+        }
+
+        Map<String, Object> part = new HashMap<>();
+        part.put("partNumber", partNumber);
+        part.put("checksum", checksum);
+        putMsg(result, Status.SUCCESS);
+        result.setData(part);
+        return result;
+    }
+
+    /**
+     * list the uploaded parts of a multipart upload, used to resume an interrupted upload
+     *
+     * @param loginUser login user
+     * @param uploadId upload id
+     * @return part number to part size
+     */
+    @Override
+    public Result<Object> listUploadedParts(User loginUser, String uploadId) {
+        Result<Object> result = checkResourceUploadStartupState();
+        if (result.isFailed()) {
+            return result;
+        }
+
+        MultipartUpload multipartUpload = getMultipartUpload(loginUser, uploadId, result);
+        if (multipartUpload == null) {
+            return result;
+        }
+
+        try {
+            result.setData(listParts(HadoopUtils.getHdfsMultipartUploadDir(multipartUpload.getTenantCode(), uploadId)));
+        } catch (Exception e) {
+            logger.error("list parts of multipart upload {} failed", uploadId, e);
+            putMsg(result, Status.HDFS_OPERATION_ERROR);
+            return result;
+        }
+        putMsg(result, Status.SUCCESS);
+        return result;
+    }
+
+    /**
+     * complete a multipart upload, the parts are concatenated into the resource file in part number order.
+     * the size limit of a single upload does not apply, the total size is limited by resource.multipart.upload.max.size
+     *
+     * @param loginUser login user
+     * @param uploadId upload id
+     * @return create result code
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Result<Object> completeMultipartUpload(User loginUser, String uploadId) {
+        Result<Object> result = checkResourceUploadStartupState();
+        if (result.isFailed()) {
+            return result;
+        }
+
+        MultipartUpload multipartUpload = getMultipartUpload(loginUser, uploadId, result);
+        if (multipartUpload == null) {
+            return result;
+        }
+
+        String uploadDir = HadoopUtils.getHdfsMultipartUploadDir(multipartUpload.getTenantCode(), uploadId);
+        Map<Integer, Long> parts;
+        try {
+            parts = listParts(uploadDir);
+        } catch (Exception e) {
+            logger.error("list parts of multipart upload {} failed", uploadId, e);
+            putMsg(result, Status.HDFS_OPERATION_ERROR);
+            return result;
+        }
+        if (parts.isEmpty()) {
+            putMsg(result, Status.RESOURCE_FILE_IS_EMPTY);
+            return result;
+        }
+        List<String> partFileNames = new ArrayList<>(parts.size());
+        long size = 0;
+        for (int partNumber = 1; partNumber <= parts.size(); partNumber++) {
+            Long partSize = parts.get(partNumber);
+            if (partSize == null) {
+                putMsg(result, Status.MULTIPART_UPLOAD_PART_MISSING, partNumber);
+                return result;
+            }
+            partFileNames.add(getPartFileName(uploadDir, partNumber));
+            size += partSize;
+        }
+        if (size > getMultipartUploadMaxSize()) {
+            logger.error("multipart upload {} size {} exceeds limit", uploadId, size);
+            putMsg(result, Status.RESOURCE_SIZE_EXCEED_LIMIT);
+            return result;
+        }
+
+        result = verifyPid(loginUser, multipartUpload.getPid());
+        if (result.isFailed()) {
+            return result;
+        }
+        String fullName = multipartUpload.getFullName();
+        ResourceType type = multipartUpload.getType();
+        if (checkResourceExists(fullName, 0, type.ordinal())) {
+            logger.error("resource {} has exist, can't recreate", RegexUtils.escapeNRT(fullName));
+            putMsg(result, Status.RESOURCE_EXIST);
+            return result;
+        }
+
+        String tenantCode = multipartUpload.getTenantCode();
+        String hdfsFilename = HadoopUtils.getHdfsFileName(type, tenantCode, fullName);
+        String checksum;
+        try {
+            if (!HadoopUtils.getInstance().exists(HadoopUtils.getHdfsDir(type, tenantCode))) {
+                createTenantDirIfNotExists(tenantCode);
+            }
+            checksum = HadoopUtils.getInstance().concat(partFileNames, hdfsFilename, true);
+        } catch (IOException e) {
+            logger.error("complete multipart upload {} of resource {} failed", uploadId, RegexUtils.escapeNRT(fullName), e);
+            putMsg(result, Status.HDFS_OPERATION_ERROR);
+            throw new ServiceException(String.format("upload resource: %s failed.", fullName));
+        }
+
+        Date now = new Date();
+        Resource resource = new Resource(multipartUpload.getPid(), multipartUpload.getName(), fullName, false,
+                multipartUpload.getDescription(), multipartUpload.getFileName(), multipartUpload.getUserId(), type, size, now, now);
+        resource.setChecksum(checksum);
+        try {
+            resourcesMapper.insert(resource);
+            resourceTreeCache.invalidateAll();
+        } catch (Exception e) {
+            logger.error("resource already exists, can't recreate ", e);
+            deleteUploadedFile(hdfsFilename);
+            throw new ServiceException("resource already exists, can't recreate");
+        }
+        deleteMultipartUploadDir(uploadDir);
+
+        putMsg(result, Status.SUCCESS);
+        result.setData(resourceToMap(resource));
+        return result;
+    }
+
+    /**
+     * abort a multipart upload and delete the uploaded parts
+     *
+     * @param loginUser login user
+     * @param uploadId upload id
+     * @return abort result code
+     */
+    @Override
+    public Result<Object> abortMultipartUpload(User loginUser, String uploadId) {
+        Result<Object> result = checkResourceUploadStartupState();
+        if (result.isFailed()) {
+            return result;
+        }
+
+        MultipartUpload multipartUpload = getMultipartUpload(loginUser, uploadId, result);
+        if (multipartUpload == null) {
+            return result;
+        }
+
+        if (!deleteMultipartUploadDir(HadoopUtils.getHdfsMultipartUploadDir(multipartUpload.getTenantCode(), uploadId))) {
+            putMsg(result, Status.HDFS_OPERATION_ERROR);
+            return result;
+        }
+        putMsg(result, Status.SUCCESS);
+        return result;
+    }
+
+    /**
+     * get the multipart upload of the login user's tenant
+     *
+     * @param loginUser login user
+     * @param uploadId upload id
+     * @param result result, holds the failure status if null returned
+     * @return multipart upload, null if not exists or no permission
+     */
+    private MultipartUpload getMultipartUpload(User loginUser, String uploadId, Result<Object> result) {
+        // upload id is a part of the hdfs path, only accept the generated uuid
+        if (StringUtils.isEmpty(uploadId) || !MULTIPART_UPLOAD_ID_PATTERN.matcher(uploadId).matches()) {
+            putMsg(result, Status.MULTIPART_UPLOAD_NOT_EXIST, uploadId);
+            return null;
+        }
+        String tenantCode = getTenantCode(loginUser.getId(), result);
+        if (StringUtils.isEmpty(tenantCode)) {
+            return null;
+        }
+
+        String metaFileName = String.format("%s/%s", HadoopUtils.getHdfsMultipartUploadDir(tenantCode, uploadId), MULTIPART_UPLOAD_META);
+        MultipartUpload multipartUpload;
+        try {
+            if (!HadoopUtils.getInstance().exists(metaFileName)) {
+                putMsg(result, Status.MULTIPART_UPLOAD_NOT_EXIST, uploadId);
+                return null;
+            }
+            multipartUpload = JSONUtils.parseObject(HadoopUtils.getInstance().catFile(metaFileName), MultipartUpload.class);
+        } catch (IOException e) {
+            logger.error("read multipart upload {} failed", uploadId, e);
+            putMsg(result, Status.HDFS_OPERATION_ERROR);
+            return null;
+        }
+        if (multipartUpload == null) {
+            putMsg(result, Status.MULTIPART_UPLOAD_NOT_EXIST, uploadId);
+            return null;
+        }
+        if (!hasPerm(loginUser, multipartUpload.getUserId())) {
+            putMsg(result, Status.USER_NO_OPERATION_PERM);
+            return null;
+        }
+        return multipartUpload;
+    }
+
+    /**
+     * list uploaded parts
+     *
+     * @param uploadDir multipart upload dir
+     * @return part number to part size, sorted by part number
+     */
+    private Map<Integer, Long> listParts(String uploadDir) throws Exception {
+        Map<Integer, Long> parts = new TreeMap<>();
+        for (FileStatus fileStatus : HadoopUtils.getInstance().listFileStatus(uploadDir)) {
+            String fileName = fileStatus.getPath().getName();
+            if (fileName.startsWith(MULTIPART_UPLOAD_PART_PREFIX)) {
+                parts.put(Integer.parseInt(fileName.substring(MULTIPART_UPLOAD_PART_PREFIX.length())), fileStatus.getLen());
+            }
+        }
+        return parts;
+    }
+
+    private static String getPartFileName(String uploadDir, int partNumber) {
+        return String.format("%s/%s%05d", uploadDir, MULTIPART_UPLOAD_PART_PREFIX, partNumber);
+    }
+
+    private static long getMultipartUploadMaxSize() {
+        return PropertyUtils.getLong(Constants.RESOURCE_MULTIPART_UPLOAD_MAX_SIZE, Constants.RESOURCE_MULTIPART_UPLOAD_MAX_SIZE_DEFAULT);
+    }
+
+    /**
+     * delete the multipart uploads without activity for longer than the expire hours, the parts of an abandoned
+     * upload would otherwise stay in storage forever
+     */
+    public void cleanExpiredMultipartUploads() {
+        if (!PropertyUtils.getResUploadStartupState()) {
+            return;
+        }
+        long expireMillis = TimeUnit.HOURS.toMillis(PropertyUtils.getInt(Constants.RESOURCE_MULTIPART_UPLOAD_EXPIRE_HOURS,
+                Constants.RESOURCE_MULTIPART_UPLOAD_EXPIRE_HOURS_DEFAULT));
+        long expireTime = System.currentTimeMillis() - expireMillis;
+        for (Tenant tenant : tenantMapper.selectList(null)) {
+            String multipartDir = HadoopUtils.getHdfsMultipartDir(tenant.getTenantCode());
+            try {
+                if (!HadoopUtils.getInstance().exists(multipartDir)) {
+                    continue;
+                }
+                for (FileStatus uploadDir : HadoopUtils.getInstance().listFileStatus(multipartDir)) {
+                    // some storages do not keep the modification time of dirs, take the latest of the dir and its files
+                    long lastModified = uploadDir.getModificationTime();
+                    for (FileStatus file : HadoopUtils.getInstance().listFileStatus(uploadDir.getPath().toString())) {
+                        lastModified = Math.max(lastModified, file.getModificationTime());
+                    }
+                    if (lastModified < expireTime) {
+                        logger.info("delete expired multipart upload {}", uploadDir.getPath());
+                        deleteMultipartUploadDir(uploadDir.getPath().toString());
+                    }
+                }
+            } catch (Exception e) {
+                logger.error("clean expired multipart uploads of tenant {} failed", tenant.getTenantCode(), e);
+            }
+        }
+    }
+
+    private void deleteUploadedFile(String hdfsFileName) {
+        try {
+            HadoopUtils.getInstance().delete(hdfsFileName, false);
+        } catch (IOException e) {
+            logger.error("delete uploaded file {} failed", hdfsFileName, e);
+        }
+    }
+
+    private boolean deleteMultipartUploadDir(String uploadDir) {
+        try {
+            return HadoopUtils.getInstance().delete(uploadDir, true);
+        } catch (IOException e) {
+            logger.error("delete multipart upload dir {} failed", uploadDir, e);
+            return false;
+        }
+    }
+
+    private Result<Object> verifyFileSuffix(String name, ResourceType type, String fileName) {
+        Result<Object> result = new Result<>();
+        putMsg(result, Status.SUCCESS);
+
+        // file suffix
+        String fileSuffix = FileUtils.suffix(fileName);
+        String nameSuffix = FileUtils.suffix(name);
+
+        // determine file suffix
+        if (!(StringUtils.isNotEmpty(fileSuffix) && fileSuffix.equalsIgnoreCase(nameSuffix))) {
+            // rename file suffix and original suffix must be consistent
+            logger.error("rename file suffix and original suffix must be consistent: {}", RegexUtils.escapeNRT(fileName));
+            putMsg(result, Status.RESOURCE_SUFFIX_FORBID_CHANGE);
+            return result;
+        }
+
+        //If resource type is UDF, only jar packages are allowed to be uploaded, and the suffix must be .jar
+        if (Constants.UDF.equals(type.name()) && !JAR.equalsIgnoreCase(fileSuffix)) {
+            logger.error(Status.UDF_RESOURCE_SUFFIX_NOT_JAR.getMsg());
+            putMsg(result, Status.UDF_RESOURCE_SUFFIX_NOT_JAR);
+            return result;
+        }
+        return result;
+    }
+
     private Result<Object> verifyFile(String name, ResourceType type, MultipartFile file) {
         Result<Object> result = new Result<>();
         putMsg(result, Status.SUCCESS);
@@ -474,22 +950,8 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
                 return result;
             }
 
-            // file suffix
-            String fileSuffix = FileUtils.suffix(file.getOriginalFilename());
-            String nameSuffix = FileUtils.suffix(name);
-
-            // determine file suffix
-            if (!(StringUtils.isNotEmpty(fileSuffix) && fileSuffix.equalsIgnoreCase(nameSuffix))) {
-                // rename file suffix and original suffix must be consistent
-                logger.error("rename file suffix and original suffix must be consistent: {}", RegexUtils.escapeNRT(file.getOriginalFilename()));
-                putMsg(result, Status.RESOURCE_SUFFIX_FORBID_CHANGE);
-                return result;
-            }
-
-            //If resource type is UDF, only jar packages are allowed to be uploaded, and the suffix must be .jar
-            if (Constants.UDF.equals(type.name()) && !JAR.equalsIgnoreCase(fileSuffix)) {
-                logger.error(Status.UDF_RESOURCE_SUFFIX_NOT_JAR.getMsg());
-                putMsg(result, Status.UDF_RESOURCE_SUFFIX_NOT_JAR);
+            result = verifyFileSuffix(name, type, file.getOriginalFilename());
+            if (result.isFailed()) {
                 return result;
             }
             if (file.getSize() > Constants.MAX_FILE_SIZE) {
@@ -569,46 +1031,54 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
     }
 
     /**
-     * upload file to hdfs
+     * upload file to hdfs, the file content is streamed into hdfs without a local copy
      *
      * @param loginUser login user
      * @param fullName  full name
      * @param file      file
+     * @return sha-256 checksum of the uploaded content, null if upload failed
      */
-    private boolean upload(User loginUser, String fullName, MultipartFile file, ResourceType type) {
-        // save to local
+    private String upload(User loginUser, String fullName, MultipartFile file, ResourceType type) {
         String fileSuffix = FileUtils.suffix(file.getOriginalFilename());
         String nameSuffix = FileUtils.suffix(fullName);
 
         // determine file suffix
         if (!(StringUtils.isNotEmpty(fileSuffix) && fileSuffix.equalsIgnoreCase(nameSuffix))) {
-            return false;
+            return null;
         }
         // query tenant
         String tenantCode = tenantMapper.queryById(loginUser.getTenantId()).getTenantCode();
-        // random file name
-        String localFilename = FileUtils.getUploadFilename(tenantCode, UUID.randomUUID().toString());
 
-        // save file to hdfs, and delete original file
+        // stream file to hdfs
         String hdfsFilename = HadoopUtils.getHdfsFileName(type,tenantCode,fullName);
         String resourcePath = HadoopUtils.getHdfsDir(type,tenantCode);
-        try {
+        try (InputStream in = file.getInputStream()) {
             // if tenant dir not exists
             if (!HadoopUtils.getInstance().exists(resourcePath)) {
                 createTenantDirIfNotExists(tenantCode);
             }
-            org.apache.dolphinscheduler.api.utils.FileUtils.copyFile(file, localFilename);
-            HadoopUtils.getInstance().copyLocalToHdfs(localFilename, hdfsFilename, true, true);
+            return HadoopUtils.getInstance().copyInputStreamToHdfs(in, hdfsFilename, true);
         } catch (Exception e) {
-            try {
-                FileUtils.deleteFile(localFilename);
-            } catch (IOException ex) {
-                logger.error("delete local tmp file:{} error", localFilename, ex);
-            }
             logger.error(e.getMessage(), e);
-            return false;
+            return null;
         }
-        return true;
+    }
+
+    /**
+     * resource to result map
+     *
+     * @param resource resource
+     * @return resource properties without class
+     */
+    private static Map<String, Object> resourceToMap(Resource resource) {
+        Map<Object, Object> dataMap = new BeanMap(resource);
+        Map<String, Object> resultMap = new HashMap<>();
+        for (Map.Entry<Object, Object> entry: dataMap.entrySet()) {
+            if (!Constants.CLASS.equalsIgnoreCase(entry.getKey().toString())) {
+                resultMap.put(entry.getKey().toString(), entry.getValue());
+            }
+        }
+        return resultMap;
     }
 
     /**
@@ -621,9 +1091,12 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
     @Override
     public Map<String, Object> queryResourceList(User loginUser, ResourceType type) {
         Map<String, Object> result = new HashMap<>();
-        List<Resource> allResourceList = queryAuthoredResourceList(loginUser, type);
-        Visitor resourceTreeVisitor = new ResourceTreeVisitor(allResourceList);
-        result.put(Constants.DATA_LIST, resourceTreeVisitor.visit().getChildren());
+        int userId = isAdmin(loginUser) ? 0 : loginUser.getId();
+        result.put(Constants.DATA_LIST, resourceTreeCache.getTree(userId, type.ordinal(), null, () -> {
+            List<Resource> allResourceList = queryAuthoredResourceList(loginUser, type);
+            Visitor resourceTreeVisitor = new ResourceTreeVisitor(allResourceList);
+            return resourceTreeVisitor.visit().getChildren();
+        }));
         putMsg(result, Status.SUCCESS);
 
         return result;
@@ -640,8 +1113,6 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
     public Map<String, Object> queryResourceByProgramType(User loginUser, ResourceType type, ProgramType programType) {
         Map<String, Object> result = new HashMap<>();
 
-        List<Resource> allResourceList = queryAuthoredResourceList(loginUser, type);
-
         String suffix = ".jar";
         if (programType != null) {
             switch (programType) {
@@ -654,9 +1125,14 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
                 default:
             }
         }
-        List<Resource> resources = new ResourceFilter(suffix, new ArrayList<>(allResourceList)).filter();
-        Visitor resourceTreeVisitor = new ResourceTreeVisitor(resources);
-        result.put(Constants.DATA_LIST, resourceTreeVisitor.visit().getChildren());
+        String fileSuffix = suffix;
+        int userId = isAdmin(loginUser) ? 0 : loginUser.getId();
+        result.put(Constants.DATA_LIST, resourceTreeCache.getTree(userId, type.ordinal(), fileSuffix, () -> {
+            List<Resource> allResourceList = queryAuthoredResourceList(loginUser, type);
+            List<Resource> resources = new ResourceFilter(fileSuffix, new ArrayList<>(allResourceList)).filter();
+            Visitor resourceTreeVisitor = new ResourceTreeVisitor(resources);
+            return resourceTreeVisitor.visit().getChildren();
+        }));
         putMsg(result, Status.SUCCESS);
 
         return result;
@@ -733,6 +1209,7 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
         //delete data in database
         resourcesMapper.deleteIds(needDeleteResourceIdArray);
         resourceUserMapper.deleteResourceUserArray(0, needDeleteResourceIdArray);
+        resourceTreeCache.invalidateAll();
 
         //delete file on hdfs
         HadoopUtils.getInstance().delete(hdfsFilename, true);
@@ -927,6 +1404,7 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
         Resource resource = new Resource(pid,name,fullName,false,desc,name,loginUser.getId(),type,content.getBytes().length,now,now);
 
         resourcesMapper.insert(resource);
+        resourceTreeCache.invalidateAll();
 
         putMsg(result, Status.SUCCESS);
         Map<Object, Object> dataMap = new BeanMap(resource);
@@ -1309,22 +1787,31 @@ public class ResourcesServiceImpl extends BaseServiceImpl implements ResourcesSe
         }
 
         if (resource.isDirectory()) {
-            listAllChildren(resource.getId(),childList);
+            for (Resource child : listAllChildren(resource.getType(), resource.getFullName())) {
+                childList.add(child.getId());
+            }
         }
         return childList;
     }
 
     /**
-     * list all children id
-     * @param resourceId    resource id
-     * @param childList     child list
+     * list all descendants of a directory in one query, the full name is the materialized path of a resource
+     * @param type      resource type
+     * @param fullName  directory full name
+     * @return all descendants
      */
-    void listAllChildren(int resourceId,List<Integer> childList) {
-        List<Integer> children = resourcesMapper.listChildren(resourceId);
-        for (int childId : children) {
-            childList.add(childId);
-            listAllChildren(childId, childList);
-        }
+    private List<Resource> listAllChildren(ResourceType type, String fullName) {
+        String fullNamePattern = escapeLikePattern(fullName) + "/%";
+        return resourcesMapper.listAllChildrenByFullName(type.ordinal(), fullNamePattern);
+    }
+
+    /**
+     * escape the wildcards of a like pattern with the default escape character
+     * @param value value
+     * @return escaped value
+     */
+    private static String escapeLikePattern(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     /**
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.api.service.impl;
 
 import org.apache.dolphinscheduler.api.controller.BaseController;
+import org.apache.dolphinscheduler.api.security.AuthenticationCache;
 import org.apache.dolphinscheduler.api.service.SessionService;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.utils.CollectionUtils;
@@ -51,6 +52,9 @@ public class SessionServiceImpl extends BaseServiceImpl implements SessionServic
     @Autowired
     private SessionMapper sessionMapper;
 
+    @Autowired
+    private AuthenticationCache authenticationCache;
+
     /**
      * get user session from request
      *
@@ -59,15 +63,7 @@ public class SessionServiceImpl extends BaseServiceImpl implements SessionServic
      */
     @Override
     public Session getSession(HttpServletRequest request) {
-        String sessionId = request.getHeader(Constants.SESSION_ID);
-
-        if (StringUtils.isBlank(sessionId)) {
-            Cookie cookie = WebUtils.getCookie(request, Constants.SESSION_ID);
-
-            if (cookie != null) {
-                sessionId = cookie.getValue();
-            }
-        }
+        String sessionId = getSessionId(request);
 
         if (StringUtils.isBlank(sessionId)) {
             return null;
@@ -79,6 +75,25 @@ public class SessionServiceImpl extends BaseServiceImpl implements SessionServic
         return sessionMapper.selectById(sessionId);
     }
 
+    /**
+     * get session id from request header, or from cookie if absent
+     *
+     * @param request request
+     * @return session id, null if absent
+     */
+    public static String getSessionId(HttpServletRequest request) {
+        String sessionId = request.getHeader(Constants.SESSION_ID);
+
+        if (StringUtils.isBlank(sessionId)) {
+            Cookie cookie = WebUtils.getCookie(request, Constants.SESSION_ID);
+
+            if (cookie != null) {
+                sessionId = cookie.getValue();
+            }
+        }
+        return sessionId;
+    }
+
     /**
      * create session
      *
@@ -104,6 +119,7 @@ public class SessionServiceImpl extends BaseServiceImpl implements SessionServic
             if (sessionList.size() > 1) {
                 for (int i = 1; i < sessionList.size(); i++) {
                     sessionMapper.deleteById(sessionList.get(i).getId());
+                    authenticationCache.invalidateSession(sessionList.get(i).getId(), user.getId());
                 }
             }
             session = sessionList.get(0);
@@ -121,6 +137,7 @@ public class SessionServiceImpl extends BaseServiceImpl implements SessionServic
                  * session expired, then delete this session first
                  */
                 sessionMapper.deleteById(session.getId());
+                authenticationCache.invalidateSession(session.getId(), user.getId());
             }
         }
 
@@ -154,6 +171,7 @@ public class SessionServiceImpl extends BaseServiceImpl implements SessionServic
 
             //delete session
             sessionMapper.deleteById(session.getId());
+            authenticationCache.invalidateSession(session.getId(), loginUser.getId());
         } catch (Exception e) {
             logger.warn("userId : {} , ip : {} , find more one session", loginUser.getId(), ip);
         }
@@ -17,10 +17,12 @@
 
 package org.apache.dolphinscheduler.api.service.impl;
 
+import org.apache.dolphinscheduler.api.cache.ResourceTreeCache;
 import org.apache.dolphinscheduler.api.dto.resources.ResourceComponent;
 import org.apache.dolphinscheduler.api.dto.resources.visitor.ResourceTreeVisitor;
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.exceptions.ServiceException;
+import org.apache.dolphinscheduler.api.security.AuthenticationCache;
 import org.apache.dolphinscheduler.api.service.UsersService;
 import org.apache.dolphinscheduler.api.utils.CheckUtils;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
@@ -117,6 +119,12 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
     @Autowired
     private ProjectMapper projectMapper;
 
+    @Autowired
+    private AuthenticationCache authenticationCache;
+
+    @Autowired
+    private ResourceTreeCache resourceTreeCache;
+
 
     /**
      * create user, only system admin have permission
@@ -473,6 +481,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
 
         // updateProcessInstance user
         userMapper.updateById(user);
+        authenticationCache.invalidateUser(userId);
         putMsg(result, Status.SUCCESS);
         return result;
     }
@@ -522,6 +531,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
         accessTokenMapper.deleteAccessTokenByUserId(id);
         
         userMapper.deleteById(id);
+        authenticationCache.invalidateUser(id);
         putMsg(result, Status.SUCCESS);
 
         return result;
@@ -641,6 +651,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
         }
 
         resourceUserMapper.deleteResourceUser(userId, 0);
+        resourceTreeCache.invalidateAll();
 
         if (check(result, StringUtils.isEmpty(resourceIds), Status.SUCCESS)) {
             return result;
@@ -1065,6 +1076,7 @@ public class UsersServiceImpl extends BaseServiceImpl implements UsersService {
         Date now = new Date();
         user.setUpdateTime(now);
         userMapper.updateById(user);
+        authenticationCache.invalidateUser(user.getId());
         User responseUser = userMapper.queryByUserNameAccurately(userName);
         putMsg(result, Status.SUCCESS);
         result.put(Constants.DATA_LIST, responseUser);
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.cache;
+
+import org.apache.dolphinscheduler.api.dto.resources.Directory;
+import org.apache.dolphinscheduler.api.dto.resources.ResourceComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class ResourceTreeCacheTest {
+
+    private ResourceTreeCache resourceTreeCache;
+
+    private AtomicInteger loadCount;
+
+    @Before
+    public void setUp() {
+        resourceTreeCache = new ResourceTreeCache();
+        ReflectionTestUtils.setField(resourceTreeCache, "enable", true);
+        ReflectionTestUtils.setField(resourceTreeCache, "expireSeconds", 30L);
+        ReflectionTestUtils.setField(resourceTreeCache, "maxSize", 100L);
+        resourceTreeCache.init();
+        loadCount = new AtomicInteger();
+    }
+
+    @Test
+    public void testGetTree() {
+        Supplier<List<ResourceComponent>> loader = loader();
+        List<ResourceComponent> tree = resourceTreeCache.getTree(1, 0, null, loader);
+        Assert.assertSame(tree, resourceTreeCache.getTree(1, 0, null, loader));
+        Assert.assertEquals(1, loadCount.get());
+
+        // another user, type or filter is another tree
+        resourceTreeCache.getTree(2, 0, null, loader);
+        resourceTreeCache.getTree(1, 1, null, loader);
+        resourceTreeCache.getTree(1, 0, ".jar", loader);
+        Assert.assertEquals(4, loadCount.get());
+        Assert.assertEquals(4, resourceTreeCache.size());
+    }
+
+    @Test
+    public void testInvalidateAll() {
+        Supplier<List<ResourceComponent>> loader = loader();
+        resourceTreeCache.getTree(1, 0, null, loader);
+        resourceTreeCache.invalidateAll();
+        Assert.assertEquals(0, resourceTreeCache.size());
+        resourceTreeCache.getTree(1, 0, null, loader);
+        Assert.assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void testInvalidateWhileLoading() {
+        // a tree loaded across an invalidation is stale and must not be cached
+        resourceTreeCache.getTree(1, 0, null, () -> {
+            resourceTreeCache.invalidateAll();
+            return new ArrayList<>();
+        });
+        Assert.assertEquals(0, resourceTreeCache.size());
+    }
+
+    @Test
+    public void testDisable() {
+        ReflectionTestUtils.setField(resourceTreeCache, "enable", false);
+        Supplier<List<ResourceComponent>> loader = loader();
+        resourceTreeCache.getTree(1, 0, null, loader);
+        resourceTreeCache.getTree(1, 0, null, loader);
+        Assert.assertEquals(2, loadCount.get());
+    }
+
+    private Supplier<List<ResourceComponent>> loader() {
+        return () -> {
+            loadCount.incrementAndGet();
+            List<ResourceComponent> tree = new ArrayList<>();
+            tree.add(new Directory());
+            return tree;
+        };
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.api.security;
+
+import org.apache.dolphinscheduler.dao.entity.User;
+import org.apache.dolphinscheduler.spi.register.DataChangeEvent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class AuthenticationCacheTest {
+
+    private AuthenticationCache authenticationCache;
+
+    private AtomicInteger loadCount;
+
+    @Before
+    public void setUp() {
+        authenticationCache = new AuthenticationCache();
+        ReflectionTestUtils.setField(authenticationCache, "enable", true);
+        ReflectionTestUtils.setField(authenticationCache, "expireSeconds", 60L);
+        ReflectionTestUtils.setField(authenticationCache, "maxSize", 100L);
+        authenticationCache.init();
+        loadCount = new AtomicInteger();
+    }
+
+    @Test
+    public void testGetSessionUser() {
+        Supplier<User> loader = loader(getUser(1));
+        Assert.assertEquals(1, authenticationCache.getSessionUser("session1", loader).getId());
+        Assert.assertEquals(1, authenticationCache.getSessionUser("session1", loader).getId());
+        Assert.assertEquals(1, loadCount.get());
+        Assert.assertEquals(1, authenticationCache.getSessionCacheStats().hitCount());
+        Assert.assertEquals(0.5, authenticationCache.getSessionCacheStats().hitRate(), 0.001);
+
+        authenticationCache.invalidateSession("session1", 1);
+        authenticationCache.getSessionUser("session1", loader);
+        Assert.assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void testNullNotCached() {
+        Supplier<User> loader = loader(null);
+        Assert.assertNull(authenticationCache.getTokenUser("token1", loader));
+        Assert.assertNull(authenticationCache.getTokenUser("token1", loader));
+        Assert.assertEquals(2, loadCount.get());
+
+        // no session id, always delegate
+        authenticationCache.getSessionUser(null, loader);
+        Assert.assertEquals(3, loadCount.get());
+    }
+
+    @Test
+    public void testInvalidateToken() {
+        Supplier<User> loader = loader(getUser(1));
+        authenticationCache.getTokenUser("token1", loader);
+        authenticationCache.invalidateToken("token1", 1);
+        authenticationCache.getTokenUser("token1", loader);
+        Assert.assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void testInvalidateUser() {
+        authenticationCache.getSessionUser("session1", loader(getUser(1)));
+        authenticationCache.getSessionUser("session2", loader(getUser(2)));
+        authenticationCache.getTokenUser("token1", loader(getUser(1)));
+
+        authenticationCache.invalidateUser(1);
+        authenticationCache.getSessionUser("session1", loader(getUser(1)));
+        authenticationCache.getSessionUser("session2", loader(getUser(2)));
+        authenticationCache.getTokenUser("token1", loader(getUser(1)));
+        Assert.assertEquals(5, loadCount.get());
+    }
+
+    @Test
+    public void testOnInvalidation() {
+        authenticationCache.getSessionUser("session1", loader(getUser(1)));
+        authenticationCache.onInvalidation("/auth-invalidation/1", DataChangeEvent.REMOVE);
+        authenticationCache.getSessionUser("session1", loader(getUser(1)));
+        Assert.assertEquals(1, loadCount.get());
+
+        authenticationCache.onInvalidation("/auth-invalidation/1", DataChangeEvent.UPDATE);
+        authenticationCache.getSessionUser("session1", loader(getUser(1)));
+        Assert.assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void testDisable() {
+        ReflectionTestUtils.setField(authenticationCache, "enable", false);
+        Supplier<User> loader = loader(getUser(1));
+        authenticationCache.getSessionUser("session1", loader);
+        authenticationCache.getSessionUser("session1", loader);
+        Assert.assertEquals(2, loadCount.get());
+    }
+
+    private Supplier<User> loader(User user) {
+        return () -> {
+            loadCount.incrementAndGet();
+            return user;
+        };
+    }
+
+    private User getUser(int id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
@@ -42,6 +42,7 @@ import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.service.process.ProcessService;
+import org.apache.dolphinscheduler.service.state.StateEventClientService;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -83,6 +84,9 @@ public class ExecutorService2Test {
     @Mock
     private MonitorService monitorService;
 
+    @Mock
+    private StateEventClientService stateEventClient;
+
     private int processDefinitionId = 1;
 
     private int processInstanceId = 1;
@@ -271,6 +275,19 @@ public class ExecutorService2Test {
         Assert.assertEquals(Status.SUCCESS, result.get(Constants.STATUS));
     }
 
+    @Test
+    public void testExecuteStop() {
+        processInstance.setState(ExecutionStatus.RUNNING_EXECUTION);
+        processInstance.setHost("192.168.220.188:5678");
+        Mockito.when(processService.updateProcessInstance(processInstance)).thenReturn(1);
+
+        Map<String, Object> result = executorService.execute(loginUser, projectName, processInstanceId, ExecuteType.STOP);
+        Assert.assertEquals(Status.SUCCESS, result.get(Constants.STATUS));
+        Assert.assertEquals(ExecutionStatus.READY_STOP, processInstance.getState());
+        Mockito.verify(stateEventClient).sendStateEventAsync("192.168.220.188:5678", processInstanceId,
+                ExecutionStatus.READY_STOP, CommandType.STOP);
+    }
+
     private List<Server> getMasterServersList() {
         List<Server> masterServerList = new ArrayList<>();
         Server masterServer1 = new Server();
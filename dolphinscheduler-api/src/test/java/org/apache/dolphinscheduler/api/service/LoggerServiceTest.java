@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.api.service;
 
 import org.apache.dolphinscheduler.api.enums.Status;
+import org.apache.dolphinscheduler.api.exceptions.ServiceException;
 import org.apache.dolphinscheduler.api.service.impl.LoggerServiceImpl;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
@@ -113,6 +114,25 @@ public class LoggerServiceTest {
 
     }
 
+    @Test
+    public void testStreamLog() {
+        TaskInstance taskInstance = new TaskInstance();
+        Mockito.when(processService.findTaskInstanceById(1)).thenReturn(taskInstance);
+
+        //task instance host is null, checked before any byte is streamed
+        try {
+            loggerService.streamLog(1);
+            Assert.fail("expect service exception");
+        } catch (ServiceException e) {
+            Assert.assertNotNull(e.getMessage());
+        }
+
+        //success
+        taskInstance.setHost("127.0.0.1:8080");
+        taskInstance.setLogPath("/temp/log");
+        Assert.assertNotNull(loggerService.streamLog(1));
+    }
+
     @After
     public void close() {
         this.loggerService.close();
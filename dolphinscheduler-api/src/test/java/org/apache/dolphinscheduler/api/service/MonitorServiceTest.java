@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.api.service;
 
 import org.apache.dolphinscheduler.api.enums.Status;
+import org.apache.dolphinscheduler.api.security.AuthenticationCache;
 import org.apache.dolphinscheduler.api.service.impl.MonitorServiceImpl;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.DbType;
@@ -40,6 +41,8 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.CacheStats;
+
 /**
  * monitor service test
  */
@@ -54,6 +57,9 @@ public class MonitorServiceTest {
     @Mock
     private MonitorDBDao monitorDBDao;
 
+    @Mock
+    private AuthenticationCache authenticationCache;
+
     @Test
     public  void testQueryDatabaseState(){
 
@@ -79,6 +85,18 @@ public class MonitorServiceTest {
 //        Assert.assertEquals(Status.SUCCESS,result.get(Constants.STATUS));
     }
 
+    @Test
+    public void testQueryAuthenticationCacheState() {
+        Mockito.when(authenticationCache.getSessionCacheStats()).thenReturn(new CacheStats(3, 1, 0, 0, 0, 0));
+        Mockito.when(authenticationCache.getTokenCacheStats()).thenReturn(new CacheStats(0, 2, 0, 0, 0, 1));
+        Map<String, Object> result = monitorService.queryAuthenticationCacheState(null);
+        Assert.assertEquals(Status.SUCCESS, result.get(Constants.STATUS));
+        Map<String, Map<String, Object>> cacheStates = (Map<String, Map<String, Object>>) result.get(Constants.DATA_LIST);
+        Assert.assertEquals(0.75, cacheStates.get("session").get("hitRate"));
+        Assert.assertEquals(2L, cacheStates.get("token").get("missCount"));
+        Assert.assertEquals(1L, cacheStates.get("token").get("evictionCount"));
+    }
+
     @Test
     public  void testGetServerListFromZK(){
         //TODO need zk
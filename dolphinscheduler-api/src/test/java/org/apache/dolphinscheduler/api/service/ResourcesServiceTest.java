@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.api.service;
 
+import org.apache.dolphinscheduler.api.cache.ResourceTreeCache;
+import org.apache.dolphinscheduler.api.dto.resources.MultipartUpload;
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.service.impl.ResourcesServiceImpl;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
@@ -27,6 +29,7 @@ import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.dolphinscheduler.common.utils.CollectionUtils;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.HadoopUtils;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.dao.entity.Resource;
 import org.apache.dolphinscheduler.dao.entity.Tenant;
@@ -39,11 +42,18 @@ import org.apache.dolphinscheduler.dao.mapper.TenantMapper;
 import org.apache.dolphinscheduler.dao.mapper.UdfFuncMapper;
 import org.apache.dolphinscheduler.dao.mapper.UserMapper;
 
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -56,6 +66,7 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.mock.web.MockMultipartFile;
@@ -97,8 +108,13 @@ public class ResourcesServiceTest {
     @Mock
     private ResourceUserMapper resourceUserMapper;
 
+    @Mock
+    private ResourceTreeCache resourceTreeCache;
+
     @Before
     public void setUp() {
+        Mockito.when(resourceTreeCache.getTree(Mockito.anyInt(), Mockito.anyInt(), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArguments()[3]).get());
 
         PowerMockito.mockStatic(HadoopUtils.class);
         PowerMockito.mockStatic(FileUtils.class);
@@ -147,6 +163,138 @@ public class ResourcesServiceTest {
 
     }
 
+    @Test
+    public void testCreateResourceStreaming() throws IOException {
+        PowerMockito.when(PropertyUtils.getResUploadStartupState()).thenReturn(true);
+        User user = getUser();
+        Mockito.when(tenantMapper.queryById(1)).thenReturn(getTenant());
+        MockMultipartFile mockMultipartFile = new MockMultipartFile("test.jar", "test.jar", "jar", "test".getBytes());
+        PowerMockito.when(FileUtils.suffix("test.jar")).thenReturn("jar");
+        PowerMockito.when(FileUtils.suffix("/test.jar")).thenReturn("jar");
+        PowerMockito.when(HadoopUtils.getHdfsFileName(ResourceType.FILE, "123", "/test.jar")).thenReturn("/dolphinscheduler/123/resources/test.jar");
+        Mockito.when(hadoopUtils.exists(Mockito.any())).thenReturn(true);
+        Mockito.when(hadoopUtils.copyInputStreamToHdfs(Mockito.any(InputStream.class),
+                Mockito.eq("/dolphinscheduler/123/resources/test.jar"), Mockito.eq(true))).thenReturn("checksum");
+
+        Result result = resourcesService.createResource(user, "test.jar", "test", ResourceType.FILE, mockMultipartFile, -1, "/");
+        Assert.assertEquals(Status.SUCCESS.getMsg(), result.getMsg());
+        Assert.assertEquals("checksum", ((Map) result.getData()).get("checksum"));
+        // no local temp copy any more
+        Mockito.verify(hadoopUtils, Mockito.never()).copyLocalToHdfs(Mockito.any(), Mockito.any(), Mockito.anyBoolean(), Mockito.anyBoolean());
+        // the checksum is written by the insert itself
+        Mockito.verify(resourcesMapper).insert(Mockito.argThat((Resource resource) -> "checksum".equals(resource.getChecksum())));
+        Mockito.verify(resourcesMapper, Mockito.never()).updateById(Mockito.any(Resource.class));
+    }
+
+    @Test
+    public void testMultipartUpload() throws Exception {
+        PowerMockito.when(PropertyUtils.getResUploadStartupState()).thenReturn(true);
+        User user = getUser();
+        Mockito.when(userMapper.selectById(1)).thenReturn(getUser());
+        Mockito.when(tenantMapper.queryById(1)).thenReturn(getTenant());
+        PowerMockito.when(FileUtils.suffix("big.jar")).thenReturn("jar");
+
+        // init
+        Result result = resourcesService.initMultipartUpload(user, "big.jar", "big", ResourceType.FILE, "big.jar", -1, "/");
+        Assert.assertEquals(Status.SUCCESS.getMsg(), result.getMsg());
+        MultipartUpload multipartUpload = (MultipartUpload) result.getData();
+        Assert.assertEquals("/big.jar", multipartUpload.getFullName());
+        String uploadId = multipartUpload.getUploadId();
+        String uploadDir = "/dolphinscheduler/123/multipart/" + uploadId;
+        PowerMockito.when(HadoopUtils.getHdfsMultipartUploadDir("123", uploadId)).thenReturn(uploadDir);
+
+        // invalid upload id is rejected before touching hdfs
+        result = resourcesService.uploadPart(user, "../../resources", 1, new ByteArrayInputStream(new byte[0]));
+        Assert.assertEquals(Status.MULTIPART_UPLOAD_NOT_EXIST.getCode(), (int) result.getCode());
+
+        // upload part
+        PowerMockito.when(PropertyUtils.getLong(Constants.RESOURCE_MULTIPART_UPLOAD_MAX_SIZE, Constants.RESOURCE_MULTIPART_UPLOAD_MAX_SIZE_DEFAULT)).thenReturn(10L);
+        Mockito.when(hadoopUtils.listFileStatus(uploadDir)).thenReturn(new FileStatus[] {
+            new FileStatus(4, false, 1, 1, 0, new Path(uploadDir + "/part-00002"))
+        });
+        Mockito.when(hadoopUtils.exists(uploadDir + "/upload.json")).thenReturn(true);
+        Mockito.when(hadoopUtils.catFile(uploadDir + "/upload.json")).thenReturn(JSONUtils.toJsonString(multipartUpload).getBytes());
+        Mockito.when(hadoopUtils.copyInputStreamToHdfs(Mockito.any(InputStream.class),
+                Mockito.eq(uploadDir + "/part-00002"), Mockito.eq(true))).thenReturn("part2");
+        result = resourcesService.uploadPart(user, uploadId, 2, new ByteArrayInputStream("test".getBytes()));
+        Assert.assertEquals(Status.SUCCESS.getMsg(), result.getMsg());
+        Assert.assertEquals("part2", ((Map) result.getData()).get("checksum"));
+
+        // part 1 makes the upload exceed the max size, it is deleted
+        Mockito.when(hadoopUtils.listFileStatus(uploadDir)).thenReturn(new FileStatus[] {
+            new FileStatus(4, false, 1, 1, 0, new Path(uploadDir + "/part-00002")),
+            new FileStatus(8, false, 1, 1, 0, new Path(uploadDir + "/part-00001"))
+        });
+        result = resourcesService.uploadPart(user, uploadId, 1, new ByteArrayInputStream("too large".getBytes()));
+        Assert.assertEquals(Status.RESOURCE_SIZE_EXCEED_LIMIT.getCode(), (int) result.getCode());
+        Mockito.verify(hadoopUtils).delete(uploadDir + "/part-00001", false);
+        result = resourcesService.completeMultipartUpload(user, uploadId);
+        Assert.assertEquals(Status.RESOURCE_SIZE_EXCEED_LIMIT.getCode(), (int) result.getCode());
+
+        // part 1 missing
+        Mockito.when(hadoopUtils.listFileStatus(uploadDir)).thenReturn(new FileStatus[] {
+            new FileStatus(4, false, 1, 1, 0, new Path(uploadDir + "/upload.json")),
+            new FileStatus(4, false, 1, 1, 0, new Path(uploadDir + "/part-00002"))
+        });
+        result = resourcesService.completeMultipartUpload(user, uploadId);
+        Assert.assertEquals(Status.MULTIPART_UPLOAD_PART_MISSING.getCode(), (int) result.getCode());
+
+        // resume, list parts and complete
+        Mockito.when(hadoopUtils.listFileStatus(uploadDir)).thenReturn(new FileStatus[] {
+            new FileStatus(4, false, 1, 1, 0, new Path(uploadDir + "/part-00002")),
+            new FileStatus(3, false, 1, 1, 0, new Path(uploadDir + "/part-00001"))
+        });
+        result = resourcesService.listUploadedParts(user, uploadId);
+        Assert.assertEquals(Status.SUCCESS.getMsg(), result.getMsg());
+        Assert.assertEquals(2, ((Map) result.getData()).size());
+
+        PowerMockito.when(HadoopUtils.getHdfsFileName(ResourceType.FILE, "123", "/big.jar")).thenReturn("/dolphinscheduler/123/resources/big.jar");
+        Mockito.when(hadoopUtils.exists(Mockito.isNull())).thenReturn(true);
+        List<String> parts = new ArrayList<>();
+        parts.add(uploadDir + "/part-00001");
+        parts.add(uploadDir + "/part-00002");
+        Mockito.when(hadoopUtils.concat(parts, "/dolphinscheduler/123/resources/big.jar", true)).thenReturn("checksum");
+        result = resourcesService.completeMultipartUpload(user, uploadId);
+        Assert.assertEquals(Status.SUCCESS.getMsg(), result.getMsg());
+        Assert.assertEquals(7L, ((Map) result.getData()).get("size"));
+        Assert.assertEquals("checksum", ((Map) result.getData()).get("checksum"));
+        Mockito.verify(resourcesMapper).insert(Mockito.argThat((Resource resource) -> "checksum".equals(resource.getChecksum())));
+        Mockito.verify(resourcesMapper, Mockito.never()).updateById(Mockito.any(Resource.class));
+        Mockito.verify(hadoopUtils).delete(uploadDir, true);
+
+        // abort
+        Mockito.when(hadoopUtils.delete(uploadDir, true)).thenReturn(true);
+        result = resourcesService.abortMultipartUpload(user, uploadId);
+        Assert.assertEquals(Status.SUCCESS.getMsg(), result.getMsg());
+    }
+
+    @Test
+    public void testCleanExpiredMultipartUploads() throws Exception {
+        PowerMockito.when(PropertyUtils.getResUploadStartupState()).thenReturn(true);
+        PowerMockito.when(PropertyUtils.getInt(Constants.RESOURCE_MULTIPART_UPLOAD_EXPIRE_HOURS, Constants.RESOURCE_MULTIPART_UPLOAD_EXPIRE_HOURS_DEFAULT)).thenReturn(24);
+        Mockito.when(tenantMapper.selectList(null)).thenReturn(Collections.singletonList(getTenant()));
+        String multipartDir = "/dolphinscheduler/123/multipart";
+        String expiredDir = multipartDir + "/expired";
+        String activeDir = multipartDir + "/active";
+        PowerMockito.when(HadoopUtils.getHdfsMultipartDir("123")).thenReturn(multipartDir);
+        Mockito.when(hadoopUtils.exists(multipartDir)).thenReturn(true);
+        // dir modification time is not kept, the latest part decides
+        Mockito.when(hadoopUtils.listFileStatus(multipartDir)).thenReturn(new FileStatus[] {
+            new FileStatus(0, true, 1, 1, 0, new Path(expiredDir)),
+            new FileStatus(0, true, 1, 1, 0, new Path(activeDir))
+        });
+        Mockito.when(hadoopUtils.listFileStatus(expiredDir)).thenReturn(new FileStatus[] {
+            new FileStatus(4, false, 1, 1, 1, new Path(expiredDir + "/part-00001"))
+        });
+        Mockito.when(hadoopUtils.listFileStatus(activeDir)).thenReturn(new FileStatus[] {
+            new FileStatus(4, false, 1, 1, System.currentTimeMillis(), new Path(activeDir + "/part-00001"))
+        });
+
+        resourcesService.cleanExpiredMultipartUploads();
+        Mockito.verify(hadoopUtils).delete(expiredDir, true);
+        Mockito.verify(hadoopUtils, Mockito.never()).delete(activeDir, true);
+    }
+
     @Test
     public void testCreateDirecotry() {
 
@@ -288,6 +436,31 @@ public class ResourcesServiceTest {
         Assert.assertEquals(Status.SUCCESS, result.get(Constants.STATUS));
         List<Resource> resourceList = (List<Resource>) result.get(Constants.DATA_LIST);
         Assert.assertTrue(CollectionUtils.isNotEmpty(resourceList));
+        Mockito.verify(resourceTreeCache).getTree(Mockito.eq(0), Mockito.eq(ResourceType.FILE.ordinal()), Mockito.isNull(), Mockito.any());
+    }
+
+    @Test
+    public void testListAllChildren() throws Exception {
+        Resource resource = getResource();
+        resource.setId(1);
+        resource.setDirectory(true);
+        resource.setFullName("/dir_1%");
+        Resource child = getResource();
+        child.setId(2);
+        child.setFullName("/dir_1%/ResourcesServiceTest.jar");
+        List<Resource> children = new ArrayList<>();
+        children.add(child);
+        Mockito.when(resourcesMapper.listAllChildrenByFullName(ResourceType.FILE.ordinal(), "/dir\\_1\\%/%")).thenReturn(children);
+
+        List<Integer> childIds = Whitebox.invokeMethod(resourcesService, "listAllChildren", resource, true);
+        Assert.assertEquals(2, childIds.size());
+        Assert.assertTrue(childIds.contains(1));
+        Assert.assertTrue(childIds.contains(2));
+        Mockito.verify(resourcesMapper, Mockito.never()).listChildren(Mockito.anyInt());
+
+        // a file has no children and needs no query
+        child.setId(3);
+        Assert.assertEquals(1, ((List<Integer>) Whitebox.invokeMethod(resourcesService, "listAllChildren", child, true)).size());
     }
 
     @Test
@@ -333,6 +506,7 @@ public class ResourcesServiceTest {
             result = resourcesService.delete(loginUser, 1);
             logger.info(result.toString());
             Assert.assertEquals(Status.SUCCESS.getMsg(), result.getMsg());
+            Mockito.verify(resourceTreeCache).invalidateAll();
 
         } catch (Exception e) {
             logger.error("delete error", e);
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.api.service;
 
+import org.apache.dolphinscheduler.api.security.AuthenticationCache;
 import org.apache.dolphinscheduler.api.service.impl.SessionServiceImpl;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.UserType;
@@ -59,6 +60,9 @@ public class SessionServiceTest {
     @Mock
     private SessionMapper sessionMapper;
 
+    @Mock
+    private AuthenticationCache authenticationCache;
+
     private String sessionId ="aaaaaaaaaaaaaaaaaa";
 
     @Before
@@ -130,6 +134,8 @@ public class SessionServiceTest {
         Mockito.when(sessionMapper.queryByUserIdAndIp(userId,ip)).thenReturn(getSession());
 
         sessionService.signOut(ip ,user);
+        Mockito.verify(sessionMapper).deleteById(sessionId);
+        Mockito.verify(authenticationCache).invalidateSession(sessionId, userId);
 
     }
 
@@ -21,7 +21,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
+import org.apache.dolphinscheduler.api.cache.ResourceTreeCache;
 import org.apache.dolphinscheduler.api.enums.Status;
+import org.apache.dolphinscheduler.api.security.AuthenticationCache;
 import org.apache.dolphinscheduler.api.service.impl.UsersServiceImpl;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.api.utils.Result;
@@ -83,6 +85,12 @@ public class UsersServiceTest {
     @Mock
     private AccessTokenMapper accessTokenMapper;
 
+    @Mock
+    private AuthenticationCache authenticationCache;
+
+    @Mock
+    private ResourceTreeCache resourceTreeCache;
+
     @Mock
     private TenantMapper tenantMapper;
 
@@ -277,6 +285,7 @@ public class UsersServiceTest {
             result = usersService.updateUser(getLoginUser(), 1, userName, userPassword, "32222s@qq.com", 1, "13457864543", "queue", 1);
             logger.info(result.toString());
             Assert.assertEquals(Status.SUCCESS, result.get(Constants.STATUS));
+            Mockito.verify(authenticationCache).invalidateUser(1);
         } catch (Exception e) {
             logger.error("update user error", e);
             Assert.assertTrue(false);
@@ -311,6 +320,7 @@ public class UsersServiceTest {
             result = usersService.deleteUserById(loginUser, 1);
             logger.info(result.toString());
             Assert.assertEquals(Status.SUCCESS, result.get(Constants.STATUS));
+            Mockito.verify(authenticationCache).invalidateUser(1);
         } catch (Exception e) {
             logger.error("delete user error", e);
             Assert.assertTrue(false);
@@ -356,6 +366,7 @@ public class UsersServiceTest {
         result = usersService.grantResources(loginUser, 1, resourceIds);
         logger.info(result.toString());
         Assert.assertEquals(Status.SUCCESS, result.get(Constants.STATUS));
+        Mockito.verify(resourceTreeCache).invalidateAll();
 
     }
 
@@ -167,6 +167,13 @@ public final class Constants {
      */
     public static final String SUDO_ENABLE = "sudo.enable";
 
+    /**
+     * schedule engine, quartz or native
+     */
+    public static final String SCHEDULE_ENGINE = "schedule.engine";
+    public static final String SCHEDULE_ENGINE_QUARTZ = "quartz";
+    public static final String SCHEDULE_ENGINE_NATIVE = "native";
+
     /**
      * string true
      */
@@ -223,6 +230,11 @@ public final class Constants {
      */
     public static final String REGISTRY_DOLPHINSCHEDULER_LOCK_FAILOVER_STARTUP_MASTERS = "/lock/failover/startup-masters";
 
+    /**
+     * ApiServer authentication cache invalidation directory registered in zookeeper
+     */
+    public static final String REGISTRY_DOLPHINSCHEDULER_AUTH_INVALIDATION = "/auth-invalidation";
+
 
     /**
      * comma ,
@@ -415,6 +427,16 @@ public final class Constants {
      */
     public static final int RPC_PORT = 50051;
 
+    /**
+     * logger server threads of log view, download and removal
+     */
+    public static final String LOGGER_SERVER_LOG_THREADS = "logger.server.log.threads";
+
+    /**
+     * logger server queue capacity of log view, download and removal
+     */
+    public static final String LOGGER_SERVER_LOG_QUEUE_CAPACITY = "logger.server.log.queue.capacity";
+
     /***
      * alert rpc port
      */
@@ -535,6 +557,16 @@ public final class Constants {
      */
     public static final int CACHE_REFRESH_TIME_MILLIS = 20 * 1000;
 
+    /**
+     * master process instance cache-database state sync interval
+     */
+    public static final int PROCESS_INSTANCE_STATE_SYNC_MILLIS = 5 * 1000;
+
+    /**
+     * master dispatch context (tenant, queue, datasource, udf) cache expire time
+     */
+    public static final int DISPATCH_CONTEXT_EXPIRE_MILLIS = 10 * 1000;
+
     /**
      * heartbeat for zk info length
      */
@@ -1000,6 +1032,18 @@ public final class Constants {
      */
     public static final int SESSION_TIME_OUT = 7200;
     public static final int MAX_FILE_SIZE = 1024 * 1024 * 1024;
+
+    /**
+     * max total size of a multipart resource upload, in bytes
+     */
+    public static final String RESOURCE_MULTIPART_UPLOAD_MAX_SIZE = "resource.multipart.upload.max.size";
+    public static final long RESOURCE_MULTIPART_UPLOAD_MAX_SIZE_DEFAULT = 10L * 1024 * 1024 * 1024;
+
+    /**
+     * multipart resource uploads without activity for this many hours are deleted
+     */
+    public static final String RESOURCE_MULTIPART_UPLOAD_EXPIRE_HOURS = "resource.multipart.upload.expire.hours";
+    public static final int RESOURCE_MULTIPART_UPLOAD_EXPIRE_HOURS_DEFAULT = 24;
     public static final String UDF = "UDF";
     public static final String CLASS = "class";
     public static final String RECEIVERS = "receivers";
@@ -76,6 +76,13 @@ public class CommonUtils {
         return PropertyUtils.getBoolean(Constants.SUDO_ENABLE, true);
     }
 
+    /**
+     * @return whether schedules are triggered by the native engine in master instead of quartz
+     */
+    public static boolean isNativeScheduleEngine() {
+        return Constants.SCHEDULE_ENGINE_NATIVE.equalsIgnoreCase(PropertyUtils.getString(Constants.SCHEDULE_ENGINE, Constants.SCHEDULE_ENGINE_QUARTZ));
+    }
+
     /**
      * if upload resource is HDFS and kerberos startup is true , else false
      *
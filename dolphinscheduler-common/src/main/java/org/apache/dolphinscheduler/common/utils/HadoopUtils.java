@@ -25,9 +25,12 @@ import org.apache.dolphinscheduler.common.enums.ResUploadType;
 import org.apache.dolphinscheduler.common.enums.ResourceType;
 import org.apache.dolphinscheduler.common.exception.BaseException;
 
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.FileUtil;
@@ -40,9 +43,12 @@ import java.io.BufferedReader;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.security.MessageDigest;
 import java.security.PrivilegedExceptionAction;
 import java.util.Collections;
 import java.util.List;
@@ -68,6 +74,11 @@ public class HadoopUtils implements Closeable {
     private static final Logger logger = LoggerFactory.getLogger(HadoopUtils.class);
 
     private static String hdfsUser = PropertyUtils.getString(Constants.HDFS_ROOT_USER);
+
+    /**
+     * buffer size used when streaming into hdfs
+     */
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
     public static final String resourceUploadPath = PropertyUtils.getString(RESOURCE_UPLOAD_PATH, "/dolphinscheduler");
     public static final String rmHaIds = PropertyUtils.getString(Constants.YARN_RESOURCEMANAGER_HA_RM_IDS);
     public static final String appAddress = PropertyUtils.getString(Constants.YARN_APPLICATION_STATUS_ADDRESS);
@@ -303,6 +314,54 @@ public class HadoopUtils implements Closeable {
         return true;
     }
 
+    /**
+     * write the input stream to hdfs through a bounded buffer, no local copy is made.
+     * the input stream is not closed
+     *
+     * @param in input stream
+     * @param dstHdfsPath destination hdfs path
+     * @param overwrite whether to overwrite an existing file
+     * @return sha-256 hex checksum of the written content
+     * @throws IOException errors
+     */
+    public String copyInputStreamToHdfs(InputStream in, String dstHdfsPath, boolean overwrite) throws IOException {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        try (FSDataOutputStream out = fs.create(new Path(dstHdfsPath), overwrite)) {
+            copyBytes(in, out, digest);
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    /**
+     * concatenate hdfs files in the given order into the destination file
+     *
+     * @param srcHdfsPaths source hdfs paths
+     * @param dstHdfsPath destination hdfs path
+     * @param overwrite whether to overwrite an existing file
+     * @return sha-256 hex checksum of the concatenated content
+     * @throws IOException errors
+     */
+    public String concat(List<String> srcHdfsPaths, String dstHdfsPath, boolean overwrite) throws IOException {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        try (FSDataOutputStream out = fs.create(new Path(dstHdfsPath), overwrite)) {
+            for (String srcHdfsPath : srcHdfsPaths) {
+                try (FSDataInputStream in = fs.open(new Path(srcHdfsPath))) {
+                    copyBytes(in, out, digest);
+                }
+            }
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    private static void copyBytes(InputStream in, OutputStream out, MessageDigest digest) throws IOException {
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+            out.write(buffer, 0, read);
+        }
+    }
+
     /**
      * copy hdfs file to local
      *
@@ -522,6 +581,27 @@ public class HadoopUtils implements Closeable {
         return String.format("%s/udfs", getHdfsTenantDir(tenantCode));
     }
 
+    /**
+     * hdfs dir of a multipart upload, holds the uploaded parts until completed
+     *
+     * @param tenantCode tenant code
+     * @param uploadId upload id
+     * @return multipart upload dir on hdfs
+     */
+    public static String getHdfsMultipartUploadDir(String tenantCode, String uploadId) {
+        return String.format("%s/%s", getHdfsMultipartDir(tenantCode), uploadId);
+    }
+
+    /**
+     * hdfs dir holding the multipart uploads of a tenant
+     *
+     * @param tenantCode tenant code
+     * @return multipart dir on hdfs
+     */
+    public static String getHdfsMultipartDir(String tenantCode) {
+        return String.format("%s/multipart", getHdfsTenantDir(tenantCode));
+    }
+
     /**
      * get hdfs file name
      *
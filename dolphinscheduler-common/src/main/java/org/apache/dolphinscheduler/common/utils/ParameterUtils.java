@@ -22,8 +22,7 @@ import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.enums.DataType;
 import org.apache.dolphinscheduler.common.process.Property;
 import org.apache.dolphinscheduler.common.utils.placeholder.BusinessTimeUtils;
-import org.apache.dolphinscheduler.common.utils.placeholder.PlaceholderUtils;
-import org.apache.dolphinscheduler.common.utils.placeholder.TimePlaceholderUtils;
+import org.apache.dolphinscheduler.common.utils.placeholder.ParameterTemplate;
 
 import java.sql.PreparedStatement;
 import java.util.Date;
@@ -32,8 +31,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,10 +42,6 @@ public class ParameterUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(ParameterUtils.class);
 
-    private static final String DATE_PARSE_PATTERN = "\\$\\[([^\\$\\]]+)]";
-
-    private static final String DATE_START_PATTERN = "^[0-9]";
-
     private ParameterUtils() {
         throw new UnsupportedOperationException("Construct ParameterUtils");
     }
@@ -65,10 +58,6 @@ public class ParameterUtils {
             return parameterString;
         }
         Date cronTime;
-        if (parameterMap != null && !parameterMap.isEmpty()) {
-            // replace variable ${} form,refers to the replacement of system variables and custom variables
-            parameterString = PlaceholderUtils.replacePlaceholders(parameterString, parameterMap, true);
-        }
         if (parameterMap != null && null != parameterMap.get(Constants.PARAMETER_DATETIME)) {
             //Get current time, schedule execute time
             String cronTimeStr = parameterMap.get(Constants.PARAMETER_DATETIME);
@@ -76,11 +65,9 @@ public class ParameterUtils {
         } else {
             cronTime = new Date();
         }
-        // replace time $[...] form, eg. $[yyyyMMdd]
-        if (cronTime != null) {
-            return dateTemplateParse(parameterString, cronTime);
-        }
-        return parameterString;
+        // replace variable ${} form,refers to the replacement of system variables and custom variables,
+        // then time $[...] form, eg. $[yyyyMMdd]
+        return ParameterTemplate.compile(parameterString).render(parameterMap, cronTime);
     }
 
     /**
@@ -106,16 +93,9 @@ public class ParameterUtils {
             cronTime = new Date();
         }
 
-        // replace variable ${} form,refers to the replacement of system variables and custom variables
-        if (!parameterMap.isEmpty()) {
-            parameterString = PlaceholderUtils.replacePlaceholders(parameterString, parameterMap, true);
-        }
-
-        // replace time $[...] form, eg. $[yyyyMMdd]
-        if (cronTime != null) {
-            return dateTemplateParse(parameterString, cronTime);
-        }
-        return parameterString;
+        // replace variable ${} form,refers to the replacement of system variables and custom variables,
+        // then time $[...] form, eg. $[yyyyMMdd]
+        return ParameterTemplate.compile(parameterString).render(parameterMap, cronTime);
     }
 
     /**
@@ -252,29 +232,4 @@ public class ParameterUtils {
         return map;
     }
 
-    private static String dateTemplateParse(String templateStr, Date date) {
-        if (templateStr == null) {
-            return null;
-        }
-        Pattern pattern = Pattern.compile(DATE_PARSE_PATTERN);
-
-        StringBuffer newValue = new StringBuffer(templateStr.length());
-
-        Matcher matcher = pattern.matcher(templateStr);
-
-        while (matcher.find()) {
-            String key = matcher.group(1);
-            if (Pattern.matches(DATE_START_PATTERN, key)) {
-                continue;
-            }
-            String value = TimePlaceholderUtils.getPlaceHolderTime(key, date);
-            assert value != null;
-            matcher.appendReplacement(newValue, value);
-        }
-
-        matcher.appendTail(newValue);
-
-        return newValue.toString();
-    }
-
 }
@@ -0,0 +1,333 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.common.utils.placeholder;
+
+import org.apache.dolphinscheduler.common.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * parameter template, a parameter string parsed once into literals, ${var} and $[time-expr] segments.
+ * rendering a compiled template gives the same result as replacing ${var} placeholders with
+ * {@link PlaceholderUtils} and then $[time-expr] placeholders, without rescanning the string.
+ * templates whose result depends on the substituted values (nested keys, values containing
+ * placeholders) or whose time expressions can not be compiled are rendered by the scanning path.
+ */
+public final class ParameterTemplate {
+
+    private static final Pattern DATE_PARSE_PATTERN = Pattern.compile("\\$\\[([^\\$\\]]+)]");
+
+    private static final Pattern DATE_START_PATTERN = Pattern.compile("^[0-9]");
+
+    /**
+     * compiled templates, weighted by source length
+     */
+    private static final long CACHE_MAX_CHARS = 16L * 1024 * 1024;
+
+    private static final Cache<String, ParameterTemplate> TEMPLATE_CACHE = CacheBuilder.newBuilder()
+            .maximumWeight(CACHE_MAX_CHARS)
+            .weigher((String key, ParameterTemplate value) -> key.length())
+            .build();
+
+    private final String source;
+
+    private final Segment[] segments;
+
+    /**
+     * false if the template must be rendered by the scanning path
+     */
+    private final boolean compiled;
+
+    /**
+     * a literal before a variable ends with '$' or inside an unclosed $[, so a time placeholder may span the variable
+     */
+    private final boolean timeSpansVariable;
+
+    private ParameterTemplate(String source, Segment[] segments, boolean compiled, boolean timeSpansVariable) {
+        this.source = source;
+        this.segments = segments;
+        this.compiled = compiled;
+        this.timeSpansVariable = timeSpansVariable;
+    }
+
+    /**
+     * get the compiled template of the parameter string, compiled templates are cached by content
+     *
+     * @param source parameter string
+     * @return template
+     */
+    public static ParameterTemplate compile(String source) {
+        ParameterTemplate template = TEMPLATE_CACHE.getIfPresent(source);
+        if (template == null) {
+            template = parse(source);
+            TEMPLATE_CACHE.put(source, template);
+        }
+        return template;
+    }
+
+    /**
+     * parse the parameter string without caching it
+     *
+     * @param source parameter string
+     * @return template
+     */
+    public static ParameterTemplate parse(String source) {
+        List<Segment> segments = new ArrayList<>();
+        boolean compiled = true;
+        boolean timeSpansVariable = false;
+
+        int literalStart = 0;
+        int startIndex = source.indexOf(PlaceholderUtils.PLACEHOLDER_PREFIX);
+        while (startIndex != -1) {
+            int endIndex = findPlaceholderEndIndex(source, startIndex);
+            if (endIndex == -1) {
+                break;
+            }
+            String name = source.substring(startIndex + PlaceholderUtils.PLACEHOLDER_PREFIX.length(), endIndex);
+            if (name.contains("{") || name.indexOf('$') != -1) {
+                // nested keys are resolved recursively, and unresolved keys may hold time placeholders
+                compiled = false;
+                break;
+            }
+            String literal = source.substring(literalStart, startIndex);
+            compiled &= addLiteral(segments, literal);
+            timeSpansVariable |= hasUnclosedTimePlaceholder(literal);
+            segments.add(new Segment(Segment.VARIABLE, source.substring(startIndex, endIndex + 1), name, null));
+            literalStart = endIndex + PlaceholderUtils.PLACEHOLDER_SUFFIX.length();
+            startIndex = source.indexOf(PlaceholderUtils.PLACEHOLDER_PREFIX, literalStart);
+        }
+        if (compiled) {
+            compiled = addLiteral(segments, source.substring(literalStart));
+        }
+        return new ParameterTemplate(source, segments.toArray(new Segment[0]), compiled, timeSpansVariable);
+    }
+
+    /**
+     * render template
+     *
+     * @param paramsMap ${var} values, variables are left as is if the map is null or empty
+     * @param date date of $[time-expr] placeholders, they are left as is if the date is null
+     * @return rendered string
+     */
+    public String render(Map<String, String> paramsMap, Date date) {
+        boolean resolveVariables = paramsMap != null && !paramsMap.isEmpty();
+        if (!compiled) {
+            return interpret(source, paramsMap, date);
+        }
+        if (segments.length == 1 && segments[0].type == Segment.LITERAL) {
+            return source;
+        }
+        try {
+            String[] values = new String[segments.length];
+            boolean rescanTime = timeSpansVariable;
+            for (int i = 0; i < segments.length; i++) {
+                Segment segment = segments[i];
+                if (segment.type == Segment.VARIABLE && resolveVariables) {
+                    String value = paramsMap.get(segment.name);
+                    if (value != null && value.contains(PlaceholderUtils.PLACEHOLDER_PREFIX)) {
+                        return interpret(source, paramsMap, date);
+                    }
+                    values[i] = value;
+                    rescanTime |= value != null && value.indexOf('$') != -1;
+                }
+            }
+
+            StringBuilder result = new StringBuilder(source.length() + 16);
+            for (int i = 0; i < segments.length; i++) {
+                Segment segment = segments[i];
+                if (segment.type == Segment.TIME && date != null && !rescanTime) {
+                    String value = segment.time.render(date);
+                    if (value.indexOf('$') != -1 || value.indexOf('\\') != -1) {
+                        // group references in the value are interpreted by the scanning path
+                        return interpret(source, paramsMap, date);
+                    }
+                    result.append(value);
+                } else if (values[i] != null) {
+                    result.append(values[i]);
+                } else {
+                    result.append(segment.text);
+                }
+            }
+            return rescanTime && date != null ? replaceTimePlaceholders(result.toString(), date) : result.toString();
+        } catch (RuntimeException e) {
+            // let the scanning path report the error
+            return interpret(source, paramsMap, date);
+        }
+    }
+
+    /**
+     * render parameter string by scanning it, ${var} placeholders first and then $[time-expr] placeholders
+     *
+     * @param source parameter string
+     * @param paramsMap ${var} values, variables are left as is if the map is null or empty
+     * @param date date of $[time-expr] placeholders, they are left as is if the date is null
+     * @return rendered string
+     */
+    public static String interpret(String source, Map<String, String> paramsMap, Date date) {
+        String result = source;
+        if (paramsMap != null && !paramsMap.isEmpty()) {
+            result = PlaceholderUtils.replacePlaceholders(result, paramsMap, true);
+        }
+        if (date != null) {
+            result = replaceTimePlaceholders(result, date);
+        }
+        return result;
+    }
+
+    /**
+     * replace $[time-expr] placeholders
+     *
+     * @param templateStr template string
+     * @param date date
+     * @return replaced string
+     */
+    public static String replaceTimePlaceholders(String templateStr, Date date) {
+        if (templateStr == null) {
+            return null;
+        }
+        StringBuffer newValue = new StringBuffer(templateStr.length());
+
+        Matcher matcher = DATE_PARSE_PATTERN.matcher(templateStr);
+
+        while (matcher.find()) {
+            String key = matcher.group(1);
+            if (DATE_START_PATTERN.matcher(key).matches()) {
+                continue;
+            }
+            String value = TimePlaceholderUtils.getPlaceHolderTime(key, date);
+            assert value != null;
+            matcher.appendReplacement(newValue, value);
+        }
+
+        matcher.appendTail(newValue);
+
+        return newValue.toString();
+    }
+
+    /**
+     * split the literal into text and $[time-expr] segments
+     *
+     * @return false if a time expression can not be compiled
+     */
+    private static boolean addLiteral(List<Segment> segments, String literal) {
+        if (literal.isEmpty()) {
+            return true;
+        }
+        Matcher matcher = DATE_PARSE_PATTERN.matcher(literal);
+        int textStart = 0;
+        while (matcher.find()) {
+            String key = matcher.group(1);
+            if (DATE_START_PATTERN.matcher(key).matches()) {
+                continue;
+            }
+            if (StringUtils.isBlank(key)) {
+                return false;
+            }
+            TimePlaceholderExpression time;
+            try {
+                time = TimePlaceholderExpression.compile(key);
+            } catch (RuntimeException e) {
+                return false;
+            }
+            if (matcher.start() > textStart) {
+                String text = literal.substring(textStart, matcher.start());
+                segments.add(new Segment(Segment.LITERAL, text, null, null));
+            }
+            segments.add(new Segment(Segment.TIME, matcher.group(), null, time));
+            textStart = matcher.end();
+        }
+        if (textStart < literal.length()) {
+            segments.add(new Segment(Segment.LITERAL, literal.substring(textStart), null, null));
+        }
+        return true;
+    }
+
+    private static boolean hasUnclosedTimePlaceholder(String literal) {
+        if (literal.endsWith("$")) {
+            return true;
+        }
+        int index = literal.lastIndexOf(TimePlaceholderUtils.PLACEHOLDER_PREFIX);
+        if (index == -1) {
+            return false;
+        }
+        for (int i = index + TimePlaceholderUtils.PLACEHOLDER_PREFIX.length(); i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if (c == '$' || c == ']') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * same as PropertyPlaceholderHelper, '{' opens a nested placeholder
+     */
+    private static int findPlaceholderEndIndex(String buf, int startIndex) {
+        int index = startIndex + PlaceholderUtils.PLACEHOLDER_PREFIX.length();
+        int withinNestedPlaceholder = 0;
+        while (index < buf.length()) {
+            char c = buf.charAt(index);
+            if (c == '}') {
+                if (withinNestedPlaceholder == 0) {
+                    return index;
+                }
+                withinNestedPlaceholder--;
+            } else if (c == '{') {
+                withinNestedPlaceholder++;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    private static final class Segment {
+
+        static final int LITERAL = 0;
+
+        static final int VARIABLE = 1;
+
+        static final int TIME = 2;
+
+        final int type;
+
+        /**
+         * source text of the segment
+         */
+        final String text;
+
+        final String name;
+
+        final TimePlaceholderExpression time;
+
+        Segment(int type, String text, String name, TimePlaceholderExpression time) {
+            this.type = type;
+            this.text = text;
+            this.name = name;
+            this.time = time;
+        }
+    }
+}
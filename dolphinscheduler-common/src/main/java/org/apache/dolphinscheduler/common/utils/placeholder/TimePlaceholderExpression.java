@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.common.utils.placeholder;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * a time expression such as {@code yyyyMMdd-1} or {@code timestamp(month_begin(yyyyMMdd,1))}
+ * parsed once, so rendering it against a date only shifts the date and formats it.
+ * the parsing mirrors {@link TimePlaceholderUtils#calcTimeExpression(String, Date)}.
+ */
+public final class TimePlaceholderExpression {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern(Constants.PARAMETER_FORMAT_TIME);
+
+    private enum Kind {
+        PLAIN, ADD_MINUTES, ADD_MONTHS, MONTH_BEGIN, MONTH_END, WEEK_BEGIN, WEEK_END
+    }
+
+    private final Kind kind;
+
+    private final int offset;
+
+    private final DateTimeFormatter formatter;
+
+    private final boolean timestamp;
+
+    private TimePlaceholderExpression(Kind kind, int offset, String format, boolean timestamp) {
+        this.kind = kind;
+        this.offset = offset;
+        this.formatter = DateTimeFormatter.ofPattern(format);
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * compile time expression
+     *
+     * @param expression expression inside $[...]
+     * @return compiled expression
+     * @throws RuntimeException if the expression is not valid
+     */
+    public static TimePlaceholderExpression compile(String expression) {
+        boolean timestamp = expression.startsWith(Constants.TIMESTAMP);
+        String timeExpression = timestamp
+                ? expression.substring(Constants.TIMESTAMP.length() + 1, expression.length() - 1)
+                : expression;
+
+        if (timeExpression.startsWith(Constants.ADD_MONTHS)) {
+            return compileFunction(Kind.ADD_MONTHS, Constants.ADD_MONTHS, timeExpression, timestamp);
+        } else if (timeExpression.startsWith(Constants.MONTH_BEGIN)) {
+            return compileFunction(Kind.MONTH_BEGIN, Constants.MONTH_BEGIN, timeExpression, timestamp);
+        } else if (timeExpression.startsWith(Constants.MONTH_END)) {
+            return compileFunction(Kind.MONTH_END, Constants.MONTH_END, timeExpression, timestamp);
+        } else if (timeExpression.startsWith(Constants.WEEK_BEGIN)) {
+            return compileFunction(Kind.WEEK_BEGIN, Constants.WEEK_BEGIN, timeExpression, timestamp);
+        } else if (timeExpression.startsWith(Constants.WEEK_END)) {
+            return compileFunction(Kind.WEEK_END, Constants.WEEK_END, timeExpression, timestamp);
+        }
+        return compileMinutes(timeExpression, timestamp);
+    }
+
+    private static TimePlaceholderExpression compileFunction(Kind kind, String function, String expression, boolean timestamp) {
+        String args = expression.substring(function.length() + 1, expression.length() - 1);
+        String[] params = args.split(Constants.COMMA);
+        if (params.length != 2) {
+            throw new RuntimeException("expression not valid");
+        }
+        return new TimePlaceholderExpression(kind, TimePlaceholderUtils.calculate(params[1]), params[0], timestamp);
+    }
+
+    private static TimePlaceholderExpression compileMinutes(String expression, boolean timestamp) {
+        int index = -1;
+        int sign = 1;
+        if (expression.contains("+")) {
+            index = expression.lastIndexOf('+');
+        } else if (expression.contains("-")) {
+            index = expression.lastIndexOf('-');
+            sign = -1;
+        }
+        if (index != -1 && Character.isDigit(expression.charAt(index + 1))) {
+            int minutes = TimePlaceholderUtils.calcMinutes(expression.substring(index + 1));
+            return new TimePlaceholderExpression(Kind.ADD_MINUTES, sign * minutes, expression.substring(0, index), timestamp);
+        }
+        return new TimePlaceholderExpression(Kind.PLAIN, 0, expression, timestamp);
+    }
+
+    /**
+     * render expression against date
+     *
+     * @param date date
+     * @return formatted date, or epoch seconds for timestamp(...) expressions
+     */
+    public String render(Date date) {
+        Date target;
+        switch (kind) {
+            case ADD_MINUTES:
+                target = org.apache.commons.lang.time.DateUtils.addMinutes(date, offset);
+                break;
+            case ADD_MONTHS:
+                target = org.apache.commons.lang.time.DateUtils.addMonths(date, offset);
+                break;
+            case MONTH_BEGIN:
+                target = org.apache.commons.lang.time.DateUtils.addDays(DateUtils.getFirstDayOfMonth(date), offset);
+                break;
+            case MONTH_END:
+                target = org.apache.commons.lang.time.DateUtils.addDays(DateUtils.getLastDayOfMonth(date), offset);
+                break;
+            case WEEK_BEGIN:
+                target = org.apache.commons.lang.time.DateUtils.addDays(DateUtils.getMonday(date), offset);
+                break;
+            case WEEK_END:
+                target = org.apache.commons.lang.time.DateUtils.addDays(DateUtils.getSunday(date), offset);
+                break;
+            default:
+                target = date;
+                break;
+        }
+        String value = LocalDateTime.ofInstant(target.toInstant(), ZoneId.systemDefault()).format(formatter);
+        if (!timestamp) {
+            return value;
+        }
+        return String.valueOf(LocalDateTime.parse(value, TIMESTAMP_FORMATTER).atZone(ZoneId.systemDefault()).toEpochSecond());
+    }
+}
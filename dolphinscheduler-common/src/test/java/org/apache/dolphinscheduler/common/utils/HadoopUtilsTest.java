@@ -121,6 +121,12 @@ public class HadoopUtilsTest {
         Assert.assertEquals("/dolphinscheduler/11000/udfs", result);
     }
 
+    @Test
+    public void getHdfsMultipartUploadDir() {
+        String result = hadoopUtils.getHdfsMultipartUploadDir("11000", "upload1");
+        Assert.assertEquals("/dolphinscheduler/11000/multipart/upload1", result);
+    }
+
     @Test
     public void getHdfsFileName() {
         String result = hadoopUtils.getHdfsFileName(ResourceType.FILE,"11000","aa.txt");
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.common.utils.placeholder;
+
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParameterTemplateTest {
+
+    private Date date;
+
+    private Map<String, String> paramsMap;
+
+    @Before
+    public void init() {
+        date = DateUtils.parse("20170101010101", "yyyyMMddHHmmss");
+        paramsMap = new HashMap<>();
+        paramsMap.put("bizDate", "20170101");
+        paramsMap.put("table", "t_ds_user");
+        paramsMap.put("empty", "");
+        paramsMap.put("dollar", "$[yyyy]");
+        paramsMap.put("nested", "${table}_bak");
+        paramsMap.put("format", "yyyyMMdd");
+        paramsMap.put("group", "a$1");
+    }
+
+    @Test
+    public void testRender() {
+        Assert.assertEquals("select * from t_ds_user where dt = '20170101' and id = 1",
+                ParameterTemplate.compile("select * from ${table} where dt = '${bizDate}' and id = 1").render(paramsMap, date));
+        Assert.assertEquals("20161231,20170102,20161227",
+                ParameterTemplate.compile("$[yyyyMMdd-1],$[month_begin(yyyyMMdd, 1)],$[week_begin(yyyyMMdd, 1)]").render(paramsMap, date));
+        Assert.assertEquals("${unknown}_$[1]", ParameterTemplate.compile("${unknown}_$[1]").render(paramsMap, date));
+        Assert.assertEquals("${table}_$[yyyy]", ParameterTemplate.compile("${table}_$[yyyy]").render(null, null));
+    }
+
+    @Test
+    public void testSameAsInterpret() {
+        String[] sources = {
+            "",
+            "no placeholder",
+            "${table}",
+            "${table}${bizDate}${empty}",
+            "insert into ${table} select * from ${table} where dt = $[yyyyMMdd]",
+            "$[yyyy]test1$[yyyy:***]$[yyyy-MM-dd-1],$[month_begin(yyyyMMdd, 1)],$[month_end(yyyyMMdd, -1)]",
+            "$[week_begin(yyyyMMdd, 1)],$[week_end(yyyyMMdd, -1)],$[add_months(yyyyMMdd,12*1)]",
+            "$[yyyyMMddHH+1/24]$[yyyyMMddHH-1/24]$[yyyyMMdd+7*1]",
+            "$[timestamp(yyyyMMdd00mmss)],$[timestamp(month_begin(yyyyMMddHHmmss, 1))]",
+            "${unknown} and $[1] and $[ab$[yyyy]",
+            "${dollar}",
+            "$[${format}]",
+            "$${dollar}",
+            "$[yyyy${empty}MM]",
+            "${nested}",
+            "${a{b}c}",
+            "${${table}}",
+            "${unterminated",
+            "$[yyyy]${group}",
+            "$[]${table}$[yyyy"
+        };
+        for (String source : sources) {
+            Assert.assertEquals(source, ParameterTemplate.interpret(source, paramsMap, date),
+                    ParameterTemplate.parse(source).render(paramsMap, date));
+            Assert.assertEquals(source, ParameterTemplate.interpret(source, Collections.emptyMap(), date),
+                    ParameterTemplate.parse(source).render(Collections.emptyMap(), date));
+            Assert.assertEquals(source, ParameterTemplate.interpret(source, paramsMap, null),
+                    ParameterTemplate.parse(source).render(paramsMap, null));
+        }
+    }
+
+    @Test
+    public void testInvalidTimeExpression() {
+        try {
+            ParameterTemplate.compile("$[month_begin(yyyyMMdd)]").render(paramsMap, date);
+            Assert.fail("expression not valid");
+        } catch (RuntimeException e) {
+            Assert.assertEquals("expression not valid", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCompileCache() {
+        String source = "select * from ${table} where dt = $[yyyyMMdd]";
+        Assert.assertSame(ParameterTemplate.compile(source), ParameterTemplate.compile(new String(source)));
+    }
+}
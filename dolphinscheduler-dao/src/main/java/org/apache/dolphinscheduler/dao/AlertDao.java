@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.dao;
 import org.apache.dolphinscheduler.common.enums.AlertEvent;
 import org.apache.dolphinscheduler.common.enums.AlertStatus;
 import org.apache.dolphinscheduler.common.enums.AlertWarnLevel;
+import org.apache.dolphinscheduler.common.utils.CollectionUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.StringUtils;
 import org.apache.dolphinscheduler.dao.datasource.ConnectionFactory;
@@ -93,6 +94,19 @@ public class AlertDao extends AbstractBaseDao {
         return alertMapper.updateById(alert);
     }
 
+    /**
+     * update status and log of several alerts in one statement
+     *
+     * @param alerts alerts carrying the new status and log
+     * @return update alert result
+     */
+    public int updateAlerts(List<Alert> alerts) {
+        if (CollectionUtils.isEmpty(alerts)) {
+            return 0;
+        }
+        return alertMapper.batchUpdateAlertStatus(alerts, new Date());
+    }
+
     /**
      * MasterServer or WorkerServer stoped
      *
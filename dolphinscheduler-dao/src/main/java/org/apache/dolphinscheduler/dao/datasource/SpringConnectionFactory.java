@@ -166,6 +166,8 @@ public class SpringConnectionFactory {
         Properties properties = new Properties();
         properties.setProperty("MySQL", "mysql");
         properties.setProperty("PostgreSQL", "pg");
+        // the embedded H2 database runs in MySQL mode
+        properties.setProperty("H2", "mysql");
         databaseIdProvider.setProperties(properties);
         return databaseIdProvider;
     }
@@ -78,6 +78,11 @@ public class Resource {
    */
   private long size;
 
+  /**
+   * sha-256 checksum of the file content
+   */
+  private String checksum;
+
   /**
    * create time
    */
@@ -229,6 +234,14 @@ public class Resource {
     this.createTime = createTime;
   }
 
+  public String getChecksum() {
+    return checksum;
+  }
+
+  public void setChecksum(String checksum) {
+    this.checksum = checksum;
+  }
+
   public Date getUpdateTime() {
     return updateTime;
   }
@@ -250,6 +263,7 @@ public class Resource {
             ", userId=" + userId +
             ", type=" + type +
             ", size=" + size +
+            ", checksum='" + checksum + '\'' +
             ", createTime=" + createTime +
             ", updateTime=" + updateTime +
             '}';
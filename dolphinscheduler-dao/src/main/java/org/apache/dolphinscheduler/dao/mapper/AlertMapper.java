@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.dao.entity.Alert;
 
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Date;
 import java.util.List;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
@@ -44,4 +45,13 @@ public interface AlertMapper extends BaseMapper<Alert> {
      */
     void insertAlertWhenServerCrash(@Param("alert") Alert alert);
 
+    /**
+     * update status and log of several alerts in one statement
+     *
+     * @param alerts alerts carrying the new status and log
+     * @param updateTime update time
+     * @return update count
+     */
+    int batchUpdateAlertStatus(@Param("alerts") List<Alert> alerts, @Param("updateTime") Date updateTime);
+
 }
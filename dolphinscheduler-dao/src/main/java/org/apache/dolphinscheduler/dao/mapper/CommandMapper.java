@@ -50,6 +50,12 @@ public interface CommandMapper extends BaseMapper<Command> {
             @Param("endTime") Date endTime,
             @Param("projectCodeArray") Long[] projectCodeArray);
 
+    /**
+     * insert commands with one multi-row insert
+     * @param commands commands
+     * @return insert count
+     */
+    int batchInsert(@Param("commands") List<Command> commands);
 
 
 }
@@ -235,4 +235,40 @@ public interface ProcessInstanceMapper extends BaseMapper<ProcessInstance> {
 
     int updateGlobalParamsById(@Param("globalParams") String globalParams,
                                @Param("id") int id);
+
+    /**
+     * update var pool of process instance
+     *
+     * @param varPool varPool
+     * @param id process instance id
+     * @return update result
+     */
+    int updateVarPoolById(@Param("varPool") String varPool,
+                          @Param("id") int id);
+
+    /**
+     * update state, end time and var pool of process instance, unless its state is one of the guarded states
+     *
+     * @param id process instance id
+     * @param state state
+     * @param endTime end time
+     * @param varPool varPool
+     * @param guardedStates states which must not be overwritten
+     * @return update result
+     */
+    int updateStateById(@Param("id") int id,
+                        @Param("state") ExecutionStatus state,
+                        @Param("endTime") Date endTime,
+                        @Param("varPool") String varPool,
+                        @Param("guardedStates") int[] guardedStates);
+
+    /**
+     * update host of process instances
+     *
+     * @param host host
+     * @param ids process instance ids
+     * @return update result
+     */
+    int updateHostByIds(@Param("host") String host,
+                        @Param("ids") List<Integer> ids);
 }
@@ -114,6 +114,14 @@ public interface ResourceMapper extends BaseMapper<Resource> {
      */
     List<Integer> listChildren(@Param("direcotyId") int direcotyId);
 
+    /**
+     * list all descendants of a directory in one query, full name is used as the materialized path
+     * @param type resource type
+     * @param fullNamePattern like pattern of the descendants' full name, e.g. "/dir/%" with wildcards of the directory escaped
+     * @return resource list
+     */
+    List<Resource> listAllChildrenByFullName(@Param("type") int type, @Param("fullNamePattern") String fullNamePattern);
+
     /**
      * query resource by full name or pid
      * @param fullName  full name
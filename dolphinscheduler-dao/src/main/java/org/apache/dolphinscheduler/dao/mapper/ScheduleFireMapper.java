@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.mapper;
+
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+
+/**
+ * schedule fire mapper, every fire time of a schedule is claimed once so that it runs on one master only
+ */
+public interface ScheduleFireMapper {
+
+    /**
+     * claim a fire time of a schedule
+     *
+     * @param scheduleId schedule id
+     * @param fireTime scheduled fire time
+     * @return insert result, a duplicate key if the fire time is already claimed
+     */
+    int insertFire(@Param("scheduleId") int scheduleId,
+                   @Param("fireTime") Date fireTime);
+
+    /**
+     * delete claims of fire times before a time
+     *
+     * @param fireTime fire time
+     * @return delete result
+     */
+    int deleteBefore(@Param("fireTime") Date fireTime);
+}
@@ -67,4 +67,10 @@ public interface ScheduleMapper extends BaseMapper<Schedule> {
      */
     List<Schedule> queryReleaseSchedulerListByProcessDefinitionId(@Param("processDefinitionId") int processDefinitionId);
 
+    /**
+     * query all online schedules
+     * @return schedule list
+     */
+    List<Schedule> queryReleaseSchedulerList();
+
 }
@@ -48,6 +48,10 @@ public interface TaskInstanceMapper extends BaseMapper<TaskInstance> {
                                        @Param("states") int[] stateArray,
                                        @Param("destStatus") ExecutionStatus destStatus);
 
+    int setFailoverByIdsAndStateArray(@Param("ids") List<Integer> ids,
+                                      @Param("states") int[] stateArray,
+                                      @Param("destStatus") ExecutionStatus destStatus);
+
     TaskInstance queryByInstanceIdAndName(@Param("processInstanceId") int processInstanceId,
                                           @Param("name") String name);
 
@@ -70,4 +74,12 @@ public interface TaskInstanceMapper extends BaseMapper<TaskInstance> {
                                                     @Param("startTime") Date startTime,
                                                     @Param("endTime") Date endTime
     );
+
+    /**
+     * insert task instances with one multi-row insert, generated ids are written back
+     *
+     * @param taskInstances task instances
+     * @return insert count
+     */
+    int batchInsert(@Param("taskInstances") List<TaskInstance> taskInstances);
 }
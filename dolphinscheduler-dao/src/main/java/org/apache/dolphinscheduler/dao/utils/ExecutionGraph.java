@@ -0,0 +1,367 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.utils;
+
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.model.TaskNode;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.common.task.conditions.ConditionsParameters;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * execution state of a process dag, nodes are indexed by int and every node keeps the number of
+ * predecessors that are not yet complete, forbidden or skipped, so that finding the nodes a finished
+ * task releases only walks its successors.
+ * it is owned by one master exec thread and is not thread safe.
+ */
+public class ExecutionGraph {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final String[] names;
+
+    private final TaskNode[] nodes;
+
+    private final Map<String, Integer> index;
+
+    private final int[][] successors;
+
+    private final int[][] predecessors;
+
+    /**
+     * predecessors not yet complete, forbidden or skipped
+     */
+    private final int[] remaining;
+
+    /**
+     * skipped predecessors, a node whose dependencies are all skipped is skipped too
+     */
+    private final int[] skippedDeps;
+
+    /**
+     * size of the depend list, dependencies outside the dag never become skipped
+     */
+    private final int[] depCount;
+
+    private final boolean[] settled;
+
+    private final boolean[] skipped;
+
+    /**
+     * whether a successor of the node is a conditions task
+     */
+    private final boolean[] conditionsAfter;
+
+    /**
+     * branches of conditions tasks, parsed once
+     */
+    private final ConditionsParameters[] conditions;
+
+    /**
+     * skipped nodes, shared with the caller
+     */
+    private final Map<String, TaskNode> skipTaskNodeList;
+
+    public ExecutionGraph(DAG<String, TaskNode, TaskNodeRelation> dag, Map<String, TaskNode> skipTaskNodeList) {
+        this.skipTaskNodeList = skipTaskNodeList;
+        List<String> nodeNames = new ArrayList<>(dag.getNodesCount());
+        for (String name : dag.getBeginNode()) {
+            nodeNames.add(name);
+        }
+        this.index = new HashMap<>(dag.getNodesCount() * 2);
+        for (String name : nodeNames) {
+            index.put(name, index.size());
+        }
+        // the remaining nodes in discovery order from the begin nodes
+        for (int i = 0; i < nodeNames.size(); i++) {
+            for (String next : dag.getSubsequentNodes(nodeNames.get(i))) {
+                if (!index.containsKey(next)) {
+                    index.put(next, index.size());
+                    nodeNames.add(next);
+                }
+            }
+        }
+        int size = nodeNames.size();
+        this.names = nodeNames.toArray(new String[0]);
+        this.nodes = new TaskNode[size];
+        this.successors = new int[size][];
+        this.predecessors = new int[size][];
+        this.remaining = new int[size];
+        this.skippedDeps = new int[size];
+        this.depCount = new int[size];
+        this.settled = new boolean[size];
+        this.skipped = new boolean[size];
+        this.conditionsAfter = new boolean[size];
+        this.conditions = new ConditionsParameters[size];
+
+        for (int i = 0; i < size; i++) {
+            nodes[i] = dag.getNode(names[i]);
+            successors[i] = toIndexes(dag.getSubsequentNodes(names[i]));
+            predecessors[i] = toIndexes(dag.getPreviousNodes(names[i]));
+            List<String> depList = nodes[i].getDepList();
+            depCount[i] = depList == null ? 0 : new HashSet<>(depList).size();
+            if (nodes[i].isConditionsTask()) {
+                conditions[i] = JSONUtils.parseObject(nodes[i].getConditionResult(), ConditionsParameters.class);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            for (int pre : predecessors[i]) {
+                if (!nodes[pre].isForbidden()) {
+                    remaining[i]++;
+                }
+            }
+            for (int next : successors[i]) {
+                if (nodes[next].isConditionsTask()) {
+                    conditionsAfter[i] = true;
+                }
+            }
+            settled[i] = nodes[i].isForbidden();
+        }
+        for (String name : skipTaskNodeList.keySet()) {
+            Integer node = index.get(name);
+            if (node != null) {
+                markSkipped(node);
+            }
+        }
+    }
+
+    private int[] toIndexes(Set<String> names) {
+        if (names.isEmpty()) {
+            return EMPTY;
+        }
+        int[] indexes = new int[names.size()];
+        int i = 0;
+        for (String name : names) {
+            indexes[i++] = index.get(name);
+        }
+        return indexes;
+    }
+
+    public boolean containsNode(String name) {
+        return index.containsKey(name);
+    }
+
+    public TaskNode getNode(String name) {
+        Integer node = index.get(name);
+        return node == null ? null : nodes[node];
+    }
+
+    public boolean isBeginNode(String name) {
+        Integer node = index.get(name);
+        return node != null && predecessors[node].length == 0;
+    }
+
+    /**
+     * whether a conditions task directly follows the node
+     *
+     * @param name node name
+     * @return true if a successor is a conditions task
+     */
+    public boolean haveConditionsAfterNode(String name) {
+        Integer node = index.get(name);
+        return node != null && conditionsAfter[node];
+    }
+
+    /**
+     * names of the direct predecessors of the node
+     *
+     * @param name node name
+     * @return predecessor names
+     */
+    public Set<String> getPreviousNodes(String name) {
+        Integer node = index.get(name);
+        if (node == null) {
+            return Collections.emptySet();
+        }
+        Set<String> previous = new LinkedHashSet<>();
+        for (int pre : predecessors[node]) {
+            previous.add(names[pre]);
+        }
+        return previous;
+    }
+
+    /**
+     * record a completed node, its successors have one dependency less to wait for
+     *
+     * @param name node name
+     */
+    public void complete(String name) {
+        Integer node = index.get(name);
+        if (node != null) {
+            settle(node);
+        }
+    }
+
+    private void settle(int node) {
+        if (settled[node]) {
+            return;
+        }
+        settled[node] = true;
+        for (int next : successors[node]) {
+            remaining[next]--;
+        }
+    }
+
+    private void markSkipped(int node) {
+        if (skipped[node]) {
+            return;
+        }
+        skipped[node] = true;
+        skipTaskNodeList.putIfAbsent(names[node], nodes[node]);
+        settle(node);
+        for (int next : successors[node]) {
+            skippedDeps[next]++;
+        }
+    }
+
+    /**
+     * skip the node and every successor whose dependencies are all skipped
+     */
+    private void skip(int node) {
+        markSkipped(node);
+        for (int next : successors[node]) {
+            if (needSkip(next)) {
+                skip(next);
+            }
+        }
+    }
+
+    private boolean needSkip(int node) {
+        return depCount[node] > 0 && skippedDeps[node] >= depCount[node];
+    }
+
+    /**
+     * the nodes released by a finished node, forbidden and already complete nodes are passed through,
+     * the branch not taken after a conditions task is skipped.
+     * same result as {@link DagHelper#parsePostNodes} in O(out-degree) per visited node
+     *
+     * @param preNodeName finished node, null for the begin nodes
+     * @param completeTaskList complete tasks
+     * @return nodes to submit
+     */
+    public Set<String> parsePostNodes(String preNodeName, Map<String, TaskInstance> completeTaskList) {
+        Set<String> postNodeList = new LinkedHashSet<>();
+        collectPostNodes(preNodeName, completeTaskList, postNodeList);
+        return postNodeList;
+    }
+
+    private void collectPostNodes(String preNodeName, Map<String, TaskInstance> completeTaskList, Set<String> postNodeList) {
+        int[] candidates;
+        int pre = -1;
+        if (preNodeName == null) {
+            candidates = beginNodes();
+        } else {
+            Integer preNode = index.get(preNodeName);
+            if (preNode == null) {
+                return;
+            }
+            pre = preNode;
+            candidates = conditions[pre] != null ? toIndexes(new LinkedHashSet<>(parseConditionTask(preNodeName, completeTaskList))) : successors[pre];
+        }
+        for (int candidate : candidates) {
+            // a conditions task that neither succeeded nor failed returns itself
+            if (candidate == pre) {
+                continue;
+            }
+            if (needSkip(candidate)) {
+                skip(candidate);
+                continue;
+            }
+            if (remaining[candidate] > 0) {
+                continue;
+            }
+            if (nodes[candidate].isForbidden() || completeTaskList.containsKey(names[candidate])) {
+                collectPostNodes(names[candidate], completeTaskList, postNodeList);
+                continue;
+            }
+            postNodeList.add(names[candidate]);
+        }
+    }
+
+    private int[] beginNodes() {
+        int count = 0;
+        for (int[] pre : predecessors) {
+            if (pre.length == 0) {
+                count++;
+            }
+        }
+        int[] begin = new int[count];
+        int j = 0;
+        for (int i = 0; i < predecessors.length; i++) {
+            if (predecessors[i].length == 0) {
+                begin[j++] = i;
+            }
+        }
+        return begin;
+    }
+
+    /**
+     * the branch a finished conditions task takes, the other branch is skipped.
+     * same result as {@link DagHelper#parseConditionTask} without parsing the conditions again
+     *
+     * @param nodeName conditions task name
+     * @param completeTaskList complete tasks
+     * @return names of the branch to run, only those inside the dag
+     */
+    public List<String> parseConditionTask(String nodeName, Map<String, TaskInstance> completeTaskList) {
+        Integer node = index.get(nodeName);
+        if (node == null || conditions[node] == null || !completeTaskList.containsKey(nodeName)) {
+            return Collections.emptyList();
+        }
+        TaskInstance taskInstance = completeTaskList.get(nodeName);
+        List<String> branch;
+        List<String> skipNodeList;
+        if (taskInstance.getState().typeIsSuccess()) {
+            branch = conditions[node].getSuccessNode();
+            skipNodeList = conditions[node].getFailedNode();
+        } else if (taskInstance.getState().typeIsFailure()) {
+            branch = conditions[node].getFailedNode();
+            skipNodeList = conditions[node].getSuccessNode();
+        } else {
+            return Collections.singletonList(nodeName);
+        }
+        if (skipNodeList != null) {
+            for (String skipNode : skipNodeList) {
+                Integer skip = index.get(skipNode);
+                if (skip != null) {
+                    skip(skip);
+                }
+            }
+        }
+        if (branch == null) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>(branch.size());
+        for (String name : branch) {
+            if (index.containsKey(name)) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+}
@@ -26,6 +26,7 @@ import org.apache.dolphinscheduler.common.enums.AlertStatus;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.dao.entity.Alert;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -126,6 +127,30 @@ public class AlertMapperTest {
         }
     }
 
+    /**
+     * test batch update alert status
+     */
+    @Test
+    public void testBatchUpdateAlertStatus() {
+        Map<Integer, Alert> alertMap = createAlertMap(3, AlertStatus.WAIT_EXECUTION);
+        List<Alert> alerts = new ArrayList<>(alertMap.values());
+        alerts.get(0).setAlertStatus(AlertStatus.EXECUTION_FAILURE);
+        alerts.get(0).setLog("failed");
+        alerts.get(1).setAlertStatus(AlertStatus.EXECUTION_SUCCESS);
+        alerts.get(1).setLog("success");
+        alerts.get(2).setAlertStatus(AlertStatus.EXECUTION_SUCCESS);
+        alerts.get(2).setLog("success");
+
+        int count = alertMapper.batchUpdateAlertStatus(alerts, DateUtils.getCurrentDate());
+        assertEquals(3, count);
+
+        for (Alert alert : alerts) {
+            Alert actualAlert = alertMapper.selectById(alert.getId());
+            assertEquals(alert.getAlertStatus(), actualAlert.getAlertStatus());
+            assertEquals(alert.getLog(), actualAlert.getLog());
+        }
+    }
+
     /**
      * create alert map
      *
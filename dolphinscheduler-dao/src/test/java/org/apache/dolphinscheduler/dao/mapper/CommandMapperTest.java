@@ -31,6 +31,7 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -130,6 +131,29 @@ public class CommandMapperTest {
         assertThat(actualCommands.size(), greaterThanOrEqualTo(count));
     }
 
+    /**
+     * test batch insert
+     */
+    @Test
+    public void testBatchInsert() {
+        List<Command> commands = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Command command = new Command();
+            command.setCommandType(CommandType.SCHEDULER);
+            command.setProcessDefinitionId(i + 1);
+            command.setExecutorId(4);
+            command.setScheduleTime(DateUtils.stringToDate("2019-12-29 12:10:00"));
+            command.setProcessInstancePriority(Priority.MEDIUM);
+            command.setWarningType(WarningType.NONE);
+            command.setWorkerGroup(Constants.DEFAULT_WORKER_GROUP);
+            commands.add(command);
+        }
+        int before = commandMapper.selectList(null).size();
+
+        assertEquals(3, commandMapper.batchInsert(commands));
+        assertEquals(before + 3, commandMapper.selectList(null).size());
+    }
+
     /**
      * test get on command to run
      */
@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.Project;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -105,6 +106,50 @@ public class ProcessInstanceMapperTest {
         processInstanceMapper.deleteById(processInstanceMap.getId());
     }
 
+    /**
+     * test update var pool
+     */
+    @Test
+    public void testUpdateVarPoolById() {
+        ProcessInstance processInstance = insertOne();
+        int update = processInstanceMapper.updateVarPoolById("[{\"prop\":\"a\"}]", processInstance.getId());
+        Assert.assertEquals(1, update);
+        ProcessInstance updated = processInstanceMapper.selectById(processInstance.getId());
+        Assert.assertEquals("[{\"prop\":\"a\"}]", updated.getVarPool());
+        Assert.assertEquals(ExecutionStatus.SUBMITTED_SUCCESS, updated.getState());
+        processInstanceMapper.deleteById(processInstance.getId());
+    }
+
+    @Test
+    public void testUpdateHostByIds() {
+        ProcessInstance processInstance1 = insertOne();
+        ProcessInstance processInstance2 = insertOne();
+        int update = processInstanceMapper.updateHostByIds("NULL", Arrays.asList(processInstance1.getId(), processInstance2.getId()));
+        Assert.assertEquals(2, update);
+        Assert.assertEquals("NULL", processInstanceMapper.selectById(processInstance2.getId()).getHost());
+        processInstanceMapper.deleteById(processInstance1.getId());
+        processInstanceMapper.deleteById(processInstance2.getId());
+    }
+
+    /**
+     * test update state unless guarded
+     */
+    @Test
+    public void testUpdateStateById() {
+        ProcessInstance processInstance = insertOne();
+        int[] guardedStates = new int[]{ExecutionStatus.READY_STOP.getCode(), ExecutionStatus.READY_PAUSE.getCode()};
+        int update = processInstanceMapper.updateStateById(processInstance.getId(), ExecutionStatus.RUNNING_EXECUTION,
+                null, "[]", guardedStates);
+        Assert.assertEquals(1, update);
+
+        processInstanceMapper.updateProcessInstanceByState(ExecutionStatus.RUNNING_EXECUTION, ExecutionStatus.READY_STOP);
+        update = processInstanceMapper.updateStateById(processInstance.getId(), ExecutionStatus.SUCCESS,
+                new Date(), "[]", guardedStates);
+        Assert.assertEquals(0, update);
+        Assert.assertEquals(ExecutionStatus.READY_STOP, processInstanceMapper.selectById(processInstance.getId()).getState());
+        processInstanceMapper.deleteById(processInstance.getId());
+    }
+
     /**
      * test delete
      */
@@ -430,5 +430,20 @@ public class ResourceMapperTest {
         insertOne();
         Assert.assertTrue(resourceMapper.existResource(fullName, userId, type));
     }
-}
 
+    @Test
+    public void listAllChildrenByFullNameTest() {
+        User generalUser1 = createGeneralUser("user1");
+        Resource dir = createResource(generalUser1, true, ResourceType.FILE, -1, "ut_dir", "/ut_dir");
+        Resource subDir = createResource(generalUser1, true, ResourceType.FILE, dir.getId(), "sub", "/ut_dir/sub");
+        Resource file = createResource(generalUser1, false, ResourceType.FILE, subDir.getId(), "a.sh", "/ut_dir/sub/a.sh");
+        // the underscore of the directory must not match any character
+        createResource(generalUser1, false, ResourceType.FILE, -1, "b.sh", "/utXdir/b.sh");
+        createResource(generalUser1, false, ResourceType.UDF, -1, "c.jar", "/ut_dir/c.jar");
+
+        List<Resource> children = resourceMapper.listAllChildrenByFullName(ResourceType.FILE.ordinal(), "/ut\\_dir/%");
+        Assert.assertEquals(2, children.size());
+        Assert.assertTrue(children.stream().anyMatch(r -> r.getId() == subDir.getId()));
+        Assert.assertTrue(children.stream().anyMatch(r -> r.getId() == file.getId()));
+    }
+}
@@ -221,4 +221,19 @@ public class ScheduleMapperTest {
         List<Schedule> schedules= scheduleMapper.queryByProcessDefinitionId(schedule.getProcessDefinitionId());
         Assert.assertNotEquals(schedules.size(), 0);
     }
-}
\ No newline at end of file
+
+    /**
+     * test query online schedules
+     */
+    @Test
+    public void testQueryReleaseSchedulerList() {
+        Schedule offline = insertOne();
+        Schedule online = insertOne();
+        online.setReleaseState(ReleaseState.ONLINE);
+        scheduleMapper.updateById(online);
+
+        List<Schedule> schedules = scheduleMapper.queryReleaseSchedulerList();
+        Assert.assertTrue(schedules.stream().anyMatch(s -> s.getId() == online.getId()));
+        Assert.assertFalse(schedules.stream().anyMatch(s -> s.getId() == offline.getId()));
+    }
+}
@@ -25,6 +25,8 @@ import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -129,6 +131,34 @@ public class TaskInstanceMapperTest {
         taskInstanceMapper.deleteById(taskInstance.getId());
     }
 
+    /**
+     * test batch insert
+     */
+    @Test
+    public void testBatchInsert() {
+        ProcessInstance processInstance = insertProcessInstance();
+        List<TaskInstance> taskInstances = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setFlag(Flag.YES);
+            taskInstance.setName("batch task " + i);
+            taskInstance.setState(ExecutionStatus.SUBMITTED_SUCCESS);
+            taskInstance.setSubmitTime(new Date());
+            taskInstance.setProcessInstanceId(processInstance.getId());
+            taskInstance.setTaskType(TaskType.SHELL.getDesc());
+            taskInstances.add(taskInstance);
+        }
+        int insert = taskInstanceMapper.batchInsert(taskInstances);
+        Assert.assertEquals(3, insert);
+        for (TaskInstance taskInstance : taskInstances) {
+            Assert.assertNotEquals(0, taskInstance.getId());
+            TaskInstance inserted = taskInstanceMapper.selectById(taskInstance.getId());
+            Assert.assertEquals(taskInstance.getName(), inserted.getName());
+            Assert.assertEquals(ExecutionStatus.SUBMITTED_SUCCESS, inserted.getState());
+            taskInstanceMapper.deleteById(taskInstance.getId());
+        }
+    }
+
     /**
      * test delete
      */
@@ -254,6 +284,24 @@ public class TaskInstanceMapperTest {
         Assert.assertNotEquals(setResult, 0);
     }
 
+    /**
+     * test set failover by ids and state array
+     */
+    @Test
+    public void testSetFailoverByIdsAndStateArray() {
+        ProcessInstance processInstance = insertProcessInstance();
+        TaskInstance task = insertTaskInstance(processInstance.getId());
+
+        int setResult = taskInstanceMapper.setFailoverByIdsAndStateArray(
+                Collections.singletonList(task.getId()),
+                new int[]{ExecutionStatus.RUNNING_EXECUTION.ordinal()},
+                ExecutionStatus.NEED_FAULT_TOLERANCE
+        );
+        Assert.assertEquals(ExecutionStatus.NEED_FAULT_TOLERANCE, taskInstanceMapper.selectById(task.getId()).getState());
+        taskInstanceMapper.deleteById(task.getId());
+        Assert.assertEquals(1, setResult);
+    }
+
     /**
      * test query by task instance id and name
      */
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.utils;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.common.enums.TaskType;
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.model.TaskNode;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.common.process.ProcessDag;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * execution graph test
+ */
+public class ExecutionGraphTest {
+
+    private final Map<String, TaskInstance> completeTaskList = new HashMap<>();
+
+    private final Map<String, TaskNode> skipNodeList = new HashMap<>();
+
+    @Test
+    public void testParsePostNodes() {
+        // 1-2-3-5-7 4-3-6 2-8-5-7
+        ExecutionGraph graph = new ExecutionGraph(generateDag(), skipNodeList);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("1", "4")), graph.parsePostNodes(null, completeTaskList));
+        Assert.assertTrue(graph.isBeginNode("4"));
+        Assert.assertFalse(graph.isBeginNode("3"));
+
+        complete(graph, "1", ExecutionStatus.SUCCESS);
+        Assert.assertEquals(Collections.singleton("2"), graph.parsePostNodes("1", completeTaskList));
+        complete(graph, "2", ExecutionStatus.SUCCESS);
+        Assert.assertEquals(Collections.singleton("8"), graph.parsePostNodes("2", completeTaskList));
+        complete(graph, "4", ExecutionStatus.SUCCESS);
+        Assert.assertEquals(Collections.singleton("3"), graph.parsePostNodes("4", completeTaskList));
+        complete(graph, "3", ExecutionStatus.SUCCESS);
+        Assert.assertEquals(Collections.singleton("6"), graph.parsePostNodes("3", completeTaskList));
+        complete(graph, "8", ExecutionStatus.SUCCESS);
+        Assert.assertEquals(Collections.singleton("5"), graph.parsePostNodes("8", completeTaskList));
+        complete(graph, "5", ExecutionStatus.SUCCESS);
+        Assert.assertEquals(Collections.singleton("7"), graph.parsePostNodes("5", completeTaskList));
+    }
+
+    @Test
+    public void testRecoverFromCompleteTasks() {
+        DAG<String, TaskNode, TaskNodeRelation> dag = generateDag();
+        ExecutionGraph graph = new ExecutionGraph(dag, skipNodeList);
+        for (String name : Arrays.asList("1", "2", "4", "3")) {
+            complete(graph, name, ExecutionStatus.SUCCESS);
+        }
+        Assert.assertEquals(DagHelper.parsePostNodes(null, new HashMap<>(), dag, completeTaskList),
+                graph.parsePostNodes(null, completeTaskList));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("8", "6")), graph.parsePostNodes(null, completeTaskList));
+    }
+
+    @Test
+    public void testForbiddenPostNode() {
+        DAG<String, TaskNode, TaskNodeRelation> dag = generateDag();
+        dag.getNode("2").setRunFlag(Constants.FLOWNODE_RUN_FLAG_FORBIDDEN);
+        ExecutionGraph graph = new ExecutionGraph(dag, skipNodeList);
+
+        complete(graph, "1", ExecutionStatus.SUCCESS);
+        Assert.assertEquals(Collections.singleton("8"), graph.parsePostNodes("1", completeTaskList));
+        complete(graph, "4", ExecutionStatus.SUCCESS);
+        Assert.assertEquals(Collections.singleton("3"), graph.parsePostNodes("4", completeTaskList));
+    }
+
+    @Test
+    public void testConditionPostNode() {
+        DAG<String, TaskNode, TaskNodeRelation> dag = generateDag();
+        TaskNode node3 = dag.getNode("3");
+        node3.setType(TaskType.CONDITIONS.getDesc());
+        node3.setConditionResult("{\"successNode\": [5], \"failedNode\": [6]}");
+        ExecutionGraph graph = new ExecutionGraph(dag, skipNodeList);
+        Assert.assertTrue(graph.haveConditionsAfterNode("2"));
+        Assert.assertFalse(graph.haveConditionsAfterNode("3"));
+
+        for (String name : Arrays.asList("1", "2", "4", "8")) {
+            complete(graph, name, ExecutionStatus.SUCCESS);
+        }
+        complete(graph, "3", ExecutionStatus.FAILURE);
+        Assert.assertEquals(Collections.singleton("6"), graph.parsePostNodes("3", completeTaskList));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("5", "7")), skipNodeList.keySet());
+        Assert.assertEquals(Collections.singletonList("6"), graph.parseConditionTask("3", completeTaskList));
+    }
+
+    private void complete(ExecutionGraph graph, String name, ExecutionStatus state) {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setName(name);
+        taskInstance.setState(state);
+        completeTaskList.put(name, taskInstance);
+        graph.complete(name);
+    }
+
+    /**
+     * 1->2->3->5->7
+     * 4->3->6
+     * 2->8->5->7
+     */
+    private DAG<String, TaskNode, TaskNodeRelation> generateDag() {
+        List<TaskNode> taskNodeList = new ArrayList<>();
+        taskNodeList.add(taskNode("1"));
+        taskNodeList.add(taskNode("2", "1"));
+        taskNodeList.add(taskNode("4"));
+        taskNodeList.add(taskNode("3", "2", "4"));
+        taskNodeList.add(taskNode("5", "3", "8"));
+        taskNodeList.add(taskNode("6", "3"));
+        taskNodeList.add(taskNode("7", "5"));
+        taskNodeList.add(taskNode("8", "2"));
+        List<TaskNode> destTaskNodeList = DagHelper.generateFlowNodeListByStartNode(taskNodeList,
+                new ArrayList<>(), new ArrayList<>(), TaskDependType.TASK_POST);
+        ProcessDag processDag = new ProcessDag();
+        processDag.setEdges(DagHelper.generateRelationListByFlowNodes(destTaskNodeList));
+        processDag.setNodes(destTaskNodeList);
+        return DagHelper.buildDagGraph(processDag);
+    }
+
+    private TaskNode taskNode(String name, String... deps) {
+        TaskNode taskNode = new TaskNode();
+        taskNode.setId(name);
+        taskNode.setName(name);
+        taskNode.setType(TaskType.SHELL.getDesc());
+        if (deps.length > 0) {
+            taskNode.setDepList(Arrays.asList(deps));
+        }
+        return taskNode;
+    }
+}
@@ -55,8 +55,8 @@ public abstract class AbstractBaseBenchmark {
                 // set benchmark ClassName
                 .include(className);
 
-        if (getMeasureIterations() > 0) {
-            optBuilder.warmupIterations(getMeasureIterations());
+        if (getWarmupIterations() > 0) {
+            optBuilder.warmupIterations(getWarmupIterations());
         }
 
         if (getMeasureIterations() > 0) {
@@ -70,8 +70,8 @@ public abstract class AbstractBaseBenchmark {
         String output = getReportDir();
         if (output != null) {
             boolean writeFileStatus;
-            String filePath = getReportDir() + className + ".json";
-            File file = new File(filePath);
+            File file = new File(output, className + ".json");
+            String filePath = file.getPath();
 
             if (file.exists()) {
                 writeFileStatus = file.delete();
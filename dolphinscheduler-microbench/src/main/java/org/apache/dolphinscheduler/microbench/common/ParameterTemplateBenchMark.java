@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.common;
+
+import org.apache.dolphinscheduler.common.utils.placeholder.ParameterTemplate;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * parameter rendering JMH test, scanning path vs compiled template
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class ParameterTemplateBenchMark extends AbstractBaseBenchmark {
+
+    private static final String SHELL = "echo ${bizDate} && hadoop fs -ls /warehouse/${table}/dt=$[yyyyMMdd-1]";
+
+    private static final String SQL = "insert overwrite table ${table} partition (dt = '$[yyyy-MM-dd-1]')\n"
+            + "select id, name, ${column} from ${source} where dt between '$[add_months(yyyyMMdd,-1)]' and '$[yyyyMMdd]'\n"
+            + "and hour = '$[HH-1/24]' and ts < $[timestamp(yyyyMMddHHmmss)] and owner = '${owner}'";
+
+    @Param({"shell", "sql"})
+    private String template;
+
+    private String source;
+
+    private Map<String, String> paramsMap;
+
+    private Date date;
+
+    @Setup
+    public void setUp() {
+        source = "shell".equals(template) ? SHELL : SQL;
+        paramsMap = new HashMap<>();
+        paramsMap.put("bizDate", "20210101");
+        paramsMap.put("table", "dw.t_order");
+        paramsMap.put("column", "amount");
+        paramsMap.put("source", "ods.t_order");
+        paramsMap.put("owner", "dolphin");
+        date = new Date();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String interpretTest() {
+        return ParameterTemplate.interpret(source, paramsMap, date);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String parseAndRenderTest() {
+        return ParameterTemplate.parse(source).render(paramsMap, date);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String compiledRenderTest() {
+        return ParameterTemplate.compile(source).render(paramsMap, date);
+    }
+}
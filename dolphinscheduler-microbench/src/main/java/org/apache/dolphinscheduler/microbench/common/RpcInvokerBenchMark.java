@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.common;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.rpc.config.MethodId;
+import org.apache.dolphinscheduler.rpc.config.ServiceBean;
+import org.apache.dolphinscheduler.rpc.config.ServiceMethod;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * server side cost of one rpc call, without the network,
+ * the per request reflective lookup compared with the bound provider method
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RpcInvokerBenchMark extends AbstractBaseBenchmark {
+
+    private static final String SERVICE_NAME = "IUserService";
+
+    private static final String METHOD_NAME = "hi";
+
+    private static final Class<?>[] PARAMETER_TYPES = new Class<?>[] {int.class};
+
+    private final Object[] arguments = new Object[] {1};
+
+    private int methodId;
+
+    @Setup
+    public void before() {
+        methodId = MethodId.of(SERVICE_NAME, METHOD_NAME, PARAMETER_TYPES);
+        ServiceBean.getServiceMethod(methodId);
+    }
+
+    @Benchmark
+    public Object reflectInvoke() throws Exception {
+        Class serviceClass = ServiceBean.getServiceClass(SERVICE_NAME);
+        Object object = serviceClass.newInstance();
+        Method method = serviceClass.getMethod(METHOD_NAME, PARAMETER_TYPES);
+        return method.invoke(object, arguments);
+    }
+
+    @Benchmark
+    public Object methodHandleInvoke() throws Throwable {
+        ServiceMethod serviceMethod = ServiceBean.getServiceMethod(methodId);
+        return serviceMethod.invoke(arguments);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.dag;
+
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.model.TaskNode;
+import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.common.process.ProcessDag;
+import org.apache.dolphinscheduler.dao.utils.DagHelper;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * dag JMH test, layered process graphs where every node depends on two nodes of the previous layer
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class DagBenchMark extends AbstractBaseBenchmark {
+
+    private static final int LAYER_WIDTH = 100;
+
+    @Param({"1000", "10000"})
+    private int nodeCount;
+
+    private List<TaskNode> taskNodeList;
+
+    private DAG<String, TaskNode, TaskNodeRelation> dag;
+
+    @Setup
+    public void setUp() throws Exception {
+        taskNodeList = newTaskNodeList(nodeCount);
+        dag = DagHelper.buildDagGraph(generateFlowDag());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<String> topologicalSortTest() throws Exception {
+        return dag.topologicalSort();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ProcessDag generateFlowDagTest() throws Exception {
+        return generateFlowDag();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public DAG<String, TaskNode, TaskNodeRelation> buildDagGraphTest() throws Exception {
+        return DagHelper.buildDagGraph(generateFlowDag());
+    }
+
+    private ProcessDag generateFlowDag() throws Exception {
+        return DagHelper.generateFlowDag(taskNodeList, Collections.emptyList(), Collections.emptyList(), TaskDependType.TASK_POST);
+    }
+
+    private static List<TaskNode> newTaskNodeList(int nodeCount) {
+        List<TaskNode> taskNodeList = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            TaskNode taskNode = new TaskNode();
+            taskNode.setId("tasks-" + i);
+            taskNode.setName("task-" + i);
+            taskNode.setType("SHELL");
+            List<String> depList = new ArrayList<>(2);
+            if (i >= LAYER_WIDTH) {
+                int previous = i - LAYER_WIDTH;
+                depList.add("task-" + previous);
+                depList.add("task-" + (previous - previous % LAYER_WIDTH + (previous + 1) % LAYER_WIDTH));
+            }
+            taskNode.setDepList(depList);
+            taskNodeList.add(taskNode);
+        }
+        return taskNodeList;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.loadtest;
+
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.common.model.TaskNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * synthetic process shapes of the load test
+ */
+public enum DagShape {
+
+    /**
+     * one start task, fanning out to all the others, joined by one end task
+     */
+    WIDE {
+        @Override
+        List<String> preTasks(int index, int taskCount) {
+            if (index == 0) {
+                return Collections.emptyList();
+            }
+            if (index < taskCount - 1 || taskCount < 3) {
+                return Collections.singletonList(taskName(0));
+            }
+            List<String> preTasks = new ArrayList<>(taskCount - 2);
+            for (int i = 1; i < taskCount - 1; i++) {
+                preTasks.add(taskName(i));
+            }
+            return preTasks;
+        }
+    },
+
+    /**
+     * every task depends on the previous one
+     */
+    CHAIN {
+        @Override
+        List<String> preTasks(int index, int taskCount) {
+            return index == 0 ? Collections.emptyList() : Collections.singletonList(taskName(index - 1));
+        }
+    },
+
+    /**
+     * square layers, every task depends on several tasks of the previous layer
+     */
+    DEPENDENT {
+        @Override
+        List<String> preTasks(int index, int taskCount) {
+            int width = Math.max(2, (int) Math.sqrt(taskCount));
+            if (index < width) {
+                return Collections.emptyList();
+            }
+            int layerStart = (index / width - 1) * width;
+            int fanIn = Math.min(width, DEPENDENT_FAN_IN);
+            List<String> preTasks = new ArrayList<>(fanIn);
+            for (int i = 0; i < fanIn; i++) {
+                preTasks.add(taskName(layerStart + (index + i) % width));
+            }
+            return preTasks;
+        }
+    };
+
+    private static final int DEPENDENT_FAN_IN = 4;
+
+    private static final String SHELL_PARAMS = "{\"rawScript\":\"echo load test\",\"localParams\":[],\"resourceList\":[]}";
+
+    /**
+     * names of the tasks the task at index depends on
+     */
+    abstract List<String> preTasks(int index, int taskCount);
+
+    public static String taskName(int index) {
+        return "task-" + index;
+    }
+
+    /**
+     * @return task name -> names of the tasks it depends on
+     */
+    public Map<String, List<String>> dependencies(int taskCount) {
+        Map<String, List<String>> dependencies = new LinkedHashMap<>(taskCount * 2);
+        for (int i = 0; i < taskCount; i++) {
+            dependencies.put(taskName(i), preTasks(i, taskCount));
+        }
+        return dependencies;
+    }
+
+    public List<TaskNode> taskNodes(int taskCount, String workerGroup) {
+        List<TaskNode> taskNodes = new ArrayList<>(taskCount);
+        for (Map.Entry<String, List<String>> entry : dependencies(taskCount).entrySet()) {
+            TaskNode taskNode = new TaskNode();
+            taskNode.setName(entry.getKey());
+            taskNode.setType("SHELL");
+            taskNode.setRunFlag("NORMAL");
+            taskNode.setParams(SHELL_PARAMS);
+            taskNode.setTaskInstancePriority(Priority.MEDIUM);
+            taskNode.setWorkerGroup(workerGroup);
+            taskNode.setDepList(entry.getValue());
+            taskNodes.add(taskNode);
+        }
+        return taskNodes;
+    }
+}
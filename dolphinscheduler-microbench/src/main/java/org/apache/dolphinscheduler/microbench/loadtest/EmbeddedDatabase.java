@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * embedded h2 database in mysql mode, created from the mysql schema of the release
+ */
+public class EmbeddedDatabase {
+
+    public static final String DRIVER_CLASS_NAME = "org.h2.Driver";
+
+    public static final String URL = "jdbc:h2:mem:dolphinscheduler;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;DATABASE_TO_LOWER=TRUE";
+
+    private static final Pattern CREATE_TABLE_PATTERN = Pattern.compile("CREATE TABLE `(\\w+)`", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * index names are global in h2, so they are prefixed with the table name
+     */
+    private static final Pattern INDEX_NAME_PATTERN = Pattern.compile("KEY `(\\w+)`");
+
+    private static final Pattern ROW_FORMAT_PATTERN = Pattern.compile("ROW_FORMAT=\\w+", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern DOUBLE_QUOTED_PATTERN = Pattern.compile("\"([^\"]*)\"");
+
+    private EmbeddedDatabase() {
+        throw new UnsupportedOperationException("Construct EmbeddedDatabase");
+    }
+
+    /**
+     * create the tables and the initial data
+     *
+     * @param schemaFile dolphinscheduler_mysql.sql
+     */
+    public static void init(File schemaFile) throws IOException, SQLException {
+        String script = new String(Files.readAllBytes(schemaFile.toPath()), StandardCharsets.UTF_8);
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String sql : toH2(script)) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    /**
+     * convert the mysql script to statements h2 accepts.
+     * quartz tables are skipped, the load test runs the native schedule engine
+     */
+    static List<String> toH2(String script) {
+        StringBuilder withoutComments = new StringBuilder(script.length());
+        boolean inBlockComment = false;
+        for (String line : script.replace("\r\n", "\n").split("\n")) {
+            String trimmed = line.trim();
+            if (inBlockComment) {
+                inBlockComment = !trimmed.endsWith("*/");
+                continue;
+            }
+            if (trimmed.startsWith("/*")) {
+                inBlockComment = !trimmed.endsWith("*/");
+                continue;
+            }
+            if (!trimmed.startsWith("--")) {
+                withoutComments.append(line).append('\n');
+            }
+        }
+
+        List<String> statements = new ArrayList<>();
+        for (String sql : withoutComments.toString().split(";\n")) {
+            sql = sql.trim();
+            if (sql.endsWith(";")) {
+                sql = sql.substring(0, sql.length() - 1);
+            }
+            if (sql.isEmpty() || sql.toUpperCase().startsWith("SET ") || sql.contains("QRTZ_")) {
+                continue;
+            }
+            sql = sql.replace("USING BTREE", "");
+            sql = ROW_FORMAT_PATTERN.matcher(sql).replaceAll("");
+            sql = DOUBLE_QUOTED_PATTERN.matcher(sql).replaceAll("'$1'");
+            Matcher createTable = CREATE_TABLE_PATTERN.matcher(sql);
+            if (createTable.find()) {
+                sql = INDEX_NAME_PATTERN.matcher(sql).replaceAll("KEY `" + createTable.group(1) + "_$1`");
+            }
+            statements.add(sql);
+        }
+        return statements;
+    }
+
+    public static Connection getConnection() throws SQLException {
+        return DriverManager.getConnection(URL, "sa", "");
+    }
+}
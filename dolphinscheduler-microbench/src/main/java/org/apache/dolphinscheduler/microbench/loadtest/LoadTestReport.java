@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.loadtest;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * collects what the simulated workers see and reports it at the end of the load test.
+ * the dispatch latency of a task is measured from the moment it became ready,
+ * the last of its upstream tasks finished or the start commands were created, to the moment a worker receives it
+ */
+public class LoadTestReport {
+
+    private final Map<String, List<String>> dependencies;
+
+    /**
+     * k-process instance id and task name, v-nano time the result was sent
+     */
+    private final Map<String, Long> finishedTasks = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<Long> startLatencies = new ConcurrentLinkedQueue<>();
+
+    private final ConcurrentLinkedQueue<Long> dispatchLatencies = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger receivedTasks = new AtomicInteger();
+
+    private final AtomicInteger finishedTaskCount = new AtomicInteger();
+
+    private volatile long startNanos;
+
+    public LoadTestReport(Map<String, List<String>> dependencies) {
+        this.dependencies = dependencies;
+    }
+
+    public void start() {
+        this.startNanos = System.nanoTime();
+    }
+
+    public void taskReceived(int processInstanceId, String taskName) {
+        long now = System.nanoTime();
+        receivedTasks.incrementAndGet();
+        List<String> preTasks = dependencies.get(taskName);
+        if (null == preTasks || preTasks.isEmpty()) {
+            startLatencies.add(now - startNanos);
+            return;
+        }
+        long readyNanos = Long.MIN_VALUE;
+        for (String preTask : preTasks) {
+            Long finishNanos = finishedTasks.get(key(processInstanceId, preTask));
+            if (null == finishNanos) {
+                // the upstream task is not run by this load test, e.g. the process is recovered
+                return;
+            }
+            readyNanos = Math.max(readyNanos, finishNanos);
+        }
+        dispatchLatencies.add(now - readyNanos);
+    }
+
+    public void taskFinished(int processInstanceId, String taskName) {
+        finishedTasks.put(key(processInstanceId, taskName), System.nanoTime());
+        finishedTaskCount.incrementAndGet();
+    }
+
+    public int getReceivedTasks() {
+        return receivedTasks.get();
+    }
+
+    public int getFinishedTasks() {
+        return finishedTaskCount.get();
+    }
+
+    /**
+     * @return the report, printed and written as json
+     */
+    public Map<String, Object> build(Map<String, Object> options, int finishedProcesses, int failedProcesses,
+                                     long elapsedNanos, long statements) {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        int tasks = getFinishedTasks();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options);
+        report.put("elapsedSeconds", round(seconds));
+        report.put("finishedProcesses", finishedProcesses);
+        report.put("failedProcesses", failedProcesses);
+        report.put("finishedTasks", tasks);
+        report.put("commandsPerSecond", round(finishedProcesses / seconds));
+        report.put("tasksPerSecond", round(tasks / seconds));
+        report.put("startLatencyMillis", percentiles(startLatencies));
+        report.put("dispatchLatencyMillis", percentiles(dispatchLatencies));
+        report.put("statements", statements);
+        report.put("statementsPerTask", tasks == 0 ? 0 : round(statements / (double) tasks));
+        report.put("threads", threads());
+        return report;
+    }
+
+    public static String toJson(Map<String, Object> report) {
+        return JSONUtils.toJsonString(report);
+    }
+
+    private static Map<String, Object> percentiles(ConcurrentLinkedQueue<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("count", sorted.size());
+        if (sorted.isEmpty()) {
+            return percentiles;
+        }
+        percentiles.put("p50", toMillis(sorted, 0.50));
+        percentiles.put("p90", toMillis(sorted, 0.90));
+        percentiles.put("p99", toMillis(sorted, 0.99));
+        percentiles.put("max", toMillis(sorted, 1.0));
+        return percentiles;
+    }
+
+    private static double toMillis(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return round(sorted.get(Math.max(0, index)) / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * live and peak thread count, and the live threads grouped by their name without the sequence number
+     */
+    private static Map<String, Object> threads() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Map<String, Integer> groups = new TreeMap<>();
+        for (ThreadInfo threadInfo : threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds())) {
+            if (null != threadInfo) {
+                groups.merge(threadInfo.getThreadName().replaceAll("([-_ ]?\\d+)+$", ""), 1, Integer::sum);
+            }
+        }
+        Map<String, Object> threads = new LinkedHashMap<>();
+        threads.put("live", threadMXBean.getThreadCount());
+        threads.put("peak", threadMXBean.getPeakThreadCount());
+        threads.put("groups", groups);
+        return threads;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static String key(int processInstanceId, String taskName) {
+        return processInstanceId + "/" + taskName;
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.loadtest;
+
+import static org.apache.dolphinscheduler.common.Constants.DEFAULT_WORKER_GROUP;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.enums.FailureStrategy;
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.common.enums.WarningType;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+import org.apache.dolphinscheduler.common.utils.SnowFlakeUtils;
+import org.apache.dolphinscheduler.common.utils.StringUtils;
+import org.apache.dolphinscheduler.dao.datasource.SpringConnectionFactory;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.ProcessData;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.Project;
+import org.apache.dolphinscheduler.dao.entity.Tenant;
+import org.apache.dolphinscheduler.dao.entity.User;
+import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
+import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
+import org.apache.dolphinscheduler.dao.mapper.TenantMapper;
+import org.apache.dolphinscheduler.dao.mapper.UserMapper;
+import org.apache.dolphinscheduler.plugin.registry.memory.MemoryRegistryPlugin;
+import org.apache.dolphinscheduler.server.master.MasterServer;
+import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
+import org.apache.dolphinscheduler.server.master.dispatch.enums.ExecutorType;
+import org.apache.dolphinscheduler.server.master.dispatch.host.HostManager;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+import org.apache.dolphinscheduler.spi.register.RegistryPluginManager;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.alibaba.druid.pool.DruidDataSource;
+
+/**
+ * end to end load test of the master: boots the master server and simulated workers in one jvm,
+ * on an embedded database and the memory registry, starts many instances of a synthetic process
+ * and reports the throughput, the dispatch latency, the statements per task and the threads.
+ *
+ * <p>options are system properties, e.g.
+ * <pre>
+ * java -cp benchmarks.jar -Dloadtest.shape=chain -Dloadtest.tasks=20 \
+ *     org.apache.dolphinscheduler.microbench.loadtest.MasterLoadTest
+ * </pre>
+ * master properties, like master.exec.threads, and the datasource properties can be overridden the same way.
+ * the registry is configured by the registry.properties of this module.
+ */
+public class MasterLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MasterLoadTest.class);
+
+    private static final int ADMIN_USER_ID = 1;
+
+    private static final int DEFAULT_QUEUE_ID = 1;
+
+    private static final long POLL_INTERVAL_MILLIS = 500;
+
+    private static final String MEMORY_REGISTRY = "memory";
+
+    private final DagShape shape = DagShape.valueOf(System.getProperty("loadtest.shape", "wide").toUpperCase());
+
+    private final int taskCount = Integer.getInteger("loadtest.tasks", 50);
+
+    private final int processCount = Integer.getInteger("loadtest.processes", 20);
+
+    private final int workerCount = Integer.getInteger("loadtest.workers", 4);
+
+    private final int workerPort = Integer.getInteger("loadtest.worker.port", 21234);
+
+    private final long taskDurationMillis = Long.getLong("loadtest.task.duration", 100L);
+
+    private final long timeoutSeconds = Long.getLong("loadtest.timeout", 600L);
+
+    private final File schemaFile = new File(System.getProperty("loadtest.schema", "sql/dolphinscheduler_mysql.sql"));
+
+    private ConfigurableApplicationContext context;
+
+    private final List<SimulatedWorker> workers = new ArrayList<>();
+
+    private final ScheduledExecutorService workerScheduler = Executors.newScheduledThreadPool(4, r -> {
+        Thread thread = new Thread(r, "SimulatedWorker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public static void main(String[] args) throws Exception {
+        MasterLoadTest loadTest = new MasterLoadTest();
+        int exitCode = 0;
+        try {
+            loadTest.run();
+        } catch (Exception e) {
+            logger.error("load test failed", e);
+            exitCode = 1;
+        } finally {
+            loadTest.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private void run() throws Exception {
+        configure();
+        EmbeddedDatabase.init(schemaFile);
+        context = new SpringApplicationBuilder(MasterServer.class).web(WebApplicationType.NONE).run();
+
+        LoadTestReport report = new LoadTestReport(shape.dependencies(taskCount));
+        for (int i = 0; i < workerCount; i++) {
+            SimulatedWorker worker = new SimulatedWorker(workerPort + i, taskDurationMillis, workerScheduler, report);
+            worker.start();
+            workers.add(worker);
+        }
+        awaitWorkers();
+
+        int processDefinitionId = createProcessDefinition();
+        DruidDataSource dataSource = context.getBean(DruidDataSource.class);
+        long statementsBefore = statements(dataSource);
+
+        List<Command> commands = new ArrayList<>(processCount);
+        for (int i = 0; i < processCount; i++) {
+            commands.add(new Command(CommandType.START_PROCESS, TaskDependType.TASK_POST, FailureStrategy.CONTINUE,
+                    ADMIN_USER_ID, processDefinitionId, null, WarningType.NONE, 0, null,
+                    DEFAULT_WORKER_GROUP, Priority.MEDIUM));
+        }
+        report.start();
+        long startNanos = System.nanoTime();
+        context.getBean(ProcessService.class).batchCreateCommand(commands);
+
+        Map<ExecutionStatus, Integer> states = awaitProcesses();
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long statements = statements(dataSource) - statementsBefore;
+
+        Map<String, Object> options = new LinkedHashMap<>();
+        options.put("shape", shape);
+        options.put("tasks", taskCount);
+        options.put("processes", processCount);
+        options.put("workers", workerCount);
+        options.put("taskDurationMillis", taskDurationMillis);
+        int finished = states.entrySet().stream().filter(e -> e.getKey().typeIsFinished()).mapToInt(Map.Entry::getValue).sum();
+        int failed = finished - states.getOrDefault(ExecutionStatus.SUCCESS, 0);
+        String json = LoadTestReport.toJson(report.build(options, finished, failed, elapsedNanos, statements));
+        logger.info("load test report : {}", json);
+        System.out.println(json);
+
+        String reportDir = System.getProperty("perfReportDir");
+        if (reportDir != null) {
+            File reportFile = new File(reportDir, "MasterLoadTest-" + shape.name().toLowerCase() + ".json");
+            Files.write(reportFile.toPath(), json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * point the master at the embedded database and the memory registry, unless told otherwise
+     */
+    private static void configure() throws ClassNotFoundException {
+        // the connection factory loads datasource.properties when initialized, load it before overriding its values
+        Class.forName(SpringConnectionFactory.class.getName());
+        setProperty("spring.datasource.driver-class-name", EmbeddedDatabase.DRIVER_CLASS_NAME);
+        setProperty("spring.datasource.url", EmbeddedDatabase.URL);
+        setProperty("spring.datasource.username", "sa");
+        setProperty("spring.datasource.password", "");
+        setProperty(Constants.SCHEDULE_ENGINE, Constants.SCHEDULE_ENGINE_NATIVE);
+        // the simulated workers share the host, its load must not throttle the master
+        setDefault("master.max.cpuload.avg", String.valueOf(Integer.MAX_VALUE));
+        setDefault("master.reserved.memory", "0");
+
+        // the registry center only loads the plugins of the plugin dir, the memory registry is installed here;
+        // the loaded registry is shared by the registry plugin managers, so the registry center picks it up
+        new RegistryPluginManager(MEMORY_REGISTRY).installPlugin(new MemoryRegistryPlugin());
+    }
+
+    /**
+     * set a property read by {@link PropertyUtils}, a system property of the same key takes precedence
+     */
+    private static void setProperty(String key, String value) {
+        PropertyUtils.setValue(key, System.getProperty(key, value));
+    }
+
+    /**
+     * set a spring property, unless given as a system property
+     */
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    /**
+     * wait until the workers are registered and the host manager has their heartbeat, so it can dispatch
+     */
+    private void awaitWorkers() throws InterruptedException {
+        ServerNodeManager serverNodeManager = context.getBean(ServerNodeManager.class);
+        HostManager hostManager = context.getBean(HostManager.class);
+        ExecutionContext executionContext = new ExecutionContext(null, ExecutorType.WORKER, DEFAULT_WORKER_GROUP);
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        while (true) {
+            Set<String> workerNodes = serverNodeManager.getWorkerGroupNodes(DEFAULT_WORKER_GROUP);
+            if (workerNodes != null && workerNodes.size() >= workerCount
+                    && StringUtils.isNotEmpty(hostManager.select(executionContext).getAddress())) {
+                return;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("simulated workers are not discovered by the master");
+            }
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+    }
+
+    private int createProcessDefinition() throws Exception {
+        Date now = new Date();
+        Tenant tenant = new Tenant();
+        tenant.setTenantCode("loadtest");
+        tenant.setQueueId(DEFAULT_QUEUE_ID);
+        tenant.setCreateTime(now);
+        tenant.setUpdateTime(now);
+        context.getBean(TenantMapper.class).insert(tenant);
+
+        Project project = Project.newBuilder()
+                .code(SnowFlakeUtils.getInstance().nextId())
+                .name("load_test")
+                .userId(ADMIN_USER_ID)
+                .createTime(now)
+                .updateTime(now)
+                .build();
+        context.getBean(ProjectMapper.class).insert(project);
+
+        ProcessData processData = new ProcessData(shape.taskNodes(taskCount, DEFAULT_WORKER_GROUP), new ArrayList<>());
+        processData.setTenantId(tenant.getId());
+        ProcessDefinition processDefinition = new ProcessDefinition();
+        processDefinition.setCode(SnowFlakeUtils.getInstance().nextId());
+        User admin = context.getBean(UserMapper.class).selectById(ADMIN_USER_ID);
+        context.getBean(ProcessService.class).saveProcessDefinition(admin, project, "load_test_" + shape.name().toLowerCase(),
+                "", "", "", processData, processDefinition, false);
+        return context.getBean(ProcessDefinitionMapper.class).queryByCode(processDefinition.getCode()).getId();
+    }
+
+    /**
+     * poll the process instance states on a connection of its own, not counted in the statements of the master
+     */
+    private Map<ExecutionStatus, Integer> awaitProcesses() throws Exception {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        try (Connection connection = EmbeddedDatabase.getConnection();
+             Statement statement = connection.createStatement()) {
+            while (true) {
+                Map<ExecutionStatus, Integer> states = new LinkedHashMap<>();
+                int done = 0;
+                try (ResultSet resultSet = statement.executeQuery("select state, count(*) from t_ds_process_instance group by state")) {
+                    while (resultSet.next()) {
+                        ExecutionStatus state = ExecutionStatus.of(resultSet.getInt(1));
+                        states.put(state, resultSet.getInt(2));
+                        if (state.typeIsFinished()) {
+                            done += resultSet.getInt(2);
+                        }
+                    }
+                }
+                if (done >= processCount) {
+                    return states;
+                }
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IllegalStateException("processes are not finished in time, states : " + states);
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * statements executed through the pool of the master
+     */
+    private static long statements(DruidDataSource dataSource) {
+        return dataSource.getExecuteCount() + dataSource.getExecuteQueryCount()
+                + dataSource.getExecuteUpdateCount() + dataSource.getExecuteBatchCount();
+    }
+
+    private void close() {
+        workers.forEach(SimulatedWorker::close);
+        workerScheduler.shutdownNow();
+        if (context != null) {
+            context.getBean(MasterServer.class).close("load test finished");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.loadtest;
+
+import static org.apache.dolphinscheduler.common.Constants.DEFAULT_WORKER_GROUP;
+import static org.apache.dolphinscheduler.common.Constants.REGISTRY_DOLPHINSCHEDULER_WORKERS;
+import static org.apache.dolphinscheduler.common.Constants.SLASH;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.common.utils.NetUtils;
+import org.apache.dolphinscheduler.remote.NettyRemotingServer;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteAckCommand;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteRequestCommand;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteResponseCommand;
+import org.apache.dolphinscheduler.remote.config.NettyServerConfig;
+import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.registry.HeartBeatTask;
+import org.apache.dolphinscheduler.service.registry.RegistryClient;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.channel.Channel;
+
+/**
+ * worker that speaks the worker protocol to the master but does not run anything:
+ * it acks every task as soon as it is received and reports it successful after a fixed duration
+ */
+public class SimulatedWorker implements NettyRequestProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulatedWorker.class);
+
+    private static final int HEARTBEAT_INTERVAL_SECONDS = 10;
+
+    private final int port;
+
+    private final long taskDurationMillis;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final LoadTestReport report;
+
+    private NettyRemotingServer nettyRemotingServer;
+
+    private String registryPath;
+
+    public SimulatedWorker(int port, long taskDurationMillis, ScheduledExecutorService scheduler, LoadTestReport report) {
+        this.port = port;
+        this.taskDurationMillis = taskDurationMillis;
+        this.scheduler = scheduler;
+        this.report = report;
+    }
+
+    public void start() {
+        NettyServerConfig serverConfig = new NettyServerConfig();
+        serverConfig.setListenPort(port);
+        this.nettyRemotingServer = new NettyRemotingServer(serverConfig);
+        this.nettyRemotingServer.registerProcessor(CommandType.TASK_EXECUTE_REQUEST, this);
+        this.nettyRemotingServer.registerProcessor(CommandType.TASK_KILL_REQUEST, this);
+        this.nettyRemotingServer.registerProcessor(CommandType.DB_TASK_ACK, this);
+        this.nettyRemotingServer.registerProcessor(CommandType.DB_TASK_RESPONSE, this);
+        this.nettyRemotingServer.start();
+
+        String address = NetUtils.getAddr(port);
+        this.registryPath = REGISTRY_DOLPHINSCHEDULER_WORKERS + SLASH + DEFAULT_WORKER_GROUP + SLASH + address;
+        RegistryClient registryClient = RegistryClient.getInstance();
+        registryClient.persistEphemeral(registryPath, "");
+        // the load of the shared host must not mark the simulated workers busy
+        HeartBeatTask heartBeatTask = new HeartBeatTask(DateUtils.dateToString(new Date()),
+                Double.MAX_VALUE,
+                0,
+                Constants.DEFAULT_WORKER_HOST_WEIGHT,
+                Collections.singleton(registryPath),
+                Constants.WORKER_TYPE,
+                registryClient);
+        heartBeatTask.run();
+        scheduler.scheduleAtFixedRate(heartBeatTask, HEARTBEAT_INTERVAL_SECONDS, HEARTBEAT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        logger.info("simulated worker {} started", address);
+    }
+
+    public void close() {
+        if (nettyRemotingServer != null) {
+            nettyRemotingServer.close();
+        }
+    }
+
+    @Override
+    public void process(Channel channel, Command command) {
+        // kill requests and the acks of the master to our ack and result need no answer
+        if (command.getType() != CommandType.TASK_EXECUTE_REQUEST) {
+            return;
+        }
+        TaskExecuteRequestCommand request = JSONUtils.parseObject(command.getBody(), TaskExecuteRequestCommand.class);
+        TaskExecutionContext context = JSONUtils.parseObject(request.getTaskExecutionContext(), TaskExecutionContext.class);
+        if (context == null) {
+            logger.error("task execution context is null, command : {}", command);
+            return;
+        }
+        report.taskReceived(context.getProcessInstanceId(), context.getTaskName());
+
+        TaskExecuteAckCommand ackCommand = new TaskExecuteAckCommand();
+        ackCommand.setTaskInstanceId(context.getTaskInstanceId());
+        ackCommand.setStatus(ExecutionStatus.RUNNING_EXECUTION.getCode());
+        ackCommand.setStartTime(new Date());
+        ackCommand.setHost(context.getHost());
+        ackCommand.setLogPath(context.getLogPath());
+        ackCommand.setExecutePath(context.getExecutePath());
+        channel.writeAndFlush(ackCommand.convert2Command());
+
+        scheduler.schedule(() -> {
+            TaskExecuteResponseCommand responseCommand = new TaskExecuteResponseCommand(context.getTaskInstanceId());
+            responseCommand.setStatus(ExecutionStatus.SUCCESS.getCode());
+            responseCommand.setEndTime(new Date());
+            responseCommand.setVarPool(context.getVarPool());
+            report.taskFinished(context.getProcessInstanceId(), context.getTaskName());
+            channel.writeAndFlush(responseCommand.convert2Command());
+        }, taskDurationMillis, TimeUnit.MILLISECONDS);
+    }
+}
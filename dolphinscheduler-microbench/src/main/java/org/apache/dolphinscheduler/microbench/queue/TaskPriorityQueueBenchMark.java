@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.queue;
+
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.service.queue.PeerTaskInstancePriorityQueue;
+import org.apache.dolphinscheduler.service.queue.TaskPriority;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityQueueImpl;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * task priority queue JMH test, every operation puts a task and takes the head of the queue.
+ * PeerTaskInstancePriorityQueue is owned by a single MasterExecThread and is not thread safe,
+ * so it is measured from one thread, TaskPriorityQueueImpl is shared by all master threads.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+public class TaskPriorityQueueBenchMark extends AbstractBaseBenchmark {
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    @State(Scope.Thread)
+    public static class PeerQueueState {
+
+        @Param({"100", "3000"})
+        private int queueSize;
+
+        private PeerTaskInstancePriorityQueue queue;
+
+        private int taskId;
+
+        @Setup
+        public void setUp() throws Exception {
+            queue = new PeerTaskInstancePriorityQueue();
+            for (int i = 0; i < queueSize; i++) {
+                queue.put(newTaskInstance(taskId++));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedQueueState {
+
+        @Param({"100", "3000"})
+        private int queueSize;
+
+        private TaskPriorityQueueImpl queue;
+
+        @Setup
+        public void setUp() throws Exception {
+            queue = new TaskPriorityQueueImpl();
+            for (int i = 0; i < queueSize; i++) {
+                queue.put(newTaskPriority(i));
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public TaskInstance peerQueueTest(PeerQueueState state) throws Exception {
+        state.queue.put(newTaskInstance(state.taskId++));
+        return state.queue.take();
+    }
+
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public TaskPriority sharedQueueTest(SharedQueueState state) throws Exception {
+        state.queue.put(newTaskPriority(ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE)));
+        return state.queue.take();
+    }
+
+    private static TaskInstance newTaskInstance(int taskId) {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(taskId);
+        taskInstance.setTaskInstancePriority(PRIORITIES[taskId % PRIORITIES.length]);
+        return taskInstance;
+    }
+
+    private static TaskPriority newTaskPriority(int taskId) {
+        return new TaskPriority(taskId % PRIORITIES.length, taskId % 100, taskId % PRIORITIES.length, taskId, "default");
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.microbench.remote;
+
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.remote.codec.NettyDecoder;
+import org.apache.dolphinscheduler.remote.codec.NettyEncoder;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteRequestCommand;
+import org.apache.dolphinscheduler.remote.utils.JsonSerializer;
+import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * task execute request JMH test, netty codec round trip and json body serialization
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Thread)
+public class TaskExecuteRequestBenchMark extends AbstractBaseBenchmark {
+
+    /**
+     * size of the task params in chars, small shell script or large sql
+     */
+    @Param({"256", "16384"})
+    private int taskParamsSize;
+
+    private TaskExecuteRequestCommand requestCommand;
+
+    private byte[] requestBody;
+
+    private Command command;
+
+    private EmbeddedChannel encoderChannel;
+
+    private EmbeddedChannel decoderChannel;
+
+    @Setup
+    public void setUp() {
+        requestCommand = new TaskExecuteRequestCommand(JSONUtils.toJsonString(newTaskExecutionContext(taskParamsSize)));
+        requestBody = JsonSerializer.serialize(requestCommand);
+        command = requestCommand.convert2Command();
+        encoderChannel = new EmbeddedChannel(new NettyEncoder());
+        decoderChannel = new EmbeddedChannel(new NettyDecoder());
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoderChannel.finishAndReleaseAll();
+        decoderChannel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Command codecRoundTripTest() {
+        encoderChannel.writeOutbound(command);
+        ByteBuf buf = encoderChannel.readOutbound();
+        decoderChannel.writeInbound(buf);
+        return decoderChannel.readInbound();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] serializeTest() {
+        return JsonSerializer.serialize(requestCommand);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public TaskExecuteRequestCommand deserializeTest() {
+        return JsonSerializer.deserialize(requestBody, TaskExecuteRequestCommand.class);
+    }
+
+    private static TaskExecutionContext newTaskExecutionContext(int taskParamsSize) {
+        StringBuilder rawScript = new StringBuilder(taskParamsSize);
+        while (rawScript.length() < taskParamsSize) {
+            rawScript.append("echo ${bizDate} $[yyyyMMdd-1];");
+        }
+        Map<String, String> definedParams = new HashMap<>();
+        definedParams.put("bizDate", "20210101");
+        definedParams.put("table", "dw.t_order");
+
+        TaskExecutionContext context = new TaskExecutionContext();
+        context.setTaskInstanceId(1000001);
+        context.setTaskName("shell-task");
+        context.setFirstSubmitTime(new Date());
+        context.setStartTime(new Date());
+        context.setTaskType("SHELL");
+        context.setHost("192.168.1.1:1234");
+        context.setExecutePath("/tmp/dolphinscheduler/exec/process/1/2/3/1000001");
+        context.setLogPath("/opt/dolphinscheduler/logs/1/2/1000001.log");
+        context.setTaskJson("{\"type\":\"SHELL\",\"name\":\"shell-task\",\"params\":{\"rawScript\":\"" + rawScript + "\"}}");
+        context.setProcessId(1);
+        context.setProcessDefineCode(100L);
+        context.setProcessDefineVersion(1);
+        context.setProcessInstanceId(2);
+        context.setScheduleTime(new Date());
+        context.setGlobalParams("[{\"prop\":\"bizDate\",\"direct\":\"IN\",\"type\":\"VARCHAR\",\"value\":\"20210101\"}]");
+        context.setExecutorId(1);
+        context.setTenantCode("dolphin");
+        context.setQueue("default");
+        context.setProjectCode(10L);
+        context.setTaskParams("{\"rawScript\":\"" + rawScript + "\",\"localParams\":[],\"resourceList\":[]}");
+        context.setDefinedParams(definedParams);
+        context.setTaskAppId("1_2_1000001");
+        context.setTaskTimeout(3600);
+        context.setWorkerGroup("default");
+        context.setCurrentExecutionStatus(ExecutionStatus.SUBMITTED_SUCCESS);
+        return context;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc;
+
+import java.util.function.Function;
+
+public enum JdbcConfiguration {
+
+    URL("url", null, value -> value),
+    USERNAME("username", null, value -> value),
+    PASSWORD("password", null, value -> value),
+    DRIVER_CLASS_NAME("driver.class.name", null, value -> value),
+    MAX_ACTIVE("max.active", 8, Integer::valueOf),
+
+    /**
+     * ephemeral nodes and locks of a registry are removed when it has not renewed them for this time
+     */
+    LEASE_TTL_MS("lease.ttl.ms", 30000L, Long::valueOf),
+    /**
+     * all the leases of a registry are renewed by one update per interval, the expired leases are cleaned up as well
+     */
+    LEASE_RENEW_INTERVAL_MS("lease.renew.interval.ms", 10000L, Long::valueOf),
+
+    /**
+     * max time between two polls of the change events, local writes poll at once
+     */
+    POLL_INTERVAL_MS("poll.interval.ms", 1000L, Long::valueOf),
+    EVENT_RETENTION_MS("event.retention.ms", 600000L, Long::valueOf),
+
+    LOCK_RETRY_INTERVAL_MS("lock.retry.interval.ms", 100L, Long::valueOf),
+    ;
+    private final String name;
+
+    public String getName() {
+        return name;
+    }
+
+    private final Object defaultValue;
+
+    private final Function<String, Object> converter;
+
+    <T> JdbcConfiguration(String name, T defaultValue, Function<String, T> converter) {
+        this.name = name;
+        this.defaultValue = defaultValue;
+        this.converter = (Function<String, Object>) converter;
+    }
+
+    public <T> T getParameterValue(String param) {
+        Object value = param != null ? converter.apply(param) : defaultValue;
+        return (T) value;
+    }
+
+}
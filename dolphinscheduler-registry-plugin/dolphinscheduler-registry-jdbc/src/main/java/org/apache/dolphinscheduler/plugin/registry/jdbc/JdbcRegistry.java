@@ -0,0 +1,743 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc;
+
+import static org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcConfiguration.DRIVER_CLASS_NAME;
+import static org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcConfiguration.EVENT_RETENTION_MS;
+import static org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcConfiguration.LEASE_RENEW_INTERVAL_MS;
+import static org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcConfiguration.LEASE_TTL_MS;
+import static org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcConfiguration.LOCK_RETRY_INTERVAL_MS;
+import static org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcConfiguration.MAX_ACTIVE;
+import static org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcConfiguration.PASSWORD;
+import static org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcConfiguration.POLL_INTERVAL_MS;
+import static org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcConfiguration.URL;
+import static org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcConfiguration.USERNAME;
+
+import org.apache.dolphinscheduler.spi.register.DataChangeEvent;
+import org.apache.dolphinscheduler.spi.register.ListenerManager;
+import org.apache.dolphinscheduler.spi.register.Registry;
+import org.apache.dolphinscheduler.spi.register.RegistryConnectListener;
+import org.apache.dolphinscheduler.spi.register.RegistryConnectState;
+import org.apache.dolphinscheduler.spi.register.RegistryException;
+import org.apache.dolphinscheduler.spi.register.SubscribeListener;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.alibaba.druid.pool.DruidDataSource;
+
+/**
+ * registry kept in the tables of a relational database, e.g. the dolphinscheduler database itself,
+ * for deployments without a zookeeper. the tables are created on init when they do not exist.
+ * <p>
+ * ephemeral nodes and locks are leases owned by the session of one registry, the session renews all of them
+ * with one update per {@link JdbcConfiguration#LEASE_RENEW_INTERVAL_MS}, so the heartbeat writes do not grow
+ * with the number of nodes; the leases not renewed within {@link JdbcConfiguration#LEASE_TTL_MS} are removed
+ * by any of the registries. the expiry is computed and compared with the clock of the database, so the clocks of
+ * the hosts do not need to agree.
+ * <p>
+ * every write appends its change events under a version taken from a counter row, whose row lock orders
+ * the writers, so the events become visible in version order. one poller per registry reads the new events
+ * for all the subscribed paths with one query, at most every {@link JdbcConfiguration#POLL_INTERVAL_MS}
+ * and at once after a local write.
+ */
+public class JdbcRegistry implements Registry {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcRegistry.class);
+
+    private static final String SEPARATOR = "/";
+
+    private static final int PERSISTENT = 0;
+
+    private static final int EPHEMERAL = 1;
+
+    private static final int LOCK = 2;
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS t_ds_registry_data ("
+            + "data_key varchar(255) NOT NULL, data_value text, data_type int NOT NULL, "
+            + "owner_id varchar(64), expire_time bigint, PRIMARY KEY (data_key))",
+        "CREATE TABLE IF NOT EXISTS t_ds_registry_event ("
+            + "version bigint NOT NULL, data_key varchar(255) NOT NULL, event_type varchar(16) NOT NULL, "
+            + "create_time bigint NOT NULL, PRIMARY KEY (version))",
+        "CREATE TABLE IF NOT EXISTS t_ds_registry_version ("
+            + "id int NOT NULL, version bigint NOT NULL, PRIMARY KEY (id))"
+    };
+
+    /**
+     * the session of this registry, owns its ephemeral nodes and locks
+     */
+    private final String owner = UUID.randomUUID().toString();
+
+    /**
+     * k-subscribed path, v-the version when subscribed, the earlier events are not notified
+     */
+    private final Map<String, Long> subscribedPaths = new ConcurrentHashMap<>();
+
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    private final Object pollMonitor = new Object();
+
+    private DruidDataSource dataSource;
+
+    private ScheduledExecutorService leaseExecutor;
+
+    private Thread poller;
+
+    private volatile boolean running;
+
+    private volatile boolean pollRequested;
+
+    private volatile RegistryConnectListener connectListener;
+
+    private RegistryConnectState connectState = RegistryConnectState.CONNECTED;
+
+    private long leaseTtl;
+
+    private long pollInterval;
+
+    private long eventRetention;
+
+    private long lockRetryInterval;
+
+    private long lastRenewTime;
+
+    /**
+     * the current time of the database in epoch milliseconds, in the sql of its dialect
+     */
+    private String databaseTime;
+
+    private long lastVersion;
+
+    @Override
+    public void init(Map<String, String> registerData) {
+        leaseTtl = LEASE_TTL_MS.getParameterValue(registerData.get(LEASE_TTL_MS.getName()));
+        long renewInterval = LEASE_RENEW_INTERVAL_MS.getParameterValue(registerData.get(LEASE_RENEW_INTERVAL_MS.getName()));
+        pollInterval = POLL_INTERVAL_MS.getParameterValue(registerData.get(POLL_INTERVAL_MS.getName()));
+        eventRetention = EVENT_RETENTION_MS.getParameterValue(registerData.get(EVENT_RETENTION_MS.getName()));
+        lockRetryInterval = LOCK_RETRY_INTERVAL_MS.getParameterValue(registerData.get(LOCK_RETRY_INTERVAL_MS.getName()));
+
+        dataSource = new DruidDataSource();
+        dataSource.setUrl(URL.getParameterValue(registerData.get(URL.getName())));
+        dataSource.setUsername(USERNAME.getParameterValue(registerData.get(USERNAME.getName())));
+        dataSource.setPassword(PASSWORD.getParameterValue(registerData.get(PASSWORD.getName())));
+        String driverClassName = DRIVER_CLASS_NAME.getParameterValue(registerData.get(DRIVER_CLASS_NAME.getName()));
+        if (null != driverClassName) {
+            dataSource.setDriverClassName(driverClassName);
+        }
+        // the driver is packaged with the plugin, not visible from the context class loader
+        dataSource.setDriverClassLoader(JdbcRegistry.class.getClassLoader());
+        dataSource.setMaxActive(MAX_ACTIVE.getParameterValue(registerData.get(MAX_ACTIVE.getName())));
+        try {
+            dataSource.init();
+            databaseTime = execute(connection -> databaseTimeSql(connection.getMetaData().getDatabaseProductName()));
+            createTables();
+            lastVersion = execute(this::currentVersion);
+        } catch (SQLException e) {
+            dataSource.close();
+            throw new RegistryException("jdbc registry init error", e);
+        }
+        lastRenewTime = System.currentTimeMillis();
+        running = true;
+
+        leaseExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "JdbcRegistryLease");
+            thread.setDaemon(true);
+            return thread;
+        });
+        leaseExecutor.scheduleWithFixedDelay(this::maintainLeases, renewInterval, renewInterval, TimeUnit.MILLISECONDS);
+        long purgeInterval = Math.max(eventRetention / 10, renewInterval);
+        leaseExecutor.scheduleWithFixedDelay(this::purgeEvents, purgeInterval, purgeInterval, TimeUnit.MILLISECONDS);
+
+        poller = new Thread(this::pollEvents, "JdbcRegistryEvent");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        leaseExecutor.shutdownNow();
+        synchronized (pollMonitor) {
+            pollMonitor.notifyAll();
+        }
+        try {
+            poller.join(pollInterval);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            // release the leases at once instead of letting the others wait for the expiry
+            transaction(connection -> {
+                List<String> ephemeralNodes = selectKeys(connection,
+                    "SELECT data_key FROM t_ds_registry_data WHERE owner_id = ? AND data_type = " + EPHEMERAL, owner);
+                update(connection, "DELETE FROM t_ds_registry_data WHERE owner_id = ?", owner);
+                appendEvents(connection, ephemeralNodes, DataChangeEvent.REMOVE);
+                return null;
+            });
+        } catch (RegistryException e) {
+            logger.warn("jdbc registry release the leases error, they will expire", e);
+        }
+        dataSource.close();
+    }
+
+    @Override
+    public boolean subscribe(String path, SubscribeListener subscribeListener) {
+        if (null != subscribedPaths.putIfAbsent(path, execute(this::currentVersion))) {
+            return false;
+        }
+        ListenerManager.addListener(path, subscribeListener);
+        return true;
+    }
+
+    @Override
+    public void unsubscribe(String path) {
+        subscribedPaths.remove(path);
+        ListenerManager.removeListener(path);
+    }
+
+    @Override
+    public void addConnectionStateListener(RegistryConnectListener registryConnectListener) {
+        this.connectListener = registryConnectListener;
+    }
+
+    @Override
+    public String get(String key) {
+        String value = execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT data_value FROM t_ds_registry_data WHERE data_key = ? AND data_type <> " + LOCK)) {
+                statement.setString(1, key);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        return null;
+                    }
+                    String data = resultSet.getString(1);
+                    return null == data ? "" : data;
+                }
+            }
+        });
+        if (null == value) {
+            throw new RegistryException(String.format("jdbc registry get data error, node %s not exists", key));
+        }
+        return value;
+    }
+
+    @Override
+    public void remove(String key) {
+        delete(key);
+    }
+
+    @Override
+    public void persist(String key, String value) {
+        create(key, value, PERSISTENT);
+    }
+
+    @Override
+    public void persistEphemeral(String key, String value) {
+        create(key, value, EPHEMERAL);
+    }
+
+    @Override
+    public void update(String key, String value) {
+        boolean updated = transaction(connection -> {
+            if (0 == update(connection, "UPDATE t_ds_registry_data SET data_value = ? WHERE data_key = ? AND data_type <> " + LOCK, value, key)) {
+                return false;
+            }
+            appendEvent(connection, key, DataChangeEvent.UPDATE);
+            return true;
+        });
+        if (updated) {
+            requestPoll();
+        }
+    }
+
+    @Override
+    public List<String> getChildren(String key) {
+        List<String> result = execute(connection -> {
+            if (!exists(connection, key)) {
+                return null;
+            }
+            String prefix = key.endsWith(SEPARATOR) ? key : key + SEPARATOR;
+            List<String> children = new ArrayList<>();
+            for (String descendant : selectDescendants(connection, key, "")) {
+                String name = descendant.substring(prefix.length());
+                if (!name.contains(SEPARATOR)) {
+                    children.add(name);
+                }
+            }
+            return children;
+        });
+        if (null == result) {
+            throw new RegistryException(String.format("jdbc registry get children error, node %s not exists", key));
+        }
+        result.sort(Comparator.reverseOrder());
+        return result;
+    }
+
+    @Override
+    public boolean isExisted(String key) {
+        return execute(connection -> exists(connection, key));
+    }
+
+    @Override
+    public boolean delete(String key) {
+        boolean deleted = transaction(connection -> {
+            List<String> removed = selectDescendants(connection, key, " FOR UPDATE");
+            if (!exists(connection, key)) {
+                return false;
+            }
+            // children first, like the zookeeper deletingChildrenIfNeeded
+            removed.sort(Comparator.reverseOrder());
+            removed.add(key);
+            update(connection, "DELETE FROM t_ds_registry_data WHERE (data_key = ? OR data_key LIKE ? ESCAPE '!') AND data_type <> " + LOCK,
+                key, likePrefix(key));
+            appendEvents(connection, removed, DataChangeEvent.REMOVE);
+            return true;
+        });
+        if (!deleted) {
+            throw new RegistryException(String.format("jdbc registry delete key error, node %s not exists", key));
+        }
+        requestPoll();
+        return true;
+    }
+
+    /**
+     * the lock of the threads in this jvm is a fair local lock, the lock between the registries is a lock row
+     * leased to this session, taken over when its owner did not renew it in time
+     */
+    @Override
+    public boolean acquireLock(String key) {
+        ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock(true));
+        lock.lock();
+        if (lock.getHoldCount() > 1) {
+            return true;
+        }
+        try {
+            while (!tryInsertLock(key)) {
+                Thread.sleep(lockRetryInterval);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            lock.unlock();
+            Thread.currentThread().interrupt();
+            throw new RegistryException(String.format("jdbc registry acquire lock %s interrupted", key), e);
+        } catch (RuntimeException e) {
+            lock.unlock();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean releaseLock(String key) {
+        ReentrantLock lock = locks.get(key);
+        if (null == lock || !lock.isHeldByCurrentThread()) {
+            return false;
+        }
+        try {
+            if (lock.getHoldCount() == 1) {
+                execute(connection -> update(connection,
+                    "DELETE FROM t_ds_registry_data WHERE data_key = ? AND owner_id = ? AND data_type = " + LOCK, key, owner));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * renew all the leases of this session with one statement
+     *
+     * @return the number of the renewed nodes and locks
+     */
+    int renewLeases() {
+        long now = System.currentTimeMillis();
+        int renewed = execute(connection -> update(connection,
+            "UPDATE t_ds_registry_data SET expire_time = " + databaseTime + " + ? WHERE owner_id = ?", leaseTtl, owner));
+        // only measures how long this session has not renewed, never compared with the expire time
+        lastRenewTime = now;
+        return renewed;
+    }
+
+    /**
+     * remove the leases of all the sessions which are not renewed in time
+     *
+     * @return the number of the removed nodes and locks
+     */
+    int removeExpiredLeases() {
+        List<String> expiredKeys = execute(connection -> selectKeys(connection,
+            "SELECT data_key FROM t_ds_registry_data WHERE expire_time < " + databaseTime));
+        int removed = 0;
+        for (String expiredKey : expiredKeys) {
+            // the owner may renew in the meantime, check the expiry again and delete in one statement
+            boolean expired = transaction(connection -> {
+                List<String> ephemeralNodes = selectKeys(connection,
+                    "SELECT data_key FROM t_ds_registry_data WHERE data_key = ? AND expire_time < " + databaseTime
+                        + " AND data_type = " + EPHEMERAL + " FOR UPDATE", expiredKey);
+                if (0 == update(connection, "DELETE FROM t_ds_registry_data WHERE data_key = ? AND expire_time < " + databaseTime, expiredKey)) {
+                    return false;
+                }
+                appendEvents(connection, ephemeralNodes, DataChangeEvent.REMOVE);
+                return true;
+            });
+            if (expired) {
+                logger.info("jdbc registry lease of {} expired", expiredKey);
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            requestPoll();
+        }
+        return removed;
+    }
+
+    private void maintainLeases() {
+        try {
+            renewLeases();
+            changeConnectState(connectState == RegistryConnectState.CONNECTED ? null : RegistryConnectState.RECONNECTED);
+            removeExpiredLeases();
+        } catch (Exception e) {
+            logger.error("jdbc registry renew the leases error", e);
+            if (System.currentTimeMillis() - lastRenewTime >= leaseTtl) {
+                changeConnectState(RegistryConnectState.LOST);
+            } else if (connectState != RegistryConnectState.LOST) {
+                changeConnectState(RegistryConnectState.SUSPENDED);
+            }
+        }
+    }
+
+    private void changeConnectState(RegistryConnectState newState) {
+        if (null == newState || newState == connectState) {
+            return;
+        }
+        logger.warn("jdbc registry connection state changed from {} to {}", connectState, newState);
+        connectState = newState == RegistryConnectState.RECONNECTED ? RegistryConnectState.CONNECTED : newState;
+        RegistryConnectListener listener = connectListener;
+        if (null != listener) {
+            listener.notify(newState);
+        }
+    }
+
+    private void purgeEvents() {
+        try {
+            execute(connection -> update(connection, "DELETE FROM t_ds_registry_event WHERE create_time < " + databaseTime + " - ?",
+                eventRetention));
+        } catch (Exception e) {
+            logger.error("jdbc registry purge events error", e);
+        }
+    }
+
+    private void requestPoll() {
+        if (subscribedPaths.isEmpty()) {
+            return;
+        }
+        synchronized (pollMonitor) {
+            pollRequested = true;
+            pollMonitor.notifyAll();
+        }
+    }
+
+    /**
+     * the writes between two polls are read by one query for all the subscribed paths
+     */
+    private void pollEvents() {
+        while (running) {
+            try {
+                synchronized (pollMonitor) {
+                    if (!pollRequested) {
+                        pollMonitor.wait(pollInterval);
+                    }
+                    pollRequested = false;
+                }
+                if (!running) {
+                    return;
+                }
+                if (subscribedPaths.isEmpty()) {
+                    // nobody to notify, later subscribers are only notified of later events
+                    lastVersion = execute(this::currentVersion);
+                    continue;
+                }
+                List<Object[]> events = execute(connection -> {
+                    List<Object[]> result = new ArrayList<>();
+                    try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT version, data_key, event_type FROM t_ds_registry_event WHERE version > ? ORDER BY version")) {
+                        statement.setLong(1, lastVersion);
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            while (resultSet.next()) {
+                                result.add(new Object[] {resultSet.getLong(1), resultSet.getString(2),
+                                    DataChangeEvent.valueOf(resultSet.getString(3))});
+                            }
+                        }
+                    }
+                    return result;
+                });
+                for (Object[] event : events) {
+                    lastVersion = (Long) event[0];
+                    fireEvent(lastVersion, (String) event[1], (DataChangeEvent) event[2]);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("jdbc registry poll events error", e);
+            }
+        }
+    }
+
+    private void fireEvent(long version, String path, DataChangeEvent event) {
+        for (Map.Entry<String, Long> subscription : subscribedPaths.entrySet()) {
+            String subscribedPath = subscription.getKey();
+            if (version <= subscription.getValue()) {
+                continue;
+            }
+            if (path.equals(subscribedPath) || path.startsWith(subscribedPath + SEPARATOR)) {
+                try {
+                    ListenerManager.dataChange(subscribedPath, path, event);
+                } catch (Exception e) {
+                    logger.error("jdbc registry notify {} {} error", event, path, e);
+                }
+            }
+        }
+    }
+
+    private void create(String key, String value, int type) {
+        for (int retry = 0; ; retry++) {
+            try {
+                createOnce(key, value, type);
+                break;
+            } catch (RegistryException e) {
+                // another registry created the same parent or node in the meantime
+                if (retry >= 2 || !isDuplicateKey(e.getCause())) {
+                    throw e;
+                }
+            }
+        }
+        requestPoll();
+    }
+
+    private void createOnce(String key, String value, int type) {
+        transaction(connection -> {
+            List<String> added = new ArrayList<>();
+            // create the parents like zookeeper creatingParentsIfNeeded
+            int index = key.indexOf(SEPARATOR, 1);
+            while (index > 0) {
+                String parent = key.substring(0, index);
+                if (!exists(connection, parent)) {
+                    update(connection, "INSERT INTO t_ds_registry_data (data_key, data_value, data_type) VALUES (?, ?, ?)",
+                        parent, "", PERSISTENT);
+                    added.add(parent);
+                }
+                index = key.indexOf(SEPARATOR, index + 1);
+            }
+            String leaseOwner = type == EPHEMERAL ? owner : null;
+            // the expire time of a persistent node is null, as the sum with a null ttl
+            Long ttl = type == EPHEMERAL ? leaseTtl : null;
+            if (exists(connection, key)) {
+                // an ephemeral node persisted again belongs to this session, e.g. after its previous owner restarted
+                update(connection, "UPDATE t_ds_registry_data SET data_value = ?, data_type = ?, owner_id = ?, expire_time = " + databaseTime
+                    + " + ? WHERE data_key = ?", value, type, leaseOwner, ttl, key);
+                appendEvents(connection, added, DataChangeEvent.ADD);
+                appendEvent(connection, key, DataChangeEvent.UPDATE);
+            } else {
+                update(connection, "INSERT INTO t_ds_registry_data (data_key, data_value, data_type, owner_id, expire_time) VALUES (?, ?, ?, ?, "
+                    + databaseTime + " + ?)", key, value, type, leaseOwner, ttl);
+                added.add(key);
+                appendEvents(connection, added, DataChangeEvent.ADD);
+            }
+            return null;
+        });
+    }
+
+    private boolean tryInsertLock(String key) {
+        try {
+            execute(connection -> update(connection,
+                "INSERT INTO t_ds_registry_data (data_key, data_value, data_type, owner_id, expire_time) VALUES (?, ?, ?, ?, " + databaseTime + " + ?)",
+                key, "", LOCK, owner, leaseTtl));
+            return true;
+        } catch (RegistryException e) {
+            if (!isDuplicateKey(e.getCause())) {
+                throw e;
+            }
+        }
+        // held by another registry, take it over when its owner is gone
+        int expired = execute(connection -> update(connection,
+            "DELETE FROM t_ds_registry_data WHERE data_key = ? AND data_type = " + LOCK + " AND expire_time < " + databaseTime, key));
+        if (expired > 0) {
+            logger.info("jdbc registry lock {} expired, take it over", key);
+            return tryInsertLock(key);
+        }
+        return false;
+    }
+
+    private void createTables() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : SCHEMA) {
+                statement.execute(sql);
+            }
+            try {
+                statement.execute("INSERT INTO t_ds_registry_version (id, version) VALUES (1, 0)");
+            } catch (SQLException e) {
+                // created by another registry
+                if (!isDuplicateKey(e)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private long currentVersion(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT version FROM t_ds_registry_version WHERE id = 1");
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getLong(1) : 0L;
+        }
+    }
+
+    private void appendEvent(Connection connection, String key, DataChangeEvent event) throws SQLException {
+        List<String> keys = new ArrayList<>(1);
+        keys.add(key);
+        appendEvents(connection, keys, event);
+    }
+
+    /**
+     * the counter row stays locked until the commit, so the versions are visible in order and without gaps
+     */
+    private void appendEvents(Connection connection, List<String> keys, DataChangeEvent event) throws SQLException {
+        if (keys.isEmpty()) {
+            return;
+        }
+        update(connection, "UPDATE t_ds_registry_version SET version = version + ? WHERE id = 1", keys.size());
+        long version = currentVersion(connection) - keys.size();
+        try (PreparedStatement statement = connection.prepareStatement(
+            "INSERT INTO t_ds_registry_event (version, data_key, event_type, create_time) VALUES (?, ?, ?, " + databaseTime + ")")) {
+            for (String key : keys) {
+                statement.setLong(1, ++version);
+                statement.setString(2, key);
+                statement.setString(3, event.name());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private boolean exists(Connection connection, String key) throws SQLException {
+        return !selectKeys(connection, "SELECT data_key FROM t_ds_registry_data WHERE data_key = ? AND data_type <> " + LOCK, key).isEmpty();
+    }
+
+    private List<String> selectDescendants(Connection connection, String key, String suffix) throws SQLException {
+        return selectKeys(connection,
+            "SELECT data_key FROM t_ds_registry_data WHERE data_key LIKE ? ESCAPE '!' AND data_type <> " + LOCK + suffix, likePrefix(key));
+    }
+
+    private List<String> selectKeys(Connection connection, String sql, Object... params) throws SQLException {
+        try (PreparedStatement statement = prepare(connection, sql, params);
+             ResultSet resultSet = statement.executeQuery()) {
+            List<String> keys = new ArrayList<>();
+            while (resultSet.next()) {
+                keys.add(resultSet.getString(1));
+            }
+            return keys;
+        }
+    }
+
+    private int update(Connection connection, String sql, Object... params) throws SQLException {
+        try (PreparedStatement statement = prepare(connection, sql, params)) {
+            return statement.executeUpdate();
+        }
+    }
+
+    private PreparedStatement prepare(Connection connection, String sql, Object... params) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        for (int i = 0; i < params.length; i++) {
+            if (null == params[i]) {
+                statement.setNull(i + 1, Types.NULL);
+            } else {
+                statement.setObject(i + 1, params[i]);
+            }
+        }
+        return statement;
+    }
+
+    private static String databaseTimeSql(String databaseProductName) {
+        if (databaseProductName.toLowerCase().contains("mysql") || databaseProductName.toLowerCase().contains("mariadb")) {
+            return "ROUND(UNIX_TIMESTAMP(CURRENT_TIMESTAMP(3)) * 1000)";
+        }
+        // postgresql, h2 and the other databases supporting the epoch of the sql standard extract
+        return "ROUND(EXTRACT(EPOCH FROM CURRENT_TIMESTAMP) * 1000)";
+    }
+
+    private static String likePrefix(String key) {
+        String prefix = key.endsWith(SEPARATOR) ? key : key + SEPARATOR;
+        return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    private static boolean isDuplicateKey(Throwable e) {
+        // sql state class 23 is integrity constraint violation
+        return e instanceof SQLException && null != ((SQLException) e).getSQLState() && ((SQLException) e).getSQLState().startsWith("23");
+    }
+
+    private <T> T execute(SqlCallback<T> callback) {
+        try (Connection connection = dataSource.getConnection()) {
+            return callback.doInConnection(connection);
+        } catch (SQLException e) {
+            throw new RegistryException("jdbc registry execute error", e);
+        }
+    }
+
+    private <T> T transaction(SqlCallback<T> callback) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                T result = callback.doInConnection(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RegistryException("jdbc registry transaction error", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlCallback<T> {
+        T doInConnection(Connection connection) throws SQLException;
+    }
+}
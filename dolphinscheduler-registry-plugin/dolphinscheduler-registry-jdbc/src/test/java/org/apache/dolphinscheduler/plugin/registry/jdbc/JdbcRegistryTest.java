@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc;
+
+import org.apache.dolphinscheduler.spi.register.DataChangeEvent;
+import org.apache.dolphinscheduler.spi.register.RegistryException;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JdbcRegistryTest {
+
+    private static final AtomicInteger DATABASE_ID = new AtomicInteger();
+
+    private String url;
+
+    private JdbcRegistry registry;
+
+    private final List<JdbcRegistry> others = new ArrayList<>();
+
+    @Before
+    public void before() {
+        url = "jdbc:h2:mem:registry_" + DATABASE_ID.incrementAndGet() + ";DB_CLOSE_DELAY=-1";
+        registry = createRegistry(new HashMap<>());
+        registry.persist("/sub", "");
+    }
+
+    private JdbcRegistry createRegistry(Map<String, String> config) {
+        config.put(JdbcConfiguration.URL.getName(), url);
+        config.put(JdbcConfiguration.USERNAME.getName(), "sa");
+        config.put(JdbcConfiguration.POLL_INTERVAL_MS.getName(), "50");
+        JdbcRegistry jdbcRegistry = new JdbcRegistry();
+        jdbcRegistry.init(config);
+        return jdbcRegistry;
+    }
+
+    @Test
+    public void persistTest() {
+        registry.persist("/nodes/m1", "");
+        registry.persist("/nodes/m2", "");
+        registry.persist("/nodes/m2/child", "");
+        Assert.assertEquals(Arrays.asList("m2", "m1"), registry.getChildren("/nodes"));
+        Assert.assertTrue(registry.isExisted("/nodes/m1"));
+        registry.delete("/nodes/m2");
+        Assert.assertFalse(registry.isExisted("/nodes/m2"));
+        Assert.assertFalse(registry.isExisted("/nodes/m2/child"));
+
+        registry.persist("/a_b/c", "c");
+        registry.persist("/axb/d", "d");
+        Assert.assertEquals(Collections.singletonList("c"), registry.getChildren("/a_b"));
+        Assert.assertEquals("", registry.get("/a_b"));
+        registry.update("/a_b/missing", "e");
+        Assert.assertFalse(registry.isExisted("/a_b/missing"));
+    }
+
+    @Test(expected = RegistryException.class)
+    public void getMissingTest() {
+        registry.get("/missing");
+    }
+
+    @Test
+    public void ephemeralTest() {
+        registry.persistEphemeral("/nodes/worker/default/w1", "");
+        registry.persist("/nodes/worker/default/w2", "");
+        registry.close();
+        JdbcRegistry other = createRegistry(new HashMap<>());
+        others.add(other);
+        Assert.assertFalse(other.isExisted("/nodes/worker/default/w1"));
+        Assert.assertTrue(other.isExisted("/nodes/worker/default/w2"));
+    }
+
+    @Test
+    public void renewLeasesTest() {
+        registry.persistEphemeral("/nodes/worker/default/w1", "");
+        registry.persistEphemeral("/nodes/worker/default/w2", "");
+        registry.persist("/nodes/worker/default/w3", "");
+        registry.acquireLock("/lock");
+        // all the leases of a session are renewed by one statement
+        Assert.assertEquals(3, registry.renewLeases());
+        Assert.assertEquals(0, registry.removeExpiredLeases());
+        registry.releaseLock("/lock");
+        Assert.assertEquals(2, registry.renewLeases());
+    }
+
+    @Test
+    public void leaseDatabaseTimeTest() throws SQLException {
+        registry.persistEphemeral("/nodes/worker/default/w1", "");
+        registry.renewLeases();
+        // the expire time is the clock of the database plus the ttl, whatever the clock of the host
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             PreparedStatement statement = connection.prepareStatement(
+                 "SELECT expire_time - ROUND(EXTRACT(EPOCH FROM CURRENT_TIMESTAMP) * 1000) FROM t_ds_registry_data WHERE data_key = ?")) {
+            statement.setString(1, "/nodes/worker/default/w1");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Assert.assertTrue(resultSet.next());
+                long remaining = resultSet.getLong(1);
+                Assert.assertTrue(remaining <= 30000L && remaining > 25000L);
+            }
+        }
+    }
+
+    @Test
+    public void leaseExpireTest() throws InterruptedException {
+        Map<String, String> config = new HashMap<>();
+        config.put(JdbcConfiguration.LEASE_TTL_MS.getName(), "100");
+        config.put(JdbcConfiguration.LEASE_RENEW_INTERVAL_MS.getName(), "3600000");
+        JdbcRegistry stale = createRegistry(config);
+        others.add(stale);
+        stale.persistEphemeral("/sub/w1", "");
+        stale.acquireLock("/lock");
+
+        CountDownLatch countDownLatch = new CountDownLatch(1);
+        registry.subscribe("/sub", (path, dataChangeEvent) -> {
+            if (dataChangeEvent == DataChangeEvent.REMOVE && "/sub/w1".equals(path)) {
+                countDownLatch.countDown();
+            }
+        });
+        Thread.sleep(200);
+        Assert.assertEquals(2, registry.removeExpiredLeases());
+        Assert.assertTrue(countDownLatch.await(5, TimeUnit.SECONDS));
+        Assert.assertFalse(registry.isExisted("/sub/w1"));
+        // the expired lock can be taken by others
+        registry.acquireLock("/lock");
+        Assert.assertTrue(registry.releaseLock("/lock"));
+        registry.unsubscribe("/sub");
+    }
+
+    @Test
+    public void lockTest() throws InterruptedException {
+        JdbcRegistry other = createRegistry(new HashMap<>());
+        others.add(other);
+        CountDownLatch preCountDownLatch = new CountDownLatch(1);
+        CountDownLatch allCountDownLatch = new CountDownLatch(2);
+        List<String> testData = Collections.synchronizedList(new ArrayList<>());
+        new Thread(() -> {
+            registry.acquireLock("/lock");
+            preCountDownLatch.countDown();
+            try {
+                Thread.sleep(500);
+                testData.add("thread1");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                registry.releaseLock("/lock");
+                allCountDownLatch.countDown();
+            }
+        }).start();
+        preCountDownLatch.await();
+        new Thread(() -> {
+            try {
+                other.acquireLock("/lock");
+                testData.add("thread2");
+            } finally {
+                other.releaseLock("/lock");
+                allCountDownLatch.countDown();
+            }
+        }).start();
+        allCountDownLatch.await();
+        Assert.assertEquals(Arrays.asList("thread1", "thread2"), testData);
+        Assert.assertFalse(registry.releaseLock("/lock"));
+    }
+
+    @Test
+    public void subscribeTest() throws InterruptedException {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch countDownLatch = new CountDownLatch(5);
+        boolean status = registry.subscribe("/sub", (path, dataChangeEvent) -> {
+            events.add(dataChangeEvent + " " + path);
+            countDownLatch.countDown();
+        });
+        Assert.assertTrue(status);
+        Assert.assertFalse(registry.subscribe("/sub", (path, dataChangeEvent) -> { }));
+
+        // the changes of the other registries are polled as well
+        JdbcRegistry other = createRegistry(new HashMap<>());
+        others.add(other);
+        other.persist("/other/a", "");
+        other.persistEphemeral("/sub/a/b", "");
+        other.update("/sub/a/b", "1");
+        registry.remove("/sub/a");
+        Assert.assertTrue(countDownLatch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Arrays.asList(
+                DataChangeEvent.ADD + " /sub/a",
+                DataChangeEvent.ADD + " /sub/a/b",
+                DataChangeEvent.UPDATE + " /sub/a/b",
+                DataChangeEvent.REMOVE + " /sub/a/b",
+                DataChangeEvent.REMOVE + " /sub/a"), events.subList(0, 5));
+        registry.unsubscribe("/sub");
+    }
+
+    @After
+    public void after() {
+        registry.close();
+        others.forEach(JdbcRegistry::close);
+    }
+}
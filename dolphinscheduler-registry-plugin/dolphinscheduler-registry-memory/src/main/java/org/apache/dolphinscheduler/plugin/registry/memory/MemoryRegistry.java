@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.plugin.registry.memory;
+
+import org.apache.dolphinscheduler.spi.register.DataChangeEvent;
+import org.apache.dolphinscheduler.spi.register.ListenerManager;
+import org.apache.dolphinscheduler.spi.register.Registry;
+import org.apache.dolphinscheduler.spi.register.RegistryConnectListener;
+import org.apache.dolphinscheduler.spi.register.RegistryException;
+import org.apache.dolphinscheduler.spi.register.SubscribeListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * registry kept in the memory of the current jvm, for a master and workers running in one process,
+ * e.g. a single node deployment or tests, without a zookeeper. the factory hands out one registry per jvm.
+ * the semantics follow the zookeeper registry: parents are created on demand,
+ * ephemeral nodes live until the registry is closed, subscribers are notified asynchronously
+ * for the subscribed path and all its descendants, locks are reentrant and granted in request order
+ */
+public class MemoryRegistry implements Registry {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemoryRegistry.class);
+
+    private static final String SEPARATOR = "/";
+
+    /**
+     * k-node path, v-node data
+     */
+    private final ConcurrentSkipListMap<String, String> nodes = new ConcurrentSkipListMap<>();
+
+    private final Set<String> ephemeralNodes = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> subscribedPaths = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * events are dispatched by one thread, in the order they happened, like the zookeeper tree cache
+     */
+    private final ExecutorService eventExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "MemoryRegistryEvent");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean closed;
+
+    @Override
+    public void init(Map<String, String> registerData) {
+        // nothing to connect
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            for (String ephemeralNode : ephemeralNodes) {
+                if (nodes.containsKey(ephemeralNode)) {
+                    delete(ephemeralNode);
+                }
+            }
+        }
+        eventExecutor.shutdown();
+        closed = true;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public boolean subscribe(String path, SubscribeListener subscribeListener) {
+        if (!subscribedPaths.add(path)) {
+            return false;
+        }
+        ListenerManager.addListener(path, subscribeListener);
+        return true;
+    }
+
+    @Override
+    public void unsubscribe(String path) {
+        subscribedPaths.remove(path);
+        ListenerManager.removeListener(path);
+    }
+
+    @Override
+    public void addConnectionStateListener(RegistryConnectListener registryConnectListener) {
+        // the connection to the memory can not be lost
+    }
+
+    @Override
+    public String get(String key) {
+        String value = nodes.get(key);
+        if (null == value) {
+            throw new RegistryException(String.format("memory registry get data error, node %s not exists", key));
+        }
+        return value;
+    }
+
+    @Override
+    public void remove(String key) {
+        delete(key);
+    }
+
+    @Override
+    public void persist(String key, String value) {
+        create(key, value, false);
+    }
+
+    @Override
+    public void persistEphemeral(String key, String value) {
+        create(key, value, true);
+    }
+
+    @Override
+    public synchronized void update(String key, String value) {
+        if (null == nodes.replace(key, value)) {
+            return;
+        }
+        fireEvent(key, DataChangeEvent.UPDATE);
+    }
+
+    @Override
+    public List<String> getChildren(String key) {
+        if (!nodes.containsKey(key)) {
+            throw new RegistryException(String.format("memory registry get children error, node %s not exists", key));
+        }
+        List<String> result = new ArrayList<>();
+        String prefix = key.endsWith(SEPARATOR) ? key : key + SEPARATOR;
+        for (String descendant : descendants(key).keySet()) {
+            String name = descendant.substring(prefix.length());
+            if (!name.contains(SEPARATOR)) {
+                result.add(name);
+            }
+        }
+        result.sort(Comparator.reverseOrder());
+        return result;
+    }
+
+    @Override
+    public boolean isExisted(String key) {
+        return nodes.containsKey(key);
+    }
+
+    @Override
+    public synchronized boolean delete(String key) {
+        if (!nodes.containsKey(key)) {
+            throw new RegistryException(String.format("memory registry delete key error, node %s not exists", key));
+        }
+        // children first, deepest path last in the ascending order
+        List<String> removed = new ArrayList<>(descendants(key).descendingKeySet());
+        removed.add(key);
+        for (String path : removed) {
+            nodes.remove(path);
+            ephemeralNodes.remove(path);
+            fireEvent(path, DataChangeEvent.REMOVE);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean acquireLock(String key) {
+        locks.computeIfAbsent(key, k -> new ReentrantLock(true)).lock();
+        return true;
+    }
+
+    @Override
+    public boolean releaseLock(String key) {
+        ReentrantLock lock = locks.get(key);
+        if (null == lock || !lock.isHeldByCurrentThread()) {
+            return false;
+        }
+        lock.unlock();
+        return true;
+    }
+
+    private synchronized void create(String key, String value, boolean ephemeral) {
+        if (nodes.containsKey(key)) {
+            // an existing node registered again as ephemeral, e.g. by a restarted server, goes away with the registry
+            if (ephemeral) {
+                ephemeralNodes.add(key);
+            }
+            update(key, value);
+            return;
+        }
+        // create the parents like zookeeper creatingParentsIfNeeded
+        int index = key.indexOf(SEPARATOR, 1);
+        while (index > 0) {
+            String parent = key.substring(0, index);
+            if (null == nodes.putIfAbsent(parent, "")) {
+                fireEvent(parent, DataChangeEvent.ADD);
+            }
+            index = key.indexOf(SEPARATOR, index + 1);
+        }
+        nodes.put(key, value);
+        if (ephemeral) {
+            ephemeralNodes.add(key);
+        }
+        fireEvent(key, DataChangeEvent.ADD);
+    }
+
+    private NavigableMap<String, String> descendants(String key) {
+        String prefix = key.endsWith(SEPARATOR) ? key : key + SEPARATOR;
+        // '0' is the character following '/'
+        return nodes.subMap(prefix, false, prefix.substring(0, prefix.length() - 1) + '0', false);
+    }
+
+    private void fireEvent(String path, DataChangeEvent event) {
+        for (String subscribedPath : subscribedPaths) {
+            if (path.equals(subscribedPath) || path.startsWith(subscribedPath + SEPARATOR)) {
+                eventExecutor.execute(() -> {
+                    try {
+                        ListenerManager.dataChange(subscribedPath, path, event);
+                    } catch (Exception e) {
+                        logger.error("memory registry notify {} {} error", event, path, e);
+                    }
+                });
+            }
+        }
+    }
+}
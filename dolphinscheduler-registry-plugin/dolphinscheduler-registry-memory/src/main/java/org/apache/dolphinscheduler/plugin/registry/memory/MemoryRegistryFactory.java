@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.plugin.registry.memory;
+
+import org.apache.dolphinscheduler.spi.register.Registry;
+import org.apache.dolphinscheduler.spi.register.RegistryFactory;
+
+/**
+ * memory registry factory
+ */
+public class MemoryRegistryFactory implements RegistryFactory {
+
+    /**
+     * shared by every component of the jvm, so that a master and workers see each other
+     */
+    private static MemoryRegistry registry;
+
+    @Override
+    public String getName() {
+        return "memory";
+    }
+
+    @Override
+    public Registry create() {
+        return getRegistry();
+    }
+
+    private static synchronized MemoryRegistry getRegistry() {
+        if (registry == null || registry.isClosed()) {
+            registry = new MemoryRegistry();
+        }
+        return registry;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.plugin.registry.memory;
+
+import org.apache.dolphinscheduler.spi.register.DataChangeEvent;
+import org.apache.dolphinscheduler.spi.register.RegistryException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MemoryRegistryTest {
+
+    private MemoryRegistry registry;
+
+    @Before
+    public void before() {
+        registry = new MemoryRegistry();
+        registry.init(Collections.emptyMap());
+        registry.persist("/sub", "");
+    }
+
+    @Test
+    public void factoryTest() {
+        MemoryRegistryFactory factory = new MemoryRegistryFactory();
+        MemoryRegistry shared = (MemoryRegistry) factory.create();
+        Assert.assertSame(shared, new MemoryRegistryFactory().create());
+        shared.persistEphemeral("/nodes/master/m1", "");
+        Assert.assertTrue(factory.create().isExisted("/nodes/master/m1"));
+
+        shared.close();
+        Assert.assertNotSame(shared, factory.create());
+        factory.create().close();
+    }
+
+    @Test
+    public void persistTest() {
+        registry.persist("/nodes/m1", "");
+        registry.persist("/nodes/m2", "");
+        registry.persist("/nodes/m2/child", "");
+        Assert.assertEquals(Arrays.asList("m2", "m1"), registry.getChildren("/nodes"));
+        Assert.assertTrue(registry.isExisted("/nodes/m1"));
+        registry.delete("/nodes/m2");
+        Assert.assertFalse(registry.isExisted("/nodes/m2"));
+        Assert.assertFalse(registry.isExisted("/nodes/m2/child"));
+    }
+
+    @Test
+    public void persistParentsTest() {
+        registry.persist("/a/b/c", "c");
+        Assert.assertTrue(registry.isExisted("/a/b"));
+        Assert.assertEquals("", registry.get("/a"));
+        Assert.assertEquals("c", registry.get("/a/b/c"));
+
+        registry.persist("/a/b/c", "d");
+        Assert.assertEquals("d", registry.get("/a/b/c"));
+        registry.update("/a/b/missing", "e");
+        Assert.assertFalse(registry.isExisted("/a/b/missing"));
+    }
+
+    @Test(expected = RegistryException.class)
+    public void getMissingTest() {
+        registry.get("/missing");
+    }
+
+    @Test
+    public void ephemeralTest() {
+        registry.persistEphemeral("/nodes/worker/default/w1", "");
+        registry.persist("/nodes/worker/default/w2", "");
+        registry.persist("/nodes/worker/default/w3", "");
+        registry.persistEphemeral("/nodes/worker/default/w3", "w3");
+        Assert.assertEquals("w3", registry.get("/nodes/worker/default/w3"));
+        registry.close();
+        Assert.assertFalse(registry.isExisted("/nodes/worker/default/w1"));
+        Assert.assertTrue(registry.isExisted("/nodes/worker/default/w2"));
+        Assert.assertFalse(registry.isExisted("/nodes/worker/default/w3"));
+    }
+
+    @Test
+    public void lockTest() throws InterruptedException {
+        CountDownLatch preCountDownLatch = new CountDownLatch(1);
+        CountDownLatch allCountDownLatch = new CountDownLatch(2);
+        List<String> testData = Collections.synchronizedList(new ArrayList<>());
+        new Thread(() -> {
+            registry.acquireLock("/lock");
+            preCountDownLatch.countDown();
+            try {
+                Thread.sleep(500);
+                testData.add("thread1");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                registry.releaseLock("/lock");
+                allCountDownLatch.countDown();
+            }
+        }).start();
+        preCountDownLatch.await();
+        new Thread(() -> {
+            try {
+                registry.acquireLock("/lock");
+                testData.add("thread2");
+            } finally {
+                registry.releaseLock("/lock");
+                allCountDownLatch.countDown();
+            }
+        }).start();
+        allCountDownLatch.await();
+        Assert.assertEquals(Arrays.asList("thread1", "thread2"), testData);
+        Assert.assertFalse(registry.releaseLock("/lock"));
+    }
+
+    @Test
+    public void subscribeTest() throws InterruptedException {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch countDownLatch = new CountDownLatch(4);
+        boolean status = registry.subscribe("/sub", (path, dataChangeEvent) -> {
+            events.add(dataChangeEvent + " " + path);
+            countDownLatch.countDown();
+        });
+        Assert.assertTrue(status);
+        Assert.assertFalse(registry.subscribe("/sub", (path, dataChangeEvent) -> { }));
+
+        registry.persist("/other/a", "");
+        registry.persistEphemeral("/sub/a/b", "");
+        registry.update("/sub/a/b", "1");
+        registry.remove("/sub/a");
+        Assert.assertTrue(countDownLatch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Arrays.asList(
+                DataChangeEvent.ADD + " /sub/a",
+                DataChangeEvent.ADD + " /sub/a/b",
+                DataChangeEvent.UPDATE + " /sub/a/b",
+                DataChangeEvent.REMOVE + " /sub/a/b"), events.subList(0, 4));
+        registry.unsubscribe("/sub");
+    }
+
+    @After
+    public void after() {
+        registry.close();
+    }
+}
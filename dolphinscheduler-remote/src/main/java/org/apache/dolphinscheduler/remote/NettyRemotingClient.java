@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingTimeoutException;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingTooMuchRequestException;
+import org.apache.dolphinscheduler.remote.future.InFlightLimiter;
 import org.apache.dolphinscheduler.remote.future.InvokeCallback;
 import org.apache.dolphinscheduler.remote.future.ReleaseSemaphore;
 import org.apache.dolphinscheduler.remote.future.ResponseFuture;
@@ -39,10 +40,7 @@ import org.apache.dolphinscheduler.remote.utils.NettyUtils;
 import java.net.InetSocketAddress;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -85,6 +83,21 @@ public class NettyRemotingClient {
      */
     private final ConcurrentHashMap<Host, Channel> channels = new ConcurrentHashMap<>(128);
 
+    /**
+     * pending connects, concurrent callers to the same host share one connect
+     */
+    private final ConcurrentHashMap<Host, ChannelFuture> connectFutures = new ConcurrentHashMap<>(128);
+
+    /**
+     * hosts whose last connect failed
+     */
+    private final ConcurrentHashMap<Host, ConnectBackoff> connectBackoffs = new ConcurrentHashMap<>(128);
+
+    /**
+     * async in flight limiter per host
+     */
+    private final ConcurrentHashMap<Host, InFlightLimiter> inFlightLimiters = new ConcurrentHashMap<>(128);
+
     /**
      * started flag
      */
@@ -100,11 +113,6 @@ public class NettyRemotingClient {
      */
     private final NettyClientConfig clientConfig;
 
-    /**
-     * saync semaphore
-     */
-    private final Semaphore asyncSemaphore = new Semaphore(200, true);
-
     /**
      * callback thread executor
      */
@@ -115,11 +123,6 @@ public class NettyRemotingClient {
      */
     private final NettyClientHandler clientHandler;
 
-    /**
-     * response future executor
-     */
-    private final ScheduledExecutorService responseFutureExecutor;
-
     /**
      * client init
      *
@@ -151,8 +154,6 @@ public class NettyRemotingClient {
                 new CallerThreadExecutePolicy());
         this.clientHandler = new NettyClientHandler(this, callbackExecutor);
 
-        this.responseFutureExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("ResponseFutureExecutor"));
-
         this.start();
     }
 
@@ -177,7 +178,6 @@ public class NettyRemotingClient {
                                 .addLast(new NettyDecoder(), clientHandler, encoder);
                     }
                 });
-        this.responseFutureExecutor.scheduleAtFixedRate(ResponseFuture::scanFutureTable, 5000, 1000, TimeUnit.MILLISECONDS);
         isStarted.compareAndSet(false, true);
     }
 
@@ -201,18 +201,28 @@ public class NettyRemotingClient {
          */
         final long opaque = command.getOpaque();
         /*
-         *  control concurrency number
+         *  control concurrency number of the host
          */
-        boolean acquired = this.asyncSemaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        final InFlightLimiter limiter = getInFlightLimiter(host);
+        boolean acquired = limiter.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
         if (acquired) {
-            final ReleaseSemaphore releaseSemaphore = new ReleaseSemaphore(this.asyncSemaphore);
+            final ReleaseSemaphore releaseSemaphore = new ReleaseSemaphore(limiter);
 
             /*
-             *  response future
+             *  response future, feeds the limiter before the callback
              */
             final ResponseFuture responseFuture = new ResponseFuture(opaque,
                     timeoutMillis,
-                    invokeCallback,
+                    future -> {
+                        if (future.getResponseCommand() == null) {
+                            limiter.onDrop();
+                        } else {
+                            limiter.onResponse();
+                        }
+                        if (invokeCallback != null) {
+                            invokeCallback.operationComplete(future);
+                        }
+                    },
                     releaseSemaphore);
             try {
                 channel.writeAndFlush(command).addListener(future -> {
@@ -237,8 +247,8 @@ public class NettyRemotingClient {
                 throw new RemotingException(String.format("send command to host: %s failed", host), ex);
             }
         } else {
-            String message = String.format("try to acquire async semaphore timeout: %d, waiting thread num: %d, total permits: %d",
-                    timeoutMillis, asyncSemaphore.getQueueLength(), asyncSemaphore.availablePermits());
+            String message = String.format("try to acquire async semaphore of %s timeout: %d, waiting thread num: %d, limit: %d",
+                    host, timeoutMillis, limiter.getQueueLength(), limiter.getLimit());
             throw new RemotingTooMuchRequestException(message);
         }
     }
@@ -280,6 +290,9 @@ public class NettyRemotingClient {
                 throw new RemotingException(host.toString(), responseFuture.getCause());
             }
         }
+        if (result.getType() == CommandType.SERVER_BUSY_RESPONSE) {
+            throw new RemotingTooMuchRequestException(String.format("%s is busy, reject command %s", host, command.getType()));
+        }
         return result;
     }
 
@@ -342,30 +355,70 @@ public class NettyRemotingClient {
     }
 
     /**
-     * create channel
+     * get async in flight limiter of host
+     *
+     * @param host host
+     * @return in flight limiter
+     */
+    public InFlightLimiter getInFlightLimiter(Host host) {
+        return inFlightLimiters.computeIfAbsent(host, h -> new InFlightLimiter(clientConfig.getInitialInFlightPerHost(),
+                clientConfig.getMinInFlightPerHost(), clientConfig.getMaxInFlightPerHost()));
+    }
+
+    /**
+     * create channel, callers to the same host share one pending connect,
+     * a host whose connect failed is not retried before its backoff ends
      *
      * @param host host
      * @param isSync sync flag
      * @return channel
      */
     public Channel createChannel(Host host, boolean isSync) {
-        ChannelFuture future;
-        try {
-            synchronized (bootstrap) {
-                future = bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
-            }
-            if (isSync) {
-                future.sync();
+        ConnectBackoff backoff = connectBackoffs.get(host);
+        if (backoff != null && System.currentTimeMillis() < backoff.retryTime) {
+            logger.warn("connect to {} failed {} times, retry after {}", host, backoff.failures, backoff.retryTime);
+            return null;
+        }
+        ChannelFuture future = connectFutures.get(host);
+        if (future == null) {
+            final ChannelFuture[] created = new ChannelFuture[1];
+            future = connectFutures.computeIfAbsent(host, h -> {
+                created[0] = bootstrap.connect(new InetSocketAddress(h.getIp(), h.getPort()));
+                return created[0];
+            });
+            if (created[0] != null) {
+                created[0].addListener(f -> onConnectComplete(host, created[0]));
             }
-            if (future.isSuccess()) {
-                Channel channel = future.channel();
-                channels.put(host, channel);
-                return channel;
+        }
+        if (isSync) {
+            future.awaitUninterruptibly();
+        }
+        return future.isSuccess() ? future.channel() : null;
+    }
+
+    /**
+     * connect complete, cache the channel or back off the host
+     *
+     * @param host host
+     * @param future connect future
+     */
+    private void onConnectComplete(Host host, ChannelFuture future) {
+        if (future.isSuccess()) {
+            Channel old = channels.put(host, future.channel());
+            if (old != null && old != future.channel()) {
+                old.close();
             }
-        } catch (Exception ex) {
-            logger.warn(String.format("connect to %s error", host), ex);
+            connectBackoffs.remove(host);
+        } else {
+            ConnectBackoff backoff = connectBackoffs.compute(host, (h, last) -> {
+                int failures = last == null ? 1 : last.failures + 1;
+                long delay = Math.min((long) clientConfig.getConnectBackoffMillis() << Math.min(failures - 1, 16),
+                        clientConfig.getMaxConnectBackoffMillis());
+                return new ConnectBackoff(failures, System.currentTimeMillis() + delay);
+            });
+            logger.warn(String.format("connect to %s error, failed %d times", host, backoff.failures), future.cause());
         }
-        return null;
+        connectFutures.remove(host, future);
     }
 
     /**
@@ -381,9 +434,6 @@ public class NettyRemotingClient {
                 if (callbackExecutor != null) {
                     this.callbackExecutor.shutdownNow();
                 }
-                if (this.responseFutureExecutor != null) {
-                    this.responseFutureExecutor.shutdownNow();
-                }
             } catch (Exception ex) {
                 logger.error("netty client close exception", ex);
             }
@@ -399,6 +449,8 @@ public class NettyRemotingClient {
             channel.close();
         }
         this.channels.clear();
+        this.connectFutures.clear();
+        this.connectBackoffs.clear();
     }
 
     /**
@@ -412,4 +464,19 @@ public class NettyRemotingClient {
             channel.close();
         }
     }
+
+    /**
+     * connect backoff of a host
+     */
+    private static class ConnectBackoff {
+
+        private final int failures;
+
+        private final long retryTime;
+
+        ConnectBackoff(int failures, long retryTime) {
+            this.failures = failures;
+            this.retryTime = retryTime;
+        }
+    }
 }
@@ -23,12 +23,20 @@ import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.config.NettyServerConfig;
 import org.apache.dolphinscheduler.remote.exceptions.RemoteException;
 import org.apache.dolphinscheduler.remote.handler.NettyServerHandler;
+import org.apache.dolphinscheduler.remote.processor.ExecutorLane;
+import org.apache.dolphinscheduler.remote.processor.LaneExecutor;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
 import org.apache.dolphinscheduler.remote.utils.Constants;
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
 import org.apache.dolphinscheduler.remote.utils.NettyUtils;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -65,9 +73,14 @@ public class NettyRemotingServer {
     private final NettyEncoder encoder = new NettyEncoder();
 
     /**
-     * default executor
+     * lane executors, used by processors registered without their own executor
      */
-    private final ExecutorService defaultExecutor = Executors.newFixedThreadPool(Constants.CPUS);
+    private final Map<ExecutorLane, LaneExecutor> laneExecutors = new EnumMap<>(ExecutorLane.class);
+
+    /**
+     * logs the lane metrics, null when disabled
+     */
+    private ScheduledExecutorService laneMetricsExecutor;
 
     /**
      * boss group
@@ -106,6 +119,12 @@ public class NettyRemotingServer {
      */
     public NettyRemotingServer(final NettyServerConfig serverConfig) {
         this.serverConfig = serverConfig;
+        this.laneExecutors.put(ExecutorLane.CONTROL,
+                new LaneExecutor(ExecutorLane.CONTROL, serverConfig.getControlThreads()));
+        this.laneExecutors.put(ExecutorLane.DISPATCH,
+                new LaneExecutor(ExecutorLane.DISPATCH, serverConfig.getDispatchThreads(), serverConfig.getDispatchQueueCapacity()));
+        this.laneExecutors.put(ExecutorLane.LOG,
+                new LaneExecutor(ExecutorLane.LOG, serverConfig.getLogThreads(), serverConfig.getLogQueueCapacity()));
         if (NettyUtils.useEpoll()) {
             this.bossGroup = new EpollEventLoopGroup(1, new ThreadFactory() {
                 private final AtomicInteger threadIndex = new AtomicInteger(0);
@@ -176,6 +195,7 @@ public class NettyRemotingServer {
             }
             if (future.isSuccess()) {
                 logger.info("NettyRemotingServer bind success at port : {}", serverConfig.getListenPort());
+                startLaneMetrics();
             } else if (future.cause() != null) {
                 throw new RemoteException(String.format(NETTY_BIND_FAILURE_MSG, serverConfig.getListenPort()), future.cause());
             } else {
@@ -184,6 +204,24 @@ public class NettyRemotingServer {
         }
     }
 
+    /**
+     * log the metrics of the lanes in use periodically
+     */
+    private void startLaneMetrics() {
+        int interval = serverConfig.getLaneMetricsInterval();
+        if (interval <= 0) {
+            return;
+        }
+        this.laneMetricsExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("NettyServerLaneMetrics"));
+        this.laneMetricsExecutor.scheduleWithFixedDelay(() -> {
+            for (LaneExecutor laneExecutor : getLaneExecutors()) {
+                if (laneExecutor.getSubmittedCount() > 0 || laneExecutor.getRejectedCount() > 0) {
+                    logger.info("port {} lane metrics : {}", serverConfig.getListenPort(), laneExecutor);
+                }
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
     /**
      * init netty channel
      *
@@ -219,12 +257,22 @@ public class NettyRemotingServer {
     }
 
     /**
-     * get default thread executor
+     * get lane executor
+     *
+     * @param lane executor lane
+     * @return lane executor
+     */
+    public LaneExecutor getLaneExecutor(ExecutorLane lane) {
+        return laneExecutors.get(lane);
+    }
+
+    /**
+     * get lane executors, for queue depth and latency metrics
      *
-     * @return thread executor
+     * @return lane executors
      */
-    public ExecutorService getDefaultExecutor() {
-        return defaultExecutor;
+    public Collection<LaneExecutor> getLaneExecutors() {
+        return Collections.unmodifiableCollection(laneExecutors.values());
     }
 
     public void close() {
@@ -236,7 +284,13 @@ public class NettyRemotingServer {
                 if (workGroup != null) {
                     this.workGroup.shutdownGracefully();
                 }
-                defaultExecutor.shutdown();
+                if (laneMetricsExecutor != null) {
+                    this.laneMetricsExecutor.shutdownNow();
+                }
+                for (LaneExecutor laneExecutor : laneExecutors.values()) {
+                    logger.info("lane executor closed : {}", laneExecutor);
+                    laneExecutor.shutdown();
+                }
             } catch (Exception ex) {
                 logger.error("netty server close exception", ex);
             }
@@ -121,5 +121,30 @@ public enum CommandType {
     /**
      *  alert send response
      */
-    ALERT_SEND_RESPONSE;
+    ALERT_SEND_RESPONSE,
+
+    /**
+     * get log chunk request
+     */
+    GET_LOG_CHUNK_REQUEST,
+
+    /**
+     * get log chunk response
+     */
+    GET_LOG_CHUNK_RESPONSE,
+
+    /**
+     * process instance state event request
+     */
+    STATE_EVENT_REQUEST,
+
+    /**
+     * process instance state event response
+     */
+    STATE_EVENT_RESPONSE,
+
+    /**
+     * request rejected because the executor lane of the server is saturated, it can be retried
+     */
+    SERVER_BUSY_RESPONSE;
 }
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.remote.command;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+
+import java.io.Serializable;
+
+/**
+ * server busy response command, echoes the rejected request so that the caller can retry it
+ */
+public class ServerBusyResponseCommand implements Serializable {
+
+    /**
+     * type of the rejected request
+     */
+    private CommandType requestType;
+
+    /**
+     * body of the rejected request
+     */
+    private byte[] requestBody;
+
+    public ServerBusyResponseCommand() {
+    }
+
+    public ServerBusyResponseCommand(CommandType requestType, byte[] requestBody) {
+        this.requestType = requestType;
+        this.requestBody = requestBody;
+    }
+
+    public CommandType getRequestType() {
+        return requestType;
+    }
+
+    public void setRequestType(CommandType requestType) {
+        this.requestType = requestType;
+    }
+
+    public byte[] getRequestBody() {
+        return requestBody;
+    }
+
+    public void setRequestBody(byte[] requestBody) {
+        this.requestBody = requestBody;
+    }
+
+    /**
+     * package response command
+     *
+     * @param opaque request unique identification
+     * @return command
+     */
+    public Command convert2Command(long opaque) {
+        Command command = new Command(opaque);
+        command.setType(CommandType.SERVER_BUSY_RESPONSE);
+        byte[] body = JSONUtils.toJsonByteArray(this);
+        command.setBody(body);
+        return command;
+    }
+
+    @Override
+    public String toString() {
+        return "ServerBusyResponseCommand{"
+                + "requestType=" + requestType
+                + '}';
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.remote.command;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+
+import java.io.Serializable;
+
+/**
+ *  process instance state event request command, pushed from api to the master owning the process instance
+ */
+public class StateEventRequestCommand implements Serializable {
+
+    /**
+     *  process instance id
+     */
+    private int processInstanceId;
+
+    /**
+     *  target execution status code
+     */
+    private int state;
+
+    /**
+     *  command type code which caused the state change
+     */
+    private int commandType;
+
+    public StateEventRequestCommand() {
+    }
+
+    public StateEventRequestCommand(int processInstanceId, int state, int commandType) {
+        this.processInstanceId = processInstanceId;
+        this.state = state;
+        this.commandType = commandType;
+    }
+
+    public int getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    public void setProcessInstanceId(int processInstanceId) {
+        this.processInstanceId = processInstanceId;
+    }
+
+    public int getState() {
+        return state;
+    }
+
+    public void setState(int state) {
+        this.state = state;
+    }
+
+    public int getCommandType() {
+        return commandType;
+    }
+
+    public void setCommandType(int commandType) {
+        this.commandType = commandType;
+    }
+
+    /**
+     *  package request command
+     *
+     * @return command
+     */
+    public Command convert2Command() {
+        Command command = new Command();
+        command.setType(CommandType.STATE_EVENT_REQUEST);
+        byte[] body = JSONUtils.toJsonByteArray(this);
+        command.setBody(body);
+        return command;
+    }
+
+    @Override
+    public String toString() {
+        return "StateEventRequestCommand{"
+                + "processInstanceId=" + processInstanceId
+                + ", state=" + state
+                + ", commandType=" + commandType
+                + '}';
+    }
+}
@@ -54,6 +54,31 @@ public class NettyClientConfig {
      */
     private int connectTimeoutMillis = 3000;
 
+    /**
+     * first delay before reconnecting to a host whose connect failed, doubled on every further failure
+     */
+    private int connectBackoffMillis = 1000;
+
+    /**
+     * max delay before reconnecting to a host whose connect failed
+     */
+    private int maxConnectBackoffMillis = 10000;
+
+    /**
+     * initial async requests in flight per host, raised while responses come back and halved on timeout
+     */
+    private int initialInFlightPerHost = 200;
+
+    /**
+     * min async requests in flight per host
+     */
+    private int minInFlightPerHost = 8;
+
+    /**
+     * max async requests in flight per host
+     */
+    private int maxInFlightPerHost = 1000;
+
     public int getWorkerThreads() {
         return workerThreads;
     }
@@ -101,4 +126,44 @@ public class NettyClientConfig {
     public void setConnectTimeoutMillis(int connectTimeoutMillis) {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
+
+    public int getConnectBackoffMillis() {
+        return connectBackoffMillis;
+    }
+
+    public void setConnectBackoffMillis(int connectBackoffMillis) {
+        this.connectBackoffMillis = connectBackoffMillis;
+    }
+
+    public int getMaxConnectBackoffMillis() {
+        return maxConnectBackoffMillis;
+    }
+
+    public void setMaxConnectBackoffMillis(int maxConnectBackoffMillis) {
+        this.maxConnectBackoffMillis = maxConnectBackoffMillis;
+    }
+
+    public int getInitialInFlightPerHost() {
+        return initialInFlightPerHost;
+    }
+
+    public void setInitialInFlightPerHost(int initialInFlightPerHost) {
+        this.initialInFlightPerHost = initialInFlightPerHost;
+    }
+
+    public int getMinInFlightPerHost() {
+        return minInFlightPerHost;
+    }
+
+    public void setMinInFlightPerHost(int minInFlightPerHost) {
+        this.minInFlightPerHost = minInFlightPerHost;
+    }
+
+    public int getMaxInFlightPerHost() {
+        return maxInFlightPerHost;
+    }
+
+    public void setMaxInFlightPerHost(int maxInFlightPerHost) {
+        this.maxInFlightPerHost = maxInFlightPerHost;
+    }
 }
@@ -58,6 +58,36 @@ public class NettyServerConfig {
      */
     private int listenPort = 12346;
 
+    /**
+     *  control lane threads, kill, ack, response and state event, the control lane queue has no bound
+     */
+    private int controlThreads = Constants.CPUS;
+
+    /**
+     *  dispatch lane threads, task execute and alert send
+     */
+    private int dispatchThreads = Constants.CPUS;
+
+    /**
+     *  dispatch lane queue capacity
+     */
+    private int dispatchQueueCapacity = 1000;
+
+    /**
+     *  log lane threads, log view, download and removal
+     */
+    private int logThreads = Constants.CPUS * 2 + 1;
+
+    /**
+     *  log lane queue capacity
+     */
+    private int logQueueCapacity = 200;
+
+    /**
+     *  interval in seconds to log the lane metrics, not logged when not positive
+     */
+    private int laneMetricsInterval = 60;
+
     public int getListenPort() {
         return listenPort;
     }
@@ -113,4 +143,52 @@ public class NettyServerConfig {
     public void setWorkerThread(int workerThread) {
         this.workerThread = workerThread;
     }
+
+    public int getControlThreads() {
+        return controlThreads;
+    }
+
+    public void setControlThreads(int controlThreads) {
+        this.controlThreads = controlThreads;
+    }
+
+    public int getDispatchThreads() {
+        return dispatchThreads;
+    }
+
+    public void setDispatchThreads(int dispatchThreads) {
+        this.dispatchThreads = dispatchThreads;
+    }
+
+    public int getDispatchQueueCapacity() {
+        return dispatchQueueCapacity;
+    }
+
+    public void setDispatchQueueCapacity(int dispatchQueueCapacity) {
+        this.dispatchQueueCapacity = dispatchQueueCapacity;
+    }
+
+    public int getLogThreads() {
+        return logThreads;
+    }
+
+    public void setLogThreads(int logThreads) {
+        this.logThreads = logThreads;
+    }
+
+    public int getLogQueueCapacity() {
+        return logQueueCapacity;
+    }
+
+    public void setLogQueueCapacity(int logQueueCapacity) {
+        this.logQueueCapacity = logQueueCapacity;
+    }
+
+    public int getLaneMetricsInterval() {
+        return laneMetricsInterval;
+    }
+
+    public void setLaneMetricsInterval(int laneMetricsInterval) {
+        this.laneMetricsInterval = laneMetricsInterval;
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.remote.future;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * in flight limiter of one host, the limit grows by one after a full window of responses
+ * and is halved when a request is dropped
+ */
+public class InFlightLimiter extends Semaphore {
+
+    /**
+     * min limit
+     */
+    private final int minLimit;
+
+    /**
+     * max limit
+     */
+    private final int maxLimit;
+
+    /**
+     * current limit
+     */
+    private int limit;
+
+    /**
+     * responses since the limit changed
+     */
+    private int responses;
+
+    public InFlightLimiter(int initialLimit, int minLimit, int maxLimit) {
+        super(initialLimit, true);
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * a response came back in time
+     */
+    public synchronized void onResponse() {
+        if (limit < maxLimit && ++responses >= limit) {
+            responses = 0;
+            limit++;
+            release();
+        }
+    }
+
+    /**
+     * a request timed out or could not be sent
+     */
+    public synchronized void onDrop() {
+        responses = 0;
+        int target = Math.max(minLimit, limit / 2);
+        if (target < limit) {
+            reducePermits(limit - target);
+            limit = target;
+        }
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+}
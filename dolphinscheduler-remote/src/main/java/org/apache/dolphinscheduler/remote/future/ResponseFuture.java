@@ -18,11 +18,8 @@
 package org.apache.dolphinscheduler.remote.future;
 
 import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
 
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -30,6 +27,9 @@ import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+
 /**
  * response future
  */
@@ -39,6 +39,12 @@ public class ResponseFuture {
 
     private static final ConcurrentHashMap<Long, ResponseFuture> FUTURE_TABLE = new ConcurrentHashMap<>(256);
 
+    /**
+     * expires pending futures at their deadline, accurate to one tick
+     */
+    private static final HashedWheelTimer TIMEOUT_TIMER = new HashedWheelTimer(
+            new NamedThreadFactory("ResponseFutureTimeout"), 10, TimeUnit.MILLISECONDS, 512);
+
     /**
      * request unique identification
      */
@@ -72,12 +78,18 @@ public class ResponseFuture {
 
     private Throwable cause;
 
+    /**
+     * deadline of this future in the timeout wheel
+     */
+    private final Timeout timeout;
+
     public ResponseFuture(long opaque, long timeoutMillis, InvokeCallback invokeCallback, ReleaseSemaphore releaseSemaphore) {
         this.opaque = opaque;
         this.timeoutMillis = timeoutMillis;
         this.invokeCallback = invokeCallback;
         this.releaseSemaphore = releaseSemaphore;
         FUTURE_TABLE.put(opaque, this);
+        this.timeout = TIMEOUT_TIMER.newTimeout(t -> expire(), timeoutMillis, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -99,12 +111,44 @@ public class ResponseFuture {
         this.responseCommand = responseCommand;
         this.latch.countDown();
         FUTURE_TABLE.remove(opaque);
+        this.timeout.cancel();
     }
 
     public static ResponseFuture getFuture(long opaque) {
         return FUTURE_TABLE.get(opaque);
     }
 
+    /**
+     * remove a pending future, only the caller that removes it may complete it
+     *
+     * @param opaque request unique identification
+     * @return future, null if it has been completed or expired
+     */
+    public static ResponseFuture removeFuture(long opaque) {
+        ResponseFuture future = FUTURE_TABLE.remove(opaque);
+        if (future != null) {
+            future.timeout.cancel();
+        }
+        return future;
+    }
+
+    /**
+     * expire the future if no response came back before its deadline
+     */
+    private void expire() {
+        if (!FUTURE_TABLE.remove(opaque, this)) {
+            return;
+        }
+        LOGGER.warn("remove timeout request : {}", this);
+        this.latch.countDown();
+        try {
+            release();
+            executeInvokeCallback();
+        } catch (Exception ex) {
+            LOGGER.warn("expire future, execute callback error", ex);
+        }
+    }
+
     /**
      * whether timeout
      *
@@ -173,31 +217,6 @@ public class ResponseFuture {
         }
     }
 
-    /**
-     * scan future table
-     */
-    public static void scanFutureTable() {
-        final List<ResponseFuture> futureList = new LinkedList<>();
-        Iterator<Map.Entry<Long, ResponseFuture>> it = FUTURE_TABLE.entrySet().iterator();
-        while (it.hasNext()) {
-            Map.Entry<Long, ResponseFuture> next = it.next();
-            ResponseFuture future = next.getValue();
-            if ((future.getBeginTimestamp() + future.getTimeoutMillis() + 1000) <= System.currentTimeMillis()) {
-                futureList.add(future);
-                it.remove();
-                LOGGER.warn("remove timeout request : {}", future);
-            }
-        }
-        for (ResponseFuture future : futureList) {
-            try {
-                future.release();
-                future.executeInvokeCallback();
-            } catch (Exception ex) {
-                LOGGER.warn("scanFutureTable, execute callback error", ex);
-            }
-        }
-    }
-
     @Override
     public String toString() {
         return "ResponseFuture{"
@@ -131,7 +131,7 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
      * @param command command
      */
     private void processReceived(final Channel channel, final Command command) {
-        ResponseFuture future = ResponseFuture.getFuture(command.getOpaque());
+        ResponseFuture future = ResponseFuture.removeFuture(command.getOpaque());
         if (future != null) {
             future.setResponseCommand(command);
             future.release();
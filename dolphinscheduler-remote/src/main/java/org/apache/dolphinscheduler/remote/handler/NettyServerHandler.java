@@ -20,6 +20,8 @@ package org.apache.dolphinscheduler.remote.handler;
 import org.apache.dolphinscheduler.remote.NettyRemotingServer;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.ServerBusyResponseCommand;
+import org.apache.dolphinscheduler.remote.processor.ExecutorLane;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
 import org.apache.dolphinscheduler.remote.utils.ChannelUtils;
 import org.apache.dolphinscheduler.remote.utils.Pair;
@@ -103,7 +105,7 @@ public class NettyServerHandler extends ChannelInboundHandlerAdapter {
     public void registerProcessor(final CommandType commandType, final NettyRequestProcessor processor, final ExecutorService executor) {
         ExecutorService executorRef = executor;
         if (executorRef == null) {
-            executorRef = nettyRemotingServer.getDefaultExecutor();
+            executorRef = nettyRemotingServer.getLaneExecutor(ExecutorLane.of(commandType));
         }
         this.processors.putIfAbsent(commandType, new Pair<>(processor, executorRef));
     }
@@ -134,7 +136,8 @@ public class NettyServerHandler extends ChannelInboundHandlerAdapter {
             try {
                 pair.getRight().submit(r);
             } catch (RejectedExecutionException e) {
-                logger.warn("thread pool is full, discard msg {} from {}", msg, ChannelUtils.getRemoteAddress(channel));
+                logger.warn("thread pool is full, reply busy to msg {} from {}", msg, ChannelUtils.getRemoteAddress(channel));
+                channel.writeAndFlush(new ServerBusyResponseCommand(commandType, msg.getBody()).convert2Command(msg.getOpaque()));
             }
         } else {
             logger.warn("commandType {} not support", commandType);
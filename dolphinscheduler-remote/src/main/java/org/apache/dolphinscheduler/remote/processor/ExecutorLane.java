@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.remote.processor;
+
+import org.apache.dolphinscheduler.remote.command.CommandType;
+
+/**
+ * executor lane, the server runs each group of command types on its own bounded executor,
+ * so that slow log reads can not delay task dispatch or kill
+ */
+public enum ExecutorLane {
+
+    /**
+     * kill, ack, response and state event, never rejected, queued without a bound as they are small and can not be retried by all the senders
+     */
+    CONTROL,
+
+    /**
+     * task execute and alert send, rejected with a server busy response when the lane is full
+     */
+    DISPATCH,
+
+    /**
+     * log view, download and removal, rejected with a server busy response when the lane is full
+     */
+    LOG;
+
+    /**
+     * get the lane of a command type
+     *
+     * @param commandType command type
+     * @return executor lane
+     */
+    public static ExecutorLane of(CommandType commandType) {
+        switch (commandType) {
+            case GET_LOG_BYTES_REQUEST:
+            case GET_LOG_CHUNK_REQUEST:
+            case ROLL_VIEW_LOG_REQUEST:
+            case VIEW_WHOLE_LOG_REQUEST:
+            case REMOVE_TAK_LOG_REQUEST:
+                return LOG;
+            case TASK_EXECUTE_REQUEST:
+            case ALERT_SEND_REQUEST:
+                return DISPATCH;
+            default:
+                return CONTROL;
+        }
+    }
+
+    /**
+     * whether the lane has a bounded queue and rejects new commands when it is full, instead of queueing them without a bound
+     *
+     * @return true if rejectable
+     */
+    public boolean isRejectable() {
+        return this != CONTROL;
+    }
+}
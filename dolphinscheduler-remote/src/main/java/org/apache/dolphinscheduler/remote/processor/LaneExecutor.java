@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.remote.processor;
+
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * bounded executor of one lane, records queue depth, rejections and latency
+ */
+public class LaneExecutor extends ThreadPoolExecutor {
+
+    /**
+     * executor lane
+     */
+    private final ExecutorLane lane;
+
+    /**
+     * accepted commands
+     */
+    private final LongAdder submitted = new LongAdder();
+
+    /**
+     * commands that found the lane full
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * finished commands
+     */
+    private final LongAdder processed = new LongAdder();
+
+    /**
+     * total nanos between submit and start
+     */
+    private final LongAdder queueWaitNanos = new LongAdder();
+
+    /**
+     * total nanos of processing
+     */
+    private final LongAdder processNanos = new LongAdder();
+
+    /**
+     * max nanos between submit and start
+     */
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+
+    /**
+     * lane executor
+     *
+     * @param lane executor lane
+     * @param threads thread count
+     * @param queueCapacity queue capacity, ignored by a lane that is not rejectable
+     */
+    public LaneExecutor(ExecutorLane lane, int threads, int queueCapacity) {
+        super(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                lane.isRejectable() ? new ArrayBlockingQueue<>(queueCapacity) : new LinkedBlockingQueue<>(),
+                new NamedThreadFactory("NettyServer" + lane.name() + "Executor"));
+        this.lane = lane;
+        setRejectedExecutionHandler(new LaneRejectedHandler());
+    }
+
+    /**
+     * lane executor with a queue without a bound, for a lane that is not rejectable
+     *
+     * @param lane executor lane
+     * @param threads thread count
+     */
+    public LaneExecutor(ExecutorLane lane, int threads) {
+        this(lane, threads, 0);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        super.execute(new LaneTask(command));
+        submitted.increment();
+    }
+
+    public ExecutorLane getLane() {
+        return lane;
+    }
+
+    public int getQueueDepth() {
+        return getQueue().size();
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    public long getAvgQueueWaitMillis() {
+        long count = processed.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(queueWaitNanos.sum() / count);
+    }
+
+    public long getMaxQueueWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos.get());
+    }
+
+    public long getAvgProcessMillis() {
+        long count = processed.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(processNanos.sum() / count);
+    }
+
+    @Override
+    public String toString() {
+        return "LaneExecutor{"
+                + "lane=" + lane
+                + ", active=" + getActiveCount()
+                + ", queueDepth=" + getQueueDepth()
+                + ", submitted=" + getSubmittedCount()
+                + ", rejected=" + getRejectedCount()
+                + ", processed=" + getProcessedCount()
+                + ", avgQueueWaitMillis=" + getAvgQueueWaitMillis()
+                + ", maxQueueWaitMillis=" + getMaxQueueWaitMillis()
+                + ", avgProcessMillis=" + getAvgProcessMillis()
+                + '}';
+    }
+
+    /**
+     * command wrapper that measures queue wait and processing time
+     */
+    private class LaneTask implements Runnable {
+
+        private final Runnable command;
+
+        private final long submitTime = System.nanoTime();
+
+        LaneTask(Runnable command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            long startTime = System.nanoTime();
+            long waitNanos = startTime - submitTime;
+            queueWaitNanos.add(waitNanos);
+            maxQueueWaitNanos.accumulateAndGet(waitNanos, Math::max);
+            try {
+                command.run();
+            } finally {
+                processNanos.add(System.nanoTime() - startTime);
+                processed.increment();
+            }
+        }
+    }
+
+    /**
+     * counts rejections, then throws, the netty io thread never runs the command itself
+     */
+    private class LaneRejectedHandler implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            rejected.increment();
+            throw new RejectedExecutionException(String.format("executor lane %s is %s", lane, executor.isShutdown() ? "shutdown" : "full"));
+        }
+    }
+}
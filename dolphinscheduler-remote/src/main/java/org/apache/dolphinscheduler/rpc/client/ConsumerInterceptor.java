@@ -18,11 +18,13 @@
 package org.apache.dolphinscheduler.rpc.client;
 
 import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingTooMuchRequestException;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.rpc.base.Rpc;
 import org.apache.dolphinscheduler.rpc.common.AbstractRpcCallBack;
 import org.apache.dolphinscheduler.rpc.common.RpcRequest;
 import org.apache.dolphinscheduler.rpc.common.RpcResponse;
+import org.apache.dolphinscheduler.rpc.config.MethodId;
 import org.apache.dolphinscheduler.rpc.protocol.EventType;
 import org.apache.dolphinscheduler.rpc.protocol.MessageHeader;
 import org.apache.dolphinscheduler.rpc.protocol.RpcProtocol;
@@ -30,6 +32,10 @@ import org.apache.dolphinscheduler.rpc.remote.NettyClient;
 import org.apache.dolphinscheduler.rpc.serializer.RpcSerializer;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +50,18 @@ import net.bytebuddy.implementation.bind.annotation.RuntimeType;
 public class ConsumerInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(ConsumerInterceptor.class);
+
+    /**
+     * wait before retrying a request, multiplied by the attempt
+     */
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+
+    /**
+     * deadline of a call whose method returns a CompletableFuture or CompletionStage
+     */
+    private static final long ASYNC_TIMEOUT_MILLIS = 5000;
+
+    private static final Map<Method, Integer> METHOD_IDS = new ConcurrentHashMap<>();
     private Host host;
 
     private NettyClient nettyClient = NettyClient.getInstance();
@@ -67,16 +85,67 @@ public class ConsumerInterceptor {
 
         RpcProtocol<RpcRequest> protocol = buildProtocol(request);
 
-        while (retries-- > 0) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType == CompletableFuture.class || returnType == CompletionStage.class) {
+            return invokeAsync(protocol, serviceName, retries, 1);
+        }
+
+        boolean busy = false;
+        for (int attempt = 1; attempt <= retries; attempt++) {
             RpcResponse rsp;
             rsp = nettyClient.sendMsg(host, protocol, async);
             //success
-            if (null != rsp && rsp.getStatus() == 0) {
+            if (null != rsp && rsp.getStatus() == RpcResponse.STATUS_SUCCESS) {
                 return rsp.getResult();
             }
+            busy = null != rsp && rsp.getStatus() == RpcResponse.STATUS_BUSY;
+            if (busy && attempt < retries) {
+                backoff(attempt);
+            }
+        }
+        if (busy) {
+            throw new RemotingTooMuchRequestException(String.format("%s is busy, service name %s", host, serviceName));
         }
         // execute fail
         throw new RemotingException("send msg error");
+    }
+
+    /**
+     * send without blocking the caller, a failed or busy request is resent after a backoff on the client timer
+     */
+    private CompletableFuture<Object> invokeAsync(RpcProtocol<RpcRequest> protocol, String serviceName, int retries, int attempt) {
+        return nettyClient.sendMsgAsync(host, protocol, ASYNC_TIMEOUT_MILLIS).thenCompose(rsp -> {
+            if (rsp.getStatus() == RpcResponse.STATUS_SUCCESS) {
+                return CompletableFuture.completedFuture(rsp.getResult());
+            }
+            boolean busy = rsp.getStatus() == RpcResponse.STATUS_BUSY;
+            if (attempt < retries) {
+                CompletableFuture<Object> retry = new CompletableFuture<>();
+                Runnable resend = () -> invokeAsync(protocol, serviceName, retries, attempt + 1).whenComplete((result, e) -> {
+                    if (e != null) {
+                        retry.completeExceptionally(e);
+                    } else {
+                        retry.complete(result);
+                    }
+                });
+                nettyClient.schedule(resend, RETRY_BACKOFF_MILLIS * attempt);
+                return retry;
+            }
+            CompletableFuture<Object> failed = new CompletableFuture<>();
+            failed.completeExceptionally(busy
+                    ? new RemotingTooMuchRequestException(String.format("%s is busy, service name %s", host, serviceName))
+                    : new RemotingException("send msg error"));
+            return failed;
+        });
+    }
+
+    private void backoff(int attempt) throws RemotingException {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemotingException("interrupted while waiting for a busy provider");
+        }
 
     }
 
@@ -84,7 +153,8 @@ public class ConsumerInterceptor {
         RpcRequest request = new RpcRequest();
         request.setClassName(method.getDeclaringClass().getSimpleName());
         request.setMethodName(method.getName());
-        request.setParameterTypes(method.getParameterTypes());
+        request.setMethodId(METHOD_IDS.computeIfAbsent(method,
+                m -> MethodId.of(m.getDeclaringClass().getSimpleName(), m.getName(), m.getParameterTypes())));
         request.setParameters(args);
 
         return request;
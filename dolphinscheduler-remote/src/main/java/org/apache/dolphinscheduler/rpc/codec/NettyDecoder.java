@@ -59,6 +59,11 @@ public class NettyDecoder extends ByteToMessageDecoder {
         byte serialization = byteBuf.readByte();
         long requestId = byteBuf.readLong();
         int dataLength = byteBuf.readInt();
+        // pipelined frames may arrive split across reads, wait for the whole body
+        if (byteBuf.readableBytes() < dataLength) {
+            byteBuf.resetReaderIndex();
+            return;
+        }
         byte[] data = new byte[dataLength];
 
         RpcProtocol rpcProtocol = new RpcProtocol();
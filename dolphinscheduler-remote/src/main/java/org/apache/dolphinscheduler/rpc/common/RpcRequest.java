@@ -24,6 +24,11 @@ public class RpcRequest {
 
     private String className;
     private String methodName;
+
+    /**
+     * compact id of the method signature, parameterTypes is not sent when it is set
+     */
+    private Integer methodId;
     private Class<?>[] parameterTypes;
     private Object[] parameters;
 
@@ -58,6 +63,14 @@ public class RpcRequest {
         this.methodName = methodName;
     }
 
+    public Integer getMethodId() {
+        return methodId;
+    }
+
+    public void setMethodId(Integer methodId) {
+        this.methodId = methodId;
+    }
+
     public Class<?>[] getParameterTypes() {
         return parameterTypes;
     }
@@ -22,6 +22,15 @@ package org.apache.dolphinscheduler.rpc.common;
  */
 public class RpcResponse {
 
+    public static final byte STATUS_SUCCESS = 0;
+
+    public static final byte STATUS_ERROR = -1;
+
+    /**
+     * the provider is overloaded and did not run the request, it can be retried later
+     */
+    public static final byte STATUS_BUSY = 1;
+
     private String requestId;
     private String msg;
     private Object result;
@@ -19,8 +19,9 @@ package org.apache.dolphinscheduler.rpc.common;
 
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.ThreadPoolExecutor.DiscardPolicy;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
 import java.util.concurrent.TimeUnit;
 
 public enum ThreadPoolManager {
@@ -35,10 +36,16 @@ public enum ThreadPoolManager {
     ThreadPoolManager() {
         executorService = new ThreadPoolExecutor(Runtime.getRuntime().availableProcessors() * 2, Runtime.getRuntime().availableProcessors() * 4, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
                 new ArrayBlockingQueue<>(WORK_QUEUE_SIZE),
-                new DiscardPolicy());
+                new AbortPolicy());
     }
 
+    /**
+     * add execute task
+     *
+     * @param task task
+     * @throws RejectedExecutionException if the work queue is full, the caller decides how to push back
+     */
     public void addExecuteTask(Runnable task) {
-        executorService.submit(task);
+        executorService.execute(task);
     }
 }
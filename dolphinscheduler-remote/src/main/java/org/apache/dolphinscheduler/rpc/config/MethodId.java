@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.rpc.config;
+
+/**
+ * MethodId, a compact id of a service method sent in every request instead of its parameter types,
+ * consumer and provider derive it from the same signature
+ */
+public class MethodId {
+
+    private MethodId() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * method id of a signature
+     *
+     * @param serviceName service name
+     * @param methodName method name
+     * @param parameterTypes parameter types
+     * @return method id
+     */
+    public static int of(String serviceName, String methodName, Class<?>[] parameterTypes) {
+        StringBuilder signature = new StringBuilder(serviceName).append('#').append(methodName).append('(');
+        if (parameterTypes != null) {
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (i > 0) {
+                    signature.append(',');
+                }
+                signature.append(parameterTypes[i].getName());
+            }
+        }
+        return signature.append(')').toString().hashCode();
+    }
+}
@@ -15,10 +15,13 @@
  * limitations under the License.
  */
 
+
 package org.apache.dolphinscheduler.rpc.config;
 
 import org.apache.dolphinscheduler.rpc.base.RpcService;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -30,7 +33,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * ServiceBean find all rpcService
+ * ServiceBean find all rpcService, instantiates each of them once and binds its methods by method id
  */
 public class ServiceBean {
 
@@ -38,6 +41,8 @@ public class ServiceBean {
 
     private static Map<String, Class> serviceMap = new HashMap<>();
 
+    private static Map<Integer, ServiceMethod> methodMap = new HashMap<>();
+
     private static AtomicBoolean initialized = new AtomicBoolean(false);
 
     private ServiceBean() {
@@ -54,11 +59,37 @@ public class ServiceBean {
         list.forEach(rpcClass -> {
             RpcService rpcService = rpcClass.getAnnotation(RpcService.class);
             serviceMap.put(rpcService.value(), rpcClass);
+            registerMethods(rpcService.value(), rpcClass);
             logger.info("load rpc service {}", rpcService.value());
         });
         initialized.set(true);
     }
 
+    private static void registerMethods(String serviceName, Class<?> rpcClass) {
+        Object provider;
+        try {
+            provider = rpcClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            logger.error("instantiate rpc service {} error", serviceName, e);
+            return;
+        }
+        for (Method method : rpcClass.getMethods()) {
+            if (method.getDeclaringClass() == Object.class || Modifier.isStatic(method.getModifiers()) || method.isBridge()) {
+                continue;
+            }
+            try {
+                ServiceMethod serviceMethod = new ServiceMethod(serviceName, provider, method);
+                ServiceMethod old = methodMap.putIfAbsent(serviceMethod.getMethodId(), serviceMethod);
+                if (old != null) {
+                    throw new IllegalStateException(String.format("rpc method %s#%s has the same method id as %s#%s",
+                            serviceName, method.getName(), old.getServiceName(), old.getMethodName()));
+                }
+            } catch (IllegalAccessException e) {
+                logger.error("bind rpc method {}#{} error", serviceName, method.getName(), e);
+            }
+        }
+    }
+
     public static Class getServiceClass(String className) {
         if (initialized.get()) {
             return serviceMap.get(className);
@@ -68,4 +99,17 @@ public class ServiceBean {
         return serviceMap.get(className);
     }
 
+    /**
+     * get service method by method id
+     *
+     * @param methodId method id
+     * @return service method, null if not exists
+     */
+    public static ServiceMethod getServiceMethod(int methodId) {
+        if (!initialized.get()) {
+            init();
+        }
+        return methodMap.get(methodId);
+    }
+
 }
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.rpc.config;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * ServiceMethod, a method of the singleton provider bound to a method handle
+ */
+public class ServiceMethod {
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final String serviceName;
+
+    private final String methodName;
+
+    private final int methodId;
+
+    /**
+     * (Object[])Object handle bound to the provider instance
+     */
+    private final MethodHandle invoker;
+
+    ServiceMethod(String serviceName, Object provider, Method method) throws IllegalAccessException {
+        this.serviceName = serviceName;
+        this.methodName = method.getName();
+        this.methodId = MethodId.of(serviceName, method.getName(), method.getParameterTypes());
+        method.setAccessible(true);
+        this.invoker = MethodHandles.lookup().unreflect(method)
+                .bindTo(provider)
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+    }
+
+    /**
+     * invoke the provider
+     *
+     * @param arguments arguments, null if the method has none
+     * @return result
+     * @throws Throwable exception thrown by the provider
+     */
+    public Object invoke(Object[] arguments) throws Throwable {
+        return (Object) invoker.invokeExact(arguments == null ? NO_ARGUMENTS : arguments);
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public int getMethodId() {
+        return methodId;
+    }
+}
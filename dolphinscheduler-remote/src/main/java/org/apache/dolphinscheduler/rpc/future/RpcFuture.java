@@ -20,18 +20,18 @@ package org.apache.dolphinscheduler.rpc.future;
 import org.apache.dolphinscheduler.rpc.common.RpcRequest;
 import org.apache.dolphinscheduler.rpc.common.RpcResponse;
 
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * RpcFuture
  */
 public class RpcFuture implements Future<Object> {
 
-    private CountDownLatch latch = new CountDownLatch(1);
-
-    private RpcResponse response;
+    private final CompletableFuture<RpcResponse> future = new CompletableFuture<>();
 
     private RpcRequest request;
 
@@ -54,34 +54,46 @@ public class RpcFuture implements Future<Object> {
 
     @Override
     public boolean isDone() {
-        return false;
+        return future.isDone();
     }
 
     @Override
     public RpcResponse get() throws InterruptedException {
         // the timeout period should be defined by the business party
-        boolean success = latch.await(5, TimeUnit.SECONDS);
-        if (!success) {
-            throw new RuntimeException("Timeout exception. Request id: " + this.requestId
-                    + ". Request class name: " + this.request.getClassName()
-                    + ". Request method: " + this.request.getMethodName());
-        }
-        return response;
+        return get(5, TimeUnit.SECONDS);
     }
 
     @Override
     public RpcResponse get(long timeout, TimeUnit unit) throws InterruptedException {
-        boolean success = latch.await(timeout, unit);
-        if (!success) {
-            throw new RuntimeException("Timeout exception. Request id: " + requestId
-                    + ". Request class name: " + this.request.getClassName()
-                    + ". Request method: " + this.request.getMethodName());
+        try {
+            return future.get(timeout, unit);
+        } catch (TimeoutException e) {
+            throw new RuntimeException(timeoutMessage());
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
         }
-        return response;
     }
 
     public void done(RpcResponse response) {
-        this.response = response;
-        latch.countDown();
+        future.complete(response);
+    }
+
+    public void fail(Throwable cause) {
+        future.completeExceptionally(cause);
+    }
+
+    /**
+     * the response as a completable future, for callers that must not block
+     *
+     * @return completable future
+     */
+    public CompletableFuture<RpcResponse> toCompletableFuture() {
+        return future;
+    }
+
+    public String timeoutMessage() {
+        return "Timeout exception. Request id: " + this.requestId
+                + ". Request class name: " + this.request.getClassName()
+                + ". Request method: " + this.request.getMethodName();
     }
 }
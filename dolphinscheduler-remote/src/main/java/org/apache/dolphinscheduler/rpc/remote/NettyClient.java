@@ -18,8 +18,10 @@
 package org.apache.dolphinscheduler.rpc.remote;
 
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.utils.Constants;
 import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
 import org.apache.dolphinscheduler.remote.utils.NettyUtils;
 import org.apache.dolphinscheduler.rpc.client.RpcRequestCache;
 import org.apache.dolphinscheduler.rpc.client.RpcRequestTable;
@@ -31,11 +33,14 @@ import org.apache.dolphinscheduler.rpc.future.RpcFuture;
 import org.apache.dolphinscheduler.rpc.protocol.RpcProtocol;
 
 import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,9 +54,12 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
 
 /**
  * NettyClient
@@ -69,6 +77,16 @@ public class NettyClient {
 
     private final Logger logger = LoggerFactory.getLogger(NettyClient.class);
 
+    /**
+     * channels per host, calls are spread over them by request id
+     */
+    private static final int CHANNELS_PER_HOST = 2;
+
+    /**
+     * flushes consolidated into one, requests written by the event loop in the same run share a flush
+     */
+    private static final int EXPLICIT_FLUSH_AFTER_FLUSHES = 64;
+
     /**
      * worker group
      */
@@ -93,17 +111,35 @@ public class NettyClient {
     /**
      * channels
      */
-    private final ConcurrentHashMap<Host, Channel> channels = new ConcurrentHashMap(128);
+    private final ConcurrentHashMap<Host, AtomicReferenceArray<Channel>> channels = new ConcurrentHashMap<>(128);
+
+    /**
+     * request deadlines of non blocking calls
+     */
+    private final HashedWheelTimer timer = new HashedWheelTimer(new NamedThreadFactory("RpcClientTimer"), 10, TimeUnit.MILLISECONDS);
 
     /**
      * get channel
+     *
+     * @param host host
+     * @param requestId request id, picks one of the channels of the host
      */
-    private Channel getChannel(Host host) {
-        Channel channel = channels.get(host);
+    private Channel getChannel(Host host, long requestId) {
+        AtomicReferenceArray<Channel> hostChannels = channels.computeIfAbsent(host, h -> new AtomicReferenceArray<>(CHANNELS_PER_HOST));
+        int slot = (int) (requestId % CHANNELS_PER_HOST);
+        Channel channel = hostChannels.get(slot);
         if (channel != null && channel.isActive()) {
             return channel;
         }
-        return createChannel(host, true);
+        Channel created = createChannel(host, true);
+        if (created == null) {
+            return null;
+        }
+        if (hostChannels.compareAndSet(slot, channel, created)) {
+            return created;
+        }
+        created.close();
+        return hostChannels.get(slot);
     }
 
     /**
@@ -116,16 +152,12 @@ public class NettyClient {
     public Channel createChannel(Host host, boolean isSync) {
         ChannelFuture future;
         try {
-            synchronized (bootstrap) {
-                future = bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
-            }
+            future = bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
             if (isSync) {
                 future.sync();
             }
             if (future.isSuccess()) {
-                Channel channel = future.channel();
-                channels.put(host, channel);
-                return channel;
+                return future.channel();
             }
         } catch (Exception ex) {
             logger.warn(String.format("connect to %s error", host), ex);
@@ -181,6 +213,7 @@ public class NettyClient {
                     @Override
                     public void initChannel(SocketChannel ch) {
                         ch.pipeline()
+                                .addLast(new FlushConsolidationHandler(EXPLICIT_FLUSH_AFTER_FLUSHES, true))
                                 .addLast(new NettyEncoder())
                                 .addLast(new NettyDecoder(RpcResponse.class))
                                 .addLast("client-idle-handler", new IdleStateHandler(Constants.NETTY_CLIENT_HEART_BEAT_TIME, 0, 0, TimeUnit.MILLISECONDS))
@@ -193,8 +226,11 @@ public class NettyClient {
 
     public RpcResponse sendMsg(Host host, RpcProtocol<RpcRequest> protocol, Boolean async) {
 
-        Channel channel = getChannel(host);
-        assert channel != null;
+        Channel channel = getChannel(host, protocol.getMsgHeader().getRequestId());
+        if (channel == null) {
+            logger.warn("send msg error, can not connect to {}", host);
+            return null;
+        }
         RpcRequest request = protocol.getBody();
         RpcRequestCache rpcRequestCache = new RpcRequestCache();
         String serviceName = request.getClassName() + request.getMethodName();
@@ -224,6 +260,54 @@ public class NettyClient {
         return result;
     }
 
+    /**
+     * send msg without blocking, the future completes with the response,
+     * or exceptionally when the request can not be sent or times out
+     *
+     * @param host host
+     * @param protocol protocol
+     * @param timeoutMillis timeout millis
+     * @return response future
+     */
+    public CompletableFuture<RpcResponse> sendMsgAsync(Host host, RpcProtocol<RpcRequest> protocol, long timeoutMillis) {
+        RpcRequest request = protocol.getBody();
+        long reqId = protocol.getMsgHeader().getRequestId();
+        RpcFuture future = new RpcFuture(request, reqId);
+        Channel channel = getChannel(host, reqId);
+        if (channel == null) {
+            future.fail(new RemotingException(String.format("connect to : %s fail", host)));
+            return future.toCompletableFuture();
+        }
+        RpcRequestCache rpcRequestCache = new RpcRequestCache();
+        rpcRequestCache.setServiceName(request.getClassName() + request.getMethodName());
+        rpcRequestCache.setRpcFuture(future);
+        RpcRequestTable.put(reqId, rpcRequestCache);
+
+        Timeout timeout = timer.newTimeout(t -> {
+            RpcRequestTable.remove(reqId);
+            future.fail(new TimeoutException(future.timeoutMessage()));
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        future.toCompletableFuture().whenComplete((rsp, e) -> timeout.cancel());
+
+        channel.writeAndFlush(protocol).addListener(f -> {
+            if (!f.isSuccess()) {
+                RpcRequestTable.remove(reqId);
+                future.fail(new RemotingException(String.format("send msg to %s fail", host), f.cause()));
+            }
+        });
+        return future.toCompletableFuture();
+    }
+
+    /**
+     * run a task after a delay on the client timer
+     *
+     * @param task task
+     * @param delayMillis delay millis
+     */
+    public void schedule(Runnable task, long delayMillis) {
+        timer.newTimeout(t -> task.run(), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
     /**
      * close
      */
@@ -231,6 +315,7 @@ public class NettyClient {
         if (isStarted.compareAndSet(true, false)) {
             try {
                 closeChannels();
+                timer.stop();
                 if (workerGroup != null) {
                     this.workerGroup.shutdownGracefully();
                 }
@@ -245,8 +330,13 @@ public class NettyClient {
      * close channels
      */
     private void closeChannels() {
-        for (Channel channel : this.channels.values()) {
-            channel.close();
+        for (AtomicReferenceArray<Channel> hostChannels : this.channels.values()) {
+            for (int i = 0; i < hostChannels.length(); i++) {
+                Channel channel = hostChannels.get(i);
+                if (channel != null) {
+                    channel.close();
+                }
+            }
         }
         this.channels.clear();
     }
@@ -29,6 +29,7 @@ import org.apache.dolphinscheduler.rpc.protocol.MessageHeader;
 import org.apache.dolphinscheduler.rpc.protocol.RpcProtocol;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,24 +67,29 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
             logger.warn("rpc read error,this request does not exist");
             return;
         }
-        threadPoolManager.addExecuteTask(() -> readHandler(rsp, rpcRequest, reqId));
+        try {
+            threadPoolManager.addExecuteTask(() -> readHandler(rsp, rpcRequest, reqId));
+        } catch (RejectedExecutionException e) {
+            // never drop a response, the waiting caller would only see a timeout
+            readHandler(rsp, rpcRequest, reqId);
+        }
     }
 
     private void readHandler(RpcResponse rsp, RpcRequestCache rpcRequest, long reqId) {
         String serviceName = rpcRequest.getServiceName();
-        ConsumerConfig consumerConfig = ConsumerConfigCache.getConfigByServersName(serviceName);
-        if (Boolean.FALSE.equals(consumerConfig.getAsync())) {
-            RpcFuture future = rpcRequest.getRpcFuture();
-            RpcRequestTable.remove(reqId);
+        RpcFuture future = rpcRequest.getRpcFuture();
+        RpcRequestTable.remove(reqId);
+        if (future != null) {
             future.done(rsp);
             return;
         }
+        ConsumerConfig consumerConfig = ConsumerConfigCache.getConfigByServersName(serviceName);
 
         if (Boolean.FALSE.equals(consumerConfig.getCallBack())) {
             return;
         }
 
-        if (rsp.getStatus() == 0) {
+        if (rsp.getStatus() == RpcResponse.STATUS_SUCCESS) {
 
             try {
                 consumerConfig.getServiceCallBackClass().getDeclaredConstructor().newInstance().run(rsp.getResult());
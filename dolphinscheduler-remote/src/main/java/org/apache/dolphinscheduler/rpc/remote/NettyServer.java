@@ -40,6 +40,7 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.timeout.IdleStateHandler;
@@ -51,6 +52,11 @@ public class NettyServer {
 
     private static final Logger logger = LoggerFactory.getLogger(NettyServer.class);
 
+    /**
+     * responses written by the event loop in the same run share a flush
+     */
+    private static final int EXPLICIT_FLUSH_AFTER_FLUSHES = 64;
+
     /**
      * boss group
      */
@@ -170,6 +176,7 @@ public class NettyServer {
      */
     private void initNettyChannel(SocketChannel ch) {
         ch.pipeline()
+                .addLast(new FlushConsolidationHandler(EXPLICIT_FLUSH_AFTER_FLUSHES, true))
                 .addLast(new NettyDecoder(RpcRequest.class))
                 .addLast(new NettyEncoder())
                 .addLast("server-idle-handle", new IdleStateHandler(0, 0, Constants.NETTY_SERVER_HEART_BEAT_TIME, TimeUnit.MILLISECONDS))
@@ -20,11 +20,14 @@ package org.apache.dolphinscheduler.rpc.remote;
 import org.apache.dolphinscheduler.rpc.common.RpcRequest;
 import org.apache.dolphinscheduler.rpc.common.RpcResponse;
 import org.apache.dolphinscheduler.rpc.common.ThreadPoolManager;
+import org.apache.dolphinscheduler.rpc.config.MethodId;
 import org.apache.dolphinscheduler.rpc.config.ServiceBean;
+import org.apache.dolphinscheduler.rpc.config.ServiceMethod;
 import org.apache.dolphinscheduler.rpc.protocol.EventType;
 import org.apache.dolphinscheduler.rpc.protocol.RpcProtocol;
 
-import java.lang.reflect.Method;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,37 +64,71 @@ public class NettyServerHandler extends ChannelInboundHandlerAdapter {
             logger.info("heart beat");
             return;
         }
-        threadPoolManager.addExecuteTask(() -> readHandler(ctx, rpcProtocol));
+        try {
+            threadPoolManager.addExecuteTask(() -> readHandler(ctx, rpcProtocol));
+        } catch (RejectedExecutionException e) {
+            RpcRequest req = rpcProtocol.getBody();
+            logger.warn("rpc server is busy, reject service name :{} method name :{}", req.getClassName(), req.getMethodName());
+            RpcResponse response = new RpcResponse();
+            response.setStatus(RpcResponse.STATUS_BUSY);
+            response.setMsg("server busy");
+            writeResponse(ctx, rpcProtocol, response);
+        }
     }
 
     private void readHandler(ChannelHandlerContext ctx, RpcProtocol protocol) {
         RpcRequest req = (RpcRequest) protocol.getBody();
         RpcResponse response = new RpcResponse();
 
-        response.setStatus((byte) 0);
+        response.setStatus(RpcResponse.STATUS_SUCCESS);
 
         String classname = req.getClassName();
 
         String methodName = req.getMethodName();
 
-        Class<?>[] parameterTypes = req.getParameterTypes();
-
-        Object[] arguments = req.getParameters();
         Object result = null;
         try {
-            Class serviceClass = ServiceBean.getServiceClass(classname);
+            ServiceMethod serviceMethod = getServiceMethod(req);
+            result = serviceMethod.invoke(req.getParameters());
+        } catch (Throwable e) {
+            logger.error("netty server execute error,service name :{} method name :{} ", classname + methodName, e);
+            response.setStatus(RpcResponse.STATUS_ERROR);
+        }
 
-            Object object = serviceClass.newInstance();
+        // an asynchronous provider answers once its stage completes, without holding a pool thread
+        if (result instanceof CompletionStage) {
+            ((CompletionStage<?>) result).whenComplete((value, e) -> {
+                if (e != null) {
+                    logger.error("netty server execute error,service name :{} method name :{} ", classname + methodName, e);
+                    response.setStatus(RpcResponse.STATUS_ERROR);
+                }
+                response.setResult(value);
+                writeResponse(ctx, protocol, response);
+            });
+            return;
+        }
 
-            Method method = serviceClass.getMethod(methodName, parameterTypes);
+        response.setResult(result);
+        writeResponse(ctx, protocol, response);
+    }
 
-            result = method.invoke(object, arguments);
-        } catch (Exception e) {
-            logger.error("netty server execute error,service name :{} method name :{} ", classname + methodName, e);
-            response.setStatus((byte) -1);
+    /**
+     * find the bound method by the method id of the request,
+     * requests without method id are resolved from their signature
+     */
+    private ServiceMethod getServiceMethod(RpcRequest req) throws NoSuchMethodException {
+        int methodId = req.getMethodId() != null ? req.getMethodId()
+                : MethodId.of(req.getClassName(), req.getMethodName(), req.getParameterTypes());
+        ServiceMethod serviceMethod = ServiceBean.getServiceMethod(methodId);
+        if (serviceMethod == null
+                || !serviceMethod.getServiceName().equals(req.getClassName())
+                || !serviceMethod.getMethodName().equals(req.getMethodName())) {
+            throw new NoSuchMethodException(String.format("rpc method %s#%s not found", req.getClassName(), req.getMethodName()));
         }
+        return serviceMethod;
+    }
 
-        response.setResult(result);
+    private void writeResponse(ChannelHandlerContext ctx, RpcProtocol protocol, RpcResponse response) {
         protocol.setBody(response);
         protocol.getMsgHeader().setEventType(EventType.RESPONSE.getType());
         ctx.writeAndFlush(protocol);
@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.remote.command.Ping;
 import org.apache.dolphinscheduler.remote.command.Pong;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
 import org.apache.dolphinscheduler.remote.config.NettyServerConfig;
+import org.apache.dolphinscheduler.remote.future.InFlightLimiter;
 import org.apache.dolphinscheduler.remote.future.InvokeCallback;
 import org.apache.dolphinscheduler.remote.future.ResponseFuture;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
@@ -109,4 +110,38 @@ public class NettyRemotingClientTest {
         server.close();
         client.close();
     }
+
+    /**
+     *  test connect backoff of an unreachable host
+     */
+    @Test
+    public void testConnectBackoff() {
+        final NettyClientConfig clientConfig = new NettyClientConfig();
+        clientConfig.setConnectBackoffMillis(60000);
+        NettyRemotingClient client = new NettyRemotingClient(clientConfig);
+        Host host = new Host("127.0.0.1", 1);
+        Assert.assertNull(client.getChannel(host));
+        long start = System.currentTimeMillis();
+        Assert.assertNull(client.getChannel(new Host("127.0.0.1", 1)));
+        Assert.assertTrue(System.currentTimeMillis() - start < 1000);
+        client.close();
+    }
+
+    /**
+     *  test in flight limiter
+     */
+    @Test
+    public void testInFlightLimiter() {
+        InFlightLimiter limiter = new InFlightLimiter(4, 2, 5);
+        for (int i = 0; i < 4; i++) {
+            limiter.onResponse();
+        }
+        Assert.assertEquals(5, limiter.getLimit());
+        Assert.assertEquals(5, limiter.availablePermits());
+        limiter.onDrop();
+        Assert.assertEquals(2, limiter.getLimit());
+        Assert.assertEquals(2, limiter.availablePermits());
+        limiter.onDrop();
+        Assert.assertEquals(2, limiter.getLimit());
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.remote;
+
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
+import org.apache.dolphinscheduler.remote.config.NettyServerConfig;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingTooMuchRequestException;
+import org.apache.dolphinscheduler.remote.processor.ExecutorLane;
+import org.apache.dolphinscheduler.remote.processor.LaneExecutor;
+import org.apache.dolphinscheduler.remote.utils.Host;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *  netty remote server test
+ */
+public class NettyRemotingServerTest {
+
+    @Test
+    public void testExecutorLane() {
+        Assert.assertEquals(ExecutorLane.LOG, ExecutorLane.of(CommandType.GET_LOG_CHUNK_REQUEST));
+        Assert.assertEquals(ExecutorLane.DISPATCH, ExecutorLane.of(CommandType.TASK_EXECUTE_REQUEST));
+        Assert.assertEquals(ExecutorLane.CONTROL, ExecutorLane.of(CommandType.TASK_KILL_REQUEST));
+        Assert.assertFalse(ExecutorLane.CONTROL.isRejectable());
+    }
+
+    @Test
+    public void testControlLaneQueues() throws InterruptedException {
+        LaneExecutor executor = new LaneExecutor(ExecutorLane.CONTROL, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        // the control lane queues instead of running the command on the caller, the netty io thread
+        AtomicReference<Thread> runner = new AtomicReference<>();
+        executor.execute(() -> { });
+        executor.execute(() -> runner.set(Thread.currentThread()));
+        Assert.assertNull(runner.get());
+        Assert.assertEquals(0, executor.getRejectedCount());
+        Assert.assertEquals(2, executor.getQueueDepth());
+        release.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assert.assertEquals(3, executor.getProcessedCount());
+        Assert.assertNotSame(Thread.currentThread(), runner.get());
+    }
+
+    @Test
+    public void testServerBusy() throws Exception {
+        NettyServerConfig serverConfig = new NettyServerConfig();
+        serverConfig.setListenPort(12347);
+        serverConfig.setLogThreads(1);
+        serverConfig.setLogQueueCapacity(1);
+        NettyRemotingServer server = new NettyRemotingServer(serverConfig);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        server.registerProcessor(CommandType.VIEW_WHOLE_LOG_REQUEST, (channel, command) -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        server.start();
+        NettyRemotingClient client = new NettyRemotingClient(new NettyClientConfig());
+        Host host = new Host("127.0.0.1", serverConfig.getListenPort());
+        try {
+            client.send(host, viewLogCommand());
+            Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+            client.send(host, viewLogCommand());
+            try {
+                client.sendSync(host, viewLogCommand(), 5000);
+                Assert.fail("expect the log lane to be saturated");
+            } catch (RemotingTooMuchRequestException e) {
+                LaneExecutor executor = server.getLaneExecutor(ExecutorLane.LOG);
+                Assert.assertEquals(1, executor.getRejectedCount());
+                Assert.assertEquals(1, executor.getQueueDepth());
+            }
+        } finally {
+            release.countDown();
+            server.close();
+            client.close();
+        }
+    }
+
+    private Command viewLogCommand() {
+        Command command = new Command();
+        command.setType(CommandType.VIEW_WHOLE_LOG_REQUEST);
+        command.setBody(new byte[0]);
+        return command;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -17,13 +17,9 @@
 
 package org.apache.dolphinscheduler.remote.command.future;
 
-import org.apache.dolphinscheduler.remote.future.InvokeCallback;
 import org.apache.dolphinscheduler.remote.future.ResponseFuture;
-import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
 
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Assert;
@@ -32,29 +28,21 @@ import org.junit.Test;
 public class ResponseFutureTest {
 
     @Test
-    public void testScanFutureTable() {
-        ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("executor-service"));
-        executorService.scheduleAtFixedRate(new Runnable() {
-            @Override
-            public void run() {
-                ResponseFuture.scanFutureTable();
-            }
-        }, 3000, 1000, TimeUnit.MILLISECONDS);
+    public void testExpireOnDeadline() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        new ResponseFuture(2, 200, responseFuture -> latch.countDown(), null);
+        Assert.assertTrue(latch.await(1000, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(System.currentTimeMillis() - start >= 200);
+        Assert.assertNull(ResponseFuture.getFuture(2));
+    }
 
+    @Test
+    public void testRemoveFuture() throws InterruptedException {
         CountDownLatch latch = new CountDownLatch(1);
-        InvokeCallback invokeCallback = new InvokeCallback() {
-            @Override
-            public void operationComplete(ResponseFuture responseFuture) {
-                latch.countDown();
-            }
-        };
-        ResponseFuture future = new ResponseFuture(1, 2000, invokeCallback, null);
-        try {
-            latch.await(5000, TimeUnit.MILLISECONDS);
-            Assert.assertNull(ResponseFuture.getFuture(1));
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-        executorService.shutdownNow();
+        new ResponseFuture(3, 100, responseFuture -> latch.countDown(), null);
+        Assert.assertNotNull(ResponseFuture.removeFuture(3));
+        Assert.assertNull(ResponseFuture.removeFuture(3));
+        Assert.assertFalse(latch.await(300, TimeUnit.MILLISECONDS));
     }
 }
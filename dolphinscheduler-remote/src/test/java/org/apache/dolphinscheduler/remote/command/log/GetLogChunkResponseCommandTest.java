@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.remote.command.log;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GetLogChunkResponseCommandTest {
+
+    @Test
+    public void testConvert2Command() {
+        byte[] data = "chunk".getBytes(StandardCharsets.UTF_8);
+        GetLogChunkResponseCommand getLogChunkResponseCommand = new GetLogChunkResponseCommand(data, 1029L, true);
+        Command command = getLogChunkResponseCommand.convert2Command(122);
+        Assert.assertEquals(CommandType.GET_LOG_CHUNK_RESPONSE, command.getType());
+        Assert.assertEquals(122, command.getOpaque());
+
+        GetLogChunkResponseCommand parsed = JSONUtils.parseObject(command.getBody(), GetLogChunkResponseCommand.class);
+        Assert.assertArrayEquals(data, parsed.getData());
+        Assert.assertEquals(1029L, parsed.getNextOffset());
+        Assert.assertTrue(parsed.isEnd());
+    }
+}
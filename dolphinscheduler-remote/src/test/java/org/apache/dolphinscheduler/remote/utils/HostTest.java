@@ -34,4 +34,11 @@ public class HostTest {
         Assert.assertEquals(8888, host.getPort());
     }
 
+    @Test
+    public void testEquals() {
+        Assert.assertEquals(Host.of("127.0.0.1:8888"), new Host("127.0.0.1", 8888));
+        Assert.assertEquals(Host.of("127.0.0.1:8888").hashCode(), new Host("127.0.0.1", 8888).hashCode());
+        Assert.assertNotEquals(Host.of("127.0.0.1:8888"), new Host("127.0.0.1", 8889));
+    }
+
 }
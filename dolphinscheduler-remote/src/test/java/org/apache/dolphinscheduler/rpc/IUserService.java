@@ -19,6 +19,9 @@ package org.apache.dolphinscheduler.rpc;
 
 import org.apache.dolphinscheduler.rpc.base.Rpc;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 /**
  * IUserService
  */
@@ -31,4 +34,12 @@ public interface IUserService {
 
     @Rpc(async = true)
     Boolean callBackIsFalse(String s);
+
+    CompletableFuture<Integer> hiAsync(int num);
+
+    CompletionStage<Integer> hiStage(int num);
+
+    CompletableFuture<Integer> hiAfterFailures(int failures);
+
+    Object hiObject(int num);
 }
@@ -24,7 +24,12 @@ import org.apache.dolphinscheduler.rpc.client.RpcClient;
 import org.apache.dolphinscheduler.rpc.remote.NettyClient;
 import org.apache.dolphinscheduler.rpc.remote.NettyServer;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import org.junit.After;
+import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -55,10 +60,41 @@ public class RpcTest {
         userService.hi(999999);
     }
 
+    @Test
+    public void sendAsyncTest() {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(userService.hiAsync(i));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        for (int i = 0; i < futures.size(); i++) {
+            Assert.assertEquals(i + 1, futures.get(i).join().intValue());
+        }
+    }
+
+    @Test
+    public void sendStageTest() {
+        Assert.assertEquals(4, userService.hiStage(3).toCompletableFuture().join().intValue());
+        // only a future return type is sent asynchronously, an Object is the result itself
+        Assert.assertEquals(4, userService.hiObject(3));
+    }
+
+    @Test
+    public void sendAsyncRetryTest() {
+        long start = System.currentTimeMillis();
+        // the third of the three attempts succeeds, after a backoff of 100 and 200 ms
+        Assert.assertEquals(3, userService.hiAfterFailures(2).join().intValue());
+        Assert.assertTrue(System.currentTimeMillis() - start >= 300);
+    }
+
     @After
     public void after() {
-        NettyClient.getInstance().close();
         nettyServer.close();
     }
 
+    @AfterClass
+    public static void afterClass() {
+        NettyClient.getInstance().close();
+    }
+
 }
@@ -19,6 +19,10 @@ package org.apache.dolphinscheduler.rpc;
 
 import org.apache.dolphinscheduler.rpc.base.RpcService;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,6 +34,8 @@ public class UserService implements IUserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
+    private final AtomicInteger calls = new AtomicInteger();
+
     @Override
     public Boolean say(String s) {
 
@@ -49,4 +55,31 @@ public class UserService implements IUserService {
         logger.info("Kris UserService callBackIsFalse-------------------------------async call msg{}", s);
         return null;
     }
+
+    @Override
+    public CompletableFuture<Integer> hiAsync(int num) {
+        return CompletableFuture.supplyAsync(() -> num + 1);
+    }
+
+    @Override
+    public CompletionStage<Integer> hiStage(int num) {
+        return CompletableFuture.supplyAsync(() -> num + 1);
+    }
+
+    @Override
+    public CompletableFuture<Integer> hiAfterFailures(int failures) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        int call = calls.incrementAndGet();
+        if (call <= failures) {
+            future.completeExceptionally(new IllegalStateException("failed call " + call));
+        } else {
+            future.complete(call);
+        }
+        return future;
+    }
+
+    @Override
+    public Object hiObject(int num) {
+        return num + 1;
+    }
 }
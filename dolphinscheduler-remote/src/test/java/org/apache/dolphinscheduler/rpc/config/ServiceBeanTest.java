@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.rpc.config;
+
+import org.apache.dolphinscheduler.rpc.IUserService;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ServiceBeanTest {
+
+    @Test
+    public void testServiceMethod() throws Throwable {
+        int methodId = MethodId.of("IUserService", "hi", new Class<?>[] {int.class});
+        Assert.assertEquals(methodId, MethodId.of(IUserService.class.getSimpleName(), "hi",
+                IUserService.class.getMethod("hi", int.class).getParameterTypes()));
+
+        ServiceMethod serviceMethod = ServiceBean.getServiceMethod(methodId);
+        Assert.assertNotNull(serviceMethod);
+        Assert.assertEquals("hi", serviceMethod.getMethodName());
+        Assert.assertEquals(2, serviceMethod.invoke(new Object[] {1}));
+        Assert.assertSame(serviceMethod, ServiceBean.getServiceMethod(methodId));
+
+        Assert.assertNull(ServiceBean.getServiceMethod(MethodId.of("IUserService", "hi", new Class<?>[] {long.class})));
+    }
+}
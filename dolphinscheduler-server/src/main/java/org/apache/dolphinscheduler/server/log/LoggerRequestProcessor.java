@@ -23,6 +23,8 @@ import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkRequestCommand;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.RollViewLogRequestCommand;
@@ -30,19 +32,17 @@ import org.apache.dolphinscheduler.remote.command.log.RollViewLogResponseCommand
 import org.apache.dolphinscheduler.remote.command.log.ViewLogRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.ViewLogResponseCommand;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
-import org.apache.dolphinscheduler.remote.utils.Constants;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -58,11 +58,10 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
 
     private final Logger logger = LoggerFactory.getLogger(LoggerRequestProcessor.class);
 
-    private final ExecutorService executor;
-
-    public LoggerRequestProcessor() {
-        this.executor = Executors.newFixedThreadPool(Constants.CPUS * 2 + 1);
-    }
+    /**
+     * upper bound of a single log chunk, whatever the client asks for
+     */
+    private static final int MAX_LOG_CHUNK_SIZE = 4 * 1024 * 1024;
 
     @Override
     public void process(Channel channel, Command command) {
@@ -80,6 +79,13 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
                 GetLogBytesResponseCommand getLogResponse = new GetLogBytesResponseCommand(bytes);
                 channel.writeAndFlush(getLogResponse.convert2Command(command.getOpaque()));
                 break;
+            case GET_LOG_CHUNK_REQUEST:
+                GetLogChunkRequestCommand getLogChunkRequest = JSONUtils.parseObject(
+                        command.getBody(), GetLogChunkRequestCommand.class);
+                GetLogChunkResponseCommand getLogChunkResponse = readFileChunk(getLogChunkRequest.getPath(),
+                        getLogChunkRequest.getOffset(), getLogChunkRequest.getLimit());
+                channel.writeAndFlush(getLogChunkResponse.convert2Command(command.getOpaque()));
+                break;
             case VIEW_WHOLE_LOG_REQUEST:
                 ViewLogRequestCommand viewLogRequest = JSONUtils.parseObject(
                         command.getBody(), ViewLogRequestCommand.class);
@@ -123,10 +129,6 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
         }
     }
 
-    public ExecutorService getExecutor() {
-        return this.executor;
-    }
-
     /**
      * get files content bytes，for down load file
      *
@@ -149,6 +151,39 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
         return new byte[0];
     }
 
+    /**
+     * read one chunk of the file, the caller asks for the next chunk with the returned offset
+     *
+     * @param filePath file path
+     * @param offset byte offset to start reading from
+     * @param limit max bytes to read
+     * @return chunk response, marked as end when the current end of file is reached, carrying the error when the read fails
+     */
+    private GetLogChunkResponseCommand readFileChunk(String filePath, long offset, int limit) {
+        File file = new File(filePath);
+        if (!file.exists() || !file.isFile()) {
+            logger.info("file path: {} not exists", filePath);
+            return new GetLogChunkResponseCommand(new byte[0], offset, true);
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            long length = raf.length();
+            if (offset >= length) {
+                return new GetLogChunkResponseCommand(new byte[0], offset, true);
+            }
+            int size = (int) Math.min(length - offset, Math.min(Math.max(limit, 1), MAX_LOG_CHUNK_SIZE));
+            byte[] buf = new byte[size];
+            raf.seek(offset);
+            raf.readFully(buf);
+            long nextOffset = offset + size;
+            return new GetLogChunkResponseCommand(buf, nextOffset, nextOffset >= length);
+        } catch (IOException e) {
+            logger.error("read file chunk error", e);
+            GetLogChunkResponseCommand errorResponse = new GetLogChunkResponseCommand(new byte[0], offset, false);
+            errorResponse.setError(String.format("read %s at offset %d error: %s", filePath, offset, e.getMessage()));
+            return errorResponse;
+        }
+    }
+
     /**
      * read part file content，can skip any line and read some lines
      *
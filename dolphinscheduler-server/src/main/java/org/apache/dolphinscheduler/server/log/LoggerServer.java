@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.log;
 
 
 import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.remote.NettyRemotingServer;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.config.NettyServerConfig;
@@ -50,12 +51,18 @@ public class LoggerServer {
     public LoggerServer(){
         this.serverConfig = new NettyServerConfig();
         this.serverConfig.setListenPort(Constants.RPC_PORT);
+        int logThreads = PropertyUtils.getInt(Constants.LOGGER_SERVER_LOG_THREADS, -1);
+        if (logThreads > 0) {
+            this.serverConfig.setLogThreads(logThreads);
+        }
+        this.serverConfig.setLogQueueCapacity(PropertyUtils.getInt(Constants.LOGGER_SERVER_LOG_QUEUE_CAPACITY, serverConfig.getLogQueueCapacity()));
         this.server = new NettyRemotingServer(serverConfig);
         this.requestProcessor = new LoggerRequestProcessor();
-        this.server.registerProcessor(CommandType.GET_LOG_BYTES_REQUEST, requestProcessor, requestProcessor.getExecutor());
-        this.server.registerProcessor(CommandType.ROLL_VIEW_LOG_REQUEST, requestProcessor, requestProcessor.getExecutor());
-        this.server.registerProcessor(CommandType.VIEW_WHOLE_LOG_REQUEST, requestProcessor, requestProcessor.getExecutor());
-        this.server.registerProcessor(CommandType.REMOVE_TAK_LOG_REQUEST, requestProcessor, requestProcessor.getExecutor());
+        this.server.registerProcessor(CommandType.GET_LOG_BYTES_REQUEST, requestProcessor);
+        this.server.registerProcessor(CommandType.GET_LOG_CHUNK_REQUEST, requestProcessor);
+        this.server.registerProcessor(CommandType.ROLL_VIEW_LOG_REQUEST, requestProcessor);
+        this.server.registerProcessor(CommandType.VIEW_WHOLE_LOG_REQUEST, requestProcessor);
+        this.server.registerProcessor(CommandType.REMOVE_TAK_LOG_REQUEST, requestProcessor);
     }
 
     /**
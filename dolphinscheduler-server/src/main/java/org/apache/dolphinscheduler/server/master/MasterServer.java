@@ -20,15 +20,18 @@ package org.apache.dolphinscheduler.server.master;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.IStoppable;
 import org.apache.dolphinscheduler.common.thread.Stopper;
+import org.apache.dolphinscheduler.common.utils.CommonUtils;
 import org.apache.dolphinscheduler.remote.NettyRemotingServer;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.config.NettyServerConfig;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.processor.StateEventProcessor;
 import org.apache.dolphinscheduler.server.master.processor.TaskAckProcessor;
 import org.apache.dolphinscheduler.server.master.processor.TaskKillResponseProcessor;
 import org.apache.dolphinscheduler.server.master.processor.TaskResponseProcessor;
 import org.apache.dolphinscheduler.server.master.registry.MasterRegistryClient;
 import org.apache.dolphinscheduler.server.master.runner.MasterSchedulerService;
+import org.apache.dolphinscheduler.server.master.schedule.CronScheduleEngine;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.service.quartz.QuartzExecutors;
 
@@ -92,6 +95,12 @@ public class MasterServer implements IStoppable {
     @Autowired
     private MasterSchedulerService masterSchedulerService;
 
+    /**
+     * native cron schedule engine
+     */
+    @Autowired
+    private CronScheduleEngine cronScheduleEngine;
+
     /**
      * master server startup, not use web service
      *
@@ -110,10 +119,16 @@ public class MasterServer implements IStoppable {
         // init remoting server
         NettyServerConfig serverConfig = new NettyServerConfig();
         serverConfig.setListenPort(masterConfig.getListenPort());
+        // the master only receives control commands, -1 keeps the default threads
+        if (masterConfig.getMasterRpcControlThreads() > 0) {
+            serverConfig.setControlThreads(masterConfig.getMasterRpcControlThreads());
+        }
+        serverConfig.setLaneMetricsInterval(masterConfig.getMasterRpcLaneMetricsInterval());
         this.nettyRemotingServer = new NettyRemotingServer(serverConfig);
         this.nettyRemotingServer.registerProcessor(CommandType.TASK_EXECUTE_RESPONSE, new TaskResponseProcessor());
         this.nettyRemotingServer.registerProcessor(CommandType.TASK_EXECUTE_ACK, new TaskAckProcessor());
         this.nettyRemotingServer.registerProcessor(CommandType.TASK_KILL_RESPONSE, new TaskKillResponseProcessor());
+        this.nettyRemotingServer.registerProcessor(CommandType.STATE_EVENT_REQUEST, new StateEventProcessor());
         this.nettyRemotingServer.start();
 
         // self tolerant
@@ -123,18 +138,23 @@ public class MasterServer implements IStoppable {
         // scheduler start
         this.masterSchedulerService.start();
 
-        // start QuartzExecutors
-        // what system should do if exception
-        try {
-            logger.info("start Quartz server...");
-            QuartzExecutors.getInstance().start();
-        } catch (Exception e) {
+        if (CommonUtils.isNativeScheduleEngine()) {
+            logger.info("start native cron schedule engine...");
+            this.cronScheduleEngine.start();
+        } else {
+            // start QuartzExecutors
+            // what system should do if exception
             try {
-                QuartzExecutors.getInstance().shutdown();
-            } catch (SchedulerException e1) {
-                logger.error("QuartzExecutors shutdown failed : " + e1.getMessage(), e1);
+                logger.info("start Quartz server...");
+                QuartzExecutors.getInstance().start();
+            } catch (Exception e) {
+                try {
+                    QuartzExecutors.getInstance().shutdown();
+                } catch (SchedulerException e1) {
+                    logger.error("QuartzExecutors shutdown failed : " + e1.getMessage(), e1);
+                }
+                logger.error("start Quartz failed", e);
             }
-            logger.error("start Quartz failed", e);
         }
 
         /**
@@ -176,12 +196,16 @@ public class MasterServer implements IStoppable {
             this.masterSchedulerService.close();
             this.nettyRemotingServer.close();
             this.masterRegistryClient.closeRegistry();
-            // close quartz
-            try {
-                QuartzExecutors.getInstance().shutdown();
-                logger.info("Quartz service stopped");
-            } catch (Exception e) {
-                logger.warn("Quartz service stopped exception:{}", e.getMessage());
+            if (CommonUtils.isNativeScheduleEngine()) {
+                this.cronScheduleEngine.close();
+            } else {
+                // close quartz
+                try {
+                    QuartzExecutors.getInstance().shutdown();
+                    logger.info("Quartz service stopped");
+                } catch (Exception e) {
+                    logger.warn("Quartz service stopped exception:{}", e.getMessage());
+                }
             }
             // close spring Context and will invoke method with @PreDestroy annotation to destory beans. like ServerNodeManager,HostManager,TaskResponseService,CuratorZookeeperClient,etc
             springApplicationContext.close();
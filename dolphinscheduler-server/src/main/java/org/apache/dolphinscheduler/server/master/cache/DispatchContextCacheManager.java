@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache;
+
+import org.apache.dolphinscheduler.common.enums.ResourceType;
+import org.apache.dolphinscheduler.dao.entity.DataSource;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.Tenant;
+import org.apache.dolphinscheduler.dao.entity.UdfFunc;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ *  data shared by the task execution contexts the master dispatches, kept for a short time
+ *  and per process instance while the process instance is running on this master
+ */
+public interface DispatchContextCacheManager {
+
+    /**
+     * get the tenant of the process instance of the task
+     *
+     * @param taskInstance taskInstance with process instance and process definition
+     * @return tenant, null if not exists
+     */
+    Tenant getTenant(TaskInstance taskInstance);
+
+    /**
+     * get the queue of the user executing the process instance
+     *
+     * @param processInstanceId processInstanceId
+     * @return user queue
+     */
+    String getUserQueue(int processInstanceId);
+
+    /**
+     * get data source by id
+     *
+     * @param dataSourceId dataSourceId
+     * @return data source, null if not exists
+     */
+    DataSource getDataSource(int dataSourceId);
+
+    /**
+     * get udf functions by ids with the tenant code of their resources
+     *
+     * @param udfFuncIds udfFuncIds
+     * @return udf function and tenant code map
+     */
+    Map<UdfFunc, String> getUdfFuncTenantCodes(int[] udfFuncIds);
+
+    /**
+     * get the tenant code of a resource
+     *
+     * @param resName resource name
+     * @param resourceType resource type
+     * @return tenant code
+     */
+    String getResourceTenantCode(String resName, ResourceType resourceType);
+
+    /**
+     * load the data sources and udf functions that are not cached yet, one query each
+     *
+     * @param dataSourceIds dataSourceIds
+     * @param udfFuncIds udfFuncIds
+     */
+    void prefetch(Collection<Integer> dataSourceIds, Collection<Integer> udfFuncIds);
+
+    /**
+     * remove the expired entries and the entries of process instances which are not running on this master anymore
+     */
+    void evictExpired();
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.cache;
+
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+
+/**
+ *  running process instance state manager, the in-memory instance is authoritative on the owning master
+ */
+public interface ProcessInstanceCacheManager {
+
+    /**
+     * get processInstance by processInstance id, falls back to the database when the instance is not owned by this master
+     *
+     * @param processInstanceId processInstanceId
+     * @return processInstance
+     */
+    ProcessInstance getByProcessInstanceId(Integer processInstanceId);
+
+    /**
+     * whether the process instance is executed by this master
+     *
+     * @param processInstanceId processInstanceId
+     * @return true if cached
+     */
+    boolean contains(Integer processInstanceId);
+
+    /**
+     * cache processInstance
+     *
+     * @param processInstance processInstance
+     */
+    void cacheProcessInstance(ProcessInstance processInstance);
+
+    /**
+     * apply an external state change (READY_STOP / READY_PAUSE) to the cached process instance
+     *
+     * @param processInstanceId processInstanceId
+     * @param state target state
+     * @param commandType command type which caused the change
+     * @return true if the instance is cached and the state was applied
+     */
+    boolean changeProcessInstanceState(Integer processInstanceId, ExecutionStatus state, CommandType commandType);
+
+    /**
+     * remove processInstance by processInstanceId
+     *
+     * @param processInstanceId processInstanceId
+     */
+    void removeByProcessInstanceId(Integer processInstanceId);
+}
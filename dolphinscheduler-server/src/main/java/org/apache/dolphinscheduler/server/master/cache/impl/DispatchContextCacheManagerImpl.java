@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import static org.apache.dolphinscheduler.common.Constants.DISPATCH_CONTEXT_EXPIRE_MILLIS;
+
+import org.apache.dolphinscheduler.common.enums.ResourceType;
+import org.apache.dolphinscheduler.common.utils.CollectionUtils;
+import org.apache.dolphinscheduler.dao.entity.DataSource;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.Tenant;
+import org.apache.dolphinscheduler.dao.entity.UdfFunc;
+import org.apache.dolphinscheduler.server.master.cache.DispatchContextCacheManager;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceCacheManager;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ *  dispatch context cache, so that the tasks of one process instance do not load the same tenant,
+ *  queue, data sources and udf functions again and again
+ */
+@Component
+public class DispatchContextCacheManagerImpl implements DispatchContextCacheManager {
+
+    /**
+     * tenant and user queue by process instance id
+     */
+    private final Map<Integer, ProcessContext> processContexts = new ConcurrentHashMap<>();
+
+    /**
+     * data source by id
+     */
+    private final Map<Integer, CacheEntry<DataSource>> dataSources = new ConcurrentHashMap<>();
+
+    /**
+     * udf function by id
+     */
+    private final Map<Integer, CacheEntry<UdfFunc>> udfFuncs = new ConcurrentHashMap<>();
+
+    /**
+     * tenant code by resource type and name
+     */
+    private final Map<String, CacheEntry<String>> resourceTenantCodes = new ConcurrentHashMap<>();
+
+    /**
+     * process service
+     */
+    @Autowired
+    private ProcessService processService;
+
+    /**
+     * running process instances of this master
+     */
+    @Autowired
+    private ProcessInstanceCacheManager processInstanceCacheManager;
+
+    @Override
+    public Tenant getTenant(TaskInstance taskInstance) {
+        ProcessContext processContext = getProcessContext(taskInstance.getProcessInstanceId());
+        if (processContext.tenant == null) {
+            int userId = taskInstance.getProcessDefine() == null ? 0 : taskInstance.getProcessDefine().getUserId();
+            processContext.tenant = processService.getTenantForProcess(taskInstance.getProcessInstance().getTenantId(), userId);
+        }
+        return processContext.tenant;
+    }
+
+    @Override
+    public String getUserQueue(int processInstanceId) {
+        ProcessContext processContext = getProcessContext(processInstanceId);
+        if (processContext.userQueue == null) {
+            processContext.userQueue = processService.queryUserQueueByProcessInstanceId(processInstanceId);
+        }
+        return processContext.userQueue;
+    }
+
+    @Override
+    public DataSource getDataSource(int dataSourceId) {
+        CacheEntry<DataSource> entry = dataSources.get(dataSourceId);
+        if (entry != null && !entry.isExpired(System.currentTimeMillis())) {
+            return entry.value;
+        }
+        DataSource dataSource = processService.findDataSourceById(dataSourceId);
+        if (dataSource != null) {
+            dataSources.put(dataSourceId, new CacheEntry<>(dataSource));
+        }
+        return dataSource;
+    }
+
+    @Override
+    public Map<UdfFunc, String> getUdfFuncTenantCodes(int[] udfFuncIds) {
+        List<Integer> ids = new ArrayList<>(udfFuncIds.length);
+        for (int udfFuncId : udfFuncIds) {
+            ids.add(udfFuncId);
+        }
+        loadUdfFuncs(ids);
+
+        Map<UdfFunc, String> udfFuncMap = new HashMap<>();
+        for (int udfFuncId : udfFuncIds) {
+            CacheEntry<UdfFunc> entry = udfFuncs.get(udfFuncId);
+            if (entry != null) {
+                udfFuncMap.put(entry.value, getResourceTenantCode(entry.value.getResourceName(), ResourceType.UDF));
+            }
+        }
+        return udfFuncMap;
+    }
+
+    @Override
+    public String getResourceTenantCode(String resName, ResourceType resourceType) {
+        String key = resourceType.name() + ":" + resName;
+        CacheEntry<String> entry = resourceTenantCodes.get(key);
+        if (entry != null && !entry.isExpired(System.currentTimeMillis())) {
+            return entry.value;
+        }
+        String tenantCode = processService.queryTenantCodeByResName(resName, resourceType);
+        if (tenantCode != null) {
+            resourceTenantCodes.put(key, new CacheEntry<>(tenantCode));
+        }
+        return tenantCode;
+    }
+
+    @Override
+    public void prefetch(Collection<Integer> dataSourceIds, Collection<Integer> udfFuncIds) {
+        Set<Integer> missingDataSourceIds = missingIds(dataSources, dataSourceIds);
+        if (!missingDataSourceIds.isEmpty()) {
+            for (DataSource dataSource : processService.findDataSourcesByIds(missingDataSourceIds)) {
+                dataSources.put(dataSource.getId(), new CacheEntry<>(dataSource));
+            }
+        }
+        loadUdfFuncs(udfFuncIds);
+    }
+
+    @Override
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        processContexts.entrySet().removeIf(entry -> entry.getValue().isExpired(now)
+                || !processInstanceCacheManager.contains(entry.getKey()));
+        dataSources.values().removeIf(entry -> entry.isExpired(now));
+        udfFuncs.values().removeIf(entry -> entry.isExpired(now));
+        resourceTenantCodes.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    /**
+     * load the udf functions that are not cached with one query
+     */
+    private void loadUdfFuncs(Collection<Integer> udfFuncIds) {
+        Set<Integer> missingIds = missingIds(udfFuncs, udfFuncIds);
+        if (missingIds.isEmpty()) {
+            return;
+        }
+        int[] ids = missingIds.stream().mapToInt(Integer::intValue).toArray();
+        for (UdfFunc udfFunc : processService.queryUdfFunListByIds(ids)) {
+            udfFuncs.put(udfFunc.getId(), new CacheEntry<>(udfFunc));
+        }
+    }
+
+    private static <T> Set<Integer> missingIds(Map<Integer, CacheEntry<T>> cache, Collection<Integer> ids) {
+        Set<Integer> missingIds = new HashSet<>();
+        if (CollectionUtils.isEmpty(ids)) {
+            return missingIds;
+        }
+        long now = System.currentTimeMillis();
+        for (Integer id : ids) {
+            CacheEntry<T> entry = cache.get(id);
+            if (entry == null || entry.isExpired(now)) {
+                missingIds.add(id);
+            }
+        }
+        return missingIds;
+    }
+
+    /**
+     * the process context is only kept while the process instance is running on this master,
+     * so that the cache is dropped when the process instance ends
+     */
+    private ProcessContext getProcessContext(int processInstanceId) {
+        if (!processInstanceCacheManager.contains(processInstanceId)) {
+            return new ProcessContext();
+        }
+        long now = System.currentTimeMillis();
+        return processContexts.compute(processInstanceId,
+            (id, processContext) -> processContext == null || processContext.isExpired(now) ? new ProcessContext() : processContext);
+    }
+
+    /**
+     * cached value with its expire time
+     */
+    private static class CacheEntry<T> {
+
+        private final T value;
+
+        private final long expireTime = System.currentTimeMillis() + DISPATCH_CONTEXT_EXPIRE_MILLIS;
+
+        CacheEntry(T value) {
+            this.value = value;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expireTime;
+        }
+    }
+
+    /**
+     * tenant and user queue of one process instance, loaded lazily
+     */
+    private static class ProcessContext {
+
+        private final long expireTime = System.currentTimeMillis() + DISPATCH_CONTEXT_EXPIRE_MILLIS;
+
+        private volatile Tenant tenant;
+
+        private volatile String userQueue;
+
+        boolean isExpired(long now) {
+            return now >= expireTime;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import static org.apache.dolphinscheduler.common.Constants.PROCESS_INSTANCE_STATE_SYNC_MILLIS;
+
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceCacheManager;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ *  running process instance state manager
+ */
+@Component
+public class ProcessInstanceCacheManagerImpl implements ProcessInstanceCacheManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessInstanceCacheManagerImpl.class);
+
+    /**
+     * processInstance cache
+     */
+    private final Map<Integer, ProcessInstance> processInstanceCache = new ConcurrentHashMap<>();
+
+    /**
+     * process service
+     */
+    @Autowired
+    private ProcessService processService;
+
+    /**
+     * processInstance state sync timer
+     */
+    private Timer syncProcessInstanceTimer = null;
+
+    @PostConstruct
+    public void init() {
+        // state events are pushed by rpc, this timer only picks up changes written to the database directly
+        this.syncProcessInstanceTimer = new Timer("ProcessInstanceStateSyncTimer", true);
+        syncProcessInstanceTimer.scheduleAtFixedRate(
+                new SyncProcessInstanceTimerTask(), PROCESS_INSTANCE_STATE_SYNC_MILLIS, PROCESS_INSTANCE_STATE_SYNC_MILLIS
+        );
+    }
+
+    @PreDestroy
+    public void close() {
+        if (syncProcessInstanceTimer != null) {
+            syncProcessInstanceTimer.cancel();
+        }
+    }
+
+    @Override
+    public ProcessInstance getByProcessInstanceId(Integer processInstanceId) {
+        ProcessInstance processInstance = processInstanceCache.get(processInstanceId);
+        if (processInstance != null) {
+            return processInstance;
+        }
+        return processService.findProcessInstanceById(processInstanceId);
+    }
+
+    @Override
+    public boolean contains(Integer processInstanceId) {
+        return processInstanceCache.containsKey(processInstanceId);
+    }
+
+    @Override
+    public void cacheProcessInstance(ProcessInstance processInstance) {
+        processInstanceCache.put(processInstance.getId(), processInstance);
+    }
+
+    @Override
+    public boolean changeProcessInstanceState(Integer processInstanceId, ExecutionStatus state, CommandType commandType) {
+        ProcessInstance processInstance = processInstanceCache.get(processInstanceId);
+        if (processInstance == null) {
+            return false;
+        }
+        if (state != ExecutionStatus.READY_STOP && state != ExecutionStatus.READY_PAUSE) {
+            logger.warn("ignore state event of process instance {}, unsupported state {}", processInstanceId, state);
+            return false;
+        }
+        synchronized (processInstance) {
+            if (processInstance.getState().typeIsFinished()) {
+                return false;
+            }
+            if (processInstance.getState() != state) {
+                logger.info("process instance {} state change from {} to {} by {} event",
+                        processInstanceId, processInstance.getState(), state, commandType);
+                if (commandType != null) {
+                    processInstance.setCommandType(commandType);
+                    processInstance.addHistoryCmd(commandType);
+                }
+                processInstance.setState(state);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void removeByProcessInstanceId(Integer processInstanceId) {
+        processInstanceCache.remove(processInstanceId);
+    }
+
+    class SyncProcessInstanceTimerTask extends TimerTask {
+        @Override
+        public void run() {
+            for (Integer processInstanceId : processInstanceCache.keySet()) {
+                try {
+                    ProcessInstance processInstance = processService.findProcessInstanceById(processInstanceId);
+                    if (processInstance == null) {
+                        continue;
+                    }
+                    ExecutionStatus state = processInstance.getState();
+                    if (state == ExecutionStatus.READY_STOP || state == ExecutionStatus.READY_PAUSE) {
+                        changeProcessInstanceState(processInstanceId, state, processInstance.getCommandType());
+                    }
+                } catch (Exception e) {
+                    logger.error("sync process instance {} state error", processInstanceId, e);
+                }
+            }
+        }
+    }
+}
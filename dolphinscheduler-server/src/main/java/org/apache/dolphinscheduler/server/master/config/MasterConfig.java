@@ -57,6 +57,24 @@ public class MasterConfig {
     @Value("${master.reserved.memory:0.3}")
     private double masterReservedMemory;
 
+    @Value("${master.schedule.reload.interval:30}")
+    private int masterScheduleReloadInterval;
+
+    @Value("${master.schedule.misfire.threshold:60000}")
+    private long masterScheduleMisfireThreshold;
+
+    @Value("${master.failover.threads:8}")
+    private int masterFailoverThreads;
+
+    @Value("${master.failover.batch.size:100}")
+    private int masterFailoverBatchSize;
+
+    @Value("${master.rpc.control.threads:-1}")
+    private int masterRpcControlThreads;
+
+    @Value("${master.rpc.lane.metrics.interval:60}")
+    private int masterRpcLaneMetricsInterval;
+
     public int getListenPort() {
         return listenPort;
     }
@@ -139,4 +157,52 @@ public class MasterConfig {
     public void setMasterDispatchTaskNumber(int masterDispatchTaskNumber) {
         this.masterDispatchTaskNumber = masterDispatchTaskNumber;
     }
-}
\ No newline at end of file
+
+    public int getMasterScheduleReloadInterval() {
+        return masterScheduleReloadInterval;
+    }
+
+    public void setMasterScheduleReloadInterval(int masterScheduleReloadInterval) {
+        this.masterScheduleReloadInterval = masterScheduleReloadInterval;
+    }
+
+    public long getMasterScheduleMisfireThreshold() {
+        return masterScheduleMisfireThreshold;
+    }
+
+    public void setMasterScheduleMisfireThreshold(long masterScheduleMisfireThreshold) {
+        this.masterScheduleMisfireThreshold = masterScheduleMisfireThreshold;
+    }
+
+    public int getMasterFailoverThreads() {
+        return masterFailoverThreads;
+    }
+
+    public void setMasterFailoverThreads(int masterFailoverThreads) {
+        this.masterFailoverThreads = masterFailoverThreads;
+    }
+
+    public int getMasterFailoverBatchSize() {
+        return masterFailoverBatchSize;
+    }
+
+    public void setMasterFailoverBatchSize(int masterFailoverBatchSize) {
+        this.masterFailoverBatchSize = masterFailoverBatchSize;
+    }
+
+    public int getMasterRpcControlThreads() {
+        return masterRpcControlThreads;
+    }
+
+    public void setMasterRpcControlThreads(int masterRpcControlThreads) {
+        this.masterRpcControlThreads = masterRpcControlThreads;
+    }
+
+    public int getMasterRpcLaneMetricsInterval() {
+        return masterRpcLaneMetricsInterval;
+    }
+
+    public void setMasterRpcLaneMetricsInterval(int masterRpcLaneMetricsInterval) {
+        this.masterRpcLaneMetricsInterval = masterRpcLaneMetricsInterval;
+    }
+}
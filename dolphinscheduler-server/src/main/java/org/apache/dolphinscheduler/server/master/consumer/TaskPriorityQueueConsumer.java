@@ -41,13 +41,13 @@ import org.apache.dolphinscheduler.dao.entity.DataSource;
 import org.apache.dolphinscheduler.dao.entity.Resource;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.Tenant;
-import org.apache.dolphinscheduler.dao.entity.UdfFunc;
 import org.apache.dolphinscheduler.server.builder.TaskExecutionContextBuilder;
 import org.apache.dolphinscheduler.server.entity.DataxTaskExecutionContext;
 import org.apache.dolphinscheduler.server.entity.ProcedureTaskExecutionContext;
 import org.apache.dolphinscheduler.server.entity.SQLTaskExecutionContext;
 import org.apache.dolphinscheduler.server.entity.SqoopTaskExecutionContext;
 import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.master.cache.DispatchContextCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.ExecutorDispatcher;
 import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
@@ -59,6 +59,7 @@ import org.apache.dolphinscheduler.service.queue.TaskPriorityQueue;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -103,6 +104,11 @@ public class TaskPriorityQueueConsumer extends Thread {
     @Autowired
     private ExecutorDispatcher dispatcher;
 
+    /**
+     * dispatch context cache
+     */
+    @Autowired
+    private DispatchContextCacheManager dispatchContextCacheManager;
 
     /**
      * master config
@@ -118,22 +124,50 @@ public class TaskPriorityQueueConsumer extends Thread {
 
     @Override
     public void run() {
+        List<TaskPriority> dispatchTasks = new ArrayList<>();
+        List<TaskInstance> dispatchTaskInstances = new ArrayList<>();
         List<TaskPriority> failedDispatchTasks = new ArrayList<>();
         while (Stopper.isRunning()) {
             try {
                 int fetchTaskNum = masterConfig.getMasterDispatchTaskNumber();
+                dispatchTasks.clear();
+                dispatchTaskInstances.clear();
                 failedDispatchTasks.clear();
+                // wait for the first task only, then take what is already queued
                 for (int i = 0; i < fetchTaskNum; i++) {
-                    TaskPriority taskPriority = taskPriorityQueue.poll(Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS);
+                    long timeout = dispatchTasks.isEmpty() ? Constants.SLEEP_TIME_MILLIS : 0;
+                    TaskPriority taskPriority = taskPriorityQueue.poll(timeout, TimeUnit.MILLISECONDS);
                     if (Objects.isNull(taskPriority)) {
-                        continue;
+                        if (dispatchTasks.isEmpty()) {
+                            continue;
+                        }
+                        break;
                     }
-
-                    boolean dispatchResult = dispatch(taskPriority);
-                    if (!dispatchResult) {
+                    try {
+                        TaskInstance taskInstance = processService.getTaskInstanceDetailByTaskId(taskPriority.getTaskId());
+                        dispatchTasks.add(taskPriority);
+                        dispatchTaskInstances.add(taskInstance);
+                    } catch (Exception e) {
+                        // put it back to the queue with the failed ones, the tasks already taken are still dispatched
+                        logger.error("load task instance error, task instance id: {}", taskPriority.getTaskId(), e);
+                        failedDispatchTasks.add(taskPriority);
+                    }
+                }
+                prefetchDispatchContext(dispatchTaskInstances);
+
+                for (int i = 0; i < dispatchTasks.size(); i++) {
+                    TaskPriority taskPriority = dispatchTasks.get(i);
+                    try {
+                        boolean dispatchResult = dispatch(taskPriority, dispatchTaskInstances.get(i));
+                        if (!dispatchResult) {
+                            failedDispatchTasks.add(taskPriority);
+                        }
+                    } catch (Exception e) {
+                        logger.error("dispatcher task error, task instance id: {}", taskPriority.getTaskId(), e);
                         failedDispatchTasks.add(taskPriority);
                     }
                 }
+                dispatchContextCacheManager.evictExpired();
                 if (!failedDispatchTasks.isEmpty()) {
                     for (TaskPriority dispatchFailedTask : failedDispatchTasks) {
                         taskPriorityQueue.put(dispatchFailedTask);
@@ -157,10 +191,21 @@ public class TaskPriorityQueueConsumer extends Thread {
      * @return result
      */
     protected boolean dispatch(TaskPriority taskPriority) {
+        return dispatch(taskPriority, processService.getTaskInstanceDetailByTaskId(taskPriority.getTaskId()));
+    }
+
+    /**
+     * dispatch task
+     *
+     * @param taskPriority taskPriority
+     * @param taskInstance task instance detail
+     * @return result
+     */
+    private boolean dispatch(TaskPriority taskPriority, TaskInstance taskInstance) {
         boolean result = false;
         try {
             int taskInstanceId = taskPriority.getTaskId();
-            TaskExecutionContext context = getTaskExecutionContext(taskInstanceId);
+            TaskExecutionContext context = getTaskExecutionContext(taskInstance);
             ExecutionContext executionContext = new ExecutionContext(context.toCommand(), ExecutorType.WORKER, context.getWorkerGroup());
 
             if (taskInstanceIsFinalState(taskInstanceId)) {
@@ -194,10 +239,17 @@ public class TaskPriorityQueueConsumer extends Thread {
      * @return TaskExecutionContext
      */
     protected TaskExecutionContext getTaskExecutionContext(int taskInstanceId) {
-        TaskInstance taskInstance = processService.getTaskInstanceDetailByTaskId(taskInstanceId);
+        return getTaskExecutionContext(processService.getTaskInstanceDetailByTaskId(taskInstanceId));
+    }
 
-        int userId = taskInstance.getProcessDefine() == null ? 0 : taskInstance.getProcessDefine().getUserId();
-        Tenant tenant = processService.getTenantForProcess(taskInstance.getProcessInstance().getTenantId(), userId);
+    /**
+     * get TaskExecutionContext
+     *
+     * @param taskInstance task instance detail
+     * @return TaskExecutionContext
+     */
+    private TaskExecutionContext getTaskExecutionContext(TaskInstance taskInstance) {
+        Tenant tenant = dispatchContextCacheManager.getTenant(taskInstance);
 
         // verify tenant is null
         if (verifyTenantIsNull(tenant, taskInstance)) {
@@ -210,7 +262,7 @@ public class TaskPriorityQueueConsumer extends Thread {
             return null;
         }
         // set queue for process instance, user-specified queue takes precedence over tenant queue
-        String userQueue = processService.queryUserQueueByProcessInstanceId(taskInstance.getProcessInstanceId());
+        String userQueue = dispatchContextCacheManager.getUserQueue(taskInstance.getProcessInstanceId());
         taskInstance.getProcessInstance().setQueue(StringUtils.isEmpty(userQueue) ? tenant.getQueue() : userQueue);
         taskInstance.getProcessInstance().setTenantCode(tenant.getTenantCode());
         taskInstance.setResources(getResourceFullNames(taskInstance));
@@ -260,7 +312,7 @@ public class TaskPriorityQueueConsumer extends Thread {
     private void setProcedureTaskRelation(ProcedureTaskExecutionContext procedureTaskExecutionContext, TaskInstance taskInstance) {
         ProcedureParameters procedureParameters = JSONUtils.parseObject(taskInstance.getTaskParams(), ProcedureParameters.class);
         int datasourceId = procedureParameters.getDatasource();
-        DataSource datasource = processService.findDataSourceById(datasourceId);
+        DataSource datasource = dispatchContextCacheManager.getDataSource(datasourceId);
         procedureTaskExecutionContext.setConnectionParams(datasource.getConnectionParams());
     }
 
@@ -273,8 +325,8 @@ public class TaskPriorityQueueConsumer extends Thread {
     protected void setDataxTaskRelation(DataxTaskExecutionContext dataxTaskExecutionContext, TaskInstance taskInstance) {
         DataxParameters dataxParameters = JSONUtils.parseObject(taskInstance.getTaskParams(), DataxParameters.class);
 
-        DataSource dbSource = processService.findDataSourceById(dataxParameters.getDataSource());
-        DataSource dbTarget = processService.findDataSourceById(dataxParameters.getDataTarget());
+        DataSource dbSource = dispatchContextCacheManager.getDataSource(dataxParameters.getDataSource());
+        DataSource dbTarget = dispatchContextCacheManager.getDataSource(dataxParameters.getDataTarget());
 
         if (dbSource != null) {
             dataxTaskExecutionContext.setDataSourceId(dataxParameters.getDataSource());
@@ -303,8 +355,8 @@ public class TaskPriorityQueueConsumer extends Thread {
             SourceMysqlParameter sourceMysqlParameter = JSONUtils.parseObject(sqoopParameters.getSourceParams(), SourceMysqlParameter.class);
             TargetMysqlParameter targetMysqlParameter = JSONUtils.parseObject(sqoopParameters.getTargetParams(), TargetMysqlParameter.class);
 
-            DataSource dataSource = processService.findDataSourceById(sourceMysqlParameter.getSrcDatasource());
-            DataSource dataTarget = processService.findDataSourceById(targetMysqlParameter.getTargetDatasource());
+            DataSource dataSource = dispatchContextCacheManager.getDataSource(sourceMysqlParameter.getSrcDatasource());
+            DataSource dataTarget = dispatchContextCacheManager.getDataSource(targetMysqlParameter.getTargetDatasource());
 
             if (dataSource != null) {
                 sqoopTaskExecutionContext.setDataSourceId(dataSource.getId());
@@ -329,7 +381,7 @@ public class TaskPriorityQueueConsumer extends Thread {
     private void setSQLTaskRelation(SQLTaskExecutionContext sqlTaskExecutionContext, TaskInstance taskInstance) {
         SqlParameters sqlParameters = JSONUtils.parseObject(taskInstance.getTaskParams(), SqlParameters.class);
         int datasourceId = sqlParameters.getDatasource();
-        DataSource datasource = processService.findDataSourceById(datasourceId);
+        DataSource datasource = dispatchContextCacheManager.getDataSource(datasourceId);
         sqlTaskExecutionContext.setConnectionParams(datasource.getConnectionParams());
 
         // whether udf type
@@ -337,20 +389,59 @@ public class TaskPriorityQueueConsumer extends Thread {
                 && StringUtils.isNotEmpty(sqlParameters.getUdfs());
 
         if (udfTypeFlag) {
-            String[] udfFunIds = sqlParameters.getUdfs().split(",");
-            int[] udfFunIdsArray = new int[udfFunIds.length];
-            for (int i = 0; i < udfFunIds.length; i++) {
-                udfFunIdsArray[i] = Integer.parseInt(udfFunIds[i]);
-            }
+            sqlTaskExecutionContext.setUdfFuncTenantCodeMap(dispatchContextCacheManager.getUdfFuncTenantCodes(parseUdfFuncIds(sqlParameters)));
+        }
+    }
 
-            List<UdfFunc> udfFuncList = processService.queryUdfFunListByIds(udfFunIdsArray);
-            Map<UdfFunc, String> udfFuncMap = new HashMap<>();
-            for (UdfFunc udfFunc : udfFuncList) {
-                String tenantCode = processService.queryTenantCodeByResName(udfFunc.getResourceName(), ResourceType.UDF);
-                udfFuncMap.put(udfFunc, tenantCode);
-            }
+    /**
+     * parse the udf function ids of a sql task
+     *
+     * @param sqlParameters sqlParameters
+     * @return udf function ids
+     */
+    private int[] parseUdfFuncIds(SqlParameters sqlParameters) {
+        String[] udfFunIds = sqlParameters.getUdfs().split(",");
+        int[] udfFunIdsArray = new int[udfFunIds.length];
+        for (int i = 0; i < udfFunIds.length; i++) {
+            udfFunIdsArray[i] = Integer.parseInt(udfFunIds[i]);
+        }
+        return udfFunIdsArray;
+    }
 
-            sqlTaskExecutionContext.setUdfFuncTenantCodeMap(udfFuncMap);
+    /**
+     * load the data sources and udf functions of the tasks dispatched in one round with one query each
+     *
+     * @param taskInstances task instances
+     */
+    private void prefetchDispatchContext(List<TaskInstance> taskInstances) {
+        Set<Integer> dataSourceIds = new HashSet<>();
+        Set<Integer> udfFuncIds = new HashSet<>();
+        try {
+            for (TaskInstance taskInstance : taskInstances) {
+                if (taskInstance == null) {
+                    continue;
+                }
+                String taskType = taskInstance.getTaskType();
+                if (TaskType.SQL.getDesc().equalsIgnoreCase(taskType)) {
+                    SqlParameters sqlParameters = JSONUtils.parseObject(taskInstance.getTaskParams(), SqlParameters.class);
+                    dataSourceIds.add(sqlParameters.getDatasource());
+                    if (EnumUtils.isValidEnum(UdfType.class, sqlParameters.getType()) && StringUtils.isNotEmpty(sqlParameters.getUdfs())) {
+                        for (int udfFuncId : parseUdfFuncIds(sqlParameters)) {
+                            udfFuncIds.add(udfFuncId);
+                        }
+                    }
+                } else if (TaskType.PROCEDURE.getDesc().equalsIgnoreCase(taskType)) {
+                    dataSourceIds.add(JSONUtils.parseObject(taskInstance.getTaskParams(), ProcedureParameters.class).getDatasource());
+                } else if (TaskType.DATAX.getDesc().equalsIgnoreCase(taskType)) {
+                    DataxParameters dataxParameters = JSONUtils.parseObject(taskInstance.getTaskParams(), DataxParameters.class);
+                    dataSourceIds.add(dataxParameters.getDataSource());
+                    dataSourceIds.add(dataxParameters.getDataTarget());
+                }
+            }
+            dispatchContextCacheManager.prefetch(dataSourceIds, udfFuncIds);
+        } catch (Exception e) {
+            // the data is loaded again one by one when the context is built
+            logger.warn("prefetch dispatch context error", e);
         }
     }
 
@@ -385,7 +476,7 @@ public class TaskPriorityQueueConsumer extends Thread {
                 // filter the resources that the resource id equals 0
                 Set<ResourceInfo> oldVersionResources = projectResourceFiles.stream().filter(t -> t.getId() == 0).collect(Collectors.toSet());
                 if (CollectionUtils.isNotEmpty(oldVersionResources)) {
-                    oldVersionResources.forEach(t -> resourcesMap.put(t.getRes(), processService.queryTenantCodeByResName(t.getRes(), ResourceType.FILE)));
+                    oldVersionResources.forEach(t -> resourcesMap.put(t.getRes(), dispatchContextCacheManager.getResourceTenantCode(t.getRes(), ResourceType.FILE)));
                 }
 
                 // get the resource id in order to get the resource names in batch
@@ -396,7 +487,7 @@ public class TaskPriorityQueueConsumer extends Thread {
                     Integer[] resourceIds = resourceIdsSet.toArray(new Integer[resourceIdsSet.size()]);
 
                     List<Resource> resources = processService.listResourceByIds(resourceIds);
-                    resources.forEach(t -> resourcesMap.put(t.getFullName(), processService.queryTenantCodeByResName(t.getFullName(), ResourceType.FILE)));
+                    resources.forEach(t -> resourcesMap.put(t.getFullName(), dispatchContextCacheManager.getResourceTenantCode(t.getFullName(), ResourceType.FILE)));
                 }
             }
         }
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.processor;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.common.utils.Preconditions;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.ServerBusyResponseCommand;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteRequestCommand;
+import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.remote.utils.ChannelUtils;
+import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
+import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+import org.apache.dolphinscheduler.service.queue.TaskPriority;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityQueue;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityQueueImpl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.channel.Channel;
+
+/**
+ *  server busy response processor, puts the task rejected by a saturated worker back to the task priority queue
+ */
+public class ServerBusyResponseProcessor implements NettyRequestProcessor {
+
+    private final Logger logger = LoggerFactory.getLogger(ServerBusyResponseProcessor.class);
+
+    /**
+     * process service
+     */
+    private final ProcessService processService;
+
+    /**
+     * task priority queue
+     */
+    private final TaskPriorityQueue<TaskPriority> taskPriorityQueue;
+
+    public ServerBusyResponseProcessor() {
+        this.processService = SpringApplicationContext.getBean(ProcessService.class);
+        this.taskPriorityQueue = SpringApplicationContext.getBean(TaskPriorityQueueImpl.class);
+    }
+
+    public ServerBusyResponseProcessor(ProcessService processService, TaskPriorityQueue<TaskPriority> taskPriorityQueue) {
+        this.processService = processService;
+        this.taskPriorityQueue = taskPriorityQueue;
+    }
+
+    /**
+     * server busy response process
+     *
+     * @param channel channel
+     * @param command command ServerBusyResponseCommand
+     */
+    @Override
+    public void process(Channel channel, Command command) {
+        Preconditions.checkArgument(CommandType.SERVER_BUSY_RESPONSE == command.getType(), String.format("invalid command type : %s", command.getType()));
+        ServerBusyResponseCommand busyCommand = JSONUtils.parseObject(command.getBody(), ServerBusyResponseCommand.class);
+        if (busyCommand == null || busyCommand.getRequestType() != CommandType.TASK_EXECUTE_REQUEST) {
+            logger.warn("{} is busy, ignore response : {}", ChannelUtils.getRemoteAddress(channel), busyCommand);
+            return;
+        }
+        TaskExecuteRequestCommand requestCommand = JSONUtils.parseObject(busyCommand.getRequestBody(), TaskExecuteRequestCommand.class);
+        TaskExecutionContext context = requestCommand == null ? null
+                : JSONUtils.parseObject(requestCommand.getTaskExecutionContext(), TaskExecutionContext.class);
+        if (context == null) {
+            logger.warn("{} is busy, can not parse rejected task execute request", ChannelUtils.getRemoteAddress(channel));
+            return;
+        }
+        TaskInstance taskInstance = processService.findTaskInstanceById(context.getTaskInstanceId());
+        if (taskInstance == null || taskInstance.getState().typeIsFinished()) {
+            return;
+        }
+        ProcessInstance processInstance = processService.findProcessInstanceById(context.getProcessInstanceId());
+        if (processInstance == null) {
+            return;
+        }
+        TaskPriority taskPriority = new TaskPriority(processInstance.getProcessInstancePriority().getCode(),
+                processInstance.getId(),
+                taskInstance.getTaskInstancePriority().getCode(),
+                taskInstance.getId(),
+                context.getWorkerGroup());
+        try {
+            taskPriorityQueue.put(taskPriority);
+            logger.info("{} is busy, put task instance {} back to the queue", ChannelUtils.getRemoteAddress(channel), taskInstance.getId());
+        } catch (Exception e) {
+            logger.error("put task instance {} back to the queue error", taskInstance.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.processor;
+
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.common.utils.Preconditions;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.StateEventRequestCommand;
+import org.apache.dolphinscheduler.remote.command.StateEventResponseCommand;
+import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceCacheManager;
+import org.apache.dolphinscheduler.server.master.cache.impl.ProcessInstanceCacheManagerImpl;
+import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.channel.Channel;
+
+/**
+ *  process instance state event processor, applies pause / stop requests to the in-memory process instance
+ */
+public class StateEventProcessor implements NettyRequestProcessor {
+
+    private final Logger logger = LoggerFactory.getLogger(StateEventProcessor.class);
+
+    /**
+     * processInstance cache manager
+     */
+    private final ProcessInstanceCacheManager processInstanceCacheManager;
+
+    public StateEventProcessor() {
+        this.processInstanceCacheManager = SpringApplicationContext.getBean(ProcessInstanceCacheManagerImpl.class);
+    }
+
+    public StateEventProcessor(ProcessInstanceCacheManager processInstanceCacheManager) {
+        this.processInstanceCacheManager = processInstanceCacheManager;
+    }
+
+    /**
+     * state event process
+     *
+     * @param channel channel
+     * @param command command StateEventRequestCommand
+     */
+    @Override
+    public void process(Channel channel, Command command) {
+        Preconditions.checkArgument(CommandType.STATE_EVENT_REQUEST == command.getType(), String.format("invalid command type : %s", command.getType()));
+        StateEventRequestCommand stateEventRequestCommand = JSONUtils.parseObject(command.getBody(), StateEventRequestCommand.class);
+        logger.info("received state event command : {}", stateEventRequestCommand);
+
+        boolean applied = processInstanceCacheManager.changeProcessInstanceState(stateEventRequestCommand.getProcessInstanceId(),
+                ExecutionStatus.of(stateEventRequestCommand.getState()),
+                org.apache.dolphinscheduler.common.enums.CommandType.of(stateEventRequestCommand.getCommandType()));
+
+        StateEventResponseCommand responseCommand = new StateEventResponseCommand(stateEventRequestCommand.getProcessInstanceId(), applied);
+        channel.writeAndFlush(responseCommand.convert2Command(command.getOpaque()));
+    }
+}
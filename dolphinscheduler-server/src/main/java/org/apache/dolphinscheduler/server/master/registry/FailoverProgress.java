@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.registry;
+
+import org.apache.dolphinscheduler.common.enums.NodeType;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * progress of the failover of a dead server
+ */
+public class FailoverProgress {
+
+    private final NodeType nodeType;
+
+    private final String host;
+
+    private final int total;
+
+    private final AtomicInteger finished = new AtomicInteger();
+
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private final long startTime = System.currentTimeMillis();
+
+    private volatile long endTime;
+
+    public FailoverProgress(NodeType nodeType, String host, int total) {
+        this.nodeType = nodeType;
+        this.host = host;
+        this.total = total;
+    }
+
+    public NodeType getNodeType() {
+        return nodeType;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getFinished() {
+        return finished.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    public boolean isDone() {
+        return endTime > 0;
+    }
+
+    /**
+     * @return cost in milliseconds, till now when not done
+     */
+    public long getCost() {
+        return (isDone() ? endTime : System.currentTimeMillis()) - startTime;
+    }
+
+    void finish(int count) {
+        finished.addAndGet(count);
+    }
+
+    void fail(int count) {
+        failed.addAndGet(count);
+    }
+
+    void done() {
+        endTime = System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return "FailoverProgress{"
+                + "nodeType=" + nodeType
+                + ", host='" + host + '\''
+                + ", total=" + total
+                + ", finished=" + finished
+                + ", failed=" + failed
+                + ", cost=" + getCost()
+                + ", done=" + isDone()
+                + '}';
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.registry;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.enums.NodeType;
+import org.apache.dolphinscheduler.common.model.Server;
+import org.apache.dolphinscheduler.common.utils.StringUtils;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.server.builder.TaskExecutionContextBuilder;
+import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.utils.ProcessUtils;
+import org.apache.dolphinscheduler.service.log.LogClientService;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * failover the instances of a dead server in parallel batches.
+ * the process instances of a dead master are loaded with one query and split into batches on a fork join pool,
+ * every batch is failed over with bulk statements, a failed batch falls back to one instance at a time
+ * so that one broken instance does not hold back the others.
+ * the yarn jobs of the tasks of a dead worker are killed in parallel on the same pool,
+ * then the tasks are set to need fault tolerance with one update per batch
+ */
+@Component
+public class FailoverService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FailoverService.class);
+
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    private ForkJoinPool failoverPool;
+
+    @PostConstruct
+    public void init() {
+        failoverPool = new ForkJoinPool(Math.max(1, masterConfig.getMasterFailoverThreads()), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("MasterFailover-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    public void close() {
+        failoverPool.shutdownNow();
+    }
+
+    /**
+     * failover master tasks, returns when all the process instances are failed over
+     *
+     * @param masterHost master host
+     * @return failover progress
+     */
+    public FailoverProgress failoverMaster(String masterHost) {
+        logger.info("start master failover ...");
+        List<ProcessInstance> needFailoverProcessInstanceList = processService.queryNeedFailoverProcessInstances(masterHost)
+                .stream()
+                .filter(processInstance -> !Constants.NULL.equals(processInstance.getHost()))
+                .collect(Collectors.toList());
+
+        logger.info("failover process list size:{} ", needFailoverProcessInstanceList.size());
+        FailoverProgress progress = new FailoverProgress(NodeType.MASTER, masterHost, needFailoverProcessInstanceList.size());
+        if (!needFailoverProcessInstanceList.isEmpty()) {
+            failoverPool.invoke(new ProcessInstanceFailoverAction(needFailoverProcessInstanceList, progress));
+        }
+        progress.done();
+        logger.info("master failover end, {}", progress);
+        return progress;
+    }
+
+    /**
+     * failover worker tasks, returns when all the tasks are failed over
+     * <p>
+     * 1. kill yarn job if there are yarn jobs in tasks, the kills run in parallel and share one log client.
+     * 2. change task state from running to need failover, one update per batch.
+     * 3. failover all tasks when workerHost is null
+     *
+     * @param workerHost worker host
+     * @param aliveWorkers snapshot of the alive workers, a task started after its worker is not failed over;
+     *                     null to failover all the tasks
+     * @return failover progress
+     */
+    public FailoverProgress failoverWorker(String workerHost, List<Server> aliveWorkers) {
+        logger.info("start worker[{}] failover ...", workerHost);
+        List<TaskInstance> needFailoverTaskInstanceList = processService.queryNeedFailoverTaskInstances(workerHost);
+        if (aliveWorkers != null) {
+            Map<String, Date> workerStartTimes = new HashMap<>();
+            for (Server workerServer : aliveWorkers) {
+                workerStartTimes.put(workerServer.getHost() + Constants.COLON + workerServer.getPort(), workerServer.getCreateTime());
+            }
+            needFailoverTaskInstanceList = needFailoverTaskInstanceList.stream()
+                    .filter(taskInstance -> checkTaskInstanceNeedFailover(taskInstance, workerStartTimes))
+                    .collect(Collectors.toList());
+        }
+        logger.info("failover task list size:{} ", needFailoverTaskInstanceList.size());
+        FailoverProgress progress = new FailoverProgress(NodeType.WORKER, workerHost, needFailoverTaskInstanceList.size());
+        if (!needFailoverTaskInstanceList.isEmpty()) {
+            killYarnJobs(needFailoverTaskInstanceList);
+            int batchSize = Math.max(1, masterConfig.getMasterFailoverBatchSize());
+            for (int from = 0; from < needFailoverTaskInstanceList.size(); from += batchSize) {
+                List<Integer> taskInstanceIds = needFailoverTaskInstanceList
+                        .subList(from, Math.min(from + batchSize, needFailoverTaskInstanceList.size()))
+                        .stream()
+                        .map(TaskInstance::getId)
+                        .collect(Collectors.toList());
+                try {
+                    processService.failoverTaskInstances(taskInstanceIds);
+                    progress.finish(taskInstanceIds.size());
+                } catch (Exception e) {
+                    logger.error("failover task instances {} failed", taskInstanceIds, e);
+                    progress.fail(taskInstanceIds.size());
+                }
+                logger.info("failover progress {}/{}, failed {}", progress.getFinished(), progress.getTotal(), progress.getFailed());
+            }
+        }
+        progress.done();
+        logger.info("end worker[{}] failover, {}", workerHost, progress);
+        return progress;
+    }
+
+    /**
+     * task needs failover if task start before worker starts
+     *
+     * @param taskInstance task instance
+     * @param workerStartTimes start time of the alive workers
+     * @return true if task instance need fail over
+     */
+    private boolean checkTaskInstanceNeedFailover(TaskInstance taskInstance, Map<String, Date> workerStartTimes) {
+        //now no host will execute this task instance,so no need to failover the task
+        if (StringUtils.isEmpty(taskInstance.getHost())) {
+            return false;
+        }
+        //if task start after worker starts, there is no need to failover the task.
+        Date workerServerStartDate = workerStartTimes.get(taskInstance.getHost());
+        return workerServerStartDate == null
+                || taskInstance.getStartTime() == null
+                || !taskInstance.getStartTime().after(workerServerStartDate);
+    }
+
+    /**
+     * only kill yarn job if exists, the local thread has exited.
+     * the process instances are loaded with one query, the kills run on the failover pool
+     */
+    private void killYarnJobs(List<TaskInstance> taskInstances) {
+        Set<Integer> processInstanceIds = taskInstances.stream().map(TaskInstance::getProcessInstanceId).collect(Collectors.toSet());
+        Map<Integer, ProcessInstance> processInstances = processService.findProcessInstancesByIds(processInstanceIds)
+                .stream()
+                .collect(Collectors.toMap(ProcessInstance::getId, Function.identity()));
+        try (LogClientService logClient = new LogClientService()) {
+            List<ForkJoinTask<?>> kills = new ArrayList<>(taskInstances.size());
+            for (TaskInstance taskInstance : taskInstances) {
+                ProcessInstance processInstance = processInstances.get(taskInstance.getProcessInstanceId());
+                if (processInstance == null) {
+                    continue;
+                }
+                taskInstance.setProcessInstance(processInstance);
+                try {
+                    TaskExecutionContext taskExecutionContext = TaskExecutionContextBuilder.get()
+                            .buildTaskInstanceRelatedInfo(taskInstance)
+                            .buildProcessInstanceRelatedInfo(processInstance)
+                            .create();
+                    kills.add(failoverPool.submit(() -> ProcessUtils.killYarnJob(logClient, taskExecutionContext)));
+                } catch (Exception e) {
+                    logger.error("kill yarn job of task instance id: {} failed", taskInstance.getId(), e);
+                }
+            }
+            kills.forEach(ForkJoinTask::quietlyJoin);
+        }
+    }
+
+    private void failoverProcessInstances(List<ProcessInstance> processInstances, FailoverProgress progress) {
+        try {
+            processService.processNeedFailoverProcessInstances(processInstances);
+            progress.finish(processInstances.size());
+        } catch (Exception e) {
+            logger.warn("failover {} process instances in batch failed, failover one by one", processInstances.size(), e);
+            for (ProcessInstance processInstance : processInstances) {
+                try {
+                    processService.processNeedFailoverProcessInstances(processInstance);
+                    progress.finish(1);
+                } catch (Exception ex) {
+                    logger.error("failover process instance id: {} host:{} failed", processInstance.getId(), processInstance.getHost(), ex);
+                    progress.fail(1);
+                }
+            }
+        }
+        logger.info("failover progress {}/{}, failed {}", progress.getFinished(), progress.getTotal(), progress.getFailed());
+    }
+
+    /**
+     * split the process instances until a batch fits the batch size
+     */
+    class ProcessInstanceFailoverAction extends RecursiveAction {
+
+        private final List<ProcessInstance> processInstances;
+
+        private final FailoverProgress progress;
+
+        ProcessInstanceFailoverAction(List<ProcessInstance> processInstances, FailoverProgress progress) {
+            this.processInstances = processInstances;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            if (processInstances.size() <= Math.max(1, masterConfig.getMasterFailoverBatchSize())) {
+                failoverProcessInstances(processInstances, progress);
+                return;
+            }
+            int middle = processInstances.size() / 2;
+            invokeAll(new ProcessInstanceFailoverAction(processInstances.subList(0, middle), progress),
+                    new ProcessInstanceFailoverAction(processInstances.subList(middle, processInstances.size()), progress));
+        }
+    }
+}
@@ -23,22 +23,15 @@ import static org.apache.dolphinscheduler.common.Constants.SLEEP_TIME_MILLIS;
 
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.IStoppable;
-import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
 import org.apache.dolphinscheduler.common.enums.NodeType;
 import org.apache.dolphinscheduler.common.model.Server;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.common.utils.StringUtils;
-import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
-import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
-import org.apache.dolphinscheduler.server.builder.TaskExecutionContextBuilder;
-import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.registry.HeartBeatTask;
-import org.apache.dolphinscheduler.server.utils.ProcessUtils;
-import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.registry.RegistryClient;
 import org.apache.dolphinscheduler.spi.register.RegistryConnectListener;
 import org.apache.dolphinscheduler.spi.register.RegistryConnectState;
@@ -72,10 +65,10 @@ public class MasterRegistryClient {
     private static final Logger logger = LoggerFactory.getLogger(MasterRegistryClient.class);
 
     /**
-     * process service
+     * failover service
      */
     @Autowired
-    private ProcessService processService;
+    private FailoverService failoverService;
 
     private RegistryClient registryClient;
 
@@ -206,55 +199,6 @@ public class MasterRegistryClient {
         }
     }
 
-    /**
-     * task needs failover if task start before worker starts
-     *
-     * @param taskInstance task instance
-     * @return true if task instance need fail over
-     */
-    private boolean checkTaskInstanceNeedFailover(TaskInstance taskInstance) {
-
-        boolean taskNeedFailover = true;
-
-        //now no host will execute this task instance,so no need to failover the task
-        if (taskInstance.getHost() == null) {
-            return false;
-        }
-
-        // if the worker node exists in zookeeper, we must check the task starts after the worker
-        if (registryClient.checkNodeExists(taskInstance.getHost(), NodeType.WORKER)) {
-            //if task start after worker starts, there is no need to failover the task.
-            if (checkTaskAfterWorkerStart(taskInstance)) {
-                taskNeedFailover = false;
-            }
-        }
-        return taskNeedFailover;
-    }
-
-    /**
-     * check task start after the worker server starts.
-     *
-     * @param taskInstance task instance
-     * @return true if task instance start time after worker server start date
-     */
-    private boolean checkTaskAfterWorkerStart(TaskInstance taskInstance) {
-        if (StringUtils.isEmpty(taskInstance.getHost())) {
-            return false;
-        }
-        Date workerServerStartDate = null;
-        List<Server> workerServers = registryClient.getServerList(NodeType.WORKER);
-        for (Server workerServer : workerServers) {
-            if (taskInstance.getHost().equals(workerServer.getHost() + Constants.COLON + workerServer.getPort())) {
-                workerServerStartDate = workerServer.getCreateTime();
-                break;
-            }
-        }
-        if (workerServerStartDate != null) {
-            return taskInstance.getStartTime().after(workerServerStartDate);
-        }
-        return false;
-    }
-
     /**
      * failover worker tasks
      * <p>
@@ -266,31 +210,9 @@ public class MasterRegistryClient {
      * @param needCheckWorkerAlive need check worker alive
      */
     private void failoverWorker(String workerHost, boolean needCheckWorkerAlive) {
-        logger.info("start worker[{}] failover ...", workerHost);
-        List<TaskInstance> needFailoverTaskInstanceList = processService.queryNeedFailoverTaskInstances(workerHost);
-        for (TaskInstance taskInstance : needFailoverTaskInstanceList) {
-            if (needCheckWorkerAlive) {
-                if (!checkTaskInstanceNeedFailover(taskInstance)) {
-                    continue;
-                }
-            }
-
-            ProcessInstance processInstance = processService.findProcessInstanceDetailById(taskInstance.getProcessInstanceId());
-            if (processInstance != null) {
-                taskInstance.setProcessInstance(processInstance);
-            }
-
-            TaskExecutionContext taskExecutionContext = TaskExecutionContextBuilder.get()
-                    .buildTaskInstanceRelatedInfo(taskInstance)
-                    .buildProcessInstanceRelatedInfo(processInstance)
-                    .create();
-            // only kill yarn job if exists , the local thread has exited
-            ProcessUtils.killYarnJob(taskExecutionContext);
-
-            taskInstance.setState(ExecutionStatus.NEED_FAULT_TOLERANCE);
-            processService.saveTaskInstance(taskInstance);
-        }
-        logger.info("end worker[{}] failover ...", workerHost);
+        // one snapshot of the alive workers for all the tasks
+        List<Server> aliveWorkers = needCheckWorkerAlive ? registryClient.getServerList(NodeType.WORKER) : null;
+        failoverService.failoverWorker(workerHost, aliveWorkers);
     }
 
     /**
@@ -299,21 +221,7 @@ public class MasterRegistryClient {
      * @param masterHost master host
      */
     private void failoverMaster(String masterHost) {
-        logger.info("start master failover ...");
-
-        List<ProcessInstance> needFailoverProcessInstanceList = processService.queryNeedFailoverProcessInstances(masterHost);
-
-        logger.info("failover process list size:{} ", needFailoverProcessInstanceList.size());
-        //updateProcessInstance host is null and insert into command
-        for (ProcessInstance processInstance : needFailoverProcessInstanceList) {
-            logger.info("failover process instance id: {} host:{}", processInstance.getId(), processInstance.getHost());
-            if (Constants.NULL.equals(processInstance.getHost())) {
-                continue;
-            }
-            processService.processNeedFailoverProcessInstances(processInstance);
-        }
-
-        logger.info("master failover end");
+        failoverService.failoverMaster(masterHost);
     }
 
     public void blockAcquireMutex() {
@@ -159,7 +159,7 @@ public class DependentTaskExecThread extends MasterBaseTaskExecThread {
                 }
                 // update process task
                 taskInstance = processService.findTaskInstanceById(taskInstance.getId());
-                processInstance = processService.findProcessInstanceById(processInstance.getId());
+                processInstance = processInstanceCacheManager.getByProcessInstanceId(processInstance.getId());
                 Thread.sleep(Constants.SLEEP_TIME_MILLIS);
             } catch (Exception e) {
                 logger.error("exception", e);
@@ -26,6 +26,8 @@ import org.apache.dolphinscheduler.dao.AlertDao;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceCacheManager;
+import org.apache.dolphinscheduler.server.master.cache.impl.ProcessInstanceCacheManagerImpl;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.service.process.ProcessService;
@@ -60,6 +62,11 @@ public class MasterBaseTaskExecThread implements Callable<Boolean> {
      */
     protected AlertDao alertDao;
 
+    /**
+     * running process instance cache manager
+     */
+    protected ProcessInstanceCacheManager processInstanceCacheManager;
+
     /**
      * process instance
      */
@@ -75,6 +82,11 @@ public class MasterBaseTaskExecThread implements Callable<Boolean> {
      */
     protected boolean cancel;
 
+    /**
+     * whether the task instance has already been saved and dispatched by a batch submission
+     */
+    protected boolean submitted = false;
+
     /**
      * master config
      */
@@ -103,6 +115,7 @@ public class MasterBaseTaskExecThread implements Callable<Boolean> {
     public MasterBaseTaskExecThread(TaskInstance taskInstance) {
         this.processService = SpringApplicationContext.getBean(ProcessService.class);
         this.alertDao = SpringApplicationContext.getBean(AlertDao.class);
+        this.processInstanceCacheManager = SpringApplicationContext.getBean(ProcessInstanceCacheManagerImpl.class);
         this.cancel = false;
         this.taskInstance = taskInstance;
         this.masterConfig = SpringApplicationContext.getBean(MasterConfig.class);
@@ -147,12 +160,24 @@ public class MasterBaseTaskExecThread implements Callable<Boolean> {
         this.cancel = true;
     }
 
+    /**
+     * mark the task instance as saved and dispatched, submit will not touch db or queue again
+     *
+     * @param submitted submitted
+     */
+    public void setSubmitted(boolean submitted) {
+        this.submitted = submitted;
+    }
+
     /**
      * submit master base task exec thread
      *
      * @return TaskInstance
      */
     protected TaskInstance submit() {
+        if (submitted) {
+            return taskInstance;
+        }
         Integer commitRetryTimes = masterConfig.getMasterTaskCommitRetryTimes();
         Integer commitRetryInterval = masterConfig.getMasterTaskCommitInterval();
 
@@ -199,19 +224,9 @@ public class MasterBaseTaskExecThread implements Callable<Boolean> {
     public Boolean dispatchTask(TaskInstance taskInstance) {
 
         try {
-            if (taskInstance.isConditionsTask()
-                    || taskInstance.isDependTask()
-                    || taskInstance.isSubProcess()) {
-                return true;
-            }
-            if (taskInstance.getState().typeIsFinished()) {
-                logger.info(String.format("submit task , but task [%s] state [%s] is already  finished. ", taskInstance.getName(), taskInstance.getState().toString()));
-                return true;
-            }
-            // task cannot be submitted because its execution state is RUNNING or DELAY.
-            if (taskInstance.getState() == ExecutionStatus.RUNNING_EXECUTION
-                    || taskInstance.getState() == ExecutionStatus.DELAY_EXECUTION) {
-                logger.info("submit task, but the status of the task {} is already running or delayed.", taskInstance.getName());
+            if (!needDispatch(taskInstance)) {
+                logger.info("submit task, but task {} of type {} with state {} need not be dispatched",
+                        taskInstance.getName(), taskInstance.getTaskType(), taskInstance.getState());
                 return true;
             }
             logger.info("task ready to submit: {}", taskInstance);
@@ -219,11 +234,7 @@ public class MasterBaseTaskExecThread implements Callable<Boolean> {
             /**
              *  taskPriority
              */
-            TaskPriority taskPriority = buildTaskPriority(processInstance.getProcessInstancePriority().getCode(),
-                    processInstance.getId(),
-                    taskInstance.getProcessInstancePriority().getCode(),
-                    taskInstance.getId(),
-                    org.apache.dolphinscheduler.common.Constants.DEFAULT_WORKER_GROUP);
+            TaskPriority taskPriority = buildTaskPriority(processInstance, taskInstance);
             taskUpdateQueue.put(taskPriority);
             logger.info(String.format("master submit success, task : %s", taskInstance.getName()));
             return true;
@@ -234,6 +245,39 @@ public class MasterBaseTaskExecThread implements Callable<Boolean> {
         }
     }
 
+    /**
+     * whether the task instance needs to be put into the task priority queue
+     *
+     * @param taskInstance taskInstance
+     * @return true if the task should be dispatched to a worker
+     */
+    static boolean needDispatch(TaskInstance taskInstance) {
+        if (taskInstance.isConditionsTask()
+                || taskInstance.isDependTask()
+                || taskInstance.isSubProcess()) {
+            return false;
+        }
+        // finished, or cannot be submitted because its execution state is RUNNING or DELAY.
+        return !taskInstance.getState().typeIsFinished()
+                && taskInstance.getState() != ExecutionStatus.RUNNING_EXECUTION
+                && taskInstance.getState() != ExecutionStatus.DELAY_EXECUTION;
+    }
+
+    /**
+     * buildTaskPriority
+     *
+     * @param processInstance processInstance
+     * @param taskInstance taskInstance
+     * @return TaskPriority
+     */
+    static TaskPriority buildTaskPriority(ProcessInstance processInstance, TaskInstance taskInstance) {
+        return buildTaskPriority(processInstance.getProcessInstancePriority().getCode(),
+                processInstance.getId(),
+                taskInstance.getProcessInstancePriority().getCode(),
+                taskInstance.getId(),
+                org.apache.dolphinscheduler.common.Constants.DEFAULT_WORKER_GROUP);
+    }
+
     /**
      * buildTaskPriority
      *
@@ -244,7 +288,7 @@ public class MasterBaseTaskExecThread implements Callable<Boolean> {
      * @param workerGroup workerGroup
      * @return TaskPriority
      */
-    private TaskPriority buildTaskPriority(int processInstancePriority,
+    private static TaskPriority buildTaskPriority(int processInstancePriority,
                                            int processInstanceId,
                                            int taskInstancePriority,
                                            int taskInstanceId,
@@ -269,7 +313,7 @@ public class MasterBaseTaskExecThread implements Callable<Boolean> {
      */
     @Override
     public Boolean call() {
-        this.processInstance = processService.findProcessInstanceById(taskInstance.getProcessInstanceId());
+        this.processInstance = processInstanceCacheManager.getByProcessInstanceId(taskInstance.getProcessInstanceId());
         return submitWaitComplete();
     }
 
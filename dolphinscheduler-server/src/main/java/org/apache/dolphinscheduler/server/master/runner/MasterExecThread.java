@@ -51,16 +51,20 @@ import org.apache.dolphinscheduler.dao.entity.ProjectUser;
 import org.apache.dolphinscheduler.dao.entity.Schedule;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.utils.DagHelper;
+import org.apache.dolphinscheduler.dao.utils.ExecutionGraph;
 import org.apache.dolphinscheduler.remote.NettyRemotingClient;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
+import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.quartz.cron.CronUtils;
 import org.apache.dolphinscheduler.service.queue.PeerTaskInstancePriorityQueue;
+import org.apache.dolphinscheduler.service.queue.TaskPriority;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityQueueImpl;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -70,6 +74,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -94,9 +99,14 @@ public class MasterExecThread implements Runnable {
      */
     private final ExecutorService taskExecService;
     /**
-     * process instance
+     * process instance, authoritative in-memory copy while this thread runs it
      */
-    private ProcessInstance processInstance;
+    private final ProcessInstance processInstance;
+
+    /**
+     * whether the in-memory var pool has changes not yet written to the database
+     */
+    private boolean varPoolDirty = false;
     /**
      * submit failure nodes
      */
@@ -152,6 +162,11 @@ public class MasterExecThread implements Runnable {
      */
     private DAG<String, TaskNode, TaskNodeRelation> dag;
 
+    /**
+     * int indexed view of the dag tracking which nodes are ready
+     */
+    private ExecutionGraph executionGraph;
+
     /**
      * process service
      */
@@ -166,6 +181,12 @@ public class MasterExecThread implements Runnable {
      *
      */
     private NettyRemotingClient nettyRemotingClient;
+
+    /**
+     * running process instance cache manager
+     */
+    private ProcessInstanceCacheManager processInstanceCacheManager;
+
     /**
      * submit post node
      *
@@ -179,12 +200,14 @@ public class MasterExecThread implements Runnable {
      * @param processInstance processInstance
      * @param processService processService
      * @param nettyRemotingClient nettyRemotingClient
+     * @param processInstanceCacheManager processInstanceCacheManager
      */
     public MasterExecThread(ProcessInstance processInstance
             , ProcessService processService
             , NettyRemotingClient nettyRemotingClient
             , ProcessAlertManager processAlertManager
-            , MasterConfig masterConfig) {
+            , MasterConfig masterConfig
+            , ProcessInstanceCacheManager processInstanceCacheManager) {
         this.processService = processService;
 
         this.processInstance = processInstance;
@@ -194,6 +217,7 @@ public class MasterExecThread implements Runnable {
                 masterTaskExecNum);
         this.nettyRemotingClient = nettyRemotingClient;
         this.processAlertManager = processAlertManager;
+        this.processInstanceCacheManager = processInstanceCacheManager;
     }
 
     @Override
@@ -226,6 +250,7 @@ public class MasterExecThread implements Runnable {
             processInstance.setEndTime(new Date());
             processService.updateProcessInstance(processInstance);
         } finally {
+            processInstanceCacheManager.removeByProcessInstanceId(processInstance.getId());
             taskExecService.shutdown();
         }
     }
@@ -345,6 +370,9 @@ public class MasterExecThread implements Runnable {
      */
     private void prepareProcess() throws Exception {
 
+        // state changes of the running instance are applied to this copy from now on
+        processInstanceCacheManager.cacheProcessInstance(processInstance);
+
         // gen process dag
         buildFlowDag();
 
@@ -358,7 +386,13 @@ public class MasterExecThread implements Runnable {
      */
     private void endProcess() {
         processInstance.setEndTime(new Date());
-        processService.updateProcessInstance(processInstance);
+        if (!saveProcessInstanceState(processInstance.getState())) {
+            // requested after the last task finished, there is no task left to wait for
+            ExecutionStatus requestedState = processInstance.getState();
+            processInstance.setState(requestedState == ExecutionStatus.READY_PAUSE ? ExecutionStatus.PAUSE : ExecutionStatus.STOP);
+            saveProcessInstanceState(requestedState);
+        }
+        processInstanceCacheManager.removeByProcessInstanceId(processInstance.getId());
         if (processInstance.getState().typeIsWaitingThread()) {
             processService.createRecoveryWaitingThreadCommand(null, processInstance);
         }
@@ -393,6 +427,7 @@ public class MasterExecThread implements Runnable {
         }
         // generate process dag
         dag = DagHelper.buildDagGraph(processDag);
+        executionGraph = new ExecutionGraph(dag, skipTaskNodeList);
     }
 
     /**
@@ -408,9 +443,9 @@ public class MasterExecThread implements Runnable {
         List<TaskInstance> taskInstanceList = processService.findValidTaskListByProcessId(processInstance.getId());
         for (TaskInstance task : taskInstanceList) {
             if (task.isTaskComplete()) {
-                completeTaskList.put(task.getName(), task);
+                completeTask(task);
             }
-            if (task.isConditionsTask() || DagHelper.haveConditionsAfterNode(task.getName(), dag)) {
+            if (task.isConditionsTask() || executionGraph.haveConditionsAfterNode(task.getName())) {
                 continue;
             }
             if (task.getState().typeIsFailure() && !task.taskCanRetry()) {
@@ -426,6 +461,17 @@ public class MasterExecThread implements Runnable {
      * @return TaskInstance
      */
     private TaskInstance submitTaskExec(TaskInstance taskInstance) {
+        return submitTaskExec(taskInstance, false);
+    }
+
+    /**
+     * submit task to execute
+     *
+     * @param taskInstance task instance
+     * @param submitted whether the task instance is already saved and dispatched
+     * @return TaskInstance
+     */
+    private TaskInstance submitTaskExec(TaskInstance taskInstance, boolean submitted) {
         MasterBaseTaskExecThread abstractExecThread = null;
         if (taskInstance.isSubProcess()) {
             abstractExecThread = new SubProcessTaskExecThread(taskInstance);
@@ -436,21 +482,82 @@ public class MasterExecThread implements Runnable {
         } else {
             abstractExecThread = new MasterTaskExecThread(taskInstance);
         }
+        abstractExecThread.setSubmitted(submitted);
         Future<Boolean> future = taskExecService.submit(abstractExecThread);
         activeTaskNode.putIfAbsent(abstractExecThread, future);
         return abstractExecThread.getTaskInstance();
     }
 
+    /**
+     * submit the tasks which became ready in the same round.
+     * new task instances are saved with one multi-row insert and put into the task priority queue together,
+     * sub process tasks and already saved task instances are submitted one by one
+     *
+     * @param taskInstances ready task instances
+     */
+    private void submitTaskExec(List<TaskInstance> taskInstances) {
+        List<TaskInstance> batchTasks = new ArrayList<>();
+        for (TaskInstance taskInstance : taskInstances) {
+            if (taskInstance.getId() == 0 && !taskInstance.isSubProcess()) {
+                batchTasks.add(taskInstance);
+            } else {
+                submitTaskExec(taskInstance);
+            }
+        }
+        if (batchTasks.size() < 2) {
+            batchTasks.forEach(this::submitTaskExec);
+            return;
+        }
+        try {
+            processService.submitTasks(processInstance, batchTasks);
+        } catch (Exception e) {
+            logger.error("submit {} tasks to db in batch failed, process instance id:{}, submit them one by one",
+                    batchTasks.size(), processInstance.getId(), e);
+            for (TaskInstance taskInstance : batchTasks) {
+                taskInstance.setId(0);
+                submitTaskExec(taskInstance);
+            }
+            return;
+        }
+        boolean dispatched = dispatchTasks(batchTasks);
+        for (TaskInstance taskInstance : batchTasks) {
+            submitTaskExec(taskInstance, dispatched);
+        }
+    }
+
+    /**
+     * put the task priorities of saved task instances into the task priority queue together
+     *
+     * @param taskInstances saved task instances
+     * @return true if all tasks were put into the queue
+     */
+    private boolean dispatchTasks(List<TaskInstance> taskInstances) {
+        List<TaskPriority> taskPriorities = new ArrayList<>(taskInstances.size());
+        for (TaskInstance taskInstance : taskInstances) {
+            if (MasterBaseTaskExecThread.needDispatch(taskInstance)) {
+                taskPriorities.add(MasterBaseTaskExecThread.buildTaskPriority(processInstance, taskInstance));
+            }
+        }
+        try {
+            SpringApplicationContext.getBean(TaskPriorityQueueImpl.class).putAll(taskPriorities);
+            logger.info("master submit {} tasks in batch, process instance id:{}", taskPriorities.size(), processInstance.getId());
+            return true;
+        } catch (Exception e) {
+            logger.error("dispatch {} tasks in batch failed, process instance id:{}", taskPriorities.size(), processInstance.getId(), e);
+            return false;
+        }
+    }
+
     /**
      * find task instance in db.
      * in case submit more than one same name task in the same time.
      *
+     * @param taskInstanceList valid task instances of the process instance
      * @param taskCode task code
      * @param taskVersion task version
      * @return TaskInstance
      */
-    private TaskInstance findTaskIfExists(Long taskCode, int taskVersion) {
-        List<TaskInstance> taskInstanceList = processService.findValidTaskListByProcessId(this.processInstance.getId());
+    private TaskInstance findTaskIfExists(List<TaskInstance> taskInstanceList, Long taskCode, int taskVersion) {
         for (TaskInstance taskInstance : taskInstanceList) {
             if (taskInstance.getTaskCode() == taskCode && taskInstance.getTaskDefinitionVersion() == taskVersion) {
                 return taskInstance;
@@ -464,10 +571,11 @@ public class MasterExecThread implements Runnable {
      *
      * @param processInstance process instance
      * @param taskNode taskNode
+     * @param validTaskList valid task instances of the process instance
      * @return TaskInstance
      */
-    private TaskInstance createTaskInstance(ProcessInstance processInstance, TaskNode taskNode) {
-        TaskInstance taskInstance = findTaskIfExists(taskNode.getCode(), taskNode.getVersion());
+    private TaskInstance createTaskInstance(ProcessInstance processInstance, TaskNode taskNode, List<TaskInstance> validTaskList) {
+        TaskInstance taskInstance = findTaskIfExists(validTaskList, taskNode.getCode(), taskNode.getVersion());
         if (taskInstance == null) {
             taskInstance = new TaskInstance();
             taskInstance.setTaskCode(taskNode.getCode());
@@ -577,12 +685,27 @@ public class MasterExecThread implements Runnable {
         }
     }
 
+    /**
+     * put the task into the complete task list, its post nodes have one dependency less to wait for
+     *
+     * @param task task instance
+     */
+    private void completeTask(TaskInstance task) {
+        completeTaskList.put(task.getName(), task);
+        executionGraph.complete(task.getName());
+    }
+
     private void submitPostNode(String parentNodeName) {
-        Set<String> submitTaskNodeList = DagHelper.parsePostNodes(parentNodeName, skipTaskNodeList, dag, completeTaskList);
+        Set<String> submitTaskNodeList = executionGraph.parsePostNodes(parentNodeName, completeTaskList);
+        if (submitTaskNodeList.isEmpty()) {
+            return;
+        }
         List<TaskInstance> taskInstances = new ArrayList<>();
+        // read the valid task list once for the whole level instead of once per post node
+        List<TaskInstance> validTaskList = processService.findValidTaskListByProcessId(processInstance.getId());
         for (String taskNode : submitTaskNodeList) {
-            TaskNode taskNodeObject = dag.getNode(taskNode);
-            taskInstances.add(createTaskInstance(processInstance, taskNodeObject));
+            TaskNode taskNodeObject = executionGraph.getNode(taskNode);
+            taskInstances.add(createTaskInstance(processInstance, taskNodeObject, validTaskList));
         }
 
         // if previous node success , post node submit
@@ -611,15 +734,14 @@ public class MasterExecThread implements Runnable {
      */
     private DependResult isTaskDepsComplete(String taskName) {
 
-        Collection<String> startNodes = dag.getBeginNode();
         // if vertex,returns true directly
-        if (startNodes.contains(taskName)) {
+        if (executionGraph.isBeginNode(taskName)) {
             return DependResult.SUCCESS;
         }
-        TaskNode taskNode = dag.getNode(taskName);
+        TaskNode taskNode = executionGraph.getNode(taskName);
         List<String> depNameList = taskNode.getDepList();
         for (String depsNode : depNameList) {
-            if (!dag.containsNode(depsNode)
+            if (!executionGraph.containsNode(depsNode)
                     || forbiddenTaskList.containsKey(depsNode)
                     || skipTaskNodeList.containsKey(depsNode)) {
                 continue;
@@ -648,9 +770,9 @@ public class MasterExecThread implements Runnable {
      * depend node is completed, but here need check the condition task branch is the next node
      */
     private boolean dependTaskSuccess(String dependNodeName, String nextNodeName) {
-        if (dag.getNode(dependNodeName).isConditionsTask()) {
+        if (executionGraph.getNode(dependNodeName).isConditionsTask()) {
             //condition task need check the branch to run
-            List<String> nextTaskList = DagHelper.parseConditionTask(dependNodeName, skipTaskNodeList, dag, completeTaskList);
+            List<String> nextTaskList = executionGraph.parseConditionTask(dependNodeName, completeTaskList);
             if (!nextTaskList.contains(nextNodeName)) {
                 return false;
             }
@@ -769,8 +891,7 @@ public class MasterExecThread implements Runnable {
      * @return process instance execution status
      */
     private ExecutionStatus getProcessInstanceState() {
-        ProcessInstance instance = processService.findProcessInstanceById(processInstance.getId());
-        ExecutionStatus state = instance.getState();
+        ExecutionStatus state = processInstance.getState();
 
         if (activeTaskNode.size() > 0 || hasRetryTaskInStandBy()) {
             // active task and retry task exists
@@ -826,17 +947,7 @@ public class MasterExecThread implements Runnable {
      * whether standby task list have retry tasks
      */
     private boolean retryTaskExists() {
-
-        boolean result = false;
-
-        for (Iterator<TaskInstance> iter = readyToSubmitTaskQueue.iterator(); iter.hasNext(); ) {
-            TaskInstance task = iter.next();
-            if (task.getState().typeIsFailure()) {
-                result = true;
-                break;
-            }
-        }
-        return result;
+        return readyToSubmitTaskQueue.hasRetryTask();
     }
 
     /**
@@ -861,22 +972,54 @@ public class MasterExecThread implements Runnable {
 
     /**
      * updateProcessInstance process instance state
-     * after each batch of tasks is executed, the status of the process instance is updated
+     * after each batch of tasks is executed, the status of the process instance is updated.
+     * the in-memory instance is authoritative, the database is only written when something changed,
+     * var pool updates of the tasks finished in this round are coalesced into one write
      */
     private void updateProcessInstanceState() {
-        ExecutionStatus state = getProcessInstanceState();
-        if (processInstance.getState() != state) {
-            logger.info(
-                    "work flow process instance [id: {}, name:{}], state change from {} to {}, cmd type: {}",
-                    processInstance.getId(), processInstance.getName(),
-                    processInstance.getState(), state,
-                    processInstance.getCommandType());
-
-            ProcessInstance instance = processService.findProcessInstanceById(processInstance.getId());
-            instance.setState(state);
-            instance.setProcessDefinition(processInstance.getProcessDefinition());
-            processService.updateProcessInstance(instance);
-            processInstance = instance;
+        synchronized (processInstance) {
+            ExecutionStatus state = getProcessInstanceState();
+            if (processInstance.getState() != state) {
+                logger.info(
+                        "work flow process instance [id: {}, name:{}], state change from {} to {}, cmd type: {}",
+                        processInstance.getId(), processInstance.getName(),
+                        processInstance.getState(), state,
+                        processInstance.getCommandType());
+
+                ExecutionStatus originState = processInstance.getState();
+                processInstance.setState(state);
+                saveProcessInstanceState(originState);
+                return;
+            }
+        }
+        if (varPoolDirty) {
+            processService.updateProcessInstanceVarPool(processInstance);
+            varPoolDirty = false;
+        }
+    }
+
+    /**
+     * write the state, end time and var pool of the process instance.
+     * a stop or pause written by the api that did not reach this master yet is never overwritten,
+     * it is loaded into the in-memory instance instead and handled in the next round
+     *
+     * @param originState state the in-memory instance changed from
+     * @return true if the state was written
+     */
+    private boolean saveProcessInstanceState(ExecutionStatus originState) {
+        synchronized (processInstance) {
+            if (processService.updateProcessInstanceState(processInstance, originState) > 0) {
+                varPoolDirty = false;
+                return true;
+            }
+            ProcessInstance latest = processService.findProcessInstanceById(processInstance.getId());
+            if (latest == null) {
+                return true;
+            }
+            logger.info("process instance {} state {} is not written, {} is requested",
+                    processInstance.getId(), processInstance.getState(), latest.getState());
+            processInstance.setState(latest.getState());
+            return false;
         }
     }
 
@@ -898,7 +1041,13 @@ public class MasterExecThread implements Runnable {
     private void addTaskToStandByList(TaskInstance taskInstance) {
         logger.info("add task to stand by list: {}", taskInstance.getName());
         try {
-            readyToSubmitTaskQueue.put(taskInstance);
+            long retryDueTime = retryDueTime(taskInstance);
+            if (retryDueTime > System.currentTimeMillis()) {
+                // park it until the retry interval is over instead of checking it every loop
+                readyToSubmitTaskQueue.putDelayed(taskInstance, retryDueTime);
+            } else {
+                readyToSubmitTaskQueue.put(taskInstance);
+            }
         } catch (Exception e) {
             logger.error("add task instance to readyToSubmitTaskQueue error, taskName: {}", taskInstance.getName(), e);
         }
@@ -924,12 +1073,7 @@ public class MasterExecThread implements Runnable {
      * @return Boolean whether has retry task in standby
      */
     private boolean hasRetryTaskInStandBy() {
-        for (Iterator<TaskInstance> iter = readyToSubmitTaskQueue.iterator(); iter.hasNext(); ) {
-            if (iter.next().getState().typeIsFailure()) {
-                return true;
-            }
-        }
-        return false;
+        return readyToSubmitTaskQueue.hasRetryTask();
     }
 
     /**
@@ -974,10 +1118,9 @@ public class MasterExecThread implements Runnable {
                         task.getName(), task.getId(), task.getState());
                 // node success , post node submit
                 if (task.getState() == ExecutionStatus.SUCCESS) {
-                    processInstance = processService.findProcessInstanceById(processInstance.getId());
                     processInstance.setVarPool(task.getVarPool());
-                    processService.updateProcessInstance(processInstance);
-                    completeTaskList.put(task.getName(), task);
+                    varPoolDirty = true;
+                    completeTask(task);
                     submitPostNode(task.getName());
                     continue;
                 }
@@ -989,9 +1132,9 @@ public class MasterExecThread implements Runnable {
                     if (task.taskCanRetry()) {
                         addTaskToStandByList(task);
                     } else {
-                        completeTaskList.put(task.getName(), task);
+                        completeTask(task);
                         if (task.isConditionsTask()
-                                || DagHelper.haveConditionsAfterNode(task.getName(), dag)) {
+                                || executionGraph.haveConditionsAfterNode(task.getName())) {
                             submitPostNode(task.getName());
                         } else {
                             errorTaskList.put(task.getName(), task);
@@ -1003,7 +1146,7 @@ public class MasterExecThread implements Runnable {
                     continue;
                 }
                 // other status stop/pause
-                completeTaskList.put(task.getName(), task);
+                completeTask(task);
             }
             // send alert
             if (CollectionUtils.isNotEmpty(this.recoverToleranceFaultTaskList)) {
@@ -1131,14 +1274,28 @@ public class MasterExecThread implements Runnable {
         return taskInstance.getRetryInterval() * SEC_2_MINUTES_TIME_UNIT < failedTimeInterval;
     }
 
+    /**
+     * time after which a failed task may be retried
+     *
+     * @param taskInstance task instance
+     * @return due time in millis, 0 if the task can be submitted now
+     */
+    private long retryDueTime(TaskInstance taskInstance) {
+        if (retryTaskIntervalOverTime(taskInstance) || taskInstance.getEndTime() == null) {
+            return 0;
+        }
+        return taskInstance.getEndTime().getTime()
+                + TimeUnit.SECONDS.toMillis(taskInstance.getRetryInterval() * SEC_2_MINUTES_TIME_UNIT + 1L);
+    }
+
     /**
      * handling the list of tasks to be submitted
      */
     private void submitStandByTask() {
+        List<TaskInstance> readyTasks = new ArrayList<>();
         try {
-            int length = readyToSubmitTaskQueue.size();
-            for (int i = 0; i < length; i++) {
-                TaskInstance task = readyToSubmitTaskQueue.peek();
+            readyToSubmitTaskQueue.releaseDueTasks(System.currentTimeMillis());
+            for (TaskInstance task : readyToSubmitTaskQueue.readyTasks()) {
                 // stop tasks which is retrying if forced success happens
                 if (task.taskCanRetry()) {
                     TaskInstance retryTask = processService.findTaskInstanceById(task.getId());
@@ -1146,7 +1303,7 @@ public class MasterExecThread implements Runnable {
                         task.setState(retryTask.getState());
                         logger.info("task: {} has been forced success, put it into complete task list and stop retrying", task.getName());
                         removeTaskFromStandbyList(task);
-                        completeTaskList.put(task.getName(), task);
+                        completeTask(task);
                         submitPostNode(task.getName());
                         continue;
                     }
@@ -1154,13 +1311,13 @@ public class MasterExecThread implements Runnable {
                 //init varPool only this task is the first time running
                 if (task.isFirstRun()) {
                     //get pre task ,get all the task varPool to this task
-                    Set<String> preTask = dag.getPreviousNodes(task.getName());
+                    Set<String> preTask = executionGraph.getPreviousNodes(task.getName());
                     getPreVarPool(task, preTask);
                 }
                 DependResult dependResult = getDependResultForTask(task);
                 if (DependResult.SUCCESS == dependResult) {
                     if (retryTaskIntervalOverTime(task)) {
-                        submitTaskExec(task);
+                        readyTasks.add(task);
                         removeTaskFromStandbyList(task);
                     }
                 } else if (DependResult.FAILED == dependResult) {
@@ -1177,6 +1334,9 @@ public class MasterExecThread implements Runnable {
         } catch (Exception e) {
             logger.error("submit standby task error", e);
         }
+        if (!readyTasks.isEmpty()) {
+            submitTaskExec(readyTasks);
+        }
     }
 
     /**
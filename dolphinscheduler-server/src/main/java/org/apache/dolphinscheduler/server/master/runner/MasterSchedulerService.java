@@ -26,6 +26,7 @@ import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.remote.NettyRemotingClient;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.registry.MasterRegistryClient;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
@@ -76,6 +77,12 @@ public class MasterSchedulerService extends Thread {
     @Autowired
     private ProcessAlertManager processAlertManager;
 
+    /**
+     * running process instance cache manager
+     */
+    @Autowired
+    private ProcessInstanceCacheManager processInstanceCacheManager;
+
     /**
      *  netty remoting client
      */
@@ -166,7 +173,8 @@ public class MasterSchedulerService extends Thread {
                                         , processService
                                         , nettyRemotingClient
                                         , processAlertManager
-                                        , masterConfig));
+                                        , masterConfig
+                                        , processInstanceCacheManager));
                     }
                 } catch (Exception e) {
                     logger.error("scan command error ", e);
@@ -145,7 +145,7 @@ public class MasterTaskExecThread extends MasterBaseTaskExecThread {
                 // updateProcessInstance task instance
                 //issue#5539 Check status of taskInstance from cache
                 taskInstance = taskInstanceCacheManager.getByTaskInstanceId(taskInstance.getId());
-                processInstance = processService.findProcessInstanceById(processInstance.getId());
+                processInstance = processInstanceCacheManager.getByProcessInstanceId(processInstance.getId());
                 Thread.sleep(Constants.SLEEP_TIME_MILLIS);
             } catch (Exception e) {
                 logger.error("exception", e);
@@ -17,6 +17,7 @@
 package org.apache.dolphinscheduler.server.master.runner;
 
 import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
 import org.apache.dolphinscheduler.common.thread.Stopper;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
@@ -103,13 +104,13 @@ public class SubProcessTaskExecThread extends MasterBaseTaskExecThread {
      *  updateProcessInstance parent state
      */
     private void updateParentProcessState(){
-        ProcessInstance parentProcessInstance = processService.findProcessInstanceById(this.processInstance.getId());
+        ProcessInstance parentProcessInstance = processInstanceCacheManager.getByProcessInstanceId(this.processInstance.getId());
 
         if(parentProcessInstance == null){
             logger.error("parent work flow instance is null ,  please check it! work flow id {}", processInstance.getId());
             return;
         }
-        this.processInstance.setState(parentProcessInstance.getState());
+        this.processInstance = parentProcessInstance;
     }
 
     /**
@@ -165,6 +166,7 @@ public class SubProcessTaskExecThread extends MasterBaseTaskExecThread {
         }
         subProcessInstance.setState(ExecutionStatus.READY_STOP);
         processService.updateProcessInstance(subProcessInstance);
+        processInstanceCacheManager.changeProcessInstanceState(subProcessInstance.getId(), ExecutionStatus.READY_STOP, CommandType.STOP);
     }
 
     /**
@@ -177,5 +179,6 @@ public class SubProcessTaskExecThread extends MasterBaseTaskExecThread {
         }
         subProcessInstance.setState(ExecutionStatus.READY_PAUSE);
         processService.updateProcessInstance(subProcessInstance);
+        processInstanceCacheManager.changeProcessInstanceState(subProcessInstance.getId(), ExecutionStatus.READY_PAUSE, CommandType.PAUSE);
     }
 }
@@ -0,0 +1,361 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.schedule;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ReleaseState;
+import org.apache.dolphinscheduler.common.thread.Stopper;
+import org.apache.dolphinscheduler.common.utils.NetUtils;
+import org.apache.dolphinscheduler.common.utils.StringUtils;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * native cron schedule engine, an alternative of the quartz jdbc job store.
+ * Online schedules are loaded from t_ds_schedules and partitioned across masters by schedule id,
+ * each master keeps the triggers of its partition in a hierarchical timing wheel.
+ * Triggers coming due in the same tick are turned into commands with one batched insert.
+ * A schedule is checked again when it fires, and each fire time is claimed in t_ds_schedule_fire
+ * so that it runs once. Masters may disagree on the partition while masters join or leave, so for one
+ * reload interval after the master list changed every schedule is armed and the claims pick one master.
+ * Misfire handling follows the quartz trigger built by QuartzExecutors (do nothing): a fire later than
+ * the misfire threshold is skipped and the trigger moves to the next fire time after now.
+ */
+@Service
+public class CronScheduleEngine extends Thread {
+
+    private static final Logger logger = LoggerFactory.getLogger(CronScheduleEngine.class);
+
+    /**
+     * cron resolution is one second
+     */
+    private static final long TICK_MS = 1000L;
+
+    private static final int WHEEL_SIZE = 60;
+
+    /**
+     * max rows of one command insert
+     */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * claims of fire times older than this are deleted
+     */
+    private static final long FIRE_CLAIM_RETENTION_MS = 24 * 3600 * 1000L;
+
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Autowired
+    private ServerNodeManager serverNodeManager;
+
+    /**
+     * schedule id -> trigger owned by this master, only accessed by the engine thread
+     */
+    private final Map<Integer, ScheduleTrigger> triggers = new HashMap<>();
+
+    /**
+     * triggers due before the wheel could hold them
+     */
+    private final List<ScheduleTrigger> dueTriggers = new ArrayList<>();
+
+    private TimingWheel<ScheduleTrigger> timingWheel;
+
+    private long lastReloadTime;
+
+    private List<String> lastMasters = Collections.emptyList();
+
+    private long lastMastersChangeTime;
+
+    @Override
+    public synchronized void start() {
+        super.setName("CronScheduleEngine");
+        super.setDaemon(true);
+        super.start();
+    }
+
+    public void close() {
+        this.interrupt();
+        logger.info("cron schedule engine stopped...");
+    }
+
+    @Override
+    public void run() {
+        logger.info("cron schedule engine started");
+        timingWheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, System.currentTimeMillis());
+        while (Stopper.isRunning()) {
+            try {
+                long now = System.currentTimeMillis();
+                List<String> masters = getSortedMasters();
+                if (!masters.equals(lastMasters)
+                        || now - lastReloadTime >= masterConfig.getMasterScheduleReloadInterval() * 1000L) {
+                    reload(masters, now);
+                    lastReloadTime = now;
+                }
+                List<ScheduleTrigger> expired = timingWheel.advance(now);
+                expired.addAll(dueTriggers);
+                dueTriggers.clear();
+                fire(expired, now);
+                // wake up at the next tick
+                Thread.sleep(TICK_MS - System.currentTimeMillis() % TICK_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("cron schedule engine error", e);
+            }
+        }
+    }
+
+    /**
+     * reload online schedules of this master's partition, new and changed schedules are armed
+     * from now on, never fired for the past, schedules gone offline or moved to another master are cancelled
+     *
+     * @param masters sorted master addresses
+     * @param now current time
+     */
+    void reload(List<String> masters, long now) {
+        if (!masters.equals(lastMasters)) {
+            lastMasters = masters;
+            lastMastersChangeTime = now;
+        }
+        int slot = masters.indexOf(NetUtils.getAddr(masterConfig.getListenPort()));
+        if (slot < 0) {
+            logger.warn("current master is not in master list {}, hold no schedule", masters);
+            cancelAll();
+            return;
+        }
+        // other masters may not see the same list yet, hold every schedule until they do
+        boolean holdAll = now - lastMastersChangeTime < masterConfig.getMasterScheduleReloadInterval() * 1000L;
+        Set<Integer> owned = new HashSet<>();
+        for (Schedule schedule : processService.queryReleaseSchedulerList()) {
+            if (!holdAll && schedule.getId() % masters.size() != slot) {
+                continue;
+            }
+            owned.add(schedule.getId());
+            ScheduleTrigger trigger = triggers.get(schedule.getId());
+            if (trigger != null && trigger.sameTiming(schedule)) {
+                trigger.setSchedule(schedule);
+                continue;
+            }
+            if (trigger != null) {
+                trigger.cancel();
+                triggers.remove(schedule.getId());
+            }
+            try {
+                trigger = new ScheduleTrigger(schedule);
+            } catch (ParseException e) {
+                logger.error("invalid crontab {} of schedule {}", schedule.getCrontab(), schedule.getId(), e);
+                continue;
+            }
+            if (trigger.computeNextFireTime(new Date(now)) != null) {
+                triggers.put(schedule.getId(), trigger);
+                arm(trigger);
+            }
+        }
+        Iterator<Map.Entry<Integer, ScheduleTrigger>> iterator = triggers.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, ScheduleTrigger> entry = iterator.next();
+            if (!owned.contains(entry.getKey())) {
+                entry.getValue().cancel();
+                iterator.remove();
+            }
+        }
+        logger.info("reload schedules, slot {} of {} masters, hold all: {}, {} triggers owned", slot, masters.size(), holdAll, triggers.size());
+        try {
+            processService.deleteScheduleFireBefore(new Date(now - FIRE_CLAIM_RETENTION_MS));
+        } catch (Exception e) {
+            logger.error("delete expired schedule fire claims failed", e);
+        }
+    }
+
+    /**
+     * fire due triggers: skip misfires, create commands of online process definitions in batch,
+     * then arm every trigger at its next fire time
+     *
+     * @param dueList due triggers
+     * @param now current time
+     */
+    void fire(List<ScheduleTrigger> dueList, long now) {
+        if (dueList.isEmpty()) {
+            return;
+        }
+        Date fireTime = new Date(now);
+        List<ScheduleTrigger> fired = new ArrayList<>();
+        List<Date> scheduledFireTimes = new ArrayList<>();
+        for (ScheduleTrigger trigger : dueList) {
+            if (trigger.isCancelled()) {
+                continue;
+            }
+            Date scheduledFireTime = trigger.getNextFireTime();
+            if (now - scheduledFireTime.getTime() > masterConfig.getMasterScheduleMisfireThreshold()) {
+                logger.warn("schedule {} misfired, scheduled fire time: {}, skip to the next fire time", trigger.getSchedule().getId(), scheduledFireTime);
+                trigger.computeNextFireTime(fireTime);
+            } else {
+                fired.add(trigger);
+                scheduledFireTimes.add(scheduledFireTime);
+                trigger.computeNextFireTime(scheduledFireTime);
+            }
+            if (trigger.getNextFireTime() == null) {
+                logger.info("schedule {} reaches its end time", trigger.getSchedule().getId());
+                triggers.remove(trigger.getSchedule().getId(), trigger);
+            } else {
+                arm(trigger);
+            }
+        }
+        if (!fired.isEmpty()) {
+            createCommands(fired, scheduledFireTimes, fireTime);
+        }
+    }
+
+    private void createCommands(List<ScheduleTrigger> fired, List<Date> scheduledFireTimes, Date fireTime) {
+        // offline and delete are not pushed to the engine, check the schedules as ProcessScheduleJob does
+        List<Integer> scheduleIds = fired.stream()
+                .map(trigger -> trigger.getSchedule().getId())
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Integer, Schedule> scheduleMap = processService.findScheduleListByIds(scheduleIds)
+                .stream()
+                .collect(Collectors.toMap(Schedule::getId, Function.identity(), (a, b) -> a));
+        Integer[] processDefinitionIds = scheduleMap.values().stream()
+                .map(Schedule::getProcessDefinitionId)
+                .distinct()
+                .toArray(Integer[]::new);
+        Map<Integer, ProcessDefinition> processDefinitionMap = new HashMap<>();
+        if (processDefinitionIds.length > 0) {
+            for (ProcessDefinition processDefinition : processService.findProcessDefineByIdList(processDefinitionIds)) {
+                processDefinitionMap.putIfAbsent(processDefinition.getId(), processDefinition);
+            }
+        }
+        List<Command> commands = new ArrayList<>(fired.size());
+        for (int i = 0; i < fired.size(); i++) {
+            ScheduleTrigger trigger = fired.get(i);
+            Schedule schedule = scheduleMap.get(trigger.getSchedule().getId());
+            if (schedule == null || schedule.getReleaseState() != ReleaseState.ONLINE) {
+                logger.warn("schedule {} is deleted or offline, cancel its trigger", trigger.getSchedule().getId());
+                trigger.cancel();
+                triggers.remove(trigger.getSchedule().getId(), trigger);
+                continue;
+            }
+            ProcessDefinition processDefinition = processDefinitionMap.get(schedule.getProcessDefinitionId());
+            if (processDefinition == null || processDefinition.getReleaseState() == ReleaseState.OFFLINE) {
+                logger.warn("process definition does not exist in db or offline, need not to create command, scheduleId:{}", schedule.getId());
+                continue;
+            }
+            if (!processService.claimScheduleFire(schedule.getId(), scheduledFireTimes.get(i))) {
+                logger.info("schedule {} fire time {} is claimed by another master", schedule.getId(), scheduledFireTimes.get(i));
+                continue;
+            }
+            commands.add(buildCommand(schedule, scheduledFireTimes.get(i), fireTime));
+        }
+        for (int from = 0; from < commands.size(); from += BATCH_SIZE) {
+            List<Command> batch = commands.subList(from, Math.min(from + BATCH_SIZE, commands.size()));
+            try {
+                processService.batchCreateCommand(batch);
+            } catch (Exception e) {
+                logger.error("create {} schedule commands failed", batch.size(), e);
+            }
+        }
+        logger.info("{} schedules fired, {} commands created", fired.size(), commands.size());
+    }
+
+    /**
+     * same command as ProcessScheduleJob
+     */
+    static Command buildCommand(Schedule schedule, Date scheduledFireTime, Date fireTime) {
+        Command command = new Command();
+        command.setCommandType(CommandType.SCHEDULER);
+        command.setExecutorId(schedule.getUserId());
+        command.setFailureStrategy(schedule.getFailureStrategy());
+        command.setProcessDefinitionId(schedule.getProcessDefinitionId());
+        command.setScheduleTime(scheduledFireTime);
+        command.setStartTime(fireTime);
+        command.setWarningGroupId(schedule.getWarningGroupId());
+        String workerGroup = StringUtils.isEmpty(schedule.getWorkerGroup()) ? Constants.DEFAULT_WORKER_GROUP : schedule.getWorkerGroup();
+        command.setWorkerGroup(workerGroup);
+        command.setWarningType(schedule.getWarningType());
+        command.setProcessInstancePriority(schedule.getProcessInstancePriority());
+        return command;
+    }
+
+    private void arm(ScheduleTrigger trigger) {
+        if (!timingWheel.add(trigger, trigger.getNextFireTime().getTime())) {
+            dueTriggers.add(trigger);
+        }
+    }
+
+    private void cancelAll() {
+        for (ScheduleTrigger trigger : triggers.values()) {
+            trigger.cancel();
+        }
+        triggers.clear();
+    }
+
+    private List<String> getSortedMasters() {
+        List<String> masters = new ArrayList<>(serverNodeManager.getMasterNodes());
+        Collections.sort(masters);
+        return masters;
+    }
+
+    /**
+     * for test
+     */
+    void setTimingWheel(TimingWheel<ScheduleTrigger> timingWheel) {
+        this.timingWheel = timingWheel;
+    }
+
+    /**
+     * for test
+     */
+    Map<Integer, ScheduleTrigger> getTriggers() {
+        return triggers;
+    }
+
+    /**
+     * for test
+     */
+    List<ScheduleTrigger> getDueTriggers() {
+        return dueTriggers;
+    }
+}
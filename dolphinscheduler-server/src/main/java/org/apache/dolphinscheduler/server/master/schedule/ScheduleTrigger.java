@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.schedule;
+
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Objects;
+import java.util.TimeZone;
+
+import org.quartz.CronExpression;
+
+/**
+ * cron trigger of a schedule, fires like the quartz cron trigger built by QuartzExecutors:
+ * first fire time is the first cron time at or after the start time, no fire after the end time
+ */
+public class ScheduleTrigger {
+
+    /**
+     * schedule
+     */
+    private volatile Schedule schedule;
+
+    /**
+     * cron expression in the schedule timezone
+     */
+    private final CronExpression cronExpression;
+
+    /**
+     * start time
+     */
+    private final Date startTime;
+
+    /**
+     * end time
+     */
+    private final Date endTime;
+
+    /**
+     * next fire time, null if the trigger will not fire again
+     */
+    private Date nextFireTime;
+
+    /**
+     * cancelled triggers are dropped when they come due
+     */
+    private volatile boolean cancelled;
+
+    public ScheduleTrigger(Schedule schedule) throws ParseException {
+        this.schedule = schedule;
+        this.cronExpression = new CronExpression(schedule.getCrontab());
+        TimeZone timeZone = DateUtils.getTimezone(schedule.getTimezoneId());
+        if (timeZone != null) {
+            this.cronExpression.setTimeZone(timeZone);
+        }
+        this.startTime = schedule.getStartTime() == null ? null : DateUtils.getTimezoneDate(schedule.getStartTime(), schedule.getTimezoneId());
+        this.endTime = schedule.getEndTime() == null ? null : DateUtils.getTimezoneDate(schedule.getEndTime(), schedule.getTimezoneId());
+    }
+
+    /**
+     * compute and keep the next fire time after the given time
+     *
+     * @param afterTime after time
+     * @return next fire time, null if the trigger will not fire again
+     */
+    public Date computeNextFireTime(Date afterTime) {
+        Date after = afterTime;
+        if (startTime != null && after.before(startTime)) {
+            // the start time itself may be a fire time
+            after = new Date(startTime.getTime() - 1000L);
+        }
+        Date next = cronExpression.getNextValidTimeAfter(after);
+        if (next != null && endTime != null && next.after(endTime)) {
+            next = null;
+        }
+        this.nextFireTime = next;
+        return next;
+    }
+
+    /**
+     * whether the firing times of the given schedule are the same as this trigger's
+     *
+     * @param other schedule
+     * @return true if crontab, timezone, start and end time are unchanged
+     */
+    public boolean sameTiming(Schedule other) {
+        return Objects.equals(schedule.getCrontab(), other.getCrontab())
+                && Objects.equals(schedule.getTimezoneId(), other.getTimezoneId())
+                && Objects.equals(schedule.getStartTime(), other.getStartTime())
+                && Objects.equals(schedule.getEndTime(), other.getEndTime());
+    }
+
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    public void setSchedule(Schedule schedule) {
+        this.schedule = schedule;
+    }
+
+    public Date getNextFireTime() {
+        return nextFireTime;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * hierarchical timing wheel.
+ * The lowest wheel holds items expiring within wheelSize ticks, items further away go to lazily created
+ * overflow wheels whose tick is the interval of the wheel below; when a coarse bucket comes due
+ * its items cascade down. Adding an item and advancing one tick are O(1) regardless of how many items are held.
+ * Not thread safe, it is meant to be driven by a single thread.
+ *
+ * @param <T> item type
+ */
+public class TimingWheel<T> {
+
+    /**
+     * lowest wheel
+     */
+    private final Level<T> root;
+
+    /**
+     * item count
+     */
+    private int size;
+
+    /**
+     * constructor
+     *
+     * @param tickMs tick of the lowest wheel
+     * @param wheelSize bucket count of every wheel
+     * @param startMs start time
+     */
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize must be greater than 1");
+        }
+        this.root = new Level<>(tickMs, wheelSize, startMs);
+    }
+
+    /**
+     * add item
+     *
+     * @param item item
+     * @param expirationMs expiration time
+     * @return false if the item is already due in the current tick, the caller should handle it right away
+     */
+    public boolean add(T item, long expirationMs) {
+        if (root.add(new Entry<>(item, expirationMs))) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * advance the wheel to now
+     *
+     * @param nowMs current time
+     * @return items expired
+     */
+    public List<T> advance(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        List<Entry<T>> flushed = new ArrayList<>();
+        while (root.currentTime + root.tickMs <= nowMs) {
+            root.advanceTo(root.currentTime + root.tickMs, flushed);
+            for (Entry<T> entry : flushed) {
+                if (!root.add(entry)) {
+                    expired.add(entry.item);
+                    size--;
+                }
+            }
+            flushed.clear();
+        }
+        return expired;
+    }
+
+    /**
+     * @return current time of the wheel, aligned to the tick
+     */
+    public long getCurrentTime() {
+        return root.currentTime;
+    }
+
+    /**
+     * @return item count
+     */
+    public int size() {
+        return size;
+    }
+
+    private static final class Entry<T> {
+
+        private final T item;
+
+        private final long expiration;
+
+        Entry(T item, long expiration) {
+            this.item = item;
+            this.expiration = expiration;
+        }
+    }
+
+    private static final class Level<T> {
+
+        private final long tickMs;
+
+        private final int wheelSize;
+
+        private final long interval;
+
+        private final List<Entry<T>>[] buckets;
+
+        private long currentTime;
+
+        private Level<T> overflowWheel;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new List[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayList<>();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+
+        boolean add(Entry<T> entry) {
+            if (entry.expiration < currentTime + tickMs) {
+                return false;
+            }
+            if (entry.expiration < currentTime + interval) {
+                buckets[bucketIndex(entry.expiration)].add(entry);
+                return true;
+            }
+            if (overflowWheel == null) {
+                overflowWheel = new Level<>(interval, wheelSize, currentTime);
+            }
+            return overflowWheel.add(entry);
+        }
+
+        /**
+         * move the clock forward, entries of every bucket passed are moved to flushed to be added again
+         */
+        void advanceTo(long timeMs, List<Entry<T>> flushed) {
+            while (currentTime + tickMs <= timeMs) {
+                currentTime += tickMs;
+                int index = bucketIndex(currentTime);
+                if (!buckets[index].isEmpty()) {
+                    flushed.addAll(buckets[index]);
+                    buckets[index] = new ArrayList<>();
+                }
+                if (overflowWheel != null) {
+                    overflowWheel.advanceTo(currentTime, flushed);
+                }
+            }
+        }
+
+        private int bucketIndex(long timeMs) {
+            return (int) ((timeMs / tickMs) % wheelSize);
+        }
+    }
+}
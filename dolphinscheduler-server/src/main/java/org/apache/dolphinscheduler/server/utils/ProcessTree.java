@@ -0,0 +1,336 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.utils;
+
+import org.apache.dolphinscheduler.common.utils.CommonUtils;
+import org.apache.dolphinscheduler.common.utils.OSUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.jna.LastErrorException;
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+
+/**
+ * snapshot of the local process tree read from /proc, used to kill tasks with all their descendants
+ * without forking pstree for every task
+ */
+public class ProcessTree {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessTree.class);
+
+    private static final File PROC = new File("/proc");
+
+    private static final int SIGKILL = 9;
+
+    private static final int EPERM = 1;
+
+    private static final int ESRCH = 3;
+
+    /**
+     * libc, null when it can not be loaded and every kill goes through the shell
+     */
+    private static final CLibrary LIBC = loadLibc();
+
+    /**
+     * parent pid to child pids
+     */
+    private final Map<Integer, List<Integer>> children = new HashMap<>();
+
+    /**
+     * pid to process group id
+     */
+    private final Map<Integer, Integer> groups;
+
+    /**
+     * pid to parent pid
+     */
+    private final Map<Integer, Integer> parents;
+
+    ProcessTree(Map<Integer, Integer> parents, Map<Integer, Integer> groups) {
+        this.parents = parents;
+        this.groups = groups;
+        for (Map.Entry<Integer, Integer> entry : parents.entrySet()) {
+            children.computeIfAbsent(entry.getValue(), k -> new ArrayList<>()).add(entry.getKey());
+        }
+    }
+
+    /**
+     * whether the process tree can be read from /proc on this host
+     *
+     * @return true on linux
+     */
+    public static boolean isSupported() {
+        return new File(PROC, "self/stat").isFile();
+    }
+
+    /**
+     * read the process tree from /proc
+     *
+     * @return process tree
+     */
+    public static ProcessTree snapshot() {
+        Map<Integer, Integer> parents = new HashMap<>();
+        Map<Integer, Integer> groups = new HashMap<>();
+        File[] entries = PROC.listFiles();
+        if (entries != null) {
+            for (File entry : entries) {
+                int pid = parsePid(entry.getName());
+                if (pid <= 0) {
+                    continue;
+                }
+                try {
+                    int[] stat = parseStat(new String(Files.readAllBytes(new File(entry, "stat").toPath()), StandardCharsets.UTF_8));
+                    if (stat != null) {
+                        parents.put(pid, stat[0]);
+                        groups.put(pid, stat[1]);
+                    }
+                } catch (IOException e) {
+                    // the process exited while scanning
+                }
+            }
+        }
+        return new ProcessTree(parents, groups);
+    }
+
+    /**
+     * the process and all its descendants, parents before children
+     *
+     * @param pid pid
+     * @return pids, empty if the process does not exist
+     */
+    public List<Integer> descendants(int pid) {
+        if (!parents.containsKey(pid)) {
+            return Collections.emptyList();
+        }
+        List<Integer> pids = new ArrayList<>();
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(pid);
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            pids.add(current);
+            queue.addAll(children.getOrDefault(current, Collections.emptyList()));
+        }
+        return pids;
+    }
+
+    /**
+     * the process and all its ancestors
+     *
+     * @param pid pid
+     * @return pids
+     */
+    public Set<Integer> ancestors(int pid) {
+        Set<Integer> pids = new HashSet<>();
+        Integer current = pid;
+        while (current != null && current > 0 && pids.add(current)) {
+            current = parents.get(current);
+        }
+        return pids;
+    }
+
+    /**
+     * process groups led by one of the pids, members of such a group die with it even after being reparented
+     *
+     * @param pids pids
+     * @param excludedGroup group never returned, the one of this server
+     * @return group ids
+     */
+    public Set<Integer> leadingGroups(List<Integer> pids, int excludedGroup) {
+        Set<Integer> leading = new LinkedHashSet<>();
+        for (Integer pid : pids) {
+            Integer group = groups.get(pid);
+            if (pid.equals(group) && group > 1 && group != excludedGroup) {
+                leading.add(group);
+            }
+        }
+        return leading;
+    }
+
+    /**
+     * kill the trees of several processes with one /proc scan, each tree is signalled natively
+     * and the processes this server is not allowed to signal are killed through sudo as their tenant
+     *
+     * @param roots root pid to tenant code
+     */
+    public static void killTrees(Map<Integer, String> roots) {
+        ProcessTree tree = snapshot();
+        int self = selfPid();
+        // never signal this server or the processes it runs under
+        Set<Integer> protectedPids = tree.ancestors(self);
+        int selfGroup = tree.groups.getOrDefault(self, -1);
+
+        Map<String, List<Integer>> denied = new HashMap<>();
+        for (Map.Entry<Integer, String> root : roots.entrySet()) {
+            if (root.getKey() <= 1 || protectedPids.contains(root.getKey())) {
+                logger.warn("refuse to kill process tree of {}", root.getKey());
+                continue;
+            }
+            List<Integer> pids = tree.descendants(root.getKey()).stream()
+                    .filter(pid -> !protectedPids.contains(pid))
+                    .collect(Collectors.toList());
+            if (pids.isEmpty()) {
+                continue;
+            }
+            for (Integer group : tree.leadingGroups(pids, selfGroup)) {
+                signal(group, true);
+            }
+            for (Integer pid : pids) {
+                if (!signal(pid, false)) {
+                    denied.computeIfAbsent(root.getValue(), k -> new ArrayList<>()).add(pid);
+                }
+            }
+            logger.info("kill process tree of {}, pids : {}", root.getKey(), pids);
+        }
+
+        // the sudo process is owned by root and exits with its child
+        if (CommonUtils.isSudoEnable()) {
+            for (List<Integer> pids : denied.values()) {
+                pids.removeAll(roots.keySet());
+            }
+        }
+        killAsTenants(denied);
+    }
+
+    /**
+     * kill processes through sudo as their tenant, a failed kill of one tenant does not stop the others
+     *
+     * @param denied tenant code to the pids this server may not signal
+     */
+    static void killAsTenants(Map<String, List<Integer>> denied) {
+        for (Map.Entry<String, List<Integer>> entry : denied.entrySet()) {
+            List<Integer> pids = entry.getValue();
+            if (pids.isEmpty()) {
+                continue;
+            }
+            String cmd = OSUtils.getSudoCmd(entry.getKey(), "kill -9 " + pids.stream().map(String::valueOf).collect(Collectors.joining(" ")));
+            logger.info("kill processes not owned by this server, cmd:{}", cmd);
+            try {
+                OSUtils.exeCmd(cmd);
+            } catch (IOException e) {
+                logger.error("kill processes of tenant {} failed, cmd:{}", entry.getKey(), cmd, e);
+            }
+        }
+    }
+
+    /**
+     * send SIGKILL
+     *
+     * @return false if the process exists but may not be signalled by this server
+     */
+    private static boolean signal(int id, boolean group) {
+        if (LIBC == null) {
+            return false;
+        }
+        try {
+            if (group) {
+                LIBC.killpg(id, SIGKILL);
+            } else {
+                LIBC.kill(id, SIGKILL);
+            }
+            return true;
+        } catch (LastErrorException e) {
+            if (e.getErrorCode() == ESRCH) {
+                return true;
+            }
+            if (e.getErrorCode() != EPERM) {
+                logger.warn("kill {} {} failed, errno {}", group ? "group" : "process", id, e.getErrorCode());
+            }
+            return false;
+        }
+    }
+
+    /**
+     * parse ppid and pgrp from /proc/[pid]/stat, the command name may contain spaces and parentheses
+     *
+     * @param stat stat line
+     * @return ppid and pgrp, null if malformed
+     */
+    static int[] parseStat(String stat) {
+        int end = stat.lastIndexOf(')');
+        if (end < 0) {
+            return null;
+        }
+        // state ppid pgrp ...
+        String[] fields = stat.substring(end + 1).trim().split(" ");
+        if (fields.length < 3) {
+            return null;
+        }
+        try {
+            return new int[] {Integer.parseInt(fields[1]), Integer.parseInt(fields[2])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int parsePid(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (!Character.isDigit(name.charAt(i))) {
+                return -1;
+            }
+        }
+        return name.isEmpty() ? -1 : Integer.parseInt(name);
+    }
+
+    private static int selfPid() {
+        try {
+            return Integer.parseInt(new File(PROC, "self").getCanonicalFile().getName());
+        } catch (IOException | NumberFormatException e) {
+            return OSUtils.getProcessID();
+        }
+    }
+
+    private static CLibrary loadLibc() {
+        if (!isSupported()) {
+            return null;
+        }
+        try {
+            return (CLibrary) Native.loadLibrary("c", CLibrary.class);
+        } catch (Throwable e) {
+            logger.warn("libc can not be loaded, processes are killed through the shell", e);
+            return null;
+        }
+    }
+
+    /**
+     * signal functions of libc
+     */
+    interface CLibrary extends Library {
+
+        int kill(int pid, int sig) throws LastErrorException;
+
+        int killpg(int pgrp, int sig) throws LastErrorException;
+    }
+}
@@ -34,8 +34,11 @@ import org.apache.dolphinscheduler.service.log.LogClientService;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -386,6 +389,35 @@ public class ProcessUtils {
                 return;
             }
 
+            killProcessTrees(Collections.singletonList(taskExecutionContext));
+
+        } catch (Exception e) {
+            logger.error("kill task failed", e);
+        }
+        // find log and kill yarn job
+        killYarnJob(taskExecutionContext);
+    }
+
+    /**
+     * kill the processes of tasks with all their descendants,
+     * on linux the process tree is read from /proc once for all the tasks
+     *
+     * @param taskExecutionContexts taskExecutionContexts
+     * @throws Exception exception
+     */
+    public static void killProcessTrees(Collection<TaskExecutionContext> taskExecutionContexts) throws Exception {
+        if (ProcessTree.isSupported()) {
+            Map<Integer, String> roots = new HashMap<>();
+            for (TaskExecutionContext taskExecutionContext : taskExecutionContexts) {
+                if (taskExecutionContext.getProcessId() != 0) {
+                    roots.put(taskExecutionContext.getProcessId(), taskExecutionContext.getTenantCode());
+                }
+            }
+            ProcessTree.killTrees(roots);
+            return;
+        }
+        for (TaskExecutionContext taskExecutionContext : taskExecutionContexts) {
+            int processId = taskExecutionContext.getProcessId();
             String pidsStr = getPidsStr(processId);
             if (StringUtils.isNotEmpty(pidsStr)) {
                 String cmd = String.format("kill -9 %s", pidsStr);
@@ -393,12 +425,7 @@ public class ProcessUtils {
                 logger.info("process id:{}, cmd:{}", processId, cmd);
                 OSUtils.exeCmd(cmd);
             }
-
-        } catch (Exception e) {
-            logger.error("kill task failed", e);
         }
-        // find log and kill yarn job
-        killYarnJob(taskExecutionContext);
     }
 
     /**
@@ -442,12 +469,29 @@ public class ProcessUtils {
     public static List<String> killYarnJob(TaskExecutionContext taskExecutionContext) {
         try {
             Thread.sleep(Constants.SLEEP_TIME_MILLIS);
-            String log;
             try (LogClientService logClient = new LogClientService()) {
-                log = logClient.viewLog(Host.of(taskExecutionContext.getHost()).getIp(),
-                        Constants.RPC_PORT,
-                        taskExecutionContext.getLogPath());
+                return killYarnJob(logClient, taskExecutionContext);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("kill yarn job interrupted", e);
+        } catch (Exception e) {
+            logger.error("kill yarn job failure", e);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * find logs and kill yarn tasks at once, the log client can be shared by the kills of many tasks.
+     * @param logClient log client
+     * @param taskExecutionContext taskExecutionContext
+     * @return yarn application ids
+     */
+    public static List<String> killYarnJob(LogClientService logClient, TaskExecutionContext taskExecutionContext) {
+        try {
+            String log = logClient.viewLog(Host.of(taskExecutionContext.getHost()).getIp(),
+                    Constants.RPC_PORT,
+                    taskExecutionContext.getLogPath());
             if (StringUtils.isNotEmpty(log)) {
                 if (StringUtils.isEmpty(taskExecutionContext.getExecutePath())) {
                     taskExecutionContext.setExecutePath(FileUtils.getProcessExecDir(taskExecutionContext.getProjectCode(),
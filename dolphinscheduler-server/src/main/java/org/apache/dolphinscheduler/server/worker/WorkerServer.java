@@ -29,6 +29,7 @@ import org.apache.dolphinscheduler.server.worker.processor.DBTaskAckProcessor;
 import org.apache.dolphinscheduler.server.worker.processor.DBTaskResponseProcessor;
 import org.apache.dolphinscheduler.server.worker.processor.TaskExecuteProcessor;
 import org.apache.dolphinscheduler.server.worker.processor.TaskKillProcessor;
+import org.apache.dolphinscheduler.server.worker.processor.TenantProvisionService;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
 import org.apache.dolphinscheduler.server.worker.runner.RetryReportTaskStatusThread;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerManagerThread;
@@ -101,6 +102,12 @@ public class WorkerServer implements IStoppable {
     @Autowired
     private WorkerManagerThread workerManagerThread;
 
+    /**
+     * tenant provision service
+     */
+    @Autowired
+    private TenantProvisionService tenantProvisionService;
+
     /**
      * worker server startup, not use web service
      *
@@ -119,9 +126,21 @@ public class WorkerServer implements IStoppable {
         // alert-server client registry
         alertClientService = new AlertClientService(workerConfig.getAlertListenHost(), Constants.ALERT_RPC_PORT);
 
+        // os users cache for tenant provisioning
+        this.tenantProvisionService.start();
+
         // init remoting server
         NettyServerConfig serverConfig = new NettyServerConfig();
         serverConfig.setListenPort(workerConfig.getListenPort());
+        // -1 keeps the default threads
+        if (workerConfig.getWorkerRpcControlThreads() > 0) {
+            serverConfig.setControlThreads(workerConfig.getWorkerRpcControlThreads());
+        }
+        if (workerConfig.getWorkerRpcDispatchThreads() > 0) {
+            serverConfig.setDispatchThreads(workerConfig.getWorkerRpcDispatchThreads());
+        }
+        serverConfig.setDispatchQueueCapacity(workerConfig.getWorkerRpcDispatchQueueCapacity());
+        serverConfig.setLaneMetricsInterval(workerConfig.getWorkerRpcLaneMetricsInterval());
         this.nettyRemotingServer = new NettyRemotingServer(serverConfig);
         this.nettyRemotingServer.registerProcessor(CommandType.TASK_EXECUTE_REQUEST, new TaskExecuteProcessor(alertClientService));
         this.nettyRemotingServer.registerProcessor(CommandType.TASK_KILL_REQUEST, new TaskKillProcessor());
@@ -181,6 +200,7 @@ public class WorkerServer implements IStoppable {
             this.nettyRemotingServer.close();
             this.workerRegistryClient.unRegistry();
             this.alertClientService.close();
+            this.tenantProvisionService.close();
         } catch (Exception e) {
             logger.error("worker server stop exception ", e);
         }
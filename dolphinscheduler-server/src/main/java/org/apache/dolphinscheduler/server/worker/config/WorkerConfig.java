@@ -56,6 +56,18 @@ public class WorkerConfig {
     @Value("${alert.listen.host:localhost}")
     private String alertListenHost;
 
+    @Value("${worker.rpc.control.threads:-1}")
+    private int workerRpcControlThreads;
+
+    @Value("${worker.rpc.dispatch.threads:-1}")
+    private int workerRpcDispatchThreads;
+
+    @Value("${worker.rpc.dispatch.queue.capacity:1000}")
+    private int workerRpcDispatchQueueCapacity;
+
+    @Value("${worker.rpc.lane.metrics.interval:60}")
+    private int workerRpcLaneMetricsInterval;
+
     public int getListenPort() {
         return listenPort;
     }
@@ -130,4 +142,36 @@ public class WorkerConfig {
     public void setAlertListenHost(String alertListenHost) {
         this.alertListenHost = alertListenHost;
     }
+
+    public int getWorkerRpcControlThreads() {
+        return workerRpcControlThreads;
+    }
+
+    public void setWorkerRpcControlThreads(int workerRpcControlThreads) {
+        this.workerRpcControlThreads = workerRpcControlThreads;
+    }
+
+    public int getWorkerRpcDispatchThreads() {
+        return workerRpcDispatchThreads;
+    }
+
+    public void setWorkerRpcDispatchThreads(int workerRpcDispatchThreads) {
+        this.workerRpcDispatchThreads = workerRpcDispatchThreads;
+    }
+
+    public int getWorkerRpcDispatchQueueCapacity() {
+        return workerRpcDispatchQueueCapacity;
+    }
+
+    public void setWorkerRpcDispatchQueueCapacity(int workerRpcDispatchQueueCapacity) {
+        this.workerRpcDispatchQueueCapacity = workerRpcDispatchQueueCapacity;
+    }
+
+    public int getWorkerRpcLaneMetricsInterval() {
+        return workerRpcLaneMetricsInterval;
+    }
+
+    public void setWorkerRpcLaneMetricsInterval(int workerRpcLaneMetricsInterval) {
+        this.workerRpcLaneMetricsInterval = workerRpcLaneMetricsInterval;
+    }
 }
\ No newline at end of file
@@ -26,7 +26,6 @@ import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.LoggerUtils;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
-import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.common.utils.Preconditions;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
@@ -46,6 +45,7 @@ import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 
 import java.util.Date;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -84,11 +84,17 @@ public class TaskExecuteProcessor implements NettyRequestProcessor {
      */
     private final WorkerManagerThread workerManager;
 
+    /**
+     * tenant provision service
+     */
+    private final TenantProvisionService tenantProvisionService;
+
     public TaskExecuteProcessor() {
         this.taskCallbackService = SpringApplicationContext.getBean(TaskCallbackService.class);
         this.workerConfig = SpringApplicationContext.getBean(WorkerConfig.class);
         this.taskExecutionContextCacheManager = SpringApplicationContext.getBean(TaskExecutionContextCacheManagerImpl.class);
         this.workerManager = SpringApplicationContext.getBean(WorkerManagerThread.class);
+        this.tenantProvisionService = SpringApplicationContext.getBean(TenantProvisionService.class);
     }
 
     /**
@@ -146,19 +152,9 @@ public class TaskExecuteProcessor implements NettyRequestProcessor {
         logger.info("task instance local execute path : {}", execLocalPath);
         taskExecutionContext.setExecutePath(execLocalPath);
 
-        FileUtils.taskLoggerThreadLocal.set(taskLogger);
-        try {
-            FileUtils.createWorkDirIfAbsent(execLocalPath);
-            if (CommonUtils.isSudoEnable() && workerConfig.getWorkerTenantAutoCreate()) {
-                OSUtils.createUserIfAbsent(taskExecutionContext.getTenantCode());
-            }
-        } catch (Throwable ex) {
-            String errorLog = String.format("create execLocalPath : %s", execLocalPath);
-            LoggerUtils.logError(Optional.of(logger), errorLog, ex);
-            LoggerUtils.logError(Optional.ofNullable(taskLogger), errorLog, ex);
-            taskExecutionContextCacheManager.removeByTaskInstanceId(taskExecutionContext.getTaskInstanceId());
-        }
-        FileUtils.taskLoggerThreadLocal.remove();
+        // directory and tenant user are prepared on the provision threads, the task is submitted once they are done
+        CompletableFuture<Void> prepared = tenantProvisionService.prepare(taskExecutionContext, taskLogger,
+            CommonUtils.isSudoEnable() && workerConfig.getWorkerTenantAutoCreate());
 
         taskCallbackService.addRemoteChannel(taskExecutionContext.getTaskInstanceId(),
             new NettyRemoteChannel(channel, command.getOpaque()));
@@ -176,10 +172,23 @@ public class TaskExecuteProcessor implements NettyRequestProcessor {
 
         this.doAck(taskExecutionContext);
 
-        // submit task to manager
-        if (!workerManager.offer(new TaskExecuteThread(taskExecutionContext, taskCallbackService, taskLogger, alertClientService))) {
-            logger.info("submit task to manager error, queue is full, queue size is {}", workerManager.getQueueSize());
-        }
+        prepared.whenComplete((v, ex) -> {
+            if (ex != null) {
+                String errorLog = String.format("create execLocalPath : %s", execLocalPath);
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                LoggerUtils.logError(Optional.of(logger), errorLog, cause);
+                LoggerUtils.logError(Optional.ofNullable(taskLogger), errorLog, cause);
+                taskExecutionContextCacheManager.removeByTaskInstanceId(taskExecutionContext.getTaskInstanceId());
+            } else if (taskExecutionContextCacheManager.getByTaskInstanceId(taskExecutionContext.getTaskInstanceId()) == null) {
+                // killed while it was prepared, the kill has answered the master already
+                logger.info("task instance {} was killed before it was submitted, drop it", taskExecutionContext.getTaskInstanceId());
+                return;
+            }
+            // submit task to manager
+            if (!workerManager.offer(new TaskExecuteThread(taskExecutionContext, taskCallbackService, taskLogger, alertClientService))) {
+                logger.info("submit task to manager error, queue is full, queue size is {}", workerManager.getQueueSize());
+            }
+        });
     }
 
     private void doAck(TaskExecutionContext taskExecutionContext) {
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.processor;
+
+import org.apache.dolphinscheduler.common.thread.Stopper;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+import org.apache.dolphinscheduler.common.utils.LoggerUtils;
+import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * prepares tenant os users and execute directories off the dispatch thread,
+ * known os users are cached and refreshed when /etc/passwd changes
+ */
+@Service
+public class TenantProvisionService {
+
+    private final Logger logger = LoggerFactory.getLogger(TenantProvisionService.class);
+
+    private static final String PASSWD_DIR = "/etc";
+
+    private static final String PASSWD_FILE = "passwd";
+
+    private static final int PROVISION_THREADS = 4;
+
+    /**
+     * os users, replaced as a whole on every reload
+     */
+    private volatile Set<String> knownUsers = Collections.emptySet();
+
+    /**
+     * user creations in flight, one per tenant
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Boolean>> pendingUsers = new ConcurrentHashMap<>();
+
+    private final ExecutorService provisionExecutor;
+
+    private WatchService watchService;
+
+    public TenantProvisionService() {
+        this.provisionExecutor = ThreadUtils.newDaemonFixedThreadExecutor("Worker-Provision-Thread", PROVISION_THREADS);
+    }
+
+    /**
+     * load the os users and watch /etc/passwd for changes,
+     * without a watch the users are reloaded on a cache miss only
+     */
+    public void start() {
+        reloadUsers();
+        if (OSUtils.isMacOS() || OSUtils.isWindows()) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            Paths.get(PASSWD_DIR).register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.warn("can not watch {}, os users are reloaded on cache miss only", PASSWD_DIR, e);
+            return;
+        }
+        Thread watcher = new Thread(this::watchUsers, "Worker-Tenant-User-Watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * prepare the execute directory and, if required, the tenant user of a task
+     *
+     * @param taskExecutionContext task execution context
+     * @param taskLogger task logger
+     * @param createUser whether the tenant user should be created when absent
+     * @return completes when both are prepared
+     */
+    public CompletableFuture<Void> prepare(TaskExecutionContext taskExecutionContext, Logger taskLogger, boolean createUser) {
+        CompletableFuture<Void> executeDir = prepareExecuteDir(taskExecutionContext.getExecutePath(), taskLogger);
+        if (!createUser) {
+            return executeDir;
+        }
+        return CompletableFuture.allOf(executeDir, provisionUser(taskExecutionContext.getTenantCode(), taskLogger));
+    }
+
+    /**
+     * create the execute directory, an existing one is deleted first
+     *
+     * @param execLocalPath execute path
+     * @param taskLogger task logger
+     * @return completes when the directory is created
+     */
+    public CompletableFuture<Void> prepareExecuteDir(String execLocalPath, Logger taskLogger) {
+        return CompletableFuture.runAsync(() -> {
+            FileUtils.taskLoggerThreadLocal.set(taskLogger);
+            try {
+                FileUtils.createWorkDirIfAbsent(execLocalPath);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                FileUtils.taskLoggerThreadLocal.remove();
+            }
+        }, provisionExecutor);
+    }
+
+    /**
+     * create the tenant user if it is not a known os user,
+     * concurrent calls for the same tenant share one creation
+     *
+     * @param tenantCode tenant code
+     * @param taskLogger task logger
+     * @return whether the user exists
+     */
+    public CompletableFuture<Boolean> provisionUser(String tenantCode, Logger taskLogger) {
+        if (knownUsers.contains(tenantCode)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        boolean[] created = new boolean[1];
+        CompletableFuture<Boolean> future = pendingUsers.computeIfAbsent(tenantCode, t -> {
+            created[0] = true;
+            return CompletableFuture.supplyAsync(() -> createUserIfAbsent(t, taskLogger), provisionExecutor);
+        });
+        if (created[0]) {
+            future.whenComplete((r, e) -> pendingUsers.remove(tenantCode, future));
+        }
+        return future;
+    }
+
+    /**
+     * whether the user is a known os user
+     *
+     * @param userName user name
+     * @return true if known
+     */
+    public boolean isKnownUser(String userName) {
+        return knownUsers.contains(userName);
+    }
+
+    private boolean createUserIfAbsent(String tenantCode, Logger taskLogger) {
+        // the watch may not have caught up with a user created elsewhere
+        reloadUsers();
+        if (knownUsers.contains(tenantCode)) {
+            return true;
+        }
+        OSUtils.taskLoggerThreadLocal.set(taskLogger);
+        try {
+            boolean isSuccess = OSUtils.createUser(tenantCode);
+            String infoLog = String.format("create user %s %s", tenantCode, isSuccess ? "success" : "fail");
+            LoggerUtils.logInfo(Optional.of(logger), infoLog);
+            LoggerUtils.logInfo(Optional.ofNullable(taskLogger), infoLog);
+            if (isSuccess) {
+                reloadUsers();
+            }
+            return isSuccess;
+        } finally {
+            OSUtils.taskLoggerThreadLocal.remove();
+        }
+    }
+
+    private void reloadUsers() {
+        knownUsers = Collections.unmodifiableSet(new HashSet<>(OSUtils.getUserList()));
+    }
+
+    private void watchUsers() {
+        while (Stopper.isRunning()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+            boolean changed = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || PASSWD_FILE.equals(String.valueOf(event.context()))) {
+                    changed = true;
+                }
+            }
+            if (changed) {
+                reloadUsers();
+            }
+            if (!key.reset()) {
+                logger.warn("{} is no longer watched, os users are reloaded on cache miss only", PASSWD_DIR);
+                return;
+            }
+        }
+    }
+
+    /**
+     * stop watching and provisioning
+     */
+    public void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("close watch service error", e);
+            }
+        }
+        provisionExecutor.shutdownNow();
+    }
+}
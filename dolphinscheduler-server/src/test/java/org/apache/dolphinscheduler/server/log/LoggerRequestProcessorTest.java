@@ -21,11 +21,19 @@ import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.LoggerUtils;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkRequestCommand;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.ViewLogRequestCommand;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.Test.None;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -53,4 +61,29 @@ public class LoggerRequestProcessorTest {
         LoggerRequestProcessor loggerRequestProcessor = new LoggerRequestProcessor();
         loggerRequestProcessor.process(channel, command);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testProcessGetLogChunkRequest() throws Exception {
+        File logFile = File.createTempFile("log-chunk", ".log");
+        logFile.deleteOnExit();
+        Files.write(logFile.toPath(), "0123456789".getBytes(StandardCharsets.UTF_8));
+
+        Channel channel = PowerMockito.mock(Channel.class);
+        ArgumentCaptor<Command> captor = ArgumentCaptor.forClass(Command.class);
+        LoggerRequestProcessor loggerRequestProcessor = new LoggerRequestProcessor();
+
+        Command command = new GetLogChunkRequestCommand(logFile.getAbsolutePath(), 4, 4).convert2Command();
+        loggerRequestProcessor.process(channel, command);
+        command = new GetLogChunkRequestCommand(logFile.getAbsolutePath(), 8, 4).convert2Command();
+        loggerRequestProcessor.process(channel, command);
+
+        Mockito.verify(channel, Mockito.times(2)).writeAndFlush(captor.capture());
+        GetLogChunkResponseCommand first = JSONUtils.parseObject(captor.getAllValues().get(0).getBody(), GetLogChunkResponseCommand.class);
+        Assert.assertEquals("4567", new String(first.getData(), StandardCharsets.UTF_8));
+        Assert.assertEquals(8, first.getNextOffset());
+        Assert.assertFalse(first.isEnd());
+        GetLogChunkResponseCommand last = JSONUtils.parseObject(captor.getAllValues().get(1).getBody(), GetLogChunkResponseCommand.class);
+        Assert.assertEquals("89", new String(last.getData(), StandardCharsets.UTF_8));
+        Assert.assertTrue(last.isEnd());
+    }
+}
@@ -30,6 +30,7 @@ import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.server.master.cache.impl.ProcessInstanceCacheManagerImpl;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.runner.ConditionsTaskExecThread;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
@@ -73,6 +74,11 @@ public class ConditionsTaskTest {
         processService = Mockito.mock(ProcessService.class);
         Mockito.when(applicationContext.getBean(ProcessService.class)).thenReturn(processService);
 
+        ProcessInstanceCacheManagerImpl processInstanceCacheManager = Mockito.mock(ProcessInstanceCacheManagerImpl.class);
+        Mockito.when(processInstanceCacheManager.getByProcessInstanceId(Mockito.anyInt()))
+                .thenAnswer(invocation -> processService.findProcessInstanceById(invocation.getArgument(0)));
+        Mockito.when(applicationContext.getBean(ProcessInstanceCacheManagerImpl.class)).thenReturn(processInstanceCacheManager);
+
         processInstance = getProcessInstance();
         Mockito.when(processService
                 .findProcessInstanceById(processInstance.getId()))
@@ -32,6 +32,7 @@ import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.server.master.cache.impl.ProcessInstanceCacheManagerImpl;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.runner.DependentTaskExecThread;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
@@ -90,6 +91,11 @@ public class DependentTaskTest {
         processService = Mockito.mock(ProcessService.class);
         Mockito.when(applicationContext.getBean(ProcessService.class)).thenReturn(processService);
 
+        ProcessInstanceCacheManagerImpl processInstanceCacheManager = Mockito.mock(ProcessInstanceCacheManagerImpl.class);
+        Mockito.when(processInstanceCacheManager.getByProcessInstanceId(Mockito.anyInt()))
+                .thenAnswer(invocation -> processService.findProcessInstanceById(invocation.getArgument(0)));
+        Mockito.when(applicationContext.getBean(ProcessInstanceCacheManagerImpl.class)).thenReturn(processInstanceCacheManager);
+
         processInstance = getProcessInstance();
 
         // for MasterBaseTaskExecThread.call
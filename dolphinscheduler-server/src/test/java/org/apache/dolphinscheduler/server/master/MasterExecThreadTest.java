@@ -36,6 +36,7 @@ import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.Schedule;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.runner.MasterExecThread;
 import org.apache.dolphinscheduler.service.process.ProcessService;
@@ -76,6 +77,8 @@ public class MasterExecThreadTest {
 
     private ProcessService processService;
 
+    private ProcessInstanceCacheManager processInstanceCacheManager;
+
     private int processDefinitionId = 1;
 
     private MasterConfig config;
@@ -85,6 +88,7 @@ public class MasterExecThreadTest {
     @Before
     public void init() throws Exception {
         processService = mock(ProcessService.class);
+        processInstanceCacheManager = mock(ProcessInstanceCacheManager.class);
 
         applicationContext = mock(ApplicationContext.class);
         config = new MasterConfig();
@@ -105,7 +109,7 @@ public class MasterExecThreadTest {
         processDefinition.setGlobalParamList(Collections.EMPTY_LIST);
         Mockito.when(processInstance.getProcessDefinition()).thenReturn(processDefinition);
 
-        masterExecThread = PowerMockito.spy(new MasterExecThread(processInstance, processService, null, null, config));
+        masterExecThread = PowerMockito.spy(new MasterExecThread(processInstance, processService, null, null, config, processInstanceCacheManager));
         // prepareProcess init dag
         Field dag = MasterExecThread.class.getDeclaredField("dag");
         dag.setAccessible(true);
@@ -151,6 +155,40 @@ public class MasterExecThreadTest {
         }
     }
 
+    @Test
+    public void testUpdateProcessInstanceStateCoalescesVarPool() throws Exception {
+        Field varPoolDirty = MasterExecThread.class.getDeclaredField("varPoolDirty");
+        varPoolDirty.setAccessible(true);
+        varPoolDirty.set(masterExecThread, true);
+        Method method = MasterExecThread.class.getDeclaredMethod("updateProcessInstanceState");
+        method.setAccessible(true);
+        method.invoke(masterExecThread);
+        method.invoke(masterExecThread);
+
+        verify(processService, times(1)).updateProcessInstanceVarPool(processInstance);
+        verify(processService, times(0)).updateProcessInstance(processInstance);
+        verify(processService, times(0)).findProcessInstanceById(Mockito.anyInt());
+    }
+
+    @Test
+    public void testSaveProcessInstanceStateKeepsRequestedStop() throws Exception {
+        Method method = MasterExecThread.class.getDeclaredMethod("saveProcessInstanceState", ExecutionStatus.class);
+        method.setAccessible(true);
+
+        Mockito.when(processService.updateProcessInstanceState(processInstance, ExecutionStatus.RUNNING_EXECUTION)).thenReturn(1);
+        Assert.assertTrue((Boolean) method.invoke(masterExecThread, ExecutionStatus.RUNNING_EXECUTION));
+        verify(processService, times(0)).findProcessInstanceById(Mockito.anyInt());
+
+        // the api wrote READY_STOP, the master must not overwrite it with its own state
+        ProcessInstance latest = new ProcessInstance();
+        latest.setState(ExecutionStatus.READY_STOP);
+        Mockito.when(processService.updateProcessInstanceState(processInstance, ExecutionStatus.SUCCESS)).thenReturn(0);
+        Mockito.when(processService.findProcessInstanceById(Mockito.anyInt())).thenReturn(latest);
+        Assert.assertFalse((Boolean) method.invoke(masterExecThread, ExecutionStatus.SUCCESS));
+        verify(processInstance).setState(ExecutionStatus.READY_STOP);
+        verify(processService, times(0)).updateProcessInstance(processInstance);
+    }
+
     @Test
     public void testParseStartNodeName() throws ParseException {
         try {
@@ -27,6 +27,7 @@ import org.apache.dolphinscheduler.dao.AlertDao;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.server.master.cache.impl.ProcessInstanceCacheManagerImpl;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.runner.SubProcessTaskExecThread;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
@@ -72,6 +73,11 @@ public class SubProcessTaskTest {
         processService = Mockito.mock(ProcessService.class);
         Mockito.when(applicationContext.getBean(ProcessService.class)).thenReturn(processService);
 
+        ProcessInstanceCacheManagerImpl processInstanceCacheManager = Mockito.mock(ProcessInstanceCacheManagerImpl.class);
+        Mockito.when(processInstanceCacheManager.getByProcessInstanceId(Mockito.anyInt()))
+                .thenAnswer(invocation -> processService.findProcessInstanceById(invocation.getArgument(0)));
+        Mockito.when(applicationContext.getBean(ProcessInstanceCacheManagerImpl.class)).thenReturn(processInstanceCacheManager);
+
         AlertDao alertDao = Mockito.mock(AlertDao.class);
         Mockito.when(applicationContext.getBean(AlertDao.class)).thenReturn(alertDao);
 
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import org.apache.dolphinscheduler.common.enums.ResourceType;
+import org.apache.dolphinscheduler.dao.entity.DataSource;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.Tenant;
+import org.apache.dolphinscheduler.dao.entity.UdfFunc;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceCacheManager;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DispatchContextCacheManagerImplTest {
+
+    @InjectMocks
+    private DispatchContextCacheManagerImpl dispatchContextCacheManager;
+
+    @Mock(name = "processService")
+    private ProcessService processService;
+
+    @Mock(name = "processInstanceCacheManager")
+    private ProcessInstanceCacheManager processInstanceCacheManager;
+
+    @Test
+    public void testGetTenant() {
+        Tenant tenant = new Tenant();
+        tenant.setTenantCode("tenant");
+        Mockito.when(processService.getTenantForProcess(1, 2)).thenReturn(tenant);
+        Mockito.when(processService.queryUserQueueByProcessInstanceId(1)).thenReturn("queue");
+        Mockito.when(processInstanceCacheManager.contains(1)).thenReturn(true);
+
+        TaskInstance taskInstance = getTaskInstance(1);
+        Assert.assertSame(tenant, dispatchContextCacheManager.getTenant(taskInstance));
+        Assert.assertSame(tenant, dispatchContextCacheManager.getTenant(taskInstance));
+        Assert.assertEquals("queue", dispatchContextCacheManager.getUserQueue(1));
+        Assert.assertEquals("queue", dispatchContextCacheManager.getUserQueue(1));
+        Mockito.verify(processService, Mockito.times(1)).getTenantForProcess(1, 2);
+        Mockito.verify(processService, Mockito.times(1)).queryUserQueueByProcessInstanceId(1);
+
+        // the process instance ends
+        Mockito.when(processInstanceCacheManager.contains(1)).thenReturn(false);
+        dispatchContextCacheManager.evictExpired();
+        dispatchContextCacheManager.getTenant(taskInstance);
+        dispatchContextCacheManager.getTenant(taskInstance);
+        Mockito.verify(processService, Mockito.times(3)).getTenantForProcess(1, 2);
+    }
+
+    @Test
+    public void testPrefetchDataSource() {
+        DataSource dataSource = new DataSource();
+        dataSource.setId(1);
+        Mockito.when(processService.findDataSourcesByIds(Mockito.anyCollection())).thenReturn(Collections.singletonList(dataSource));
+
+        dispatchContextCacheManager.prefetch(Arrays.asList(1, 1), Collections.emptyList());
+        dispatchContextCacheManager.prefetch(Collections.singletonList(1), null);
+        Assert.assertSame(dataSource, dispatchContextCacheManager.getDataSource(1));
+        Mockito.verify(processService, Mockito.times(1)).findDataSourcesByIds(Mockito.anyCollection());
+        Mockito.verify(processService, Mockito.never()).findDataSourceById(1);
+
+        // not found data sources are loaded again
+        Assert.assertNull(dispatchContextCacheManager.getDataSource(2));
+        Assert.assertNull(dispatchContextCacheManager.getDataSource(2));
+        Mockito.verify(processService, Mockito.times(2)).findDataSourceById(2);
+    }
+
+    @Test
+    public void testGetUdfFuncTenantCodes() {
+        UdfFunc udfFunc = new UdfFunc();
+        udfFunc.setId(1);
+        udfFunc.setResourceName("/udf.jar");
+        Mockito.when(processService.queryUdfFunListByIds(new int[]{1})).thenReturn(Collections.singletonList(udfFunc));
+        Mockito.when(processService.queryTenantCodeByResName("/udf.jar", ResourceType.UDF)).thenReturn("tenant");
+
+        dispatchContextCacheManager.prefetch(Collections.emptyList(), Collections.singletonList(1));
+        Map<UdfFunc, String> udfFuncMap = dispatchContextCacheManager.getUdfFuncTenantCodes(new int[]{1});
+        Assert.assertEquals("tenant", udfFuncMap.get(udfFunc));
+        Assert.assertEquals(udfFuncMap, dispatchContextCacheManager.getUdfFuncTenantCodes(new int[]{1}));
+        Mockito.verify(processService, Mockito.times(1)).queryUdfFunListByIds(Mockito.any());
+        Mockito.verify(processService, Mockito.times(1)).queryTenantCodeByResName("/udf.jar", ResourceType.UDF);
+    }
+
+    @Test
+    public void testMissingResourceTenantCodeNotCached() {
+        Mockito.when(processService.queryTenantCodeByResName("/udf.jar", ResourceType.UDF)).thenReturn(null, "tenant");
+
+        Assert.assertNull(dispatchContextCacheManager.getResourceTenantCode("/udf.jar", ResourceType.UDF));
+        Assert.assertEquals("tenant", dispatchContextCacheManager.getResourceTenantCode("/udf.jar", ResourceType.UDF));
+        Assert.assertEquals("tenant", dispatchContextCacheManager.getResourceTenantCode("/udf.jar", ResourceType.UDF));
+        Mockito.verify(processService, Mockito.times(2)).queryTenantCodeByResName("/udf.jar", ResourceType.UDF);
+    }
+
+    private TaskInstance getTaskInstance(int processInstanceId) {
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(processInstanceId);
+        processInstance.setTenantId(1);
+        ProcessDefinition processDefinition = new ProcessDefinition();
+        processDefinition.setUserId(2);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setProcessInstanceId(processInstanceId);
+        taskInstance.setProcessInstance(processInstance);
+        taskInstance.setProcessDefine(processDefinition);
+        return taskInstance;
+    }
+}
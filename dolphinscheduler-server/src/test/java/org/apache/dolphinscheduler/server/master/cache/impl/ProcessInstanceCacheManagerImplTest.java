@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProcessInstanceCacheManagerImplTest {
+
+    @InjectMocks
+    private ProcessInstanceCacheManagerImpl processInstanceCacheManager;
+
+    @Mock(name = "processService")
+    private ProcessService processService;
+
+    @Test
+    public void testGetByProcessInstanceId() {
+        ProcessInstance processInstance = getProcessInstance(1);
+        processInstanceCacheManager.cacheProcessInstance(processInstance);
+        Assert.assertSame(processInstance, processInstanceCacheManager.getByProcessInstanceId(1));
+        Mockito.verify(processService, Mockito.never()).findProcessInstanceById(1);
+
+        // not owned by this master, read from database
+        ProcessInstance other = getProcessInstance(2);
+        Mockito.when(processService.findProcessInstanceById(2)).thenReturn(other);
+        Assert.assertSame(other, processInstanceCacheManager.getByProcessInstanceId(2));
+        Assert.assertFalse(processInstanceCacheManager.contains(2));
+    }
+
+    @Test
+    public void testChangeProcessInstanceState() {
+        ProcessInstance processInstance = getProcessInstance(1);
+        processInstanceCacheManager.cacheProcessInstance(processInstance);
+
+        Assert.assertTrue(processInstanceCacheManager.changeProcessInstanceState(1, ExecutionStatus.READY_STOP, CommandType.STOP));
+        Assert.assertEquals(ExecutionStatus.READY_STOP, processInstance.getState());
+        Assert.assertEquals(CommandType.STOP, processInstance.getCommandType());
+
+        Assert.assertFalse(processInstanceCacheManager.changeProcessInstanceState(2, ExecutionStatus.READY_STOP, CommandType.STOP));
+
+        processInstance.setState(ExecutionStatus.SUCCESS);
+        Assert.assertFalse(processInstanceCacheManager.changeProcessInstanceState(1, ExecutionStatus.READY_PAUSE, CommandType.PAUSE));
+        Assert.assertEquals(ExecutionStatus.SUCCESS, processInstance.getState());
+
+        processInstanceCacheManager.removeByProcessInstanceId(1);
+        Assert.assertFalse(processInstanceCacheManager.contains(1));
+    }
+
+    private ProcessInstance getProcessInstance(int id) {
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(id);
+        processInstance.setState(ExecutionStatus.RUNNING_EXECUTION);
+        processInstance.setCommandType(CommandType.START_PROCESS);
+        return processInstance;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.consumer;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.enums.TaskType;
+import org.apache.dolphinscheduler.common.thread.Stopper;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.Tenant;
+import org.apache.dolphinscheduler.server.master.cache.DispatchContextCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.dispatch.ExecutorDispatcher;
+import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+import org.apache.dolphinscheduler.service.queue.TaskPriority;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityQueue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TaskPriorityQueueConsumerBatchTest {
+
+    @InjectMocks
+    private TaskPriorityQueueConsumer taskPriorityQueueConsumer;
+
+    @Mock
+    private TaskPriorityQueue<TaskPriority> taskPriorityQueue;
+
+    @Mock
+    private ProcessService processService;
+
+    @Mock
+    private ExecutorDispatcher dispatcher;
+
+    @Mock
+    private DispatchContextCacheManager dispatchContextCacheManager;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    private final TaskPriority task1 = new TaskPriority(2, 1, 2, 1, "default");
+
+    private final TaskPriority task2 = new TaskPriority(2, 1, 2, 2, "default");
+
+    @Before
+    public void before() throws Exception {
+        Tenant tenant = new Tenant();
+        tenant.setTenantCode("tenant");
+        Mockito.lenient().when(dispatchContextCacheManager.getTenant(ArgumentMatchers.any())).thenReturn(tenant);
+        Mockito.when(masterConfig.getMasterDispatchTaskNumber()).thenReturn(3);
+        Mockito.when(taskPriorityQueue.poll(ArgumentMatchers.anyLong(), ArgumentMatchers.any(TimeUnit.class)))
+                .thenReturn(task1, task2, null);
+        Mockito.lenient().when(taskPriorityQueue.size()).thenReturn(Integer.MAX_VALUE);
+        // one round of the consumer
+        Mockito.doAnswer(invocation -> {
+            Stopper.stop();
+            return null;
+        }).when(dispatchContextCacheManager).evictExpired();
+    }
+
+    @After
+    public void after() {
+        Whitebox.<AtomicBoolean>getInternalState(Stopper.class, "signal").set(false);
+    }
+
+    @Test
+    public void testDispatchBatch() throws Exception {
+        mockTaskInstance(1);
+        mockTaskInstance(2);
+        Mockito.when(dispatcher.dispatch(ArgumentMatchers.any(ExecutionContext.class))).thenReturn(true);
+
+        taskPriorityQueueConsumer.run();
+
+        // the batch ends at the first empty poll without waiting
+        Mockito.verify(taskPriorityQueue).poll(Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS);
+        Mockito.verify(taskPriorityQueue, Mockito.times(2)).poll(0, TimeUnit.MILLISECONDS);
+        Mockito.verify(dispatcher, Mockito.times(2)).dispatch(ArgumentMatchers.any(ExecutionContext.class));
+        Mockito.verify(taskPriorityQueue, Mockito.never()).put(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testLoadTaskInstanceFailed() throws Exception {
+        Mockito.when(processService.getTaskInstanceDetailByTaskId(1)).thenThrow(new RuntimeException("db error"));
+        mockTaskInstance(2);
+        Mockito.when(dispatcher.dispatch(ArgumentMatchers.any(ExecutionContext.class))).thenReturn(true);
+
+        taskPriorityQueueConsumer.run();
+
+        Mockito.verify(dispatcher, Mockito.times(1)).dispatch(ArgumentMatchers.any(ExecutionContext.class));
+        Mockito.verify(taskPriorityQueue).put(task1);
+        Mockito.verify(taskPriorityQueue, Mockito.never()).put(task2);
+    }
+
+    @Test
+    public void testDispatchFailed() throws Exception {
+        mockTaskInstance(1);
+        mockTaskInstance(2);
+        Mockito.when(dispatcher.dispatch(ArgumentMatchers.any(ExecutionContext.class)))
+                .thenThrow(new RuntimeException("dispatch error"))
+                .thenReturn(false);
+
+        taskPriorityQueueConsumer.run();
+
+        Mockito.verify(taskPriorityQueue).put(task1);
+        Mockito.verify(taskPriorityQueue).put(task2);
+    }
+
+    private void mockTaskInstance(int taskInstanceId) {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(taskInstanceId);
+        taskInstance.setTaskType(TaskType.SHELL.getDesc());
+        taskInstance.setTaskParams("{}");
+        taskInstance.setProcessInstanceId(1);
+        taskInstance.setState(ExecutionStatus.SUBMITTED_SUCCESS);
+        taskInstance.setWorkerGroup("default");
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setCommandType(CommandType.START_PROCESS);
+        taskInstance.setProcessInstance(processInstance);
+        ProcessDefinition processDefinition = new ProcessDefinition();
+        processDefinition.setProjectCode(1L);
+        taskInstance.setProcessDefine(processDefinition);
+        taskInstance.setTaskDefine(new TaskDefinition());
+        Mockito.when(processService.getTaskInstanceDetailByTaskId(taskInstanceId)).thenReturn(taskInstance);
+        Mockito.when(processService.findTaskInstanceById(taskInstanceId)).thenReturn(taskInstance);
+    }
+}
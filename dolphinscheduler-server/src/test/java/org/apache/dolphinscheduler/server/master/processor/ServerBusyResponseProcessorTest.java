@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.processor;
+
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.ServerBusyResponseCommand;
+import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+import org.apache.dolphinscheduler.service.queue.TaskPriority;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityQueue;
+
+import java.net.InetSocketAddress;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import io.netty.channel.Channel;
+
+/**
+ *  server busy response processor test
+ */
+public class ServerBusyResponseProcessorTest {
+
+    private ProcessService processService;
+
+    private TaskPriorityQueue<TaskPriority> taskPriorityQueue;
+
+    private ServerBusyResponseProcessor serverBusyResponseProcessor;
+
+    private Channel channel;
+
+    private TaskInstance taskInstance;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void before() {
+        processService = Mockito.mock(ProcessService.class);
+        taskPriorityQueue = Mockito.mock(TaskPriorityQueue.class);
+        serverBusyResponseProcessor = new ServerBusyResponseProcessor(processService, taskPriorityQueue);
+        channel = Mockito.mock(Channel.class);
+        Mockito.when(channel.remoteAddress()).thenReturn(new InetSocketAddress("127.0.0.1", 1234));
+
+        taskInstance = new TaskInstance();
+        taskInstance.setId(2);
+        taskInstance.setState(ExecutionStatus.SUBMITTED_SUCCESS);
+        taskInstance.setTaskInstancePriority(Priority.HIGH);
+        Mockito.when(processService.findTaskInstanceById(2)).thenReturn(taskInstance);
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(1);
+        processInstance.setProcessInstancePriority(Priority.LOW);
+        Mockito.when(processService.findProcessInstanceById(1)).thenReturn(processInstance);
+    }
+
+    @Test
+    public void testRequeueRejectedTask() throws Exception {
+        serverBusyResponseProcessor.process(channel, busyCommand());
+
+        ArgumentCaptor<TaskPriority> captor = ArgumentCaptor.forClass(TaskPriority.class);
+        Mockito.verify(taskPriorityQueue).put(captor.capture());
+        Assert.assertEquals(2, captor.getValue().getTaskId());
+        Assert.assertEquals(1, captor.getValue().getProcessInstanceId());
+        Assert.assertEquals(Priority.HIGH.getCode(), captor.getValue().getTaskInstancePriority());
+        Assert.assertEquals("default", captor.getValue().getGroupName());
+    }
+
+    @Test
+    public void testIgnoreFinishedTask() throws Exception {
+        taskInstance.setState(ExecutionStatus.KILL);
+        serverBusyResponseProcessor.process(channel, busyCommand());
+        Mockito.verify(taskPriorityQueue, Mockito.never()).put(Mockito.any());
+    }
+
+    private Command busyCommand() {
+        TaskExecutionContext context = new TaskExecutionContext();
+        context.setTaskInstanceId(2);
+        context.setProcessInstanceId(1);
+        context.setWorkerGroup("default");
+        Command request = context.toCommand();
+        Command command = new ServerBusyResponseCommand(request.getType(), request.getBody()).convert2Command(request.getOpaque());
+        Assert.assertEquals(CommandType.SERVER_BUSY_RESPONSE, command.getType());
+        return command;
+    }
+}
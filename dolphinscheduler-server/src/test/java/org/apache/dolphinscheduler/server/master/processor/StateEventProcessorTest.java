@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.processor;
+
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.StateEventRequestCommand;
+import org.apache.dolphinscheduler.remote.command.StateEventResponseCommand;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceCacheManager;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+
+import io.netty.channel.Channel;
+
+/**
+ *  state event processor test
+ */
+public class StateEventProcessorTest {
+
+    private StateEventProcessor stateEventProcessor;
+
+    private ProcessInstanceCacheManager processInstanceCacheManager;
+
+    private Channel channel;
+
+    @Before
+    public void before() {
+        processInstanceCacheManager = PowerMockito.mock(ProcessInstanceCacheManager.class);
+        stateEventProcessor = new StateEventProcessor(processInstanceCacheManager);
+        channel = PowerMockito.mock(Channel.class);
+    }
+
+    @Test
+    public void testProcess() {
+        Mockito.when(processInstanceCacheManager.changeProcessInstanceState(1, ExecutionStatus.READY_STOP,
+                org.apache.dolphinscheduler.common.enums.CommandType.STOP)).thenReturn(true);
+
+        StateEventRequestCommand requestCommand = new StateEventRequestCommand(1, ExecutionStatus.READY_STOP.getCode(),
+                org.apache.dolphinscheduler.common.enums.CommandType.STOP.getCode());
+        Command command = requestCommand.convert2Command();
+        Assert.assertEquals(CommandType.STATE_EVENT_REQUEST, command.getType());
+        stateEventProcessor.process(channel, command);
+
+        ArgumentCaptor<Command> captor = ArgumentCaptor.forClass(Command.class);
+        Mockito.verify(channel).writeAndFlush(captor.capture());
+        Assert.assertEquals(CommandType.STATE_EVENT_RESPONSE, captor.getValue().getType());
+        Assert.assertEquals(command.getOpaque(), captor.getValue().getOpaque());
+        StateEventResponseCommand response = JSONUtils.parseObject(captor.getValue().getBody(), StateEventResponseCommand.class);
+        Assert.assertTrue(response.isApplied());
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.server.master.registry;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.model.Server;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FailoverServiceTest {
+
+    @InjectMocks
+    private FailoverService failoverService;
+
+    @Mock
+    private ProcessService processService;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    private List<ProcessInstance> processInstances;
+
+    @Before
+    public void before() {
+        Mockito.when(masterConfig.getMasterFailoverThreads()).thenReturn(4);
+        Mockito.when(masterConfig.getMasterFailoverBatchSize()).thenReturn(100);
+        failoverService.init();
+    }
+
+    private void mockProcessInstances() {
+        processInstances = new ArrayList<>();
+        for (int i = 1; i <= 250; i++) {
+            ProcessInstance processInstance = new ProcessInstance();
+            processInstance.setId(i);
+            processInstance.setHost(i == 1 ? Constants.NULL : "127.0.0.1:5678");
+            processInstances.add(processInstance);
+        }
+        Mockito.when(processService.queryNeedFailoverProcessInstances("127.0.0.1:5678")).thenReturn(processInstances);
+    }
+
+    @After
+    public void after() {
+        failoverService.close();
+    }
+
+    @Test
+    public void testFailoverMaster() {
+        mockProcessInstances();
+        FailoverProgress progress = failoverService.failoverMaster("127.0.0.1:5678");
+
+        Assert.assertTrue(progress.isDone());
+        Assert.assertEquals(249, progress.getTotal());
+        Assert.assertEquals(249, progress.getFinished());
+        Assert.assertEquals(0, progress.getFailed());
+        // 249 instances are split into batches of at most 100
+        Mockito.verify(processService, Mockito.times(4)).processNeedFailoverProcessInstances(
+                Mockito.<List<ProcessInstance>>argThat(batch -> batch.size() <= 100));
+        Mockito.verify(processService, Mockito.never()).processNeedFailoverProcessInstances(Mockito.any(ProcessInstance.class));
+    }
+
+    @Test
+    public void testFailoverWorker() {
+        Date workerStartTime = new Date();
+        List<TaskInstance> taskInstances = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setId(i);
+            taskInstance.setProcessInstanceId(i);
+            taskInstance.setHost("127.0.0.1:1234");
+            taskInstances.add(taskInstance);
+        }
+        taskInstances.get(0).setStartTime(new Date(workerStartTime.getTime() - 1000));
+        // started by the restarted worker
+        taskInstances.get(1).setStartTime(new Date(workerStartTime.getTime() + 1000));
+        Mockito.when(processService.queryNeedFailoverTaskInstances("127.0.0.1:1234")).thenReturn(taskInstances);
+        Mockito.when(processService.findProcessInstancesByIds(Mockito.anyCollection())).thenReturn(Collections.emptyList());
+        Server worker = new Server();
+        worker.setHost("127.0.0.1");
+        worker.setPort(1234);
+        worker.setCreateTime(workerStartTime);
+
+        FailoverProgress progress = failoverService.failoverWorker("127.0.0.1:1234", Collections.singletonList(worker));
+
+        Assert.assertEquals(2, progress.getFinished());
+        Mockito.verify(processService, Mockito.times(1)).findProcessInstancesByIds(Mockito.anyCollection());
+        Mockito.verify(processService, Mockito.times(1)).failoverTaskInstances(Arrays.asList(1, 3));
+    }
+
+    @Test
+    public void testFailoverMasterWithBrokenInstance() {
+        mockProcessInstances();
+        ProcessInstance broken = processInstances.get(1);
+        Mockito.doThrow(new IllegalArgumentException("process definition not exists"))
+                .when(processService).processNeedFailoverProcessInstances(Mockito.<List<ProcessInstance>>argThat(batch -> batch.contains(broken)));
+        Mockito.doThrow(new IllegalArgumentException("process definition not exists"))
+                .when(processService).processNeedFailoverProcessInstances(broken);
+
+        FailoverProgress progress = failoverService.failoverMaster("127.0.0.1:5678");
+
+        // the other instances of the broken batch are failed over one by one
+        Assert.assertEquals(248, progress.getFinished());
+        Assert.assertEquals(1, progress.getFailed());
+    }
+}
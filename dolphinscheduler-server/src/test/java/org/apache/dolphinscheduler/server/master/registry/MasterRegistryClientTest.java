@@ -66,6 +66,9 @@ public class MasterRegistryClientTest {
     @Mock
     private ProcessService processService;
 
+    @Mock
+    private FailoverService failoverService;
+
     @Before
     public void before() throws Exception {
         PowerMockito.suppress(PowerMockito.constructor(RegistryClient.class));
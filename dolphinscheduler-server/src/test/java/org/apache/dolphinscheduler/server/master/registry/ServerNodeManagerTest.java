@@ -15,20 +15,33 @@
  * limitations under the License.
  */
 
+
 package org.apache.dolphinscheduler.server.master.registry;
 
+import static org.apache.dolphinscheduler.common.Constants.REGISTRY_DOLPHINSCHEDULER_WORKERS;
+
+import org.apache.dolphinscheduler.common.enums.NodeType;
 import org.apache.dolphinscheduler.dao.AlertDao;
 import org.apache.dolphinscheduler.dao.mapper.WorkerGroupMapper;
 import org.apache.dolphinscheduler.service.registry.RegistryClient;
+import org.apache.dolphinscheduler.spi.register.DataChangeEvent;
+import org.apache.dolphinscheduler.spi.register.SubscribeListener;
+
+import java.util.Collections;
 
+import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
 
 /**
  * server node manager test
@@ -40,6 +53,8 @@ public class ServerNodeManagerTest {
 
     private ServerNodeManager serverNodeManager;
 
+    private RegistryClient registryClient;
+
     @Mock
     private WorkerGroupMapper workerGroupMapper;
 
@@ -49,12 +64,42 @@ public class ServerNodeManagerTest {
     @Before
     public void before() {
         PowerMockito.suppress(PowerMockito.constructor(RegistryClient.class));
-        serverNodeManager = PowerMockito.mock(ServerNodeManager.class);
+        registryClient = PowerMockito.mock(RegistryClient.class);
+        serverNodeManager = new ServerNodeManager();
+        Whitebox.setInternalState(serverNodeManager, "registryClient", registryClient);
+        Whitebox.setInternalState(serverNodeManager, "workerGroupMapper", workerGroupMapper);
+        Whitebox.setInternalState(serverNodeManager, "alertDao", alertDao);
+        Mockito.when(registryClient.getMasterNodesDirectly()).thenReturn(Collections.emptySet());
+        Mockito.when(registryClient.getWorkerGroupDirectly()).thenReturn(Collections.emptySet());
+        Mockito.when(registryClient.getServerMaps(NodeType.WORKER, true)).thenReturn(Collections.emptyMap());
+        Mockito.when(registryClient.isWorkerPath(Mockito.anyString())).thenReturn(true);
+    }
+
+    @After
+    public void after() {
+        serverNodeManager.destroy();
     }
 
     @Test
-    public void test(){
-        //serverNodeManager.getWorkerGroupNodes()
+    public void testWorkerRegisteredAfterStart() throws Exception {
+        serverNodeManager.afterPropertiesSet();
+        ArgumentCaptor<SubscribeListener> listener = ArgumentCaptor.forClass(SubscribeListener.class);
+        Mockito.verify(registryClient).subscribe(Mockito.eq(REGISTRY_DOLPHINSCHEDULER_WORKERS), listener.capture());
+
+        // worker nodes are registered as /nodes/worker/{group}/{address}
+        String workerPath = REGISTRY_DOLPHINSCHEDULER_WORKERS + "/default/127.0.0.1:1234";
+        Mockito.when(registryClient.getWorkerGroupNodesDirectly("default")).thenReturn(Collections.singleton("127.0.0.1:1234"));
+        listener.getValue().notify(workerPath, DataChangeEvent.ADD);
+        Assert.assertEquals(Collections.singleton("127.0.0.1:1234"), serverNodeManager.getWorkerGroupNodes("default"));
+
+        // the group node itself is no worker
+        listener.getValue().notify(REGISTRY_DOLPHINSCHEDULER_WORKERS + "/default", DataChangeEvent.ADD);
+        Mockito.verify(registryClient, Mockito.never()).getWorkerGroupNodesDirectly("worker");
+
+        Mockito.when(registryClient.getWorkerGroupNodesDirectly("default")).thenReturn(Collections.emptySet());
+        listener.getValue().notify(workerPath, DataChangeEvent.REMOVE);
+        Assert.assertTrue(serverNodeManager.getWorkerGroupNodes("default").isEmpty());
+        Mockito.verify(alertDao).sendServerStopedAlert(1, workerPath, "WORKER");
     }
 
 }
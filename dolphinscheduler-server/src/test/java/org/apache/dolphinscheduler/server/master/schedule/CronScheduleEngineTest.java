@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.schedule;
+
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ReleaseState;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.common.utils.NetUtils;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class CronScheduleEngineTest {
+
+    @InjectMocks
+    private CronScheduleEngine cronScheduleEngine;
+
+    @Mock
+    private ProcessService processService;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @Mock
+    private ServerNodeManager serverNodeManager;
+
+    private long now;
+
+    @Before
+    public void before() {
+        Mockito.when(masterConfig.getListenPort()).thenReturn(5678);
+        Mockito.when(masterConfig.getMasterScheduleMisfireThreshold()).thenReturn(60000L);
+        now = DateUtils.stringToDate("2021-01-01 00:00:30").getTime();
+        cronScheduleEngine.setTimingWheel(new TimingWheel<>(1000L, 60, now));
+        Mockito.when(processService.findScheduleListByIds(Mockito.any())).thenReturn(Collections.singletonList(getSchedule(1)));
+        Mockito.when(processService.claimScheduleFire(Mockito.anyInt(), Mockito.any())).thenReturn(true);
+    }
+
+    @Test
+    public void testReloadPartition() {
+        List<String> masters = new ArrayList<>(Arrays.asList(NetUtils.getAddr(5678), "0.0.0.0:5678"));
+        Collections.sort(masters);
+        int slot = masters.indexOf(NetUtils.getAddr(5678));
+        Mockito.when(processService.queryReleaseSchedulerList())
+                .thenReturn(Arrays.asList(getSchedule(1), getSchedule(2), getSchedule(3), getSchedule(4)));
+
+        cronScheduleEngine.reload(masters, now);
+        Assert.assertEquals(2, cronScheduleEngine.getTriggers().size());
+        for (Integer scheduleId : cronScheduleEngine.getTriggers().keySet()) {
+            Assert.assertEquals(slot, scheduleId % 2);
+        }
+
+        // unchanged schedules keep their triggers, offline schedules are cancelled
+        ScheduleTrigger kept = cronScheduleEngine.getTriggers().get(2 - slot);
+        ScheduleTrigger removed = cronScheduleEngine.getTriggers().get(4 - slot);
+        Mockito.when(processService.queryReleaseSchedulerList()).thenReturn(Collections.singletonList(getSchedule(2 - slot)));
+        cronScheduleEngine.reload(masters, now);
+        Assert.assertEquals(1, cronScheduleEngine.getTriggers().size());
+        Assert.assertSame(kept, cronScheduleEngine.getTriggers().get(2 - slot));
+        Assert.assertTrue(removed.isCancelled());
+
+        // not registered yet, hold nothing
+        cronScheduleEngine.reload(Collections.singletonList("0.0.0.0:5678"), now);
+        Assert.assertTrue(cronScheduleEngine.getTriggers().isEmpty());
+        Assert.assertTrue(kept.isCancelled());
+    }
+
+    @Test
+    public void testReloadAfterMastersChange() {
+        Mockito.when(masterConfig.getMasterScheduleReloadInterval()).thenReturn(60);
+        List<String> masters = new ArrayList<>(Arrays.asList(NetUtils.getAddr(5678), "0.0.0.0:5678"));
+        Collections.sort(masters);
+        Mockito.when(processService.queryReleaseSchedulerList())
+                .thenReturn(Arrays.asList(getSchedule(1), getSchedule(2), getSchedule(3), getSchedule(4)));
+
+        // the other master may still use the old list, the fire claims keep each fire once
+        cronScheduleEngine.reload(masters, now);
+        Assert.assertEquals(4, cronScheduleEngine.getTriggers().size());
+
+        // settled after one reload interval
+        cronScheduleEngine.reload(masters, now + 60000L);
+        Assert.assertEquals(2, cronScheduleEngine.getTriggers().size());
+    }
+
+    @Test
+    public void testFire() throws Exception {
+        ScheduleTrigger trigger = new ScheduleTrigger(getSchedule(1));
+        // scheduled at 00:00:00, 30 seconds late is within the misfire threshold
+        trigger.computeNextFireTime(new Date(now - 60000L));
+        Mockito.when(processService.findProcessDefineByIdList(Mockito.any())).thenReturn(Collections.singletonList(getProcessDefinition(ReleaseState.ONLINE)));
+
+        cronScheduleEngine.fire(Collections.singletonList(trigger), now);
+
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(processService).batchCreateCommand(captor.capture());
+        Command command = (Command) captor.getValue().get(0);
+        Assert.assertEquals(CommandType.SCHEDULER, command.getCommandType());
+        Assert.assertEquals(DateUtils.stringToDate("2021-01-01 00:00:00"), command.getScheduleTime());
+        Assert.assertEquals(new Date(now), command.getStartTime());
+        Assert.assertEquals(DateUtils.stringToDate("2021-01-01 00:01:00"), trigger.getNextFireTime());
+        Mockito.verify(processService).claimScheduleFire(1, DateUtils.stringToDate("2021-01-01 00:00:00"));
+    }
+
+    @Test
+    public void testFireClaimedByAnotherMaster() throws Exception {
+        ScheduleTrigger trigger = new ScheduleTrigger(getSchedule(1));
+        trigger.computeNextFireTime(new Date(now - 60000L));
+        Mockito.when(processService.findProcessDefineByIdList(Mockito.any())).thenReturn(Collections.singletonList(getProcessDefinition(ReleaseState.ONLINE)));
+        Mockito.when(processService.claimScheduleFire(Mockito.anyInt(), Mockito.any())).thenReturn(false);
+
+        cronScheduleEngine.fire(Collections.singletonList(trigger), now);
+
+        Mockito.verify(processService, Mockito.never()).batchCreateCommand(Mockito.argThat(commands -> !commands.isEmpty()));
+        Assert.assertFalse(trigger.isCancelled());
+    }
+
+    @Test
+    public void testFireOfflineSchedule() throws Exception {
+        Mockito.when(processService.queryReleaseSchedulerList()).thenReturn(Collections.singletonList(getSchedule(1)));
+        cronScheduleEngine.reload(Collections.singletonList(NetUtils.getAddr(5678)), now);
+        ScheduleTrigger trigger = cronScheduleEngine.getTriggers().get(1);
+        trigger.computeNextFireTime(new Date(now - 60000L));
+
+        // taken offline after the last reload
+        Schedule offline = getSchedule(1);
+        offline.setReleaseState(ReleaseState.OFFLINE);
+        Mockito.when(processService.findScheduleListByIds(Mockito.any())).thenReturn(Collections.singletonList(offline));
+        cronScheduleEngine.fire(Collections.singletonList(trigger), now);
+
+        Mockito.verify(processService, Mockito.never()).claimScheduleFire(Mockito.anyInt(), Mockito.any());
+        Mockito.verify(processService, Mockito.never()).batchCreateCommand(Mockito.argThat(commands -> !commands.isEmpty()));
+        Assert.assertTrue(trigger.isCancelled());
+        Assert.assertTrue(cronScheduleEngine.getTriggers().isEmpty());
+
+        // deleted
+        trigger = new ScheduleTrigger(getSchedule(1));
+        trigger.computeNextFireTime(new Date(now - 60000L));
+        Mockito.when(processService.findScheduleListByIds(Mockito.any())).thenReturn(Collections.emptyList());
+        cronScheduleEngine.fire(Collections.singletonList(trigger), now);
+        Assert.assertTrue(trigger.isCancelled());
+    }
+
+    @Test
+    public void testMisfire() throws Exception {
+        ScheduleTrigger trigger = new ScheduleTrigger(getSchedule(1));
+        trigger.computeNextFireTime(new Date(now - 3600000L));
+
+        cronScheduleEngine.fire(Collections.singletonList(trigger), now);
+
+        Mockito.verify(processService, Mockito.never()).batchCreateCommand(Mockito.any());
+        Assert.assertEquals(DateUtils.stringToDate("2021-01-01 00:01:00"), trigger.getNextFireTime());
+    }
+
+    @Test
+    public void testFireOfflineDefinition() throws Exception {
+        ScheduleTrigger trigger = new ScheduleTrigger(getSchedule(1));
+        trigger.computeNextFireTime(new Date(now - 60000L));
+        Mockito.when(processService.findProcessDefineByIdList(Mockito.any())).thenReturn(Collections.singletonList(getProcessDefinition(ReleaseState.OFFLINE)));
+
+        cronScheduleEngine.fire(Collections.singletonList(trigger), now);
+
+        Mockito.verify(processService, Mockito.never()).batchCreateCommand(Mockito.argThat(commands -> !commands.isEmpty()));
+    }
+
+    @Test
+    public void testEndTime() throws Exception {
+        Schedule schedule = getSchedule(1);
+        schedule.setEndTime(DateUtils.stringToDate("2021-01-01 00:00:50"));
+        ScheduleTrigger trigger = new ScheduleTrigger(schedule);
+        Assert.assertNull(trigger.computeNextFireTime(new Date(now)));
+
+        schedule.setStartTime(DateUtils.stringToDate("2021-01-01 00:00:00"));
+        schedule.setEndTime(null);
+        trigger = new ScheduleTrigger(schedule);
+        // the start time itself is the first fire time
+        Assert.assertEquals(DateUtils.stringToDate("2021-01-01 00:00:00"), trigger.computeNextFireTime(new Date(0)));
+    }
+
+    private Schedule getSchedule(int id) {
+        Schedule schedule = new Schedule();
+        schedule.setId(id);
+        schedule.setProcessDefinitionId(1);
+        schedule.setCrontab("0 * * * * ? *");
+        schedule.setStartTime(DateUtils.stringToDate("2020-01-01 00:00:00"));
+        schedule.setEndTime(DateUtils.stringToDate("2030-01-01 00:00:00"));
+        schedule.setReleaseState(ReleaseState.ONLINE);
+        return schedule;
+    }
+
+    private ProcessDefinition getProcessDefinition(ReleaseState releaseState) {
+        ProcessDefinition processDefinition = new ProcessDefinition();
+        processDefinition.setId(1);
+        processDefinition.setReleaseState(releaseState);
+        return processDefinition;
+    }
+}
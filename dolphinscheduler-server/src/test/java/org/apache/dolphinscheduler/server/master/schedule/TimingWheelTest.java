@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.schedule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TimingWheelTest {
+
+    @Test
+    public void testAdvance() {
+        TimingWheel<String> timingWheel = new TimingWheel<>(1000L, 60, 0L);
+        Assert.assertTrue(timingWheel.add("second", 2000L));
+        // beyond the lowest wheel
+        Assert.assertTrue(timingWheel.add("minute", 65000L));
+        // beyond the second wheel
+        Assert.assertTrue(timingWheel.add("hour", 3700000L));
+        Assert.assertEquals(3, timingWheel.size());
+
+        Assert.assertTrue(timingWheel.advance(1999L).isEmpty());
+        Assert.assertEquals("second", timingWheel.advance(2000L).get(0));
+        Assert.assertTrue(timingWheel.advance(64999L).isEmpty());
+        Assert.assertEquals("minute", timingWheel.advance(65000L).get(0));
+        Assert.assertTrue(timingWheel.advance(3699999L).isEmpty());
+        Assert.assertEquals("hour", timingWheel.advance(3700000L).get(0));
+        Assert.assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    public void testAddDue() {
+        TimingWheel<String> timingWheel = new TimingWheel<>(1000L, 60, 10500L);
+        Assert.assertEquals(10000L, timingWheel.getCurrentTime());
+        Assert.assertFalse(timingWheel.add("due", 10800L));
+        Assert.assertFalse(timingWheel.add("past", 5000L));
+        Assert.assertTrue(timingWheel.add("next", 11000L));
+        Assert.assertEquals(1, timingWheel.size());
+    }
+
+    @Test
+    public void testNeverEarlyNeverLate() {
+        TimingWheel<Integer> timingWheel = new TimingWheel<>(1000L, 8, 0L);
+        Random random = new Random(7);
+        Map<Integer, Long> expirations = new HashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            long expiration = 1000L * (1 + random.nextInt(5000));
+            expirations.put(i, expiration);
+            Assert.assertTrue(timingWheel.add(i, expiration));
+        }
+        List<Integer> expired = new ArrayList<>();
+        for (long now = 0; now <= 5001000L; now += 1000L) {
+            for (Integer item : timingWheel.advance(now)) {
+                Assert.assertEquals(expirations.get(item).longValue(), now);
+                expired.add(item);
+            }
+        }
+        Assert.assertEquals(10000, expired.size());
+        Assert.assertEquals(0, timingWheel.size());
+    }
+}
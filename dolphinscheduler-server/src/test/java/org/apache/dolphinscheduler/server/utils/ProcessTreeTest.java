@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.utils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class ProcessTreeTest {
+
+    @Test
+    public void testParseStat() {
+        Assert.assertArrayEquals(new int[] {1, 100},
+                ProcessTree.parseStat("100 (java) S 1 100 100 0 -1 4194560 0 0 0 0"));
+        Assert.assertArrayEquals(new int[] {7, 9},
+                ProcessTree.parseStat("12 (a) (b c) R 7 9 9 0 -1 0"));
+        Assert.assertNull(ProcessTree.parseStat("12 broken"));
+    }
+
+    @Test
+    public void testDescendantsAndGroups() {
+        Map<Integer, Integer> parents = new HashMap<>();
+        Map<Integer, Integer> groups = new HashMap<>();
+        parents.put(10, 1);
+        groups.put(10, 10);
+        parents.put(11, 10);
+        groups.put(11, 10);
+        parents.put(12, 11);
+        groups.put(12, 12);
+        parents.put(13, 1);
+        groups.put(13, 13);
+        ProcessTree tree = new ProcessTree(parents, groups);
+
+        Assert.assertEquals(Arrays.asList(10, 11, 12), tree.descendants(10));
+        Assert.assertEquals(Collections.emptyList(), tree.descendants(99));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(12, 11, 10, 1)), tree.ancestors(12));
+        Assert.assertEquals(Collections.singleton(12), tree.leadingGroups(tree.descendants(10), 10));
+    }
+
+    @Test
+    public void testKillTrees() throws Exception {
+        Assume.assumeTrue(ProcessTree.isSupported());
+        Process process = new ProcessBuilder("sh", "-c", "sleep 60 & sleep 60").start();
+        int pid = getProcessId(process);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (ProcessTree.snapshot().descendants(pid).size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(3, ProcessTree.snapshot().descendants(pid).size());
+
+        ProcessTree.killTrees(Collections.singletonMap(pid, null));
+        Assert.assertTrue(process.waitFor(5, TimeUnit.SECONDS));
+        deadline = System.currentTimeMillis() + 5000;
+        while (!ProcessTree.snapshot().descendants(pid).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assert.assertTrue(ProcessTree.snapshot().descendants(pid).isEmpty());
+    }
+
+    @Test
+    public void testRefuseToKillInit() throws Exception {
+        Assume.assumeTrue(ProcessTree.isSupported());
+        ProcessTree.killTrees(Collections.singletonMap(1, null));
+        Assert.assertFalse(ProcessTree.snapshot().descendants(1).isEmpty());
+    }
+
+    @Test
+    public void testKillAsTenantsContinuesAfterFailure() throws Exception {
+        Assume.assumeTrue(ProcessTree.isSupported());
+        Process process = new ProcessBuilder("sleep", "60").start();
+
+        // the kill of the first tenant fails, there is no such process
+        Map<String, List<Integer>> denied = new LinkedHashMap<>();
+        denied.put("", new ArrayList<>(Collections.singletonList(Integer.MAX_VALUE)));
+        denied.put(null, new ArrayList<>(Collections.singletonList(getProcessId(process))));
+        ProcessTree.killAsTenants(denied);
+        Assert.assertTrue(process.waitFor(5, TimeUnit.SECONDS));
+    }
+
+    private int getProcessId(Process process) throws Exception {
+        Field f = process.getClass().getDeclaredField("pid");
+        f.setAccessible(true);
+        return f.getInt(process);
+    }
+}
@@ -38,6 +38,7 @@ import org.apache.dolphinscheduler.service.alert.AlertClientService;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 
 import org.junit.Assert;
@@ -99,6 +100,8 @@ public class TaskExecuteProcessorTest {
         PowerMockito.when(ChannelUtils.toAddress(null)).thenReturn(null);
 
         taskExecutionContextCacheManager = PowerMockito.mock(TaskExecutionContextCacheManagerImpl.class);
+        PowerMockito.when(taskExecutionContextCacheManager.getByTaskInstanceId(taskExecutionContext.getTaskInstanceId()))
+                .thenReturn(taskExecutionContext);
         taskCallbackService = PowerMockito.mock(TaskCallbackService.class);
         PowerMockito.doNothing().when(taskCallbackService).sendAck(taskExecutionContext.getTaskInstanceId(), ackCommand);
 
@@ -124,6 +127,12 @@ public class TaskExecuteProcessorTest {
         PowerMockito.when(SpringApplicationContext.getBean(WorkerManagerThread.class))
                 .thenReturn(workerManager);
 
+        TenantProvisionService tenantProvisionService = PowerMockito.mock(TenantProvisionService.class);
+        PowerMockito.when(tenantProvisionService.prepare(Mockito.any(TaskExecutionContext.class), Mockito.any(), Mockito.anyBoolean()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        PowerMockito.when(SpringApplicationContext.getBean(TenantProvisionService.class))
+                .thenReturn(tenantProvisionService);
+
         PowerMockito.mockStatic(ThreadUtils.class);
         PowerMockito.when(ThreadUtils.newDaemonFixedThreadExecutor("Worker-Execute-Thread", workerConfig.getWorkerExecThreads()))
                 .thenReturn(workerExecService);
@@ -158,6 +167,17 @@ public class TaskExecuteProcessorTest {
         processor.process(null, command);
 
         Assert.assertEquals(ExecutionStatus.RUNNING_EXECUTION, taskExecutionContext.getCurrentExecutionStatus());
+        Mockito.verify(workerManager).offer(Mockito.any(TaskExecuteThread.class));
+    }
+
+    @Test
+    public void testKilledWhilePrepared() {
+        PowerMockito.when(taskExecutionContextCacheManager.getByTaskInstanceId(taskExecutionContext.getTaskInstanceId()))
+                .thenReturn(null);
+        TaskExecuteProcessor processor = new TaskExecuteProcessor();
+        processor.process(null, command);
+
+        Mockito.verify(workerManager, Mockito.never()).offer(Mockito.any(TaskExecuteThread.class));
     }
 
     @Test
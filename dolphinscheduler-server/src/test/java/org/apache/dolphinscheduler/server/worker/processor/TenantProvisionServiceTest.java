@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.processor;
+
+import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * tenant provision service test
+ */
+public class TenantProvisionServiceTest {
+
+    private TenantProvisionService tenantProvisionService;
+
+    @Before
+    public void before() {
+        tenantProvisionService = new TenantProvisionService();
+        tenantProvisionService.start();
+    }
+
+    @Test
+    public void testProvisionKnownUser() {
+        List<String> users = OSUtils.getUserList();
+        Assert.assertFalse(users.isEmpty());
+        String user = users.get(0);
+        Assert.assertTrue(tenantProvisionService.isKnownUser(user));
+
+        CompletableFuture<Boolean> future = tenantProvisionService.provisionUser(user, null);
+        Assert.assertTrue(future.isDone());
+        Assert.assertTrue(future.join());
+    }
+
+    @Test
+    public void testPrepareExecuteDir() throws Exception {
+        File root = Files.createTempDirectory("exec").toFile();
+        File executeDir = new File(root, "1/2_1/3/4");
+        Assert.assertTrue(new File(executeDir, "stale").mkdirs());
+
+        TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        taskExecutionContext.setExecutePath(executeDir.getPath());
+        tenantProvisionService.prepare(taskExecutionContext, null, false).join();
+
+        Assert.assertTrue(executeDir.isDirectory());
+        Assert.assertFalse(new File(executeDir, "stale").exists());
+        org.apache.commons.io.FileUtils.deleteQuietly(root);
+    }
+
+    @After
+    public void after() {
+        tenantProvisionService.close();
+    }
+}
@@ -24,6 +24,8 @@ import org.apache.dolphinscheduler.remote.NettyRemotingClient;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkRequestCommand;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.RollViewLogRequestCommand;
@@ -31,8 +33,12 @@ import org.apache.dolphinscheduler.remote.command.log.RollViewLogResponseCommand
 import org.apache.dolphinscheduler.remote.command.log.ViewLogRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.ViewLogResponseCommand;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.utils.Host;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +60,11 @@ public class LogClientService implements AutoCloseable {
      */
     private static final long LOG_REQUEST_TIMEOUT = 10 * 1000L;
 
+    /**
+     * log chunk size of streamed log transfer
+     */
+    private static final int LOG_CHUNK_SIZE = 512 * 1024;
+
     /**
      * construct client
      */
@@ -167,6 +178,52 @@ public class LogClientService implements AutoCloseable {
         return result;
     }
 
+    /**
+     * stream log to the output stream chunk by chunk, the next chunk is only requested
+     * after the previous one has been written, so neither side holds the whole log in memory
+     *
+     * @param host host
+     * @param port port
+     * @param path log path
+     * @param out output stream
+     * @return bytes written
+     * @throws IOException if the log can not be fetched or written
+     */
+    public long streamLog(String host, int port, String path, OutputStream out) throws IOException {
+        logger.info("stream log path {}", path);
+        final Host address = new Host(host, port);
+        long offset = 0;
+        try {
+            boolean end = false;
+            while (!end) {
+                Command command = new GetLogChunkRequestCommand(path, offset, LOG_CHUNK_SIZE).convert2Command();
+                Command response = this.client.sendSync(address, command, LOG_REQUEST_TIMEOUT);
+                if (response == null) {
+                    throw new IOException(String.format("get log chunk from %s at offset %d failed", address, offset));
+                }
+                GetLogChunkResponseCommand chunk = JSONUtils.parseObject(
+                        response.getBody(), GetLogChunkResponseCommand.class);
+                if (chunk.getError() != null) {
+                    throw new IOException(String.format("get log chunk from %s failed, %s", address, chunk.getError()));
+                }
+                if (chunk.getData() != null && chunk.getData().length > 0) {
+                    out.write(chunk.getData());
+                }
+                offset = chunk.getNextOffset();
+                end = chunk.isEnd();
+            }
+            out.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("stream log interrupted", e);
+        } catch (RemotingException e) {
+            throw new IOException("stream log error", e);
+        } finally {
+            this.client.closeChannel(address);
+        }
+        return offset;
+    }
+
     /**
      * remove task log
      *
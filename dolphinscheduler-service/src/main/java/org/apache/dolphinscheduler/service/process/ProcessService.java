@@ -96,6 +96,7 @@ import org.apache.dolphinscheduler.dao.mapper.ProcessTaskRelationMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.ResourceMapper;
 import org.apache.dolphinscheduler.dao.mapper.ResourceUserMapper;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleFireMapper;
 import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionLogMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
@@ -112,6 +113,8 @@ import org.apache.dolphinscheduler.service.quartz.cron.CronUtils;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.EnumMap;
 import java.util.HashMap;
@@ -122,12 +125,15 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.quartz.CronExpression;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -176,6 +182,9 @@ public class ProcessService {
     @Autowired
     private ScheduleMapper scheduleMapper;
 
+    @Autowired
+    private ScheduleFireMapper scheduleFireMapper;
+
     @Autowired
     private UdfFuncMapper udfFuncMapper;
 
@@ -293,6 +302,20 @@ public class ProcessService {
         return result;
     }
 
+    /**
+     * create commands with one insert
+     *
+     * @param commands commands
+     * @return create result
+     */
+    public int batchCreateCommand(List<Command> commands) {
+        int result = 0;
+        if (CollectionUtils.isNotEmpty(commands)) {
+            result = commandMapper.batchInsert(commands);
+        }
+        return result;
+    }
+
     /**
      * find one command from queue list
      *
@@ -345,6 +368,19 @@ public class ProcessService {
         return processInstanceMapper.queryDetailById(processId);
     }
 
+    /**
+     * find process instances by ids with one query
+     *
+     * @param processInstanceIds process instance ids
+     * @return process instance list
+     */
+    public List<ProcessInstance> findProcessInstancesByIds(Collection<Integer> processInstanceIds) {
+        if (CollectionUtils.isEmpty(processInstanceIds)) {
+            return Collections.emptyList();
+        }
+        return processInstanceMapper.selectBatchIds(processInstanceIds);
+    }
+
     /**
      * get task node list by definitionId
      */
@@ -385,6 +421,19 @@ public class ProcessService {
         return processDefineMapper.selectById(processDefinitionId);
     }
 
+    /**
+     * find process defines by id list
+     *
+     * @param processDefinitionIds process definition ids
+     * @return process definition list
+     */
+    public List<ProcessDefinition> findProcessDefineByIdList(Integer[] processDefinitionIds) {
+        if (processDefinitionIds == null || processDefinitionIds.length == 0) {
+            return new ArrayList<>();
+        }
+        return processDefineMapper.queryDefinitionListByIdList(processDefinitionIds);
+    }
+
     /**
      * find process define by code and version.
      *
@@ -1020,6 +1069,47 @@ public class ProcessService {
         return task;
     }
 
+    /**
+     * submit a batch of new task instances of one process instance to db in one transaction,
+     * all rows are written by one multi-row insert.
+     * only task instances which have never been saved and are not sub process tasks are accepted,
+     * sub process tasks need a process instance map and are submitted by {@link #submitTask(TaskInstance)}
+     *
+     * @param processInstance processInstance
+     * @param taskInstances new task instances
+     * @return submitted task instances
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<TaskInstance> submitTasks(ProcessInstance processInstance, List<TaskInstance> taskInstances) {
+        if (CollectionUtils.isEmpty(taskInstances)) {
+            return Collections.emptyList();
+        }
+        for (TaskInstance taskInstance : taskInstances) {
+            if (taskInstance.getId() != 0 || taskInstance.isSubProcess()) {
+                throw new IllegalArgumentException(String.format("task %s can not be submitted in batch", taskInstance.getName()));
+            }
+        }
+        ExecutionStatus processInstanceState = processInstance.getState();
+        // the failure strategy check only depends on the process instance, evaluate it once for the whole batch
+        boolean strategyPassed = checkProcessStrategy(taskInstances.get(0));
+        Date submitTime = new Date();
+        for (TaskInstance taskInstance : taskInstances) {
+            taskInstance.setExecutorId(processInstance.getExecutorId());
+            taskInstance.setProcessInstancePriority(processInstance.getProcessInstancePriority());
+            taskInstance.setState(getSubmitTaskState(taskInstance, processInstanceState, () -> strategyPassed));
+            if (taskInstance.getSubmitTime() == null) {
+                taskInstance.setSubmitTime(submitTime);
+            }
+            if (taskInstance.getFirstSubmitTime() == null) {
+                taskInstance.setFirstSubmitTime(taskInstance.getSubmitTime());
+            }
+        }
+        taskInstanceMapper.batchInsert(taskInstances);
+        logger.info("submit {} tasks to db in batch, instance id:{} state: {}",
+                taskInstances.size(), processInstance.getId(), processInstanceState);
+        return taskInstances;
+    }
+
     /**
      * set work process instance map
      * consider o
@@ -1278,6 +1368,18 @@ public class ProcessService {
      * @return process instance state
      */
     public ExecutionStatus getSubmitTaskState(TaskInstance taskInstance, ExecutionStatus processInstanceState) {
+        return getSubmitTaskState(taskInstance, processInstanceState, () -> checkProcessStrategy(taskInstance));
+    }
+
+    /**
+     * get submit task instance state by the work process state
+     *
+     * @param taskInstance taskInstance
+     * @param processInstanceState processInstanceState
+     * @param strategyChecker failure strategy check of the process instance
+     * @return process instance state
+     */
+    private ExecutionStatus getSubmitTaskState(TaskInstance taskInstance, ExecutionStatus processInstanceState, BooleanSupplier strategyChecker) {
         ExecutionStatus state = taskInstance.getState();
         // running, delayed or killed
         // the task already exists in task queue
@@ -1294,7 +1396,7 @@ public class ProcessService {
         if (processInstanceState == ExecutionStatus.READY_PAUSE) {
             state = ExecutionStatus.PAUSE;
         } else if (processInstanceState == ExecutionStatus.READY_STOP
-                || !checkProcessStrategy(taskInstance)) {
+                || !strategyChecker.getAsBoolean()) {
             state = ExecutionStatus.KILL;
         } else {
             state = ExecutionStatus.SUBMITTED_SUCCESS;
@@ -1570,6 +1672,33 @@ public class ProcessService {
         return processInstanceMapper.updateById(processInstance);
     }
 
+    /**
+     * update var pool of process instance only, leaving state columns to their owners
+     *
+     * @param processInstance processInstance
+     * @return update result
+     */
+    public int updateProcessInstanceVarPool(ProcessInstance processInstance) {
+        return processInstanceMapper.updateVarPoolById(processInstance.getVarPool(), processInstance.getId());
+    }
+
+    /**
+     * update state, end time and var pool of process instance, a stop or pause requested in the meantime
+     * is not overwritten unless it is the state the caller started from
+     *
+     * @param processInstance processInstance
+     * @param originState state the caller changed from
+     * @return update result
+     */
+    public int updateProcessInstanceState(ProcessInstance processInstance, ExecutionStatus originState) {
+        int[] guardedStates = Stream.of(ExecutionStatus.READY_STOP, ExecutionStatus.READY_PAUSE)
+                .filter(state -> state != originState)
+                .mapToInt(ExecutionStatus::getCode)
+                .toArray();
+        return processInstanceMapper.updateStateById(processInstance.getId(), processInstance.getState(),
+                processInstance.getEndTime(), processInstance.getVarPool(), guardedStates);
+    }
+
     /**
      * change task state
      *
@@ -1666,6 +1795,50 @@ public class ProcessService {
         return scheduleMapper.queryReleaseSchedulerListByProcessDefinitionId(processDefinitionId);
     }
 
+    /**
+     * query all online schedules
+     *
+     * @return schedule list
+     */
+    public List<Schedule> queryReleaseSchedulerList() {
+        return scheduleMapper.queryReleaseSchedulerList();
+    }
+
+    /**
+     * query schedules by ids
+     *
+     * @param ids schedule ids
+     * @return schedule list, deleted schedules are absent
+     */
+    public List<Schedule> findScheduleListByIds(List<Integer> ids) {
+        return scheduleMapper.selectBatchIds(ids);
+    }
+
+    /**
+     * claim a fire time of a schedule, only the first master claiming it may create the command
+     *
+     * @param scheduleId schedule id
+     * @param fireTime scheduled fire time
+     * @return true if claimed by this call
+     */
+    public boolean claimScheduleFire(int scheduleId, Date fireTime) {
+        try {
+            return scheduleFireMapper.insertFire(scheduleId, fireTime) > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * delete the claims of fire times before a time
+     *
+     * @param fireTime fire time
+     * @return delete result
+     */
+    public int deleteScheduleFireBefore(Date fireTime) {
+        return scheduleFireMapper.deleteBefore(fireTime);
+    }
+
     /**
      * query need failover process instance
      *
@@ -1690,12 +1863,51 @@ public class ProcessService {
         ProcessDefinition processDefinition = findProcessDefinition(processInstance.getProcessDefinitionCode(), processInstance.getProcessDefinitionVersion());
 
         //2 insert into recover command
+        createCommand(createFailoverCommand(processInstance, processDefinition));
+    }
+
+    /**
+     * process need failover process instances with one host update and one command insert,
+     * the process definitions shared by the instances are queried once
+     *
+     * @param processInstances processInstances
+     */
+    @Transactional(rollbackFor = RuntimeException.class)
+    public void processNeedFailoverProcessInstances(List<ProcessInstance> processInstances) {
+        if (CollectionUtils.isEmpty(processInstances)) {
+            return;
+        }
+        //1 update processInstance host is null
+        List<Integer> ids = processInstances.stream().map(ProcessInstance::getId).collect(Collectors.toList());
+        processInstanceMapper.updateHostByIds(Constants.NULL, ids);
+
+        //2 insert into recover commands
+        Map<String, ProcessDefinition> processDefinitions = new HashMap<>();
+        List<Command> commands = new ArrayList<>(processInstances.size());
+        for (ProcessInstance processInstance : processInstances) {
+            processInstance.setHost(Constants.NULL);
+            ProcessDefinition processDefinition = processDefinitions.computeIfAbsent(
+                    processInstance.getProcessDefinitionCode() + Constants.UNDERLINE + processInstance.getProcessDefinitionVersion(),
+                    key -> findProcessDefinition(processInstance.getProcessDefinitionCode(), processInstance.getProcessDefinitionVersion()));
+            if (processDefinition == null) {
+                throw new IllegalArgumentException(String.format("process definition %d of version %d not exists, process instance id: %d",
+                        processInstance.getProcessDefinitionCode(), processInstance.getProcessDefinitionVersion(), processInstance.getId()));
+            }
+            Command command = createFailoverCommand(processInstance, processDefinition);
+            // the column default of a single insert
+            command.setWarningType(WarningType.NONE);
+            commands.add(command);
+        }
+        batchCreateCommand(commands);
+    }
+
+    private Command createFailoverCommand(ProcessInstance processInstance, ProcessDefinition processDefinition) {
         Command cmd = new Command();
         cmd.setProcessDefinitionId(processDefinition.getId());
         cmd.setCommandParam(String.format("{\"%s\":%d}", Constants.CMD_PARAM_RECOVER_PROCESS_ID_STRING, processInstance.getId()));
         cmd.setExecutorId(processInstance.getExecutorId());
         cmd.setCommandType(CommandType.RECOVER_TOLERANCE_FAULT_PROCESS);
-        createCommand(cmd);
+        return cmd;
     }
 
     /**
@@ -1709,6 +1921,19 @@ public class ProcessService {
                 stateArray);
     }
 
+    /**
+     * set the task instances which are still running to need fault tolerance with one update
+     *
+     * @param taskInstanceIds task instance ids
+     * @return update count
+     */
+    public int failoverTaskInstances(List<Integer> taskInstanceIds) {
+        if (CollectionUtils.isEmpty(taskInstanceIds)) {
+            return 0;
+        }
+        return taskInstanceMapper.setFailoverByIdsAndStateArray(taskInstanceIds, stateArray, ExecutionStatus.NEED_FAULT_TOLERANCE);
+    }
+
     /**
      * find data source by id
      *
@@ -1719,6 +1944,19 @@ public class ProcessService {
         return dataSourceMapper.selectById(id);
     }
 
+    /**
+     * find data sources by ids with one query
+     *
+     * @param ids ids
+     * @return datasource list
+     */
+    public List<DataSource> findDataSourcesByIds(Collection<Integer> ids) {
+        if (CollectionUtils.isEmpty(ids)) {
+            return Collections.emptyList();
+        }
+        return dataSourceMapper.selectBatchIds(ids);
+    }
+
     /**
      * update process instance state by id
      *
@@ -20,15 +20,21 @@ package org.apache.dolphinscheduler.service.queue;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.PriorityQueue;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Task instances priority queue implementation
  * All the task instances are in the same process instance.
+ * Tasks are indexed by task code, so contains, remove and update cost O(log n) at most.
+ * Tasks waiting for their retry interval are parked by due time and only join the
+ * priority order once they are due.
+ * It is owned by one MasterExecThread and is not thread safe.
  */
 public class PeerTaskInstancePriorityQueue implements TaskPriorityQueue<TaskInstance> {
     /**
@@ -37,24 +43,73 @@ public class PeerTaskInstancePriorityQueue implements TaskPriorityQueue<TaskInst
     private static final Integer QUEUE_MAX_SIZE = 3000;
 
     /**
-     * queue
+     * tasks ready to be examined, by priority
      */
-    private PriorityQueue<TaskInstance> queue = new PriorityQueue<>(QUEUE_MAX_SIZE, new TaskInfoComparator());
+    private final IndexedHeap ready = new IndexedHeap(Comparator.comparing((Entry e) -> e.task.getTaskInstancePriority())
+            .thenComparingLong(e -> e.sequence));
 
     /**
-     * Lock used for all public operations
+     * tasks waiting for their retry interval, by due time
      */
-    private final ReentrantLock lock = new ReentrantLock(true);
+    private final IndexedHeap parked = new IndexedHeap(Comparator.comparingLong((Entry e) -> e.dueTime)
+            .thenComparingLong(e -> e.sequence));
 
     /**
-     * put task instance to priority queue
+     * all the tasks by key
+     */
+    private final Map<Object, Entry> index = new HashMap<>(QUEUE_MAX_SIZE);
+
+    /**
+     * tasks put in a failure state, that is waiting for a retry
+     */
+    private int retryTaskCount;
+
+    private long sequence;
+
+    /**
+     * put task instance to priority queue, a task already in the queue is replaced
      *
      * @param taskInstance taskInstance
      * @throws TaskPriorityQueueException
      */
     @Override
     public void put(TaskInstance taskInstance) throws TaskPriorityQueueException {
-        queue.add(taskInstance);
+        add(taskInstance, 0, ready);
+    }
+
+    /**
+     * park a task until its retry is due, it is not visible to peek, take and iterator before
+     *
+     * @param taskInstance taskInstance
+     * @param dueTime due time in millis
+     */
+    public void putDelayed(TaskInstance taskInstance, long dueTime) {
+        add(taskInstance, dueTime, parked);
+    }
+
+    private void add(TaskInstance taskInstance, long dueTime, IndexedHeap heap) {
+        remove(taskInstance);
+        Entry entry = new Entry(taskInstance, dueTime, sequence++);
+        index.put(key(taskInstance), entry);
+        if (entry.retry) {
+            retryTaskCount++;
+        }
+        heap.add(entry);
+    }
+
+    /**
+     * move the parked tasks that are due to the priority order
+     *
+     * @param now current time in millis
+     * @return number of tasks released
+     */
+    public int releaseDueTasks(long now) {
+        int released = 0;
+        while (!parked.isEmpty() && parked.peek().dueTime <= now) {
+            ready.add(parked.poll());
+            released++;
+        }
+        return released;
     }
 
     /**
@@ -65,7 +120,12 @@ public class PeerTaskInstancePriorityQueue implements TaskPriorityQueue<TaskInst
      */
     @Override
     public TaskInstance take() throws TaskPriorityQueueException {
-        return queue.poll();
+        if (ready.isEmpty()) {
+            return null;
+        }
+        Entry entry = ready.poll();
+        forget(entry);
+        return entry.task;
     }
 
     /**
@@ -91,17 +151,35 @@ public class PeerTaskInstancePriorityQueue implements TaskPriorityQueue<TaskInst
      * @return task instance
      */
     public TaskInstance peek() {
-        return queue.peek();
+        return ready.isEmpty() ? null : ready.peek().task;
     }
 
     /**
-     * queue size
+     * queue size, parked tasks included
      *
      * @return size
      */
     @Override
     public int size() {
-        return queue.size();
+        return index.size();
+    }
+
+    /**
+     * number of parked tasks
+     *
+     * @return parked size
+     */
+    public int parkedSize() {
+        return parked.size();
+    }
+
+    /**
+     * whether a task put in a failure state, waiting for its retry, is in the queue
+     *
+     * @return true if there is a retry task
+     */
+    public boolean hasRetryTask() {
+        return retryTaskCount > 0;
     }
 
     /**
@@ -111,7 +189,7 @@ public class PeerTaskInstancePriorityQueue implements TaskPriorityQueue<TaskInst
      * @return true is contains
      */
     public boolean contains(TaskInstance taskInstance) {
-        return queue.contains(taskInstance);
+        return index.containsKey(key(taskInstance));
     }
 
     /**
@@ -121,33 +199,192 @@ public class PeerTaskInstancePriorityQueue implements TaskPriorityQueue<TaskInst
      * @return true if remove success
      */
     public boolean remove(TaskInstance taskInstance) {
-        return queue.remove(taskInstance);
+        Entry entry = index.get(key(taskInstance));
+        if (entry == null) {
+            return false;
+        }
+        if (!ready.remove(entry)) {
+            parked.remove(entry);
+        }
+        forget(entry);
+        return true;
+    }
+
+    private void forget(Entry entry) {
+        index.remove(key(entry.task));
+        if (entry.retry) {
+            retryTaskCount--;
+        }
     }
 
     /**
-     * get iterator
+     * the tasks that are not parked, in priority order
+     *
+     * @return task instances
+     */
+    public List<TaskInstance> readyTasks() {
+        List<Entry> entries = new ArrayList<>(ready.entries);
+        entries.sort(ready.comparator);
+        List<TaskInstance> tasks = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            tasks.add(entry.task);
+        }
+        return tasks;
+    }
+
+    /**
+     * get iterator over the tasks that are not parked, in no particular order
      *
      * @return Iterator
      */
     public Iterator<TaskInstance> iterator() {
-        return queue.iterator();
+        Iterator<Entry> entries = ready.entries.iterator();
+        return new Iterator<TaskInstance>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public TaskInstance next() {
+                return entries.next().task;
+            }
+        };
+    }
+
+    /**
+     * task code inside a process instance, the name or the instance itself for tasks without a code
+     */
+    private static Object key(TaskInstance taskInstance) {
+        if (taskInstance.getTaskCode() != 0) {
+            return taskInstance.getTaskCode();
+        }
+        if (taskInstance.getName() != null) {
+            return taskInstance.getName();
+        }
+        return taskInstance;
+    }
+
+    /**
+     * queued task with its position in the heap it is in
+     */
+    private static class Entry {
+
+        private final TaskInstance task;
+
+        private final long dueTime;
+
+        private final long sequence;
+
+        private final boolean retry;
+
+        private int position = -1;
+
+        Entry(TaskInstance task, long dueTime, long sequence) {
+            this.task = task;
+            this.dueTime = dueTime;
+            this.sequence = sequence;
+            this.retry = task.getState() != null && task.getState().typeIsFailure();
+        }
     }
 
     /**
-     * TaskInfoComparator
+     * binary heap whose entries know their position, so that any entry is removed in O(log n)
      */
-    private class TaskInfoComparator implements Comparator<TaskInstance> {
+    private static class IndexedHeap {
+
+        private final List<Entry> entries = new ArrayList<>();
+
+        private final Comparator<Entry> comparator;
+
+        IndexedHeap(Comparator<Entry> comparator) {
+            this.comparator = comparator;
+        }
+
+        boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        Entry peek() {
+            return entries.get(0);
+        }
+
+        void add(Entry entry) {
+            entry.position = entries.size();
+            entries.add(entry);
+            siftUp(entry.position);
+        }
+
+        Entry poll() {
+            Entry head = entries.get(0);
+            removeAt(0);
+            return head;
+        }
+
+        boolean remove(Entry entry) {
+            int position = entry.position;
+            if (position < 0 || position >= entries.size() || entries.get(position) != entry) {
+                return false;
+            }
+            removeAt(position);
+            return true;
+        }
+
+        private void removeAt(int position) {
+            Entry removed = entries.get(position);
+            Entry last = entries.remove(entries.size() - 1);
+            removed.position = -1;
+            if (last != removed) {
+                set(position, last);
+                siftDown(position);
+                siftUp(last.position);
+            }
+        }
+
+        private void siftUp(int position) {
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (comparator.compare(entries.get(position), entries.get(parent)) >= 0) {
+                    return;
+                }
+                swap(position, parent);
+                position = parent;
+            }
+        }
+
+        private void siftDown(int position) {
+            int size = entries.size();
+            while (true) {
+                int smallest = position;
+                int left = 2 * position + 1;
+                int right = left + 1;
+                if (left < size && comparator.compare(entries.get(left), entries.get(smallest)) < 0) {
+                    smallest = left;
+                }
+                if (right < size && comparator.compare(entries.get(right), entries.get(smallest)) < 0) {
+                    smallest = right;
+                }
+                if (smallest == position) {
+                    return;
+                }
+                swap(position, smallest);
+                position = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            Entry entry = entries.get(i);
+            set(i, entries.get(j));
+            set(j, entry);
+        }
 
-        /**
-         * compare o1 o2
-         *
-         * @param o1 o1
-         * @param o2 o2
-         * @return compare result
-         */
-        @Override
-        public int compare(TaskInstance o1, TaskInstance o2) {
-            return o1.getTaskInstancePriority().compareTo(o2.getTaskInstancePriority());
+        private void set(int position, Entry entry) {
+            entries.set(position, entry);
+            entry.position = position;
         }
     }
 }
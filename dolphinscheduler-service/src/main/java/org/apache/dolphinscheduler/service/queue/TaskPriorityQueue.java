@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.service.queue;
 
 import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
 
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -35,6 +36,18 @@ public interface TaskPriorityQueue<T> {
      */
     void put(T taskInfo) throws TaskPriorityQueueException;
 
+    /**
+     * put a batch of task info
+     *
+     * @param taskInfos taskInfos
+     * @throws TaskPriorityQueueException
+     */
+    default void putAll(Collection<T> taskInfos) throws TaskPriorityQueueException {
+        for (T taskInfo : taskInfos) {
+            put(taskInfo);
+        }
+    }
+
     /**
      * take taskInfo
      *
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.service.queue;
 
 import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
 
+import java.util.Collection;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
@@ -51,6 +52,17 @@ public class TaskPriorityQueueImpl implements TaskPriorityQueue<TaskPriority> {
         queue.put(taskPriorityInfo);
     }
 
+    /**
+     * put a batch of task takePriorityInfo
+     *
+     * @param taskPriorityInfos takePriorityInfos
+     * @throws TaskPriorityQueueException
+     */
+    @Override
+    public void putAll(Collection<TaskPriority> taskPriorityInfos) throws TaskPriorityQueueException {
+        queue.addAll(taskPriorityInfos);
+    }
+
     /**
      * take taskInfo
      *
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.service.state;
+
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.StringUtils;
+import org.apache.dolphinscheduler.remote.NettyRemotingClient;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.StateEventRequestCommand;
+import org.apache.dolphinscheduler.remote.command.StateEventResponseCommand;
+import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
+import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.remote.utils.JsonSerializer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * state event client, pushes process instance state changes to the master executing the instance
+ */
+public class StateEventClientService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StateEventClientService.class);
+
+    private final NettyClientConfig clientConfig;
+
+    private final NettyRemotingClient client;
+
+    /**
+     * sends the events of sendStateEventAsync, connecting to a dead master may block for the connect timeout
+     */
+    private final ExecutorService sendExecutor;
+
+    private volatile boolean isRunning;
+
+    /**
+     * request time out
+     */
+    private static final long STATE_EVENT_REQUEST_TIMEOUT = 5 * 1000L;
+
+    /**
+     * state event client
+     */
+    public StateEventClientService() {
+        this.clientConfig = new NettyClientConfig();
+        this.client = new NettyRemotingClient(clientConfig);
+        this.sendExecutor = ThreadUtils.newDaemonSingleThreadExecutor("StateEventClientThread");
+        this.isRunning = true;
+    }
+
+    /**
+     * close
+     */
+    public void close() {
+        this.sendExecutor.shutdownNow();
+        this.client.close();
+        this.isRunning = false;
+        logger.info("state event client closed");
+    }
+
+    /**
+     * send state event to the master executing the process instance.
+     * the state is already persisted by the caller, the master also picks it up from the database
+     * if this call fails, so failures are only logged
+     *
+     * @param masterAddress master address, ip:port
+     * @param processInstanceId process instance id
+     * @param state target state
+     * @param commandType command type which caused the change
+     * @return true if the master applied the state
+     */
+    public boolean sendStateEvent(String masterAddress, int processInstanceId, ExecutionStatus state, CommandType commandType) {
+        if (StringUtils.isEmpty(masterAddress)) {
+            return false;
+        }
+        StateEventRequestCommand request = new StateEventRequestCommand(processInstanceId, state.getCode(), commandType.getCode());
+        final Host address;
+        try {
+            address = Host.of(masterAddress);
+        } catch (Exception e) {
+            logger.warn("invalid master address {} of process instance {}", masterAddress, processInstanceId);
+            return false;
+        }
+        try {
+            Command command = request.convert2Command();
+            Command response = this.client.sendSync(address, command, STATE_EVENT_REQUEST_TIMEOUT);
+            if (response != null) {
+                StateEventResponseCommand responseCommand = JsonSerializer.deserialize(response.getBody(), StateEventResponseCommand.class);
+                return responseCommand.isApplied();
+            }
+        } catch (Exception e) {
+            logger.warn("send state event of process instance {} to master {} error", processInstanceId, masterAddress, e);
+        } finally {
+            this.client.closeChannel(address);
+        }
+        return false;
+    }
+
+    /**
+     * send state event to the master executing the process instance without waiting for it,
+     * the caller is never held by a slow or dead master
+     *
+     * @param masterAddress master address, ip:port
+     * @param processInstanceId process instance id
+     * @param state target state
+     * @param commandType command type which caused the change
+     */
+    public void sendStateEventAsync(String masterAddress, int processInstanceId, ExecutionStatus state, CommandType commandType) {
+        if (StringUtils.isEmpty(masterAddress)) {
+            return;
+        }
+        try {
+            sendExecutor.execute(() -> sendStateEvent(masterAddress, processInstanceId, state, commandType));
+        } catch (RejectedExecutionException e) {
+            logger.warn("state event client is closed, drop state event of process instance {}", processInstanceId);
+        }
+    }
+
+    public boolean isRunning() {
+        return isRunning;
+    }
+}
@@ -23,11 +23,14 @@ import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.remote.NettyRemotingClient;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.RollViewLogResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.ViewLogResponseCommand;
 import org.apache.dolphinscheduler.remote.utils.Host;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 
 import org.junit.Assert;
@@ -120,6 +123,43 @@ public class LogClientServiceTest {
         Assert.assertNotNull(logBytes);
     }
 
+    @Test
+    public void testStreamLog() throws Exception {
+        NettyRemotingClient remotingClient = PowerMockito.mock(NettyRemotingClient.class);
+        PowerMockito.whenNew(NettyRemotingClient.class).withAnyArguments().thenReturn(remotingClient);
+
+        Command first = new Command();
+        first.setBody(JSONUtils.toJsonByteArray(new GetLogChunkResponseCommand("log ".getBytes(StandardCharsets.UTF_8), 4, false)));
+        Command last = new Command();
+        last.setBody(JSONUtils.toJsonByteArray(new GetLogChunkResponseCommand("end".getBytes(StandardCharsets.UTF_8), 7, true)));
+        PowerMockito.when(remotingClient.sendSync(Mockito.any(Host.class), Mockito.any(Command.class), Mockito.anyLong()))
+                .thenReturn(first, last);
+
+        LogClientService logClientService = new LogClientService();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long size = logClientService.streamLog("localhost", 1234, "/tmp/log", out);
+        Assert.assertEquals(7, size);
+        Assert.assertEquals("log end", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = IOException.class)
+    public void testStreamLogReadError() throws Exception {
+        NettyRemotingClient remotingClient = PowerMockito.mock(NettyRemotingClient.class);
+        PowerMockito.whenNew(NettyRemotingClient.class).withAnyArguments().thenReturn(remotingClient);
+
+        GetLogChunkResponseCommand error = new GetLogChunkResponseCommand(new byte[0], 4, false);
+        error.setError("read error");
+        Command first = new Command();
+        first.setBody(JSONUtils.toJsonByteArray(new GetLogChunkResponseCommand("log ".getBytes(StandardCharsets.UTF_8), 4, false)));
+        Command second = new Command();
+        second.setBody(JSONUtils.toJsonByteArray(error));
+        PowerMockito.when(remotingClient.sendSync(Mockito.any(Host.class), Mockito.any(Command.class), Mockito.anyLong()))
+                .thenReturn(first, second);
+
+        LogClientService logClientService = new LogClientService();
+        logClientService.streamLog("localhost", 1234, "/tmp/log", new ByteArrayOutputStream());
+    }
+
     @Test
     public void testRemoveTaskLog() throws Exception {
         NettyRemotingClient remotingClient = PowerMockito.mock(NettyRemotingClient.class);
@@ -25,7 +25,10 @@ import static org.mockito.ArgumentMatchers.any;
 
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.enums.FailureStrategy;
 import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.Priority;
 import org.apache.dolphinscheduler.common.enums.TaskType;
 import org.apache.dolphinscheduler.common.enums.WarningType;
 import org.apache.dolphinscheduler.common.graph.DAG;
@@ -57,6 +60,8 @@ import org.apache.dolphinscheduler.dao.mapper.UserMapper;
 import org.apache.dolphinscheduler.service.quartz.cron.CronUtilsTest;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -509,6 +514,34 @@ public class ProcessServiceTest {
         Mockito.verify(commandMapper, Mockito.times(1)).insert(command);
     }
 
+    @Test
+    public void testProcessNeedFailoverProcessInstances() {
+        ProcessDefinition processDefinition = new ProcessDefinition();
+        processDefinition.setId(3);
+        processDefinition.setCode(10L);
+        processDefinition.setVersion(1);
+        Mockito.when(processDefineMapper.queryByCode(10L)).thenReturn(processDefinition);
+
+        List<ProcessInstance> processInstances = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            ProcessInstance processInstance = new ProcessInstance();
+            processInstance.setId(i);
+            processInstance.setHost("127.0.0.1:5678");
+            processInstance.setProcessDefinitionCode(10L);
+            processInstance.setProcessDefinitionVersion(1);
+            processInstances.add(processInstance);
+        }
+        processService.processNeedFailoverProcessInstances(processInstances);
+
+        Mockito.verify(processInstanceMapper, Mockito.times(1)).updateHostByIds(Constants.NULL, Arrays.asList(1, 2, 3));
+        // the shared process definition is queried once
+        Mockito.verify(processDefineMapper, Mockito.times(1)).queryByCode(10L);
+        Mockito.verify(commandMapper, Mockito.times(1)).batchInsert(Mockito.argThat(commands -> commands.size() == 3
+                && commands.stream().allMatch(command -> command.getCommandType() == CommandType.RECOVER_TOLERANCE_FAULT_PROCESS
+                && command.getProcessDefinitionId() == 3)));
+        Assert.assertEquals(Constants.NULL, processInstances.get(0).getHost());
+    }
+
     @Test
     public void testChangeOutParam() {
         TaskInstance taskInstance = new TaskInstance();
@@ -524,4 +557,47 @@ public class ProcessServiceTest {
         processService.changeOutParam(taskInstance);
     }
 
+    @Test
+    public void testSubmitTasks() {
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(62);
+        processInstance.setExecutorId(1);
+        processInstance.setState(ExecutionStatus.RUNNING_EXECUTION);
+        processInstance.setProcessInstancePriority(Priority.MEDIUM);
+        processInstance.setFailureStrategy(FailureStrategy.CONTINUE);
+        Mockito.when(processInstanceMapper.selectById(62)).thenReturn(processInstance);
+
+        List<TaskInstance> taskInstances = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setName("task" + i);
+            taskInstance.setTaskType(TaskType.SHELL.getDesc());
+            taskInstance.setProcessInstanceId(62);
+            taskInstance.setState(ExecutionStatus.SUBMITTED_SUCCESS);
+            taskInstances.add(taskInstance);
+        }
+        Mockito.when(taskInstanceMapper.batchInsert(taskInstances)).thenReturn(3);
+
+        List<TaskInstance> submitted = processService.submitTasks(processInstance, taskInstances);
+        Assert.assertEquals(3, submitted.size());
+        for (TaskInstance taskInstance : submitted) {
+            Assert.assertEquals(ExecutionStatus.SUBMITTED_SUCCESS, taskInstance.getState());
+            Assert.assertEquals(1, taskInstance.getExecutorId());
+            Assert.assertNotNull(taskInstance.getSubmitTime());
+            Assert.assertEquals(taskInstance.getSubmitTime(), taskInstance.getFirstSubmitTime());
+        }
+        Mockito.verify(taskInstanceMapper, Mockito.times(1)).batchInsert(taskInstances);
+        Mockito.verify(taskInstanceMapper, Mockito.never()).insert(Mockito.any(TaskInstance.class));
+        Mockito.verify(processInstanceMapper, Mockito.times(1)).selectById(62);
+
+        // ready to stop, tasks are saved as killed
+        processInstance.setState(ExecutionStatus.READY_STOP);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setState(ExecutionStatus.SUBMITTED_SUCCESS);
+        taskInstance.setTaskType(TaskType.SHELL.getDesc());
+        taskInstance.setProcessInstanceId(62);
+        processService.submitTasks(processInstance, Collections.singletonList(taskInstance));
+        Assert.assertEquals(ExecutionStatus.KILL, taskInstance.getState());
+    }
+
 }
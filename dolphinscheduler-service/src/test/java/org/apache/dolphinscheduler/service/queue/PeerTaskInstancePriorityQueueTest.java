@@ -17,10 +17,12 @@
 
 package org.apache.dolphinscheduler.service.queue;
 
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
 import org.apache.dolphinscheduler.common.enums.Priority;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
 
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Assert;
@@ -87,6 +89,68 @@ public class PeerTaskInstancePriorityQueueTest {
         Assert.assertNotEquals(peekBeforeLength, queue.size());
     }
 
+    @Test
+    public void putSameTask() throws Exception {
+        PeerTaskInstancePriorityQueue queue = getPeerTaskInstancePriorityQueue();
+        TaskInstance highest = createTaskInstance("medium", Priority.HIGHEST);
+        queue.put(highest);
+        Assert.assertEquals(2, queue.size());
+        Assert.assertSame(highest, queue.peek());
+        Assert.assertTrue(queue.remove(createTaskInstance("medium", Priority.LOW)));
+        Assert.assertEquals("high", queue.take().getName());
+        Assert.assertNull(queue.take());
+    }
+
+    @Test
+    public void order() throws Exception {
+        PeerTaskInstancePriorityQueue queue = new PeerTaskInstancePriorityQueue();
+        queue.put(createTaskInstance("low", Priority.LOW));
+        queue.put(createTaskInstance("medium1", Priority.MEDIUM));
+        queue.put(createTaskInstance("highest", Priority.HIGHEST));
+        queue.put(createTaskInstance("medium2", Priority.MEDIUM));
+        queue.remove(createTaskInstance("highest", Priority.HIGHEST));
+        Assert.assertEquals("medium1", queue.readyTasks().get(0).getName());
+        Assert.assertEquals(3, queue.readyTasks().size());
+        StringBuilder names = new StringBuilder();
+        while (queue.size() > 0) {
+            names.append(queue.take().getName()).append(',');
+        }
+        Assert.assertEquals("medium1,medium2,low,", names.toString());
+    }
+
+    @Test
+    public void putDelayed() throws Exception {
+        PeerTaskInstancePriorityQueue queue = getPeerTaskInstancePriorityQueue();
+        TaskInstance retryTask = createTaskInstance("retry", Priority.HIGHEST);
+        retryTask.setState(ExecutionStatus.FAILURE);
+        queue.putDelayed(retryTask, 2000L);
+        Assert.assertEquals(3, queue.size());
+        Assert.assertEquals(1, queue.parkedSize());
+        Assert.assertTrue(queue.contains(retryTask));
+        Assert.assertTrue(queue.hasRetryTask());
+        Assert.assertEquals("high", queue.peek().getName());
+
+        Assert.assertEquals(0, queue.releaseDueTasks(1999L));
+        Assert.assertEquals(1, queue.releaseDueTasks(2000L));
+        Assert.assertEquals(0, queue.parkedSize());
+        Assert.assertSame(retryTask, queue.peek());
+        Assert.assertEquals(Arrays.asList("retry", "high", "medium"), Arrays.asList(
+                queue.take().getName(), queue.take().getName(), queue.take().getName()));
+        Assert.assertFalse(queue.hasRetryTask());
+    }
+
+    @Test
+    public void removeDelayed() throws Exception {
+        PeerTaskInstancePriorityQueue queue = new PeerTaskInstancePriorityQueue();
+        TaskInstance retryTask = createTaskInstance("retry", Priority.MEDIUM);
+        retryTask.setState(ExecutionStatus.FAILURE);
+        queue.putDelayed(retryTask, Long.MAX_VALUE);
+        Assert.assertNull(queue.peek());
+        Assert.assertTrue(queue.remove(retryTask));
+        Assert.assertFalse(queue.hasRetryTask());
+        Assert.assertEquals(0, queue.size());
+    }
+
     /**
      * get queue
      *
@@ -88,6 +88,15 @@ public class TaskPriorityQueueImplTest {
         Assert.assertEquals(2, queue.size());
     }
 
+    @Test
+    public void putAll() throws Exception {
+        TaskPriorityQueue queue = getPriorityQueue();
+        queue.putAll(Arrays.asList(createTaskPriority(Priority.LOW.getCode(), 3),
+                createTaskPriority(Priority.HIGHEST.getCode(), 4)));
+        Assert.assertEquals(4, queue.size());
+        Assert.assertEquals(Priority.HIGHEST.getCode(), ((TaskPriority) queue.take()).getProcessInstancePriority());
+    }
+
     @Test
     public void take() throws Exception {
         TaskPriorityQueue queue = getPriorityQueue();
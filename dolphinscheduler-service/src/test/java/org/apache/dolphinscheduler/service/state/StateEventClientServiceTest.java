@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.service.state;
+
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.remote.NettyRemotingClient;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.StateEventResponseCommand;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+/**
+ * state event client service test
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({StateEventClientService.class})
+public class StateEventClientServiceTest {
+
+    private NettyRemotingClient client;
+
+    private StateEventClientService stateEventClient;
+
+    @Before
+    public void before() throws Exception {
+        client = PowerMockito.mock(NettyRemotingClient.class);
+        PowerMockito.whenNew(NettyRemotingClient.class).withAnyArguments().thenReturn(client);
+        stateEventClient = new StateEventClientService();
+    }
+
+    @Test
+    public void testSendStateEvent() throws Exception {
+        // master does not respond
+        Assert.assertFalse(stateEventClient.sendStateEvent("127.0.0.1:5678", 1, ExecutionStatus.READY_STOP, CommandType.STOP));
+
+        // no owning master
+        Assert.assertFalse(stateEventClient.sendStateEvent(null, 1, ExecutionStatus.READY_STOP, CommandType.STOP));
+        Assert.assertFalse(stateEventClient.sendStateEvent("127.0.0.1", 1, ExecutionStatus.READY_STOP, CommandType.STOP));
+
+        Command response = new StateEventResponseCommand(1, true).convert2Command(1L);
+        PowerMockito.when(client.sendSync(Mockito.any(), Mockito.any(), Mockito.anyLong())).thenReturn(response);
+        Assert.assertTrue(stateEventClient.sendStateEvent("127.0.0.1:5678", 1, ExecutionStatus.READY_STOP, CommandType.STOP));
+
+        stateEventClient.close();
+        Assert.assertFalse(stateEventClient.isRunning());
+    }
+
+    @Test
+    public void testSendStateEventAsync() throws Exception {
+        // the master hangs, the caller must not wait for it
+        CountDownLatch sent = new CountDownLatch(1);
+        PowerMockito.when(client.sendSync(Mockito.any(), Mockito.any(), Mockito.anyLong())).thenAnswer(invocation -> {
+            sent.countDown();
+            Thread.sleep(5000);
+            return null;
+        });
+        long start = System.currentTimeMillis();
+        stateEventClient.sendStateEventAsync("127.0.0.1:5678", 1, ExecutionStatus.READY_STOP, CommandType.STOP);
+        Assert.assertTrue(System.currentTimeMillis() - start < 1000);
+        Assert.assertTrue(sent.await(5, TimeUnit.SECONDS));
+
+        stateEventClient.close();
+        // dropped once closed
+        stateEventClient.sendStateEventAsync("127.0.0.1:5678", 1, ExecutionStatus.READY_STOP, CommandType.STOP);
+    }
+}
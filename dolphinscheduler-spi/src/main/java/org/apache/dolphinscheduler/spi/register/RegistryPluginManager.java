@@ -54,9 +54,6 @@ public class RegistryPluginManager extends AbstractDolphinPluginManager {
                 return;
             }
         }
-        if (null == registry) {
-            throw new RegistryException(String.format("not found %s registry plugin ", registerPluginName));
-        }
     }
 
     /**
@@ -74,7 +71,7 @@ public class RegistryPluginManager extends AbstractDolphinPluginManager {
      */
     public  Registry getRegistry() {
         if (null == registry) {
-            throw new RegistryException("not install registry");
+            throw new RegistryException(String.format("not found %s registry plugin ", registerPluginName));
         }
         return registry;
     }
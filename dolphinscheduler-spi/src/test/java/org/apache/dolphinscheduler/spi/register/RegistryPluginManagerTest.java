@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.spi.register;
+
+import org.apache.dolphinscheduler.spi.DolphinSchedulerPlugin;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * registry plugin manager test
+ */
+public class RegistryPluginManagerTest {
+
+    @Before
+    public void before() {
+        RegistryPluginManager.registry = null;
+    }
+
+    @After
+    public void after() {
+        RegistryPluginManager.registry = null;
+    }
+
+    @Test
+    public void testInstallPlugin() {
+        RegistryPluginManager registryPluginManager = new RegistryPluginManager("memory");
+
+        // plugins of other registries are skipped, the configured one may be installed later
+        registryPluginManager.installPlugin(plugin("zookeeper"));
+        registryPluginManager.installPlugin(plugin("memory"));
+        Assert.assertNotNull(registryPluginManager.getRegistry());
+    }
+
+    @Test(expected = RegistryException.class)
+    public void testGetRegistryNotInstalled() {
+        RegistryPluginManager registryPluginManager = new RegistryPluginManager("memory");
+        registryPluginManager.installPlugin(plugin("zookeeper"));
+        registryPluginManager.getRegistry();
+    }
+
+    private static DolphinSchedulerPlugin plugin(String name) {
+        Registry registry = (Registry) Proxy.newProxyInstance(Registry.class.getClassLoader(),
+                new Class<?>[] {Registry.class}, (proxy, method, args) -> null);
+        RegistryFactory registryFactory = new RegistryFactory() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Registry create() {
+                return registry;
+            }
+        };
+        return new DolphinSchedulerPlugin() {
+            @Override
+            public Iterable<RegistryFactory> getRegisterFactorys() {
+                return Collections.singletonList(registryFactory);
+            }
+        };
+    }
+}
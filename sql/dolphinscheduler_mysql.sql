@@ -734,6 +734,7 @@ CREATE TABLE `t_ds_resources` (
   `pid` int(11) DEFAULT NULL,
   `full_name` varchar(64) DEFAULT NULL,
   `is_directory` tinyint(4) DEFAULT NULL,
+  `checksum` varchar(64) DEFAULT NULL COMMENT 'sha-256 checksum of resource content',
   PRIMARY KEY (`id`),
   UNIQUE KEY `t_ds_resources_un` (`full_name`,`type`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8;
@@ -769,6 +770,16 @@ CREATE TABLE `t_ds_schedules` (
 -- Records of t_ds_schedules
 -- ----------------------------
 
+-- ----------------------------
+-- Table structure for t_ds_schedule_fire
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_schedule_fire`;
+CREATE TABLE `t_ds_schedule_fire` (
+  `schedule_id` int(11) NOT NULL COMMENT 'schedule id',
+  `fire_time` datetime NOT NULL COMMENT 'scheduled fire time',
+  PRIMARY KEY (`schedule_id`,`fire_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
 -- ----------------------------
 -- Table structure for t_ds_session
 -- ----------------------------
@@ -600,6 +600,7 @@ CREATE TABLE t_ds_resources (
   pid int,
   full_name varchar(64),
   is_directory int,
+  checksum varchar(64) DEFAULT NULL ,
   PRIMARY KEY (id),
   CONSTRAINT t_ds_resources_un UNIQUE (full_name, type)
 ) ;
@@ -629,6 +630,17 @@ CREATE TABLE t_ds_schedules (
   PRIMARY KEY (id)
 );
 
+--
+-- Table structure for table t_ds_schedule_fire
+--
+
+DROP TABLE IF EXISTS t_ds_schedule_fire;
+CREATE TABLE t_ds_schedule_fire (
+  schedule_id int NOT NULL ,
+  fire_time timestamp NOT NULL ,
+  PRIMARY KEY (schedule_id, fire_time)
+);
+
 --
 -- Table structure for table t_ds_session
 --
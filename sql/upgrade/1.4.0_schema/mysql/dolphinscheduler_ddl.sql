@@ -632,6 +632,33 @@ d//
 delimiter ;
 CALL uc_dolphin_T_t_ds_schedules_A_add_timezone();
 DROP PROCEDURE uc_dolphin_T_t_ds_schedules_A_add_timezone;
+-- uc_dolphin_T_t_ds_resources_A_checksum
+drop PROCEDURE if EXISTS uc_dolphin_T_t_ds_resources_A_checksum;
+delimiter d//
+CREATE PROCEDURE uc_dolphin_T_t_ds_resources_A_checksum()
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.COLUMNS
+                   WHERE TABLE_NAME='t_ds_resources'
+                     AND TABLE_SCHEMA=(SELECT DATABASE())
+                     AND COLUMN_NAME ='checksum')
+    THEN
+        ALTER TABLE t_ds_resources ADD COLUMN `checksum` varchar(64) DEFAULT NULL COMMENT 'sha-256 checksum of resource content';
+    END IF;
+END;
+
+d//
+
+delimiter ;
+CALL uc_dolphin_T_t_ds_resources_A_checksum();
+DROP PROCEDURE uc_dolphin_T_t_ds_resources_A_checksum;
+-- ----------------------------
+-- Table structure for t_ds_schedule_fire
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS `t_ds_schedule_fire` (
+  `schedule_id` int(11) NOT NULL COMMENT 'schedule id',
+  `fire_time` datetime NOT NULL COMMENT 'scheduled fire time',
+  PRIMARY KEY (`schedule_id`,`fire_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
 -- ----------------------------
 -- These columns will not be used in the new version,if you determine that the historical data is useless, you can delete it using the sql below
 -- ----------------------------
@@ -658,6 +658,33 @@ d//
 delimiter ;
 SELECT uc_dolphin_T_t_ds_schedules_A_add_timezone();
 DROP FUNCTION IF EXISTS uc_dolphin_T_t_ds_schedules_A_add_timezone();
+-- uc_dolphin_T_t_ds_resources_A_checksum
+delimiter d//
+CREATE OR REPLACE FUNCTION uc_dolphin_T_t_ds_resources_A_checksum() RETURNS void AS $$
+BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.COLUMNS
+          WHERE TABLE_NAME='t_ds_resources'
+                            AND COLUMN_NAME ='checksum')
+      THEN
+         ALTER TABLE t_ds_resources ADD COLUMN checksum varchar(64) DEFAULT NULL;
+       END IF;
+END;
+$$ LANGUAGE plpgsql;
+d//
+
+delimiter ;
+SELECT uc_dolphin_T_t_ds_resources_A_checksum();
+DROP FUNCTION IF EXISTS uc_dolphin_T_t_ds_resources_A_checksum();
+
+-- ----------------------------
+-- Table structure for t_ds_schedule_fire
+-- ----------------------------
+CREATE TABLE IF NOT EXISTS t_ds_schedule_fire (
+  schedule_id int NOT NULL ,
+  fire_time timestamp NOT NULL ,
+  PRIMARY KEY (schedule_id, fire_time)
+);
+
 -- ----------------------------
 -- These columns will not be used in the new version,if you determine that the historical data is useless, you can delete it using the sql below
 -- ----------------------------